@@ -0,0 +1,43 @@
+package com.zooplus.petstore.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zooplus.petstore.data.PetDataProvider;
+import com.zooplus.petstore.model.Pet;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.UncheckedIOException;
+import java.util.stream.IntStream;
+
+final class BenchmarkFixtures {
+
+    static final int PETS_PER_RESPONSE = 100;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Configured exactly like the mapper {@code PetstoreModule} provides.
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static Pet pet() {
+        return PetDataProvider.getValidPetData();
+    }
+
+    static Pet[] pets() {
+        return IntStream.range(0, PETS_PER_RESPONSE)
+                .mapToObj(index -> PetDataProvider.getValidPetData())
+                .toArray(Pet[]::new);
+    }
+
+    static byte[] toJson(final ObjectMapper objectMapper, final Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.zooplus.petstore.benchmark;
+
+import com.zooplus.petstore.configs.AsyncExchangeLogger;
+import com.zooplus.petstore.configs.RequestResponseLoggingInterceptor;
+import com.zooplus.petstore.configs.ResponseBufferingInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-exchange cost of the interceptors {@code PetstoreModule} registers, against a canned in-memory response.
+ * Log events go to a no-op appender (see {@code logback-test.xml}), so formatting is measured but not disk I/O.
+ * Formatting happens on the log writer thread; once its queue is full, further exchanges are dropped, which is
+ * the cheapest path a logged exchange can take on the request thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingInterceptorBenchmark {
+
+    private final AsyncExchangeLogger exchangeLogger = new AsyncExchangeLogger(10_000, 4096);
+    private final RequestResponseLoggingInterceptor everyExchangeLogged =
+            new RequestResponseLoggingInterceptor(1, 4096, Duration.ofSeconds(1), exchangeLogger);
+    private final RequestResponseLoggingInterceptor exchangesSampledOut =
+            new RequestResponseLoggingInterceptor(0, 4096, Duration.ofSeconds(1), exchangeLogger);
+    private final ResponseBufferingInterceptor bufferingInterceptor = new ResponseBufferingInterceptor();
+    private MockClientHttpRequest request;
+    private byte[] requestBody;
+    private byte[] responseBody;
+    private ClientHttpRequestExecution cannedExecution;
+    private ClientHttpRequestExecution bufferedExecution;
+
+    @Setup
+    public void setUp() {
+        final var objectMapper = BenchmarkFixtures.objectMapper();
+        request = new MockClientHttpRequest(HttpMethod.POST, URI.create("https://petstore.swagger.io/v2/pet"));
+        request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        requestBody = BenchmarkFixtures.toJson(objectMapper, BenchmarkFixtures.pet());
+        responseBody = BenchmarkFixtures.toJson(objectMapper, BenchmarkFixtures.pets());
+        cannedExecution = (httpRequest, body) -> {
+            final var response = new MockClientHttpResponse(responseBody, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response;
+        };
+        bufferedExecution = (httpRequest, body) -> bufferingInterceptor.intercept(httpRequest, body, cannedExecution);
+    }
+
+    @Benchmark
+    public byte[] withoutInterceptors() throws IOException {
+        return readBody(cannedExecution.execute(request, requestBody));
+    }
+
+    @Benchmark
+    public byte[] responseBufferingOnly() throws IOException {
+        return readBody(bufferedExecution.execute(request, requestBody));
+    }
+
+    @Benchmark
+    public byte[] loggingSampledOut() throws IOException {
+        return readBody(exchangesSampledOut.intercept(request, requestBody, cannedExecution));
+    }
+
+    @Benchmark
+    public byte[] loggingEveryExchange() throws IOException {
+        return readBody(everyExchangeLogged.intercept(request, requestBody, cannedExecution));
+    }
+
+    private static byte[] readBody(final ClientHttpResponse response) throws IOException {
+        try (response) {
+            return StreamUtils.copyToByteArray(response.getBody());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.zooplus.petstore.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.zooplus.petstore.databind.PetJsonHttpMessageConverter;
+import com.zooplus.petstore.model.Pet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Response body decoding of a single {@link Pet} and of a {@code findByStatus} sized {@code Pet[]}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PetDeserializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectReader petReader;
+    private ObjectReader petArrayReader;
+    private MappingJackson2HttpMessageConverter mappingJacksonConverter;
+    private PetJsonHttpMessageConverter petJsonConverter;
+    private byte[] petJson;
+    private byte[] petArrayJson;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        petReader = objectMapper.readerFor(Pet.class);
+        petArrayReader = objectMapper.readerFor(Pet[].class);
+        mappingJacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        petJsonConverter = new PetJsonHttpMessageConverter(objectMapper);
+        petJson = BenchmarkFixtures.toJson(objectMapper, BenchmarkFixtures.pet());
+        petArrayJson = BenchmarkFixtures.toJson(objectMapper, BenchmarkFixtures.pets());
+    }
+
+    @Benchmark
+    public Pet petFromString() throws IOException {
+        return objectMapper.readValue(new String(petJson, UTF_8), Pet.class);
+    }
+
+    @Benchmark
+    public Pet petFromBytes() throws IOException {
+        return objectMapper.readValue(petJson, Pet.class);
+    }
+
+    @Benchmark
+    public Pet petWithCachedReader() throws IOException {
+        return petReader.readValue(petJson);
+    }
+
+    @Benchmark
+    public Pet[] petArrayFromBytes() throws IOException {
+        return objectMapper.readValue(petArrayJson, Pet[].class);
+    }
+
+    @Benchmark
+    public Pet[] petArrayWithCachedReader() throws IOException {
+        return petArrayReader.readValue(petArrayJson);
+    }
+
+    @Benchmark
+    public Object petWithMappingJacksonConverter() throws IOException {
+        return mappingJacksonConverter.read(Pet.class, responseBody(petJson));
+    }
+
+    @Benchmark
+    public Object petWithPetJsonConverter() throws IOException {
+        return petJsonConverter.read(Pet.class, responseBody(petJson));
+    }
+
+    private static HttpInputMessage responseBody(final byte[] json) {
+        return new HttpInputMessage() {
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(json);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return HttpHeaders.EMPTY;
+            }
+        };
+    }
+}
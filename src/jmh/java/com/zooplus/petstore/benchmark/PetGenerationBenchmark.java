@@ -0,0 +1,82 @@
+package com.zooplus.petstore.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.zooplus.petstore.data.PetCorpus;
+import com.zooplus.petstore.data.PetDataProvider;
+import com.zooplus.petstore.data.PetGenerator;
+import com.zooplus.petstore.data.PetGeneratorSettings;
+import com.zooplus.petstore.model.Pet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of producing one request body for an added pet: generated on the fly or replayed from a corpus.
+ * Runs on several threads, so contention between them shows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class PetGenerationBenchmark {
+
+    private static final int CORPUS_SIZE = 100_000;
+
+    private PetGenerator generator;
+    private ObjectWriter petWriter;
+    private Path corpusFile;
+    private PetCorpus corpus;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        generator = new PetGenerator(PetGeneratorSettings.builder().build());
+        petWriter = BenchmarkFixtures.objectMapper().writerFor(Pet.class);
+        corpusFile = Files.createTempFile("pets", ".corpus");
+        PetCorpus.write(corpusFile, generator, CORPUS_SIZE, petWriter);
+        corpus = PetCorpus.open(corpusFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        corpus.close();
+        Files.deleteIfExists(corpusFile);
+    }
+
+    @Benchmark
+    public Pet petDataProvider() {
+        return PetDataProvider.getValidPetData();
+    }
+
+    @Benchmark
+    public Pet generator() {
+        return generator.next();
+    }
+
+    @Benchmark
+    public byte[] generatorToJson() throws IOException {
+        return petWriter.writeValueAsBytes(generator.next());
+    }
+
+    @Benchmark
+    public byte[] corpusReplay() {
+        return corpus.next().getJson();
+    }
+}
@@ -0,0 +1,129 @@
+package com.zooplus.petstore.benchmark;
+
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.zooplus.petstore.databind.PetJsonHttpMessageConverter;
+import com.zooplus.petstore.databind.RequestBodyConverter;
+import com.zooplus.petstore.model.Pet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+/**
+ * Request body encoding of a single {@link Pet}, from the object to the bytes that go on the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PetSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter petWriter;
+    private RequestBodyConverter requestBodyConverter;
+    private MappingJackson2HttpMessageConverter mappingJacksonConverter;
+    private PetJsonHttpMessageConverter petJsonConverter;
+    private Pet pet;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        petWriter = objectMapper.writerFor(Pet.class);
+        requestBodyConverter = new RequestBodyConverter(objectMapper);
+        mappingJacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        petJsonConverter = new PetJsonHttpMessageConverter(objectMapper);
+        pet = BenchmarkFixtures.pet();
+    }
+
+    /**
+     * What {@code PetService} used to do: an intermediate String, encoded again by a message converter.
+     */
+    @Benchmark
+    public byte[] requestBodyConverterStringThenBytes() {
+        return requestBodyConverter.convertRequestBodyToString(pet).getBytes(UTF_8);
+    }
+
+    @Benchmark
+    public byte[] objectMapperToBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(pet);
+    }
+
+    @Benchmark
+    public byte[] cachedObjectWriterToBytes() throws IOException {
+        return petWriter.writeValueAsBytes(pet);
+    }
+
+    @Benchmark
+    public int cachedObjectWriterToReusedBuffer(final ReusableBuffer buffer) throws IOException {
+        buffer.bytes.reset();
+        petWriter.writeValue(buffer.bytes, pet);
+        return buffer.bytes.size();
+    }
+
+    @Benchmark
+    public int mappingJacksonConverterIntoRequestBody(final ReusableRequestBody requestBody) throws IOException {
+        mappingJacksonConverter.write(pet, APPLICATION_JSON, requestBody.reset());
+        return requestBody.bytes.size();
+    }
+
+    /**
+     * What {@code PetService} does now: the pet written into the request body stream with a prebuilt writer.
+     */
+    @Benchmark
+    public int petJsonConverterIntoRequestBody(final ReusableRequestBody requestBody) throws IOException {
+        petJsonConverter.write(pet, APPLICATION_JSON, requestBody.reset());
+        return requestBody.bytes.size();
+    }
+
+    @State(Scope.Thread)
+    public static class ReusableBuffer {
+        final ByteArrayBuilder bytes = new ByteArrayBuilder(1024);
+    }
+
+    /**
+     * Stands in for the body buffer {@code RestTemplate} collects a request into when interceptors are registered.
+     */
+    @State(Scope.Thread)
+    public static class ReusableRequestBody implements HttpOutputMessage {
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        final HttpHeaders headers = new HttpHeaders();
+
+        ReusableRequestBody reset() {
+            bytes.reset();
+            headers.clear();
+            return this;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return bytes;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.zooplus.petstore.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zooplus.petstore.databind.PetJsonHttpMessageConverter;
+import com.zooplus.petstore.databind.RequestBodyConverter;
+import com.zooplus.petstore.model.Pet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client side of an add-pet call through {@code RestTemplate}, from the {@link Pet} to the parsed response, over a
+ * transport that answers instantly. Approximates the request rate one thread can reach before the network matters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestTemplateRoundTripBenchmark {
+
+    private static final URI PET_URI = URI.create("http://localhost/v2/pet");
+
+    private RestTemplate mappingJacksonOnly;
+    private RestTemplate withPetJsonConverter;
+    private RequestBodyConverter requestBodyConverter;
+    private HttpHeaders jsonHeaders;
+    private Pet pet;
+
+    @Setup
+    public void setUp() {
+        final var objectMapper = BenchmarkFixtures.objectMapper();
+        pet = BenchmarkFixtures.pet();
+        final var responseJson = BenchmarkFixtures.toJson(objectMapper, pet);
+        final ClientHttpRequestFactory transport = (uri, method) -> {
+            final var request = new MockClientHttpRequest(method, uri);
+            final var response = new MockClientHttpResponse(responseJson, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.setResponse(response);
+            return request;
+        };
+        mappingJacksonOnly = restTemplate(transport, objectMapper, false);
+        withPetJsonConverter = restTemplate(transport, objectMapper, true);
+        requestBodyConverter = new RequestBodyConverter(objectMapper);
+        jsonHeaders = new HttpHeaders();
+        jsonHeaders.setContentType(MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * What {@code PetService} used to send: the pet rendered to a String first.
+     */
+    @Benchmark
+    public ResponseEntity<Pet> stringBody() {
+        final var body = requestBodyConverter.convertRequestBodyToString(pet);
+        return mappingJacksonOnly.postForEntity(PET_URI, new HttpEntity<>(body, jsonHeaders), Pet.class);
+    }
+
+    @Benchmark
+    public ResponseEntity<Pet> petBodyWithMappingJacksonConverter() {
+        return mappingJacksonOnly.postForEntity(PET_URI, new HttpEntity<>(pet, jsonHeaders), Pet.class);
+    }
+
+    @Benchmark
+    public ResponseEntity<Pet> petBodyWithPetJsonConverter() {
+        return withPetJsonConverter.postForEntity(PET_URI, new HttpEntity<>(pet, jsonHeaders), Pet.class);
+    }
+
+    private static RestTemplate restTemplate(final ClientHttpRequestFactory transport, final ObjectMapper objectMapper,
+                                             final boolean petJsonConverter) {
+        final var messageConverters = new ArrayList<HttpMessageConverter<?>>();
+        messageConverters.add(new ByteArrayHttpMessageConverter());
+        if (petJsonConverter) {
+            messageConverters.add(new PetJsonHttpMessageConverter(objectMapper));
+        }
+        final var converter = new MappingJackson2HttpMessageConverter(objectMapper);
+        converter.setSupportedMediaTypes(Collections.singletonList(MediaType.ALL));
+        messageConverters.add(converter);
+        final var restTemplate = new RestTemplate(messageConverters);
+        restTemplate.setRequestFactory(transport);
+        // Like the petstore template: with an interceptor the request body is collected into one buffer first
+        restTemplate.setInterceptors(List.<ClientHttpRequestInterceptor>of((request, body, execution) ->
+                execution.execute(request, body)));
+        return restTemplate;
+    }
+}
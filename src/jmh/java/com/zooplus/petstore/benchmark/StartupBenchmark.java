@@ -0,0 +1,140 @@
+package com.zooplus.petstore.benchmark;
+
+import com.zooplus.petstore.bindings.LightweightPetstore;
+import com.zooplus.petstore.bindings.PetstoreInjector;
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.service.PetClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Cold start of the client: getting a {@link PetClient} and getting it to answer its first call, through the
+ * Spring path ({@code TestRestTemplate} built by the Guice injector) or the JDK {@code HttpClient} transport built
+ * without either. Every measurement is a fresh JVM, so class loading, static initialization and the first
+ * connection are all in it.
+ * <p>
+ * The petstore is a canned responder on a raw socket, so the server side loads none of the classes the client
+ * needs: Jackson, Spring or HTTP client code loaded by the server would make the client start look cheaper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+
+    private static final byte[] PET_RESPONSE = response("{\"id\":1,\"category\":{\"id\":1,\"name\":\"Dog\"},"
+            + "\"name\":\"Rex\",\"photoUrls\":[\"https://example.com/rex.png\"],\"tags\":[{\"id\":1,"
+            + "\"name\":\"Friendly\"}],\"status\":\"available\"}");
+
+    private ServerSocket server;
+
+    /**
+     * Runs before anything reads {@code PetstoreConfigs}, so the base URL can still be pointed at the responder.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        System.setProperty("petstore.baseUrl", "http://localhost:" + server.getLocalPort());
+        final var acceptor = new Thread(this::accept, "petstore-canned-responder");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Benchmark
+    public PetClient springStartup() {
+        return PetstoreInjector.get().getInstance(PetClient.class);
+    }
+
+    @Benchmark
+    public ResponseEntity<Pet> springFirstRequest() {
+        return PetstoreInjector.get().getInstance(PetClient.class).findPetById(1);
+    }
+
+    @Benchmark
+    public PetClient httpClientStartup() {
+        return LightweightPetstore.petClient();
+    }
+
+    @Benchmark
+    public ResponseEntity<Pet> httpClientFirstRequest() {
+        return LightweightPetstore.petClient().findPetById(1);
+    }
+
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                final var socket = server.accept();
+                final var handler = new Thread(() -> answer(socket), "petstore-canned-connection");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException exception) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Answers every request on the connection with the same pet; request bodies are skipped, upgrades to HTTP/2
+     * ignored.
+     */
+    private static void answer(final Socket socket) {
+        try (socket; var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), ISO_8859_1))) {
+            final OutputStream out = socket.getOutputStream();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                var contentLength = 0L;
+                while (line != null && !line.isEmpty()) {
+                    if (line.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                        contentLength = Long.parseLong(line.substring(15).trim());
+                    }
+                    line = reader.readLine();
+                }
+                reader.skip(contentLength);
+                out.write(PET_RESPONSE);
+                out.flush();
+            }
+        } catch (IOException exception) {
+            // The client went away
+        }
+    }
+
+    private static byte[] response(final String json) {
+        final var body = json.getBytes(UTF_8);
+        final var head = "HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + body.length
+                + "\r\n\r\n";
+        final var response = new byte[head.length() + body.length];
+        System.arraycopy(head.getBytes(ISO_8859_1), 0, response, 0, head.length());
+        System.arraycopy(body, 0, response, head.length(), body.length);
+        return response;
+    }
+}
@@ -0,0 +1,99 @@
+package com.zooplus.petstore.benchmark;
+
+import com.zooplus.petstore.request.PetEndpoints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.RequestEntity;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static java.lang.String.valueOf;
+
+/**
+ * URI and request construction for {@code /pet/{petId}} and {@code /pet/findByStatus?status=}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UriBuildingBenchmark {
+
+    private static final String PET_ENDPOINT = PLATFORM_CONFIG.petEndpoint();
+
+    private long petId;
+    private UriComponents petByIdTemplate;
+
+    @Setup
+    public void setUp() {
+        petId = BenchmarkFixtures.pet().getId();
+        petByIdTemplate = UriComponentsBuilder.fromUriString(PET_ENDPOINT).path("/{petId}").build();
+    }
+
+    /**
+     * What {@code PetService.findPetById} used to do.
+     */
+    @Benchmark
+    public URI petByIdWithBuilder() {
+        return UriComponentsBuilder.fromUriString(PET_ENDPOINT)
+                .pathSegment(valueOf(petId))
+                .build().toUri();
+    }
+
+    @Benchmark
+    public URI petByIdWithExpandedTemplate() {
+        return petByIdTemplate.expand(petId).toUri();
+    }
+
+    /**
+     * What {@code PetService.findPetById} does now.
+     */
+    @Benchmark
+    public URI petByIdWithEndpointTemplate() {
+        return PetEndpoints.FIND_BY_ID.expand(petId);
+    }
+
+    @Benchmark
+    public RequestEntity<Void> petByIdRequestWithEndpointTemplate() {
+        return PetEndpoints.FIND_BY_ID.request(petId);
+    }
+
+    @Benchmark
+    public URI petByIdWithConcatenation() {
+        return URI.create(PET_ENDPOINT + '/' + petId);
+    }
+
+    /**
+     * What {@code PetService.findPetsByStatus} used to do.
+     */
+    @Benchmark
+    public URI findByStatusWithBuilder() {
+        return UriComponentsBuilder.fromUriString(PET_ENDPOINT)
+                .pathSegment("findByStatus")
+                .queryParam("status", "available")
+                .build().toUri();
+    }
+
+    @Benchmark
+    public URI findByStatusWithEndpointTemplate() {
+        return PetEndpoints.FIND_BY_STATUS.expand("available");
+    }
+
+    @Benchmark
+    public URI findByStatusWithConcatenation() {
+        return URI.create(PET_ENDPOINT + "/findByStatus?status=" + "available");
+    }
+}
@@ -0,0 +1,81 @@
+package com.zooplus.petstore.assertion;
+
+import com.zooplus.petstore.metrics.EndpointStats;
+import com.zooplus.petstore.metrics.OperationStats;
+import org.assertj.core.api.AbstractAssert;
+import org.assertj.core.api.Assertions;
+
+import java.time.Duration;
+
+/**
+ * Latency, error rate and throughput assertions on the {@link OperationStats} of a batch, a load run or the
+ * endpoint metrics of the whole test run. Every failure message includes the full statistics.
+ */
+public class PerformanceAssertion extends AbstractAssert<PerformanceAssertion, OperationStats> {
+
+    private PerformanceAssertion(final OperationStats stats) {
+        super(stats, PerformanceAssertion.class);
+    }
+
+    public static PerformanceAssertion assertThat(final OperationStats stats) {
+        return new PerformanceAssertion(stats);
+    }
+
+    /**
+     * Asserts on the exchange latency of an endpoint; use {@code getCallLatency()} for calls including retries
+     * and hedges.
+     */
+    public static PerformanceAssertion assertThat(final EndpointStats stats) {
+        return new PerformanceAssertion(stats == null ? null : stats.getLatency());
+    }
+
+    public PerformanceAssertion hasCountAtLeast(final long minCount) {
+        isNotNull();
+        Assertions.assertThat(actual.getCount())
+                .as("Number of calls of %s", actual)
+                .isGreaterThanOrEqualTo(minCount);
+        return this;
+    }
+
+    /**
+     * Fails for statistics without any calls, whose percentiles would be meaningless zeros.
+     */
+    public PerformanceAssertion hasPercentileBelow(final double percentile, final Duration maxLatency) {
+        hasCountAtLeast(1);
+        Assertions.assertThat(actual.percentile(percentile))
+                .as("p%s latency of %s", percentile, actual)
+                .isLessThan(maxLatency);
+        return this;
+    }
+
+    public PerformanceAssertion hasP50Below(final Duration maxLatency) {
+        return hasPercentileBelow(50, maxLatency);
+    }
+
+    public PerformanceAssertion hasP99Below(final Duration maxLatency) {
+        return hasPercentileBelow(99, maxLatency);
+    }
+
+    public PerformanceAssertion hasP99BelowMillis(final long maxLatencyMillis) {
+        return hasP99Below(Duration.ofMillis(maxLatencyMillis));
+    }
+
+    /**
+     * @param maxErrorPercent highest acceptable share of failed calls, {@code 1} meaning one in a hundred
+     */
+    public PerformanceAssertion hasErrorRateAtMost(final double maxErrorPercent) {
+        isNotNull();
+        Assertions.assertThat(actual.getErrorRate() * 100)
+                .as("Error rate in percent of %s", actual)
+                .isLessThanOrEqualTo(maxErrorPercent);
+        return this;
+    }
+
+    public PerformanceAssertion hasThroughputAtLeast(final double minRequestsPerSecond) {
+        isNotNull();
+        Assertions.assertThat(actual.getThroughput())
+                .as("Throughput in requests per second of %s", actual)
+                .isGreaterThanOrEqualTo(minRequestsPerSecond);
+        return this;
+    }
+}
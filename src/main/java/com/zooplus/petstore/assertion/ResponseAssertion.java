@@ -1,10 +1,13 @@
 package com.zooplus.petstore.assertion;
 
+import com.zooplus.petstore.configs.ResponseTimingInterceptor;
 import org.assertj.core.api.AbstractAssert;
 import org.assertj.core.api.Assertions;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
+
 import static org.springframework.http.HttpStatus.OK;
 
 public class ResponseAssertion<T> extends AbstractAssert<ResponseAssertion<T>, ResponseEntity<T>> {
@@ -47,6 +50,26 @@ public class ResponseAssertion<T> extends AbstractAssert<ResponseAssertion<T>, R
         return this;
     }
 
+    /**
+     * Checks the time until the response headers arrived, as stamped by {@link ResponseTimingInterceptor}.
+     */
+    public ResponseAssertion<T> respondedWithin(final Duration maxResponseTime) {
+        isNotNull();
+        final var responseTime = ResponseTimingInterceptor.responseTime(actual.getHeaders());
+        if (responseTime.isEmpty()) {
+            failWithMessage("Expecting response to carry its response time in <%s>, but it did not",
+                    ResponseTimingInterceptor.RESPONSE_TIME_HEADER);
+        }
+        Assertions.assertThat(responseTime.get())
+                .as("Response time")
+                .isLessThanOrEqualTo(maxResponseTime);
+        return this;
+    }
+
+    public ResponseAssertion<T> respondedWithinMillis(final long maxResponseTimeMillis) {
+        return respondedWithin(Duration.ofMillis(maxResponseTimeMillis));
+    }
+
     public T getBody() {
         return actual.getBody();
     }
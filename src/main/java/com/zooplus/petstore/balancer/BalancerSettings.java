@@ -0,0 +1,63 @@
+package com.zooplus.petstore.balancer;
+
+import com.zooplus.petstore.configs.PetstoreConfigs;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Value
+@Builder
+public class BalancerSettings {
+
+    /**
+     * Base URLs of the petstore replicas; empty to send everything to {@code petstore.baseUrl}.
+     */
+    @Builder.Default
+    List<String> urls = List.of();
+    @Builder.Default
+    BalancingStrategy strategy = BalancingStrategy.EWMA;
+    /**
+     * I/O errors and {@code 5xx} responses in a row that eject a node.
+     */
+    @Builder.Default
+    int failureThreshold = 5;
+    @Builder.Default
+    Duration ejection = Duration.ofSeconds(10);
+    @Builder.Default
+    Duration maxEjection = Duration.ofMinutes(5);
+    /**
+     * How long it takes for a latency sample to fade to a third of its weight in the {@link BalancingStrategy#EWMA}
+     * average.
+     */
+    @Builder.Default
+    Duration ewmaDecay = Duration.ofSeconds(10);
+
+    public static BalancerSettings fromConfig(final PetstoreConfigs configs) {
+        return BalancerSettings.builder()
+                .urls(Arrays.stream(configs.balancerUrls())
+                        .map(String::trim)
+                        .filter(url -> !url.isEmpty())
+                        .collect(Collectors.toList()))
+                .strategy(configs.balancerStrategy())
+                .failureThreshold(configs.balancerFailureThreshold())
+                .ejection(Duration.ofMillis(configs.balancerEjectionMillis()))
+                .maxEjection(Duration.ofMillis(configs.balancerMaxEjectionMillis()))
+                .ewmaDecay(Duration.ofMillis(configs.balancerEwmaDecayMillis()))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return !urls.isEmpty();
+    }
+
+    public LoadBalancer newLoadBalancer() {
+        return new LoadBalancer(strategy, urls.stream()
+                .map(url -> new PetstoreNode(LoadBalancer.withoutTrailingSlash(url), failureThreshold,
+                        ejection.toNanos(), maxEjection.toNanos(), ewmaDecay.toNanos()))
+                .collect(Collectors.toList()));
+    }
+}
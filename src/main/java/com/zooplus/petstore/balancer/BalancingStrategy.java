@@ -0,0 +1,21 @@
+package com.zooplus.petstore.balancer;
+
+/**
+ * How {@link LoadBalancer} picks the petstore node of the next request.
+ */
+public enum BalancingStrategy {
+
+    /**
+     * Each node in turn.
+     */
+    ROUND_ROBIN,
+    /**
+     * The node with the fewest requests in flight, so a slow node gets fewer requests.
+     */
+    LEAST_OUTSTANDING,
+    /**
+     * The cheaper of two random nodes, the cost being the decaying average latency times the requests in flight.
+     * Latency spikes count in full at once and fade slowly, so a node that turned slow is avoided immediately.
+     */
+    EWMA
+}
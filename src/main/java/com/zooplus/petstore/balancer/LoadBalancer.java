@@ -0,0 +1,90 @@
+package com.zooplus.petstore.balancer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads requests over petstore replicas with a {@link BalancingStrategy}, skipping ejected nodes. When every
+ * node is ejected it picks among all of them: a suspect node is still better than failing without trying.
+ */
+public final class LoadBalancer {
+
+    private final BalancingStrategy strategy;
+    private final List<PetstoreNode> nodes;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public LoadBalancer(final BalancingStrategy strategy, final List<PetstoreNode> nodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("At least one petstore node is required");
+        }
+        this.strategy = strategy;
+        this.nodes = List.copyOf(nodes);
+    }
+
+    public List<PetstoreNode> getNodes() {
+        return nodes;
+    }
+
+    public PetstoreNode select() {
+        return select(System.nanoTime());
+    }
+
+    PetstoreNode select(final long now) {
+        final var candidates = available(now);
+        switch (strategy) {
+            case ROUND_ROBIN:
+                return candidates.get(Math.floorMod(cursor.getAndIncrement(), candidates.size()));
+            case LEAST_OUTSTANDING:
+                return leastOutstanding(candidates);
+            case EWMA:
+                return cheaperOfTwo(candidates);
+            default:
+                throw new IllegalStateException("Unknown balancing strategy " + strategy);
+        }
+    }
+
+    private List<PetstoreNode> available(final long now) {
+        final var available = new ArrayList<PetstoreNode>(nodes.size());
+        for (final var node : nodes) {
+            if (node.isAvailable(now)) {
+                available.add(node);
+            }
+        }
+        return available.isEmpty() ? nodes : available;
+    }
+
+    /**
+     * Ties are broken from a random start, or the first of several idle nodes would get every request.
+     */
+    private static PetstoreNode leastOutstanding(final List<PetstoreNode> candidates) {
+        final var size = candidates.size();
+        final var start = ThreadLocalRandom.current().nextInt(size);
+        var best = candidates.get(start);
+        for (var i = 1; i < size; i++) {
+            final var node = candidates.get((start + i) % size);
+            if (node.getOutstanding() < best.getOutstanding()) {
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    private static PetstoreNode cheaperOfTwo(final List<PetstoreNode> candidates) {
+        final var size = candidates.size();
+        if (size == 1) {
+            return candidates.get(0);
+        }
+        final var random = ThreadLocalRandom.current();
+        final var first = random.nextInt(size);
+        final var second = (first + 1 + random.nextInt(size - 1)) % size;
+        final var a = candidates.get(first);
+        final var b = candidates.get(second);
+        return a.cost() <= b.cost() ? a : b;
+    }
+
+    static String withoutTrailingSlash(final String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
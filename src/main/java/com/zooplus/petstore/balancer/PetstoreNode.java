@@ -0,0 +1,121 @@
+package com.zooplus.petstore.balancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One petstore replica as {@link LoadBalancer} sees it: requests in flight, decaying average latency and health.
+ * <p>
+ * Health is judged passively from the traffic itself. {@code failureThreshold} failures in a row eject the node
+ * for {@code ejectionNanos}, doubled with every ejection in a row up to {@code maxEjectionNanos}. After that it
+ * gets requests again: the first success re-admits it, a failure ejects it again at once.
+ */
+public final class PetstoreNode {
+
+    private final String baseUrl;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private final long maxEjectionNanos;
+    private final double decayNanos;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong ejections = new AtomicLong();
+    private double ewmaNanos;
+    private long ewmaUpdatedAt;
+    private boolean sampled;
+    private int consecutiveFailures;
+    private int ejectionsInARow;
+    private volatile boolean ejected;
+    private volatile long ejectedUntil;
+
+    PetstoreNode(final String baseUrl, final int failureThreshold, final long ejectionNanos,
+                 final long maxEjectionNanos, final long decayNanos) {
+        this.baseUrl = baseUrl;
+        this.failureThreshold = failureThreshold;
+        this.ejectionNanos = ejectionNanos;
+        this.maxEjectionNanos = maxEjectionNanos;
+        this.decayNanos = decayNanos;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public long getEjections() {
+        return ejections.get();
+    }
+
+    public boolean isEjected() {
+        return ejected;
+    }
+
+    public synchronized double getEwmaNanos() {
+        return ewmaNanos;
+    }
+
+    /**
+     * Whether the node may get requests: admitted, or ejected and due for another try.
+     */
+    boolean isAvailable(final long now) {
+        return !ejected || now - ejectedUntil >= 0;
+    }
+
+    synchronized double cost() {
+        return sampled ? ewmaNanos * (outstanding.get() + 1) : 0;
+    }
+
+    public void onStart() {
+        outstanding.incrementAndGet();
+    }
+
+    public void onEnd() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * @param latencyNanos time to the response headers; only successful exchanges feed the average
+     * @param success      {@code false} for I/O errors and responses showing the node is unwell
+     */
+    public void onResponse(final long latencyNanos, final boolean success) {
+        onResponse(latencyNanos, success, System.nanoTime());
+    }
+
+    synchronized void onResponse(final long latencyNanos, final boolean success, final long now) {
+        if (!success) {
+            consecutiveFailures++;
+            if (ejected ? now - ejectedUntil >= 0 : consecutiveFailures >= failureThreshold) {
+                eject(now);
+            }
+            return;
+        }
+        consecutiveFailures = 0;
+        if (ejected) {
+            ejected = false;
+            ejectionsInARow = 0;
+        }
+        if (!sampled || latencyNanos > ewmaNanos) {
+            ewmaNanos = latencyNanos;
+            sampled = true;
+        } else {
+            final var weight = Math.exp(-Math.max(0, now - ewmaUpdatedAt) / decayNanos);
+            ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+        }
+        ewmaUpdatedAt = now;
+    }
+
+    private void eject(final long now) {
+        final var duration = Math.min(maxEjectionNanos, ejectionNanos << Math.min(ejectionsInARow, 20));
+        ejectedUntil = now + duration;
+        ejected = true;
+        ejectionsInARow++;
+        ejections.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return baseUrl;
+    }
+}
@@ -0,0 +1,37 @@
+package com.zooplus.petstore.bindings;
+
+import com.zooplus.petstore.cleanup.PetRegistry;
+import com.zooplus.petstore.metrics.PetstoreMetrics;
+import com.zooplus.petstore.resilience.ResilientCalls;
+import com.zooplus.petstore.service.PetClient;
+import com.zooplus.petstore.transport.HttpClientTransport;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+
+/**
+ * Injector-free counterpart of {@link PetstoreInjector} for short jobs: a {@link PetClient} on the JDK
+ * {@code HttpClient} transport, built without Guice, Spring Boot or {@code TestRestTemplate}. Of the Spring path's
+ * interceptors, only endpoint metrics and response times apply.
+ */
+public final class LightweightPetstore {
+
+    private LightweightPetstore() {
+    }
+
+    public static PetClient petClient() {
+        return Holder.PET_CLIENT;
+    }
+
+    public static PetstoreMetrics metrics() {
+        return Holder.METRICS;
+    }
+
+    private static final class Holder {
+
+        private static final PetstoreMetrics METRICS = new PetstoreMetrics();
+        private static final PetClient PET_CLIENT = new PetClient(
+                HttpClientTransport.fromConfig(PLATFORM_CONFIG, Jackson2ObjectMapperBuilder.json().build(), METRICS),
+                new ResilientCalls(METRICS), new PetRegistry());
+    }
+}
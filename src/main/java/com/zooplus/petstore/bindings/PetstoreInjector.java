@@ -0,0 +1,42 @@
+package com.zooplus.petstore.bindings;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+import java.util.Optional;
+
+/**
+ * The one injector of the test process, so concurrently running test classes share a single HTTP client,
+ * connection pool and object mapper instead of building their own.
+ */
+public final class PetstoreInjector {
+
+    private static volatile boolean created;
+
+    private PetstoreInjector() {
+    }
+
+    public static Injector get() {
+        return Holder.INJECTOR;
+    }
+
+    /**
+     * The injector, if some test has already asked for it; lets end-of-run hooks skip runs that made no calls.
+     */
+    public static Optional<Injector> getIfCreated() {
+        return created ? Optional.of(Holder.INJECTOR) : Optional.empty();
+    }
+
+    public static void injectMembers(final Object instance) {
+        get().injectMembers(instance);
+    }
+
+    private static final class Holder {
+
+        private static final Injector INJECTOR = Guice.createInjector(new PetstoreModule());
+
+        static {
+            created = true;
+        }
+    }
+}
@@ -2,14 +2,36 @@ package com.zooplus.petstore.bindings;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.AbstractModule;
+import com.google.inject.Provider;
 import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.zooplus.petstore.balancer.BalancerSettings;
+import com.zooplus.petstore.configs.AllureAttachmentInterceptor;
+import com.zooplus.petstore.configs.AllureAttachmentWriter;
+import com.zooplus.petstore.configs.AllureFullAttachmentInterceptor;
+import com.zooplus.petstore.configs.AllureMode;
+import com.zooplus.petstore.configs.CaptureInterceptor;
+import com.zooplus.petstore.configs.ConcurrencyLimitInterceptor;
+import com.zooplus.petstore.configs.LoadBalancingInterceptor;
+import com.zooplus.petstore.configs.MetricsInterceptor;
+import com.zooplus.petstore.configs.PooledClientHttpRequestFactory;
 import com.zooplus.petstore.configs.RequestResponseLoggingInterceptor;
-import io.qameta.allure.springweb.AllureRestTemplate;
+import com.zooplus.petstore.configs.ResponseTimingInterceptor;
+import com.zooplus.petstore.configs.TrafficInterceptors;
+import com.zooplus.petstore.databind.PetJsonHttpMessageConverter;
+import com.zooplus.petstore.limit.LimiterSettings;
+import com.zooplus.petstore.metrics.PetstoreMetrics;
+import com.zooplus.petstore.transport.HttpClientTransport;
+import com.zooplus.petstore.transport.PetstoreTransport;
+import com.zooplus.petstore.transport.RestTemplateTransport;
+import com.zooplus.petstore.transport.TransportType;
+import io.qameta.allure.Allure;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.BufferingClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
@@ -22,29 +44,114 @@ import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
 public final class PetstoreModule extends AbstractModule {
 
     @Provides
-    public TestRestTemplate getTestRestTemplate() {
+    @Singleton
+    public TestRestTemplate getTestRestTemplate(final PooledClientHttpRequestFactory requestFactory,
+                                                final PetstoreMetrics metrics, final ObjectMapper objectMapper,
+                                                final TrafficInterceptors traffic,
+                                                final Provider<AllureAttachmentWriter> attachmentWriter) {
         final var messageConverters = new ArrayList<HttpMessageConverter<?>>();
-        final var converter = new MappingJackson2HttpMessageConverter();
+        // Pre-rendered JSON bodies go out as they are instead of being serialized again as a Base64 string
+        messageConverters.add(new ByteArrayHttpMessageConverter());
+        messageConverters.add(new PetJsonHttpMessageConverter(objectMapper));
+        final var converter = new MappingJackson2HttpMessageConverter(objectMapper);
         converter.setSupportedMediaTypes(Collections.singletonList(MediaType.ALL));
         messageConverters.add(converter);
-        return new TestRestTemplate(restTemplateBuilder()
+        return new TestRestTemplate(restTemplateBuilder(requestFactory, metrics, traffic, attachmentWriter)
                 .rootUri(PLATFORM_CONFIG.petstoreBaseUrl())
                 .messageConverters(messageConverters)
         );
     }
 
+    /**
+     * The {@code TestRestTemplate} is only built when the Spring transport is selected.
+     */
     @Provides
+    @Singleton
+    PetstoreTransport petstoreTransport(final Provider<TestRestTemplate> testRestTemplate,
+                                        final PetstoreMetrics metrics, final ObjectMapper objectMapper) {
+        if (PLATFORM_CONFIG.transport() == TransportType.HTTP_CLIENT) {
+            return HttpClientTransport.fromConfig(PLATFORM_CONFIG, objectMapper, metrics);
+        }
+        return new RestTemplateTransport(testRestTemplate.get());
+    }
+
+    @Provides
+    @Singleton
     ObjectMapper jacksonObjectMapper() {
         return Jackson2ObjectMapperBuilder.json().build();
     }
 
-    private RestTemplateBuilder restTemplateBuilder() {
-        SimpleClientHttpRequestFactory simpleClientHttpRequestFactory = new SimpleClientHttpRequestFactory();
-        simpleClientHttpRequestFactory.setOutputStreaming(false);
+    @Provides
+    @Singleton
+    PooledClientHttpRequestFactory pooledClientHttpRequestFactory() {
+        return new PooledClientHttpRequestFactory(PLATFORM_CONFIG);
+    }
+
+    @Provides
+    @Singleton
+    TrafficInterceptors trafficInterceptors(final PetstoreMetrics metrics) {
+        ConcurrencyLimitInterceptor limitInterceptor = null;
+        if (PLATFORM_CONFIG.limitEnabled()) {
+            limitInterceptor = ConcurrencyLimitInterceptor.fromSettings(LimiterSettings.fromConfig(PLATFORM_CONFIG),
+                    PLATFORM_CONFIG.petEndpoint());
+            final var limiter = limitInterceptor.getLimiter();
+            metrics.registerGauge("concurrency.limit", limiter::getLimit);
+            metrics.registerGauge("concurrency.inFlight", limiter::getInFlight);
+            metrics.registerGauge("concurrency.timeouts", limiter::getTimeouts);
+        }
+        LoadBalancingInterceptor balancingInterceptor = null;
+        final var balancerSettings = BalancerSettings.fromConfig(PLATFORM_CONFIG);
+        if (balancerSettings.isEnabled()) {
+            balancingInterceptor = LoadBalancingInterceptor.fromSettings(balancerSettings,
+                    PLATFORM_CONFIG.petstoreBaseUrl(), metrics);
+            for (final var node : balancingInterceptor.getBalancer().getNodes()) {
+                metrics.registerGauge("balancer." + node + ".outstanding", node::getOutstanding);
+                metrics.registerGauge("balancer." + node + ".ejected", () -> node.isEjected() ? 1 : 0);
+                metrics.registerGauge("balancer." + node + ".ejections", node::getEjections);
+            }
+        }
+        return new TrafficInterceptors(limitInterceptor, balancingInterceptor);
+    }
+
+    /**
+     * Only built outside of {@link AllureMode#FULL}, which attaches exchanges on the request thread.
+     */
+    @Provides
+    @Singleton
+    AllureAttachmentWriter allureAttachmentWriter() {
+        return new AllureAttachmentWriter(Allure.getLifecycle(), PLATFORM_CONFIG.allureQueueCapacity());
+    }
+
+    private RestTemplateBuilder restTemplateBuilder(final ClientHttpRequestFactory requestFactory,
+                                                    final PetstoreMetrics metrics,
+                                                    final TrafficInterceptors traffic,
+                                                    final Provider<AllureAttachmentWriter> attachmentWriter) {
+        // The logging interceptor copies what the caller reads; only Allure needs response bodies buffered
+        final var interceptors = new ArrayList<ClientHttpRequestInterceptor>();
+        if (PLATFORM_CONFIG.requestResponseLoggingEnabled()) {
+            interceptors.add(RequestResponseLoggingInterceptor.fromConfig(PLATFORM_CONFIG));
+        }
+        if (PLATFORM_CONFIG.allureAttachmentsEnabled()) {
+            if (PLATFORM_CONFIG.allureMode() == AllureMode.FULL) {
+                interceptors.add(new AllureFullAttachmentInterceptor(Allure.getLifecycle()));
+            } else {
+                interceptors.add(AllureAttachmentInterceptor.fromConfig(PLATFORM_CONFIG, attachmentWriter.get()));
+            }
+        }
+        traffic.getLimit().ifPresent(interceptors::add);
+        if (PLATFORM_CONFIG.captureEnabled()) {
+            final var captureInterceptor = CaptureInterceptor.fromConfig(PLATFORM_CONFIG);
+            metrics.registerGauge("capture.written", captureInterceptor.getWriter()::getWritten);
+            metrics.registerGauge("capture.dropped", captureInterceptor.getWriter()::getDropped);
+            interceptors.add(captureInterceptor);
+        }
+        traffic.getBalancer().ifPresent(interceptors::add);
+        if (PLATFORM_CONFIG.metricsEnabled()) {
+            interceptors.add(new MetricsInterceptor(metrics, PLATFORM_CONFIG.petEndpoint()));
+        }
+        interceptors.add(new ResponseTimingInterceptor());
         return new RestTemplateBuilder()
-                .requestFactory(() -> new BufferingClientHttpRequestFactory(simpleClientHttpRequestFactory))
-                .additionalInterceptors(
-                        new RequestResponseLoggingInterceptor(),
-                        new AllureRestTemplate());
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(interceptors);
     }
 }
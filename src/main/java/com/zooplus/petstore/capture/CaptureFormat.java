@@ -0,0 +1,133 @@
+package com.zooplus.petstore.capture;
+
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Binary layout of capture logs.
+ * <p>
+ * A log starts with {@link #MAGIC} and is followed by records, each an {@code int} length and then: send time in
+ * epoch microseconds, status and latency in nanoseconds as unsigned variable-length integers, then method, URI,
+ * headers and body as length-prefixed bytes. Headers are a count of names, each followed by a count of values.
+ * A record cut short by a crash is ignored on reading.
+ */
+final class CaptureFormat {
+
+    static final byte[] MAGIC = {'P', 'S', 'C', 'A', 'P', 1};
+
+    private CaptureFormat() {
+    }
+
+    static final class RecordWriter {
+
+        private byte[] buffer = new byte[1024];
+        private int length;
+
+        /**
+         * Encodes {@code exchange} as a complete record, length prefix included, into {@code output}.
+         */
+        void write(final CapturedExchange exchange, final OutputStream output) throws IOException {
+            length = Integer.BYTES;
+            writeVarLong(exchange.getSentAtMicros());
+            writeVarLong(exchange.getStatusCode());
+            writeVarLong(exchange.getLatencyNanos());
+            writeString(exchange.getMethod());
+            writeString(exchange.getUri().toString());
+            final var headers = exchange.getHeaders();
+            writeVarLong(headers.size());
+            for (final var header : headers.entrySet()) {
+                writeString(header.getKey());
+                writeVarLong(header.getValue().size());
+                for (final var value : header.getValue()) {
+                    writeString(value);
+                }
+            }
+            writeBytes(exchange.getBody());
+            final var recordLength = length - Integer.BYTES;
+            buffer[0] = (byte) (recordLength >>> 24);
+            buffer[1] = (byte) (recordLength >>> 16);
+            buffer[2] = (byte) (recordLength >>> 8);
+            buffer[3] = (byte) recordLength;
+            output.write(buffer, 0, length);
+        }
+
+        private void writeString(final String value) {
+            writeBytes(value.getBytes(UTF_8));
+        }
+
+        private void writeBytes(final byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+
+        private void writeVarLong(final long value) {
+            ensureCapacity(Long.BYTES + 2);
+            var remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            buffer[length++] = (byte) remaining;
+        }
+
+        private void ensureCapacity(final int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+    }
+
+    /**
+     * Decodes the record at the position of {@code record}, past its length prefix.
+     */
+    static CapturedExchange read(final ByteBuffer record) {
+        final var sentAtMicros = readVarLong(record);
+        final var statusCode = (int) readVarLong(record);
+        final var latencyNanos = readVarLong(record);
+        final var method = readString(record);
+        final var uri = URI.create(readString(record));
+        final var headers = new HttpHeaders();
+        for (var names = readVarLong(record); names > 0; names--) {
+            final var name = readString(record);
+            final var valueCount = (int) readVarLong(record);
+            final var values = new ArrayList<String>(valueCount);
+            for (var value = 0; value < valueCount; value++) {
+                values.add(readString(record));
+            }
+            headers.put(name, values);
+        }
+        return new CapturedExchange(sentAtMicros, method, uri, headers, readBytes(record), statusCode, latencyNanos);
+    }
+
+    private static String readString(final ByteBuffer record) {
+        return new String(readBytes(record), UTF_8);
+    }
+
+    private static byte[] readBytes(final ByteBuffer record) {
+        final var bytes = new byte[(int) readVarLong(record)];
+        record.get(bytes);
+        return bytes;
+    }
+
+    private static long readVarLong(final ByteBuffer record) {
+        var value = 0L;
+        for (var shift = 0; shift < Long.SIZE; shift += 7) {
+            final var next = record.get();
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed variable-length integer at " + record.position());
+    }
+}
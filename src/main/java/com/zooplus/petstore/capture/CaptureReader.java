@@ -0,0 +1,102 @@
+package com.zooplus.petstore.capture;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads a capture log through memory-mapped I/O, one {@link CapturedExchange} at a time.
+ * <p>
+ * The log is mapped in windows of at most {@link #MAX_MAPPED_BYTES}, so logs of any size are read without loading
+ * them and decoding touches no more than the page cache. Iteration stops at a record cut short by a crash.
+ */
+public final class CaptureReader implements Iterator<CapturedExchange>, Closeable {
+
+    static final long MAX_MAPPED_BYTES = 256L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long maxMappedBytes;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+
+    public CaptureReader(final Path file) throws IOException {
+        this(file, MAX_MAPPED_BYTES);
+    }
+
+    CaptureReader(final Path file, final long maxMappedBytes) throws IOException {
+        this.maxMappedBytes = maxMappedBytes;
+        this.channel = FileChannel.open(file, READ);
+        this.size = channel.size();
+        final var magic = new byte[CaptureFormat.MAGIC.length];
+        if (!ensureMapped(0, magic.length)) {
+            channel.close();
+            throw new IOException(file + " is not a capture log");
+        }
+        window.get(magic);
+        if (!Arrays.equals(magic, CaptureFormat.MAGIC)) {
+            channel.close();
+            throw new IOException(file + " is not a capture log");
+        }
+        this.position = magic.length;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!ensureMapped(position, Integer.BYTES)) {
+            return false;
+        }
+        final var length = window.getInt((int) (position - windowStart));
+        return length >= 0 && ensureMapped(position, Integer.BYTES + (long) length);
+    }
+
+    @Override
+    public CapturedExchange next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final var offset = (int) (position - windowStart);
+        final var length = window.getInt(offset);
+        final var record = window.duplicate();
+        record.position(offset + Integer.BYTES).limit(offset + Integer.BYTES + length);
+        position += Integer.BYTES + length;
+        return CaptureFormat.read(record);
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private boolean ensureMapped(final long start, final long length) {
+        if (start + length > size) {
+            return false;
+        }
+        if (window != null && start >= windowStart && start + length <= windowStart + window.capacity()) {
+            return true;
+        }
+        return map(start, Math.max(length, Math.min(maxMappedBytes, size - start)));
+    }
+
+    private boolean map(final long start, final long length) {
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Capture record at " + start + " is too large: " + length + " bytes");
+        }
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            windowStart = start;
+            return true;
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not map the capture log at " + start, exception);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.zooplus.petstore.capture;
+
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Appends {@link CapturedExchange}s to a capture log on a single background thread.
+ * <p>
+ * Submitting never blocks: when the bounded queue is full the exchange is dropped and counted. Records are
+ * buffered and written whenever the queue runs empty, so a busy capture costs one write per batch. An existing log
+ * is appended to; pending exchanges are written on JVM shutdown.
+ */
+@Slf4j
+public final class CaptureWriter implements Closeable {
+
+    private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(2);
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path file;
+    private final BlockingQueue<CapturedExchange> queue;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final CaptureFormat.RecordWriter recordWriter = new CaptureFormat.RecordWriter();
+    private final OutputStream output;
+    private final Thread writer;
+    private long droppedReported;
+
+    public CaptureWriter(final Path file, final int queueCapacity) throws IOException {
+        this.file = file;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        final var channel = FileChannel.open(file, CREATE, WRITE, APPEND);
+        this.output = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_BYTES);
+        if (channel.size() == 0) {
+            output.write(CaptureFormat.MAGIC);
+        }
+        this.writer = PetstoreExecutors.daemonThreadFactory("petstore-capture").newThread(this::writeLoop);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            flush(SHUTDOWN_FLUSH_TIMEOUT);
+            closeQuietly();
+        }));
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void submit(final CapturedExchange exchange) {
+        pending.incrementAndGet();
+        if (!queue.offer(exchange)) {
+            pending.decrementAndGet();
+            dropped.increment();
+        }
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    /**
+     * Waits until every submitted exchange is on disk, at most {@code timeout}. Returns whether it was.
+     */
+    public boolean flush(final Duration timeout) {
+        final var deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0) {
+            if (System.nanoTime() - deadline > 0 || !writer.isAlive()) {
+                return false;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops the writer after the pending exchanges are written and closes the log.
+     */
+    @Override
+    public void close() throws IOException {
+        flush(SHUTDOWN_FLUSH_TIMEOUT);
+        writer.interrupt();
+        try {
+            writer.join(SHUTDOWN_FLUSH_TIMEOUT.toMillis());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (output) {
+            output.close();
+        }
+    }
+
+    private void writeLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                var exchange = queue.take();
+                synchronized (output) {
+                    do {
+                        try {
+                            recordWriter.write(exchange, output);
+                            written.increment();
+                        } finally {
+                            pending.decrementAndGet();
+                        }
+                    } while ((exchange = queue.poll()) != null);
+                    output.flush();
+                }
+                reportDrops();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException exception) {
+                log.warn("Could not write to capture log {}", file, exception);
+            }
+        }
+    }
+
+    private void reportDrops() {
+        final var droppedNow = dropped.sum();
+        if (droppedNow != droppedReported) {
+            log.warn("{} exchanges were not captured, the capture queue was full", droppedNow - droppedReported);
+            droppedReported = droppedNow;
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            synchronized (output) {
+                output.close();
+            }
+        } catch (IOException exception) {
+            log.warn("Could not close capture log {}", file, exception);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.zooplus.petstore.capture;
+
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+
+/**
+ * One request/response exchange as recorded in a capture log.
+ */
+@Value
+public class CapturedExchange {
+
+    /**
+     * When the request was sent, in microseconds since the epoch.
+     */
+    long sentAtMicros;
+    String method;
+    URI uri;
+    HttpHeaders headers;
+    byte[] body;
+    /**
+     * HTTP status of the response, {@code 0} when the exchange failed with an I/O error.
+     */
+    int statusCode;
+    /**
+     * Time until the response status and headers were received.
+     */
+    long latencyNanos;
+}
@@ -0,0 +1,249 @@
+package com.zooplus.petstore.capture;
+
+import com.google.inject.Inject;
+import com.zooplus.petstore.bindings.PetstoreInjector;
+import com.zooplus.petstore.concurrent.BoundedExecutor;
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import com.zooplus.petstore.metrics.OperationRecorder;
+import com.zooplus.petstore.metrics.PetOperation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Re-issues the traffic of a capture log through the shared {@code TestRestTemplate} and compares it with the
+ * recording.
+ * <p>
+ * Requests are sent at their recorded pacing, sped up or slowed down by {@link ReplayOptions#getSpeed()}, or as
+ * fast as {@link ReplayOptions#getMaxInFlight()} allows. Headers and bodies are sent as recorded, except for
+ * connection-level headers the transport sets itself. Latency is measured to the response headers, as it was
+ * recorded, and each replayed status is compared with the recorded one. Turn capturing off while replaying, or the
+ * replay is appended to the log.
+ */
+@Slf4j
+public class ReplayEngine {
+
+    private static final Set<String> TRANSPORT_HEADERS = Set.of(HttpHeaders.HOST.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase());
+
+    private final RestTemplate restTemplate;
+    private final String petEndpoint;
+
+    @Inject
+    public ReplayEngine(final TestRestTemplate testRestTemplate) {
+        this.restTemplate = testRestTemplate.getRestTemplate();
+        this.petEndpoint = PLATFORM_CONFIG.petEndpoint();
+    }
+
+    public ReplayReport replay(final Path capture, final ReplayOptions options) throws IOException {
+        final var run = new Run(options);
+        final var executorService = PetstoreExecutors.newRequestExecutor("petstore-replay");
+        log.info("Replaying {} with {}", capture, options);
+        try (var reader = new CaptureReader(capture)) {
+            run.replay(reader, new BoundedExecutor(executorService, options.getMaxInFlight()));
+        } finally {
+            executorService.shutdownNow();
+        }
+        final var report = run.report();
+        log.info(report.format());
+        return report;
+    }
+
+    private final class Run {
+
+        private final ReplayOptions options;
+        private final Map<PetOperation, OperationReplay> operations = new EnumMap<>(PetOperation.class);
+        private final AtomicLong outstanding = new AtomicLong();
+        private final LongAdder replayed = new LongAdder();
+        private final LongAccumulator maxLatenessNanos = new LongAccumulator(Math::max, 0);
+        private long startNanos;
+
+        private Run(final ReplayOptions options) {
+            this.options = options;
+            for (final var operation : PetOperation.values()) {
+                operations.put(operation, new OperationReplay(operation));
+            }
+        }
+
+        private void replay(final CaptureReader reader, final BoundedExecutor executor) {
+            startNanos = System.nanoTime();
+            var firstSentAtMicros = -1L;
+            while (reader.hasNext()) {
+                final var exchange = reader.next();
+                final long dueAt;
+                if (options.isFlatOut()) {
+                    // The log is read no further ahead than the requests in flight
+                    while (outstanding.get() >= options.getMaxInFlight()) {
+                        LockSupport.parkNanos(100_000);
+                    }
+                    dueAt = System.nanoTime();
+                } else {
+                    if (firstSentAtMicros < 0) {
+                        firstSentAtMicros = exchange.getSentAtMicros();
+                    }
+                    dueAt = startNanos + (long) (MICROSECONDS.toNanos(exchange.getSentAtMicros() - firstSentAtMicros)
+                            / options.getSpeed());
+                    parkUntil(dueAt);
+                }
+                outstanding.incrementAndGet();
+                executor.submit(() -> {
+                    try {
+                        send(exchange, dueAt);
+                    } catch (RuntimeException exception) {
+                        log.warn("Could not replay {} {}", exchange.getMethod(), exchange.getUri(), exception);
+                    } finally {
+                        outstanding.decrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            while (outstanding.get() > 0) {
+                LockSupport.parkNanos(1_000_000);
+            }
+        }
+
+        private void send(final CapturedExchange exchange, final long dueAt) {
+            final var uri = retarget(exchange.getUri());
+            final var operation = operations.get(PetOperation.of(exchange.getMethod(), uri.getPath(), petEndpoint));
+            final var sentAt = System.nanoTime();
+            maxLatenessNanos.accumulate(sentAt - dueAt);
+            final var respondedAt = new long[1];
+            int statusCode;
+            try {
+                statusCode = restTemplate.execute(uri, HttpMethod.valueOf(exchange.getMethod()), request -> {
+                    exchange.getHeaders().forEach((name, values) -> {
+                        if (!TRANSPORT_HEADERS.contains(name.toLowerCase())) {
+                            request.getHeaders().put(name, values);
+                        }
+                    });
+                    request.getBody().write(exchange.getBody());
+                }, response -> {
+                    respondedAt[0] = System.nanoTime();
+                    StreamUtils.drain(response.getBody());
+                    return response.getRawStatusCode();
+                });
+            } catch (RestClientException exception) {
+                log.debug("Replayed {} {} failed", exchange.getMethod(), uri, exception);
+                statusCode = 0;
+                respondedAt[0] = System.nanoTime();
+            }
+            operation.record(exchange, statusCode, respondedAt[0] - sentAt);
+            replayed.increment();
+        }
+
+        private URI retarget(final URI uri) {
+            final var target = options.getTarget();
+            if (target == null) {
+                return uri;
+            }
+            return UriComponentsBuilder.fromUri(uri)
+                    .scheme(target.getScheme())
+                    .host(target.getHost())
+                    .port(target.getPort())
+                    .build(true)
+                    .toUri();
+        }
+
+        private ReplayReport report() {
+            final var elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+            final var comparisons = new EnumMap<PetOperation, ReplayReport.Comparison>(PetOperation.class);
+            var mismatches = 0L;
+            for (final var operation : operations.values()) {
+                final var comparison = operation.compare(elapsed);
+                if (comparison.getReplayed().getCount() > 0) {
+                    comparisons.put(operation.operation, comparison);
+                    mismatches += comparison.getStatusMismatches();
+                }
+            }
+            return new ReplayReport(options, comparisons, replayed.sum(), mismatches,
+                    Duration.ofNanos(maxLatenessNanos.get()), elapsed);
+        }
+    }
+
+    private static final class OperationReplay {
+
+        private final PetOperation operation;
+        private final OperationRecorder recorded;
+        private final OperationRecorder replayed;
+        private final Map<Integer, LongAdder> recordedStatuses = new ConcurrentHashMap<>();
+        private final Map<Integer, LongAdder> replayedStatuses = new ConcurrentHashMap<>();
+        private final LongAdder statusMismatches = new LongAdder();
+
+        private OperationReplay(final PetOperation operation) {
+            this.operation = operation;
+            this.recorded = new OperationRecorder(operation.name());
+            this.replayed = new OperationRecorder(operation.name());
+        }
+
+        private void record(final CapturedExchange exchange, final int statusCode, final long latencyNanos) {
+            recorded.record(exchange.getLatencyNanos(), isSuccess(exchange.getStatusCode()));
+            replayed.record(latencyNanos, isSuccess(statusCode));
+            recordedStatuses.computeIfAbsent(exchange.getStatusCode(), status -> new LongAdder()).increment();
+            replayedStatuses.computeIfAbsent(statusCode, status -> new LongAdder()).increment();
+            if (statusCode != exchange.getStatusCode()) {
+                statusMismatches.increment();
+            }
+        }
+
+        private ReplayReport.Comparison compare(final Duration elapsed) {
+            return new ReplayReport.Comparison(recorded.snapshot(elapsed), replayed.snapshot(elapsed),
+                    sums(recordedStatuses), sums(replayedStatuses), statusMismatches.sum());
+        }
+
+        private static boolean isSuccess(final int statusCode) {
+            return statusCode > 0 && statusCode < 400;
+        }
+
+        private static Map<Integer, Long> sums(final Map<Integer, LongAdder> counts) {
+            final var sums = new TreeMap<Integer, Long>();
+            counts.forEach((status, count) -> sums.put(status, count.sum()));
+            return sums;
+        }
+    }
+
+    private static void parkUntil(final long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Replays a capture log against {@code petstore.baseUrl}: {@code <file> [speed|max]}.
+     */
+    public static void main(final String[] args) throws IOException {
+        final var file = Paths.get(args.length > 0 ? args[0] : PLATFORM_CONFIG.captureFile());
+        final var options = (args.length > 1 ? ReplayOptions.parse(args[1]) : ReplayOptions.builder().build())
+                .toBuilder()
+                .target(URI.create(PLATFORM_CONFIG.petstoreBaseUrl()))
+                .build();
+        if (PLATFORM_CONFIG.captureEnabled()) {
+            log.warn("petstore.capture.enabled is on, the replay is captured too");
+        }
+        PetstoreInjector.get().getInstance(ReplayEngine.class).replay(file, options);
+    }
+}
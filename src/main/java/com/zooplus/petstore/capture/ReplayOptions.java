@@ -0,0 +1,38 @@
+package com.zooplus.petstore.capture;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.net.URI;
+
+@Value
+@Builder(toBuilder = true)
+public class ReplayOptions {
+
+    /**
+     * Pacing relative to the recording: {@code 1} keeps the original gaps between requests, {@code 2} halves them.
+     */
+    @Builder.Default
+    double speed = 1;
+    /**
+     * Sends every request as soon as a slot is free, ignoring the recorded timing. Requests may overtake each other,
+     * so stateful sequences such as add then delete can answer differently unless {@code maxInFlight} is {@code 1}.
+     */
+    @Builder.Default
+    boolean flatOut = false;
+    /**
+     * Upper bound of requests in flight; requests due above it queue, and the queueing counts as lateness.
+     */
+    @Builder.Default
+    int maxInFlight = 100;
+    /**
+     * Scheme, host and port to send the requests to instead of the recorded ones; {@code null} keeps them.
+     */
+    URI target;
+
+    public static ReplayOptions parse(final String speed) {
+        return "max".equalsIgnoreCase(speed)
+                ? ReplayOptions.builder().flatOut(true).build()
+                : ReplayOptions.builder().speed(Double.parseDouble(speed)).build();
+    }
+}
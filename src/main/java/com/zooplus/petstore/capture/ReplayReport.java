@@ -0,0 +1,63 @@
+package com.zooplus.petstore.capture;
+
+import com.zooplus.petstore.metrics.OperationStats;
+import com.zooplus.petstore.metrics.PetOperation;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static java.lang.System.lineSeparator;
+
+/**
+ * Recorded against replayed latency and status per operation of a {@link ReplayEngine} run.
+ */
+@Value
+public class ReplayReport {
+
+    ReplayOptions options;
+    Map<PetOperation, Comparison> operations;
+    long replayed;
+    /**
+     * Replayed requests whose status differs from the recorded one.
+     */
+    long statusMismatches;
+    /**
+     * How far behind its schedule the latest request was sent.
+     */
+    Duration maxLateness;
+    Duration elapsed;
+
+    @Value
+    public static class Comparison {
+
+        OperationStats recorded;
+        OperationStats replayed;
+        Map<Integer, Long> recordedStatuses;
+        Map<Integer, Long> replayedStatuses;
+        long statusMismatches;
+
+        /**
+         * Replayed p99 over recorded p99, above {@code 1} when the replay was slower.
+         */
+        public double getP99Ratio() {
+            final var recordedP99 = recorded.getP99().toNanos();
+            return recordedP99 == 0 ? 0 : (double) replayed.getP99().toNanos() / recordedP99;
+        }
+    }
+
+    public String format() {
+        final var report = new StringBuilder()
+                .append(String.format("Replayed %d requests in %.1f s (%s), %d status mismatches, max lateness "
+                                + "%.3f ms:", replayed, elapsed.toNanos() / 1e9,
+                        options.isFlatOut() ? "flat out" : "x" + options.getSpeed(), statusMismatches,
+                        maxLateness.toNanos() / 1e6));
+        operations.forEach((operation, comparison) -> report.append(lineSeparator())
+                .append(String.format("  %-16s p99 x%.2f statuses %s -> %s, %d mismatches", operation,
+                        comparison.getP99Ratio(), comparison.getRecordedStatuses(),
+                        comparison.getReplayedStatuses(), comparison.getStatusMismatches()))
+                .append(lineSeparator()).append("    recorded ").append(comparison.getRecorded())
+                .append(lineSeparator()).append("    replayed ").append(comparison.getReplayed()));
+        return report.toString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.zooplus.petstore.cleanup;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a {@link PetCleaner} run. Pets already gone count as deleted.
+ */
+@Value
+public class CleanupResult {
+
+    int pets;
+    int fromPreviousRuns;
+    int failed;
+    Duration elapsed;
+
+    public int getDeleted() {
+        return pets - failed;
+    }
+}
@@ -0,0 +1,150 @@
+package com.zooplus.petstore.cleanup;
+
+import com.google.inject.Inject;
+import com.zooplus.petstore.concurrent.ConcurrentLongSet;
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import com.zooplus.petstore.service.PetClient;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Deletes the pets in the {@link PetRegistry} through {@link PetClient#deletePet}, at most {@code parallelism}
+ * at a time, so test and load runs do not leave their pets behind to slow down {@code findPetsByStatus}. It runs
+ * after the tests, so the deletions are not reported as Allure steps.
+ * <p>
+ * Pets whose deletion fails, after the retries of {@code PetClient}, are written to {@code pendingFile}, one ID
+ * per line; the next cleanup deletes them along with its own and rewrites the file with whatever is still left.
+ */
+@Slf4j
+public class PetCleaner {
+
+    private final PetClient petClient;
+    private final PetRegistry registry;
+    private final int parallelism;
+    private final Path pendingFile;
+
+    @Inject
+    public PetCleaner(final PetClient petClient, final PetRegistry registry) {
+        this(petClient, registry, PLATFORM_CONFIG.cleanupParallelism(), Paths.get(PLATFORM_CONFIG.cleanupFile()));
+    }
+
+    public PetCleaner(final PetClient petClient, final PetRegistry registry, final int parallelism,
+                      final Path pendingFile) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive, was " + parallelism);
+        }
+        this.petClient = petClient;
+        this.registry = registry;
+        this.parallelism = parallelism;
+        this.pendingFile = pendingFile;
+    }
+
+    public Path getPendingFile() {
+        return pendingFile;
+    }
+
+    /**
+     * Deletes every registered pet and every pet left pending by earlier runs.
+     */
+    public CleanupResult cleanUp() {
+        final var start = System.nanoTime();
+        final var petIds = new ConcurrentLongSet();
+        for (final var petId : registry.petIds()) {
+            petIds.add(petId);
+        }
+        final var fromPreviousRuns = readPending(petIds);
+        final var failed = new ConcurrentLongSet();
+        if (!petIds.isEmpty()) {
+            log.info("Deleting {} pets, {} of them left by earlier runs", petIds.size(), fromPreviousRuns);
+            deleteAll(petIds.toArray(), failed);
+        }
+        writePending(failed);
+        final var result = new CleanupResult(petIds.size(), fromPreviousRuns, failed.size(),
+                Duration.ofNanos(System.nanoTime() - start));
+        if (result.getFailed() > 0) {
+            log.warn("Deleted {} of {} pets in {}, {} left for the next run in {}", result.getDeleted(),
+                    result.getPets(), result.getElapsed(), result.getFailed(), pendingFile);
+        } else if (result.getPets() > 0) {
+            log.info("Deleted {} pets in {}", result.getDeleted(), result.getElapsed());
+        }
+        return result;
+    }
+
+    private void deleteAll(final long[] petIds, final ConcurrentLongSet failed) {
+        final var permits = new Semaphore(parallelism);
+        final var executor = PetstoreExecutors.newRequestExecutor("petstore-cleanup");
+        try {
+            for (final var petId : petIds) {
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        if (!delete(petId)) {
+                            failed.add(petId);
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+            permits.acquireUninterruptibly(parallelism);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean delete(final long petId) {
+        try {
+            final var status = petClient.deletePet(petId).getStatusCode();
+            return status.is2xxSuccessful() || status == NOT_FOUND;
+        } catch (RuntimeException exception) {
+            log.debug("Could not delete pet {}", petId, exception);
+            return false;
+        }
+    }
+
+    private int readPending(final ConcurrentLongSet petIds) {
+        if (!Files.exists(pendingFile)) {
+            return 0;
+        }
+        try (var lines = Files.lines(pendingFile, UTF_8)) {
+            return (int) lines.map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .filter(line -> petIds.add(Long.parseLong(line)))
+                    .count();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not read pending pet IDs from " + pendingFile, exception);
+        }
+    }
+
+    private void writePending(final ConcurrentLongSet failed) {
+        try {
+            if (failed.isEmpty()) {
+                Files.deleteIfExists(pendingFile);
+                return;
+            }
+            final var parent = pendingFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (var writer = Files.newBufferedWriter(pendingFile, UTF_8)) {
+                for (final var petId : failed.toArray()) {
+                    writer.write(Long.toString(petId));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not write pending pet IDs to " + pendingFile, exception);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.zooplus.petstore.cleanup;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.zooplus.petstore.concurrent.ConcurrentLongSet;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+
+/**
+ * IDs of the pets {@code PetClient} has added and not deleted since, for {@link PetCleaner} to delete at the end
+ * of the run. Registering is a lock-striped insert into a primitive set, cheap enough for load runs.
+ */
+@Singleton
+public final class PetRegistry {
+
+    private final boolean enabled;
+    private final ConcurrentLongSet petIds = new ConcurrentLongSet();
+
+    @Inject
+    public PetRegistry() {
+        this(PLATFORM_CONFIG.cleanupEnabled());
+    }
+
+    /**
+     * @param enabled whether pets are registered at all; a disabled registry stays empty
+     */
+    public PetRegistry(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void register(final long petId) {
+        if (enabled) {
+            petIds.add(petId);
+        }
+    }
+
+    public void unregister(final long petId) {
+        petIds.remove(petId);
+    }
+
+    public boolean contains(final long petId) {
+        return petIds.contains(petId);
+    }
+
+    public int size() {
+        return petIds.size();
+    }
+
+    public long[] petIds() {
+        return petIds.toArray();
+    }
+}
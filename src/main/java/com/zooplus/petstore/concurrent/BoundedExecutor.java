@@ -0,0 +1,82 @@
+package com.zooplus.petstore.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks on an executor while keeping at most {@code maxInFlight} of them running.
+ * <p>
+ * Submitting never blocks: tasks over the limit wait in a queue and are dispatched as running ones complete.
+ */
+public final class BoundedExecutor {
+
+    private final Executor executor;
+    private final int maxInFlight;
+    private final Semaphore permits;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+    public BoundedExecutor(final Executor executor, final int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive, was " + maxInFlight);
+        }
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    public <T> CompletableFuture<T> submit(final Supplier<T> task) {
+        final var future = new CompletableFuture<T>();
+        pending.add(() -> {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(task.get());
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        });
+        dispatch();
+        return future;
+    }
+
+    public int inFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    public int queued() {
+        return pending.size();
+    }
+
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    private void dispatch() {
+        while (!pending.isEmpty() && permits.tryAcquire()) {
+            final var task = pending.poll();
+            if (task == null) {
+                permits.release();
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                        dispatch();
+                    }
+                });
+            } catch (RejectedExecutionException exception) {
+                permits.release();
+                throw exception;
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.zooplus.petstore.concurrent;
+
+/**
+ * Thread-safe set of primitive {@code long}s for tracking millions of IDs: no object per value, just 8 bytes per
+ * table slot, with tables kept at most 3/4 full.
+ * <p>
+ * Values are spread over lock stripes by hash, so threads adding different values rarely wait for each other.
+ * Each stripe is an open-addressing table with linear probing; removals shift later entries back instead of
+ * leaving tombstones, so a set that keeps adding and removing does not degrade.
+ */
+public final class ConcurrentLongSet {
+
+    private static final int STRIPES = 64;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long EMPTY = 0;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public ConcurrentLongSet() {
+        for (var index = 0; index < STRIPES; index++) {
+            stripes[index] = new Stripe();
+        }
+    }
+
+    /**
+     * @return whether the value was not yet in the set
+     */
+    public boolean add(final long value) {
+        final var hash = mix(value);
+        return stripe(hash).add(value, hash);
+    }
+
+    /**
+     * @return whether the value was in the set
+     */
+    public boolean remove(final long value) {
+        final var hash = mix(value);
+        return stripe(hash).remove(value, hash);
+    }
+
+    public boolean contains(final long value) {
+        final var hash = mix(value);
+        return stripe(hash).contains(value, hash);
+    }
+
+    public int size() {
+        var size = 0;
+        for (final var stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * The values in no particular order; each stripe is copied atomically, the set as a whole is not.
+     */
+    public long[] toArray() {
+        final var parts = new long[STRIPES][];
+        var size = 0;
+        for (var index = 0; index < STRIPES; index++) {
+            parts[index] = stripes[index].toArray();
+            size += parts[index].length;
+        }
+        final var values = new long[size];
+        var offset = 0;
+        for (final var part : parts) {
+            System.arraycopy(part, 0, values, offset, part.length);
+            offset += part.length;
+        }
+        return values;
+    }
+
+    private Stripe stripe(final long hash) {
+        return stripes[(int) (hash >>> 58)];
+    }
+
+    /**
+     * Final step of MurmurHash3: sequential IDs end up all over the stripes and tables.
+     */
+    private static long mix(final long value) {
+        var hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Zero marks free slots, so a zero value is kept in a flag of its own.
+     */
+    private static final class Stripe {
+
+        private long[] table = new long[INITIAL_CAPACITY];
+        private int size;
+        private boolean containsZero;
+
+        synchronized boolean add(final long value, final long hash) {
+            if (value == EMPTY) {
+                if (containsZero) {
+                    return false;
+                }
+                containsZero = true;
+                return true;
+            }
+            var slot = slot(hash, table.length);
+            while (table[slot] != EMPTY) {
+                if (table[slot] == value) {
+                    return false;
+                }
+                slot = (slot + 1) & (table.length - 1);
+            }
+            table[slot] = value;
+            if (++size > table.length * 3 / 4) {
+                resize();
+            }
+            return true;
+        }
+
+        synchronized boolean remove(final long value, final long hash) {
+            if (value == EMPTY) {
+                final var removed = containsZero;
+                containsZero = false;
+                return removed;
+            }
+            final var mask = table.length - 1;
+            var slot = slot(hash, table.length);
+            while (table[slot] != value) {
+                if (table[slot] == EMPTY) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            // Shift back the entries of the probe run that could not sit in their own slot
+            var free = slot;
+            var next = (free + 1) & mask;
+            while (table[next] != EMPTY) {
+                final var home = slot(mix(table[next]), table.length);
+                if (((next - home) & mask) >= ((next - free) & mask)) {
+                    table[free] = table[next];
+                    free = next;
+                }
+                next = (next + 1) & mask;
+            }
+            table[free] = EMPTY;
+            size--;
+            return true;
+        }
+
+        synchronized boolean contains(final long value, final long hash) {
+            if (value == EMPTY) {
+                return containsZero;
+            }
+            var slot = slot(hash, table.length);
+            while (table[slot] != EMPTY) {
+                if (table[slot] == value) {
+                    return true;
+                }
+                slot = (slot + 1) & (table.length - 1);
+            }
+            return false;
+        }
+
+        synchronized int size() {
+            return size + (containsZero ? 1 : 0);
+        }
+
+        synchronized long[] toArray() {
+            final var values = new long[size()];
+            var index = 0;
+            for (final var value : table) {
+                if (value != EMPTY) {
+                    values[index++] = value;
+                }
+            }
+            if (containsZero) {
+                values[index] = EMPTY;
+            }
+            return values;
+        }
+
+        private void resize() {
+            final var old = table;
+            table = new long[old.length * 2];
+            final var mask = table.length - 1;
+            for (final var value : old) {
+                if (value != EMPTY) {
+                    var slot = slot(mix(value), table.length);
+                    while (table[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    table[slot] = value;
+                }
+            }
+        }
+
+        private static int slot(final long hash, final int capacity) {
+            return (int) hash & (capacity - 1);
+        }
+    }
+}
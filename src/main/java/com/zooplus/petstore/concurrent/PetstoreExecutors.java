@@ -0,0 +1,86 @@
+package com.zooplus.petstore.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Executors for blocking petstore calls.
+ * <p>
+ * Uses one virtual thread per task when the running JDK provides them, so thousands of requests can be
+ * parked cheaply. Older JDKs fall back to a cached pool of daemon platform threads.
+ * <p>
+ * Threads never inherit inheritable thread locals: Allure keeps the current test case in one, and a worker
+ * silently reporting into whichever test happened to create it would pile every call into that test.
+ */
+@Slf4j
+public final class PetstoreExecutors {
+
+    private static final MethodHandle VIRTUAL_THREAD_FACTORY = findVirtualThreadFactory();
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR = findThreadPerTaskExecutor();
+
+    private PetstoreExecutors() {
+    }
+
+    public static ExecutorService newRequestExecutor(final String threadNamePrefix) {
+        if (VIRTUAL_THREAD_FACTORY != null && NEW_THREAD_PER_TASK_EXECUTOR != null) {
+            try {
+                final var threadFactory = (ThreadFactory) VIRTUAL_THREAD_FACTORY.invoke(threadNamePrefix + "-");
+                return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(threadFactory);
+            } catch (Throwable throwable) {
+                log.warn("Could not create virtual thread executor, falling back to platform threads", throwable);
+            }
+        }
+        return Executors.newCachedThreadPool(daemonThreadFactory(threadNamePrefix));
+    }
+
+    public static ThreadFactory daemonThreadFactory(final String threadNamePrefix) {
+        final var counter = new AtomicInteger();
+        return runnable -> {
+            final var thread = new Thread(null, runnable, threadNamePrefix + "-" + counter.incrementAndGet(),
+                    0, false);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * {@code Thread.ofVirtual().inheritInheritableThreadLocals(false).name(prefix, 0).factory()}.
+     */
+    private static MethodHandle findVirtualThreadFactory() {
+        try {
+            final var lookup = MethodHandles.publicLookup();
+            final var builderType = Class.forName("java.lang.Thread$Builder");
+            final var virtualBuilderType = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            final var ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", methodType(virtualBuilderType));
+            final var noInheritance = MethodHandles.insertArguments(lookup.findVirtual(virtualBuilderType,
+                    "inheritInheritableThreadLocals", methodType(virtualBuilderType, boolean.class)), 1, false);
+            final var name = MethodHandles.insertArguments(lookup.findVirtual(virtualBuilderType, "name",
+                    methodType(virtualBuilderType, String.class, long.class)), 2, 0L);
+            final var factory = lookup.findVirtual(builderType, "factory", methodType(ThreadFactory.class));
+            final var configured = MethodHandles.filterReturnValue(ofVirtual, noInheritance);
+            // (prefix) -> factory(name(configured(), prefix))
+            final var named = MethodHandles.collectArguments(name, 0, configured);
+            return MethodHandles.filterReturnValue(named, factory.asType(methodType(ThreadFactory.class,
+                    virtualBuilderType)));
+        } catch (ReflectiveOperationException exception) {
+            return null;
+        }
+    }
+
+    private static MethodHandle findThreadPerTaskExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newThreadPerTaskExecutor",
+                    methodType(ExecutorService.class, ThreadFactory.class));
+        } catch (ReflectiveOperationException exception) {
+            return null;
+        }
+    }
+}
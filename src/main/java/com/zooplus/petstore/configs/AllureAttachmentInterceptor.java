@@ -0,0 +1,101 @@
+package com.zooplus.petstore.configs;
+
+import com.zooplus.petstore.metrics.PetOperation;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reports exchanges to Allure in {@link AllureMode#SAMPLED} and {@link AllureMode#SUMMARY} mode.
+ * <p>
+ * Every exchange made within a test case is counted for its {@link AllureExchangeSummaries summary}. Failed
+ * (4xx, 5xx, I/O error) exchanges are attached in both modes, slow ones and a {@code sampleRate} share of the
+ * others only when sampling. Only the body of an attached response is buffered, the others pass through untouched;
+ * attachments are rendered and written by {@link AllureAttachmentWriter}.
+ */
+public class AllureAttachmentInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AllureMode mode;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final String petEndpoint;
+    private final AllureLifecycle lifecycle;
+    private final AllureAttachmentWriter attachmentWriter;
+
+    public AllureAttachmentInterceptor(final AllureMode mode, final double sampleRate, final Duration slowThreshold,
+                                       final String petEndpoint, final AllureLifecycle lifecycle,
+                                       final AllureAttachmentWriter attachmentWriter) {
+        this.mode = mode;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.petEndpoint = petEndpoint;
+        this.lifecycle = lifecycle;
+        this.attachmentWriter = attachmentWriter;
+    }
+
+    public static AllureAttachmentInterceptor fromConfig(final PetstoreConfigs configs,
+                                                         final AllureAttachmentWriter attachmentWriter) {
+        return new AllureAttachmentInterceptor(configs.allureMode(), configs.allureSampleRate(),
+                Duration.ofMillis(configs.allureSlowThresholdMillis()), configs.petEndpoint(), Allure.getLifecycle(),
+                attachmentWriter);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        final var testCase = AllureTestCaseContext.currentTestCase(lifecycle);
+        if (testCase.isEmpty()) {
+            return execution.execute(request, body);
+        }
+        final var operation = PetOperation.of(request.getMethodValue(), request.getURI().getPath(), petEndpoint);
+        final var start = System.nanoTime();
+        final ClientHttpResponse response;
+        final int statusCode;
+        try {
+            response = execution.execute(request, body);
+            statusCode = response.getRawStatusCode();
+        } catch (IOException | RuntimeException exception) {
+            final var latencyNanos = System.nanoTime() - start;
+            AllureExchangeSummaries.record(testCase.get(), operation, 0, latencyNanos);
+            attachmentWriter.attach(new LoggedExchange(LoggedExchange.Reason.FAILED, request.getMethodValue(),
+                    request.getURI(), request.getHeaders(), body, 0, null, null, 0, latencyNanos, exception));
+            throw exception;
+        }
+        final var latencyNanos = System.nanoTime() - start;
+        AllureExchangeSummaries.record(testCase.get(), operation, statusCode, latencyNanos);
+        final var reason = reasonToAttach(statusCode, latencyNanos);
+        if (reason == null) {
+            return response;
+        }
+        final var responseBody = StreamUtils.copyToByteArray(response.getBody());
+        attachmentWriter.attach(new LoggedExchange(reason, request.getMethodValue(), request.getURI(),
+                request.getHeaders(), body, statusCode, response.getHeaders(), responseBody, responseBody.length,
+                latencyNanos, null));
+        return new ResponseBufferingInterceptor.BufferedClientHttpResponse(response, responseBody);
+    }
+
+    private LoggedExchange.Reason reasonToAttach(final int statusCode, final long latencyNanos) {
+        if (statusCode >= HttpStatus.BAD_REQUEST.value()) {
+            return LoggedExchange.Reason.FAILED;
+        }
+        if (mode == AllureMode.SUMMARY) {
+            return null;
+        }
+        if (latencyNanos >= slowThresholdNanos) {
+            return LoggedExchange.Reason.SLOW;
+        }
+        if (sampleRate >= 1 || sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return LoggedExchange.Reason.SAMPLED;
+        }
+        return null;
+    }
+}
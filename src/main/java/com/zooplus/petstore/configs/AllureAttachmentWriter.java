@@ -0,0 +1,161 @@
+package com.zooplus.petstore.configs;
+
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.attachment.AttachmentContent;
+import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import io.qameta.allure.attachment.http.HttpResponseAttachment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Renders {@link LoggedExchange}s as Allure HTTP attachments and writes them on a single background thread.
+ * <p>
+ * The attachments are registered with the current test case or step on the request thread, which is cheap, and
+ * rendered with the same templates as {@code AllureRestTemplate} later. When the bounded queue is full a short
+ * placeholder is written instead, so the report never points at a missing file. Pending attachments are written on
+ * JVM shutdown, before the report is generated from the results directory.
+ * <p>
+ * Each instance starts a writer thread and a shutdown hook of its own; {@code PetstoreModule} provides a single one.
+ */
+@Slf4j
+public final class AllureAttachmentWriter {
+
+    private static final String HTML = "text/html";
+    private static final String HTML_EXTENSION = ".html";
+    private static final byte[] DROPPED = "<pre>Not rendered, the attachment queue was full</pre>".getBytes(UTF_8);
+    private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(10);
+
+    private final AllureLifecycle lifecycle;
+    private final BlockingQueue<PendingAttachment> queue;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    // Each renderer holds its own FreeMarker configuration; both are only used by the writer thread
+    private final FreemarkerAttachmentRenderer requestRenderer = new FreemarkerAttachmentRenderer("http-request.ftl");
+    private final FreemarkerAttachmentRenderer responseRenderer = new FreemarkerAttachmentRenderer("http-response.ftl");
+
+    public AllureAttachmentWriter(final AllureLifecycle lifecycle, final int queueCapacity) {
+        this.lifecycle = lifecycle;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        PetstoreExecutors.daemonThreadFactory("petstore-allure").newThread(this::writeLoop).start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(SHUTDOWN_FLUSH_TIMEOUT)));
+    }
+
+    /**
+     * Attaches the exchange to the current test case or step of the calling thread. Returns false if there is none.
+     */
+    public boolean attach(final LoggedExchange exchange) {
+        if (lifecycle.getCurrentTestCaseOrStep().isEmpty()) {
+            return false;
+        }
+        final var suffix = " [" + exchange.getReason() + "]";
+        final var attachment = new PendingAttachment(exchange,
+                lifecycle.prepareAttachment("Request" + suffix, HTML, HTML_EXTENSION),
+                lifecycle.prepareAttachment("Response" + suffix, HTML, HTML_EXTENSION));
+        pending.incrementAndGet();
+        if (!queue.offer(attachment)) {
+            pending.decrementAndGet();
+            dropped.increment();
+            lifecycle.writeAttachment(attachment.requestSource, new ByteArrayInputStream(DROPPED));
+            lifecycle.writeAttachment(attachment.responseSource, new ByteArrayInputStream(DROPPED));
+        }
+        return true;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Waits until every attached exchange is written, at most {@code timeout}. Returns whether it was.
+     */
+    public boolean flush(final Duration timeout) {
+        final var deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                final var attachment = queue.take();
+                try {
+                    write(attachment);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException exception) {
+                log.warn("Could not write an Allure attachment", exception);
+            }
+        }
+    }
+
+    private void write(final PendingAttachment attachment) {
+        final var exchange = attachment.exchange;
+        final var uri = exchange.getUri().toString();
+        final var request = HttpRequestAttachment.Builder.create("Request", uri)
+                .setMethod(exchange.getMethod())
+                .setHeaders(headerMap(exchange.getRequestHeaders()))
+                .setBody(new String(exchange.getRequestBody(),
+                        AsyncExchangeLogger.charsetOf(exchange.getRequestHeaders())))
+                .build();
+        write(attachment.requestSource, requestRenderer.render(request));
+        final var responseHeaders = exchange.getResponseHeaders();
+        final var response = HttpResponseAttachment.Builder.create("Response")
+                .setUrl(uri)
+                .setResponseCode(exchange.getStatusCode())
+                .setHeaders(responseHeaders == null ? Map.of() : headerMap(responseHeaders))
+                .setBody(exchange.getError() != null
+                        ? exchange.getError().toString()
+                        : new String(exchange.getResponseBodyPrefix(), AsyncExchangeLogger.charsetOf(responseHeaders)))
+                .build();
+        write(attachment.responseSource, responseRenderer.render(response));
+    }
+
+    private void write(final String source, final AttachmentContent content) {
+        lifecycle.writeAttachment(source, new ByteArrayInputStream(content.getContent().getBytes(UTF_8)));
+    }
+
+    private static Map<String, String> headerMap(final HttpHeaders headers) {
+        return headers.entrySet().stream()
+                .collect(toMap(Map.Entry::getKey, header -> String.join("; ", header.getValue())));
+    }
+
+    private static final class PendingAttachment {
+
+        private final LoggedExchange exchange;
+        private final String requestSource;
+        private final String responseSource;
+
+        private PendingAttachment(final LoggedExchange exchange, final String requestSource,
+                                  final String responseSource) {
+            this.exchange = exchange;
+            this.requestSource = requestSource;
+            this.responseSource = responseSource;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.zooplus.petstore.configs;
+
+import com.zooplus.petstore.metrics.PetOperation;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.TestResult;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.System.lineSeparator;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Attaches a summary of its HTTP exchanges to every test case when it stops: calls, statuses and latency
+ * percentiles per endpoint.
+ * <p>
+ * Exchanges are recorded by {@link AllureAttachmentInterceptor} outside of {@link AllureMode#FULL}. Allure loads
+ * this listener itself, so the exchanges are kept per test case in a static map until the test case stops.
+ */
+public final class AllureExchangeSummaries implements TestLifecycleListener {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = Duration.ofHours(1).toNanos() / 1_000;
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final Map<String, TestCaseExchanges> EXCHANGES = new ConcurrentHashMap<>();
+
+    static void record(final String testCaseUuid, final PetOperation operation, final int statusCode,
+                       final long latencyNanos) {
+        EXCHANGES.computeIfAbsent(testCaseUuid, uuid -> new TestCaseExchanges())
+                .record(operation, statusCode, latencyNanos);
+    }
+
+    @Override
+    public void beforeTestStop(final TestResult result) {
+        attachSummary(result, Allure.getLifecycle());
+    }
+
+    static void attachSummary(final TestResult result, final AllureLifecycle lifecycle) {
+        final var exchanges = EXCHANGES.remove(result.getUuid());
+        if (exchanges == null) {
+            return;
+        }
+        final var source = UUID.randomUUID() + "-attachment.txt";
+        result.getAttachments().add(new Attachment().setName("HTTP exchanges").setSource(source)
+                .setType("text/plain"));
+        lifecycle.writeAttachment(source, new ByteArrayInputStream(exchanges.format().getBytes(UTF_8)));
+    }
+
+    private static final class TestCaseExchanges {
+
+        private final Map<PetOperation, OperationExchanges> operations = new ConcurrentHashMap<>();
+
+        private void record(final PetOperation operation, final int statusCode, final long latencyNanos) {
+            operations.computeIfAbsent(operation, key -> new OperationExchanges()).record(statusCode, latencyNanos);
+        }
+
+        private String format() {
+            final var text = new StringBuilder(String.format("%-18s %8s %8s %8s %8s  %s", "Operation", "Calls",
+                    "p50 ms", "p99 ms", "max ms", "Statuses"));
+            new TreeMap<>(operations).forEach((operation, exchanges) ->
+                    text.append(lineSeparator()).append(exchanges.format(operation)));
+            return text.toString();
+        }
+    }
+
+    private static final class OperationExchanges {
+
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+        private void record(final int statusCode, final long latencyNanos) {
+            latencies.recordValue(Math.min(NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+            statusCounts.computeIfAbsent(statusCode, status -> new LongAdder()).increment();
+        }
+
+        private String format(final PetOperation operation) {
+            final var statuses = new TreeMap<Integer, Long>();
+            statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+            return String.format("%-18s %8d %8.3f %8.3f %8.3f  %s", operation, latencies.getTotalCount(),
+                    latencies.getValueAtPercentile(50) / 1e3, latencies.getValueAtPercentile(99) / 1e3,
+                    latencies.getMaxValue() / 1e3, statuses);
+        }
+    }
+}
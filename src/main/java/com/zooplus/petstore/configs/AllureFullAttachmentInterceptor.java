@@ -0,0 +1,40 @@
+package com.zooplus.petstore.configs;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.springweb.AllureRestTemplate;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Reports exchanges to Allure in {@link AllureMode#FULL} mode: {@code AllureRestTemplate} renders every exchange on
+ * the request thread and attaches it to the current test case or step, with the response buffered so it can be read
+ * twice.
+ * <p>
+ * Exchanges sent outside of any test case, such as the items of bulk batches and load runs on their worker threads,
+ * pass through untouched: there is nothing to attach them to, so they are neither rendered nor buffered.
+ */
+public class AllureFullAttachmentInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AllureLifecycle lifecycle;
+    private final AllureRestTemplate allureRestTemplate = new AllureRestTemplate();
+    private final ResponseBufferingInterceptor responseBuffering = new ResponseBufferingInterceptor();
+
+    public AllureFullAttachmentInterceptor(final AllureLifecycle lifecycle) {
+        this.lifecycle = lifecycle;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        if (lifecycle.getCurrentTestCaseOrStep().isEmpty()) {
+            return execution.execute(request, body);
+        }
+        return allureRestTemplate.intercept(request, body,
+                (attachedRequest, attachedBody) -> responseBuffering.intercept(attachedRequest, attachedBody,
+                        execution));
+    }
+}
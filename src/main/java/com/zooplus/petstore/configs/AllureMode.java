@@ -0,0 +1,21 @@
+package com.zooplus.petstore.configs;
+
+/**
+ * How HTTP exchanges are reported to Allure when {@code petstore.allure.enabled} is set.
+ */
+public enum AllureMode {
+
+    /**
+     * Every exchange attached, rendered on the request thread. Meant for functional suites.
+     */
+    FULL,
+    /**
+     * Failed, slow and a {@code petstore.allure.sampleRate} share of the other exchanges attached, rendered on a
+     * background thread, plus an exchange summary per test case.
+     */
+    SAMPLED,
+    /**
+     * Only failed exchanges attached, plus an exchange summary per test case. Meant for load and bulk-seeding runs.
+     */
+    SUMMARY
+}
@@ -0,0 +1,88 @@
+package com.zooplus.petstore.configs;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.ResultsUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks on worker threads within the Allure test case that submitted them, so their steps and attachments
+ * land in that test case.
+ * <p>
+ * On a worker thread a task runs in a step of the test case, named after the thread. Allure keeps a stack of the
+ * test case and its open steps per thread; starting and stopping the step pushes and pops it, so a pooled thread is
+ * handed back exactly as it was, with no test case if it had none. The bottom of that stack is the step on such a
+ * thread, so {@link #currentTestCase} rather than {@link AllureLifecycle#getCurrentTestCase()} tells which test
+ * case a task runs in.
+ */
+public final class AllureTestCaseContext {
+
+    private static final ThreadLocal<String> TEST_CASE = new ThreadLocal<>();
+
+    private AllureTestCaseContext() {
+    }
+
+    public static <T> Supplier<T> propagate(final Supplier<T> task) {
+        return propagate(Allure.getLifecycle(), task);
+    }
+
+    public static Runnable propagate(final Runnable task) {
+        final var propagated = propagate(Allure.getLifecycle(), () -> {
+            task.run();
+            return null;
+        });
+        return propagated::get;
+    }
+
+    /**
+     * Captures the current test case of the calling thread; the returned task runs in it on whichever thread.
+     */
+    public static <T> Supplier<T> propagate(final AllureLifecycle lifecycle, final Supplier<T> task) {
+        final var testCase = currentTestCase(lifecycle);
+        return () -> {
+            // Run on the submitting thread, or on one already in the test case: keep its steps as they are
+            if (testCase.isEmpty() || currentTestCase(lifecycle).equals(testCase)) {
+                return task.get();
+            }
+            return runInStep(lifecycle, testCase.get(), task);
+        };
+    }
+
+    /**
+     * The test case the calling thread runs in, also within a task propagated to it.
+     */
+    public static Optional<String> currentTestCase(final AllureLifecycle lifecycle) {
+        final var propagated = TEST_CASE.get();
+        return propagated != null ? Optional.of(propagated) : lifecycle.getCurrentTestCase();
+    }
+
+    private static <T> T runInStep(final AllureLifecycle lifecycle, final String testCase, final Supplier<T> task) {
+        final var step = UUID.randomUUID().toString();
+        final var previous = TEST_CASE.get();
+        // A test case that has been written since takes no steps; the step is then reported nowhere
+        lifecycle.startStep(testCase, step, new StepResult().setName(Thread.currentThread().getName()));
+        TEST_CASE.set(testCase);
+        try {
+            final var result = task.get();
+            lifecycle.updateStep(step, stepResult -> stepResult.setStatus(Status.PASSED));
+            return result;
+        } catch (RuntimeException | Error throwable) {
+            lifecycle.updateStep(step, stepResult -> stepResult
+                    .setStatus(ResultsUtils.getStatus(throwable).orElse(Status.BROKEN))
+                    .setStatusDetails(ResultsUtils.getStatusDetails(throwable).orElse(null)));
+            throw throwable;
+        } finally {
+            lifecycle.stopStep(step);
+            if (previous == null) {
+                TEST_CASE.remove();
+            } else {
+                TEST_CASE.set(previous);
+            }
+        }
+    }
+}
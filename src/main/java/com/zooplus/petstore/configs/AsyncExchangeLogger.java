@@ -0,0 +1,142 @@
+package com.zooplus.petstore.configs;
+
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.System.lineSeparator;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Formats and writes {@link LoggedExchange}s on a single background thread.
+ * <p>
+ * Submitting never blocks: when the bounded queue is full the exchange is dropped and counted, and the number of
+ * drops is logged once the writer catches up. Pending exchanges are written on JVM shutdown.
+ */
+@Slf4j
+public final class AsyncExchangeLogger {
+
+    private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(2);
+
+    private final BlockingQueue<LoggedExchange> queue;
+    private final int maxBodyBytes;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported;
+
+    public AsyncExchangeLogger(final int queueCapacity, final int maxBodyBytes) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBodyBytes = maxBodyBytes;
+        PetstoreExecutors.daemonThreadFactory("petstore-log").newThread(this::writeLoop).start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(SHUTDOWN_FLUSH_TIMEOUT)));
+    }
+
+    public void submit(final LoggedExchange exchange) {
+        pending.incrementAndGet();
+        if (!queue.offer(exchange)) {
+            pending.decrementAndGet();
+            dropped.increment();
+        }
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Waits until every submitted exchange is written, at most {@code timeout}. Returns whether it was.
+     */
+    public boolean flush(final Duration timeout) {
+        final var deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                final var exchange = queue.take();
+                try {
+                    write(exchange);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException exception) {
+                log.warn("Could not log an exchange", exception);
+            }
+        }
+    }
+
+    private void write(final LoggedExchange exchange) {
+        final var droppedNow = dropped.sum();
+        if (droppedNow != droppedReported) {
+            log.warn("{} exchanges were not logged, the log queue was full", droppedNow - droppedReported);
+            droppedReported = droppedNow;
+        }
+        if (exchange.getReason() == LoggedExchange.Reason.SAMPLED) {
+            log.info(format(exchange, maxBodyBytes));
+        } else {
+            log.warn(format(exchange, maxBodyBytes));
+        }
+    }
+
+    static String format(final LoggedExchange exchange, final int maxBodyBytes) {
+        final var message = new StringBuilder(256)
+                .append(exchange.getMethod()).append(' ').append(exchange.getUri()).append(" -> ");
+        if (exchange.getError() != null) {
+            message.append(exchange.getError());
+        } else {
+            final var status = HttpStatus.resolve(exchange.getStatusCode());
+            message.append(exchange.getStatusCode()).append(' ')
+                    .append(status == null ? "" : status.getReasonPhrase());
+        }
+        message.append(String.format(" in %.3f ms [%s]", exchange.getLatencyNanos() / 1e6, exchange.getReason()))
+                .append(lineSeparator()).append("Request headers: ").append(exchange.getRequestHeaders());
+        appendBody(message, "Request body", exchange.getRequestHeaders(), exchange.getRequestBody(),
+                exchange.getRequestBody().length, maxBodyBytes);
+        if (exchange.getResponseHeaders() != null) {
+            message.append(lineSeparator()).append("Response headers: ").append(exchange.getResponseHeaders());
+            appendBody(message, "Response body", exchange.getResponseHeaders(), exchange.getResponseBodyPrefix(),
+                    exchange.getResponseBodyLength(), maxBodyBytes);
+        }
+        return message.toString();
+    }
+
+    private static void appendBody(final StringBuilder message, final String title, final HttpHeaders headers,
+                                   final byte[] body, final long length, final int maxBodyBytes) {
+        if (length == 0 || maxBodyBytes == 0) {
+            return;
+        }
+        final var shown = (int) Math.min(Math.min(body.length, length), maxBodyBytes);
+        message.append(lineSeparator()).append(title).append(" (").append(length).append(" bytes");
+        if (shown < length) {
+            message.append(", first ").append(shown).append(" shown");
+        }
+        message.append("): ").append(new String(body, 0, shown, charsetOf(headers)));
+    }
+
+    static Charset charsetOf(final HttpHeaders headers) {
+        final var contentType = headers.getContentType();
+        return contentType == null || contentType.getCharset() == null ? UTF_8 : contentType.getCharset();
+    }
+}
@@ -0,0 +1,71 @@
+package com.zooplus.petstore.configs;
+
+import com.zooplus.petstore.capture.CaptureWriter;
+import com.zooplus.petstore.capture.CapturedExchange;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Records every exchange into a binary capture log for {@code ReplayEngine}: request method, URI, headers and body,
+ * when it was sent, and the response status and latency to the response headers.
+ * <p>
+ * The request thread only copies the headers; encoding and writing happen on the {@link CaptureWriter} thread.
+ * Registered next to the metrics interceptor, so the recorded latency is the transport's.
+ */
+public class CaptureInterceptor implements ClientHttpRequestInterceptor {
+
+    private final CaptureWriter writer;
+    private final long epochMicrosAtStart;
+    private final long nanosAtStart;
+
+    public CaptureInterceptor(final CaptureWriter writer) {
+        this.writer = writer;
+        final var now = Instant.now();
+        this.nanosAtStart = System.nanoTime();
+        this.epochMicrosAtStart = SECONDS.toMicros(now.getEpochSecond()) + NANOSECONDS.toMicros(now.getNano());
+    }
+
+    public static CaptureInterceptor fromConfig(final PetstoreConfigs configs) {
+        try {
+            return new CaptureInterceptor(new CaptureWriter(Path.of(configs.captureFile()),
+                    configs.captureQueueCapacity()));
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not open capture log " + configs.captureFile(), exception);
+        }
+    }
+
+    public CaptureWriter getWriter() {
+        return writer;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        final var start = System.nanoTime();
+        final var sentAtMicros = epochMicrosAtStart + NANOSECONDS.toMicros(start - nanosAtStart);
+        final var headers = new HttpHeaders();
+        headers.addAll(request.getHeaders());
+        final ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException exception) {
+            writer.submit(new CapturedExchange(sentAtMicros, request.getMethodValue(), request.getURI(), headers,
+                    body, 0, System.nanoTime() - start));
+            throw exception;
+        }
+        writer.submit(new CapturedExchange(sentAtMicros, request.getMethodValue(), request.getURI(), headers, body,
+                response.getRawStatusCode(), System.nanoTime() - start));
+        return response;
+    }
+}
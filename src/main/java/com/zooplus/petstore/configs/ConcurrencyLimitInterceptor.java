@@ -0,0 +1,151 @@
+package com.zooplus.petstore.configs;
+
+import com.zooplus.petstore.limit.ConcurrencyLimiter;
+import com.zooplus.petstore.limit.LimiterSettings;
+import com.zooplus.petstore.limit.TokenBucket;
+import com.zooplus.petstore.metrics.PetOperation;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Keeps petstore traffic within what the server sustains: per-operation {@link TokenBucket} rate limits, then an
+ * adaptive {@link ConcurrencyLimiter} on the exchanges in flight.
+ * <p>
+ * A permit is held until the response is closed, so a body still being read counts as in flight. Its latency
+ * sample is the time to the response headers; I/O errors and {@code 429}, {@code 503} and {@code 504} responses
+ * count as overload. Callers that get no permit within {@code maxWait} fail with an {@link IOException}, as they
+ * would on a connection pool timeout.
+ */
+public class ConcurrencyLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ConcurrencyLimiter limiter;
+    private final Map<PetOperation, TokenBucket> rateLimits;
+    private final Duration maxWait;
+    private final String petEndpoint;
+
+    public ConcurrencyLimitInterceptor(final ConcurrencyLimiter limiter,
+                                       final Map<PetOperation, TokenBucket> rateLimits, final Duration maxWait,
+                                       final String petEndpoint) {
+        this.limiter = limiter;
+        this.rateLimits = rateLimits;
+        this.maxWait = maxWait;
+        this.petEndpoint = petEndpoint;
+    }
+
+    public static ConcurrencyLimitInterceptor fromSettings(final LimiterSettings settings, final String petEndpoint) {
+        final var rateLimits = new EnumMap<PetOperation, TokenBucket>(PetOperation.class);
+        settings.getRatesPerSecond().forEach((operation, rate) ->
+                rateLimits.put(operation, new TokenBucket(rate, settings.getBurst())));
+        return new ConcurrencyLimitInterceptor(new ConcurrencyLimiter(settings.newAdaptiveLimit()), rateLimits,
+                settings.getMaxWait(), petEndpoint);
+    }
+
+    public ConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        if (!rateLimits.isEmpty()) {
+            final var rateLimit = rateLimits.get(PetOperation.of(request.getMethodValue(), request.getURI().getPath(),
+                    petEndpoint));
+            if (rateLimit != null) {
+                rateLimit.acquire();
+            }
+        }
+        final int inFlight;
+        try {
+            inFlight = limiter.acquire(maxWait);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a concurrency permit");
+        }
+        if (inFlight == 0) {
+            throw new IOException("No concurrency permit within " + maxWait.toMillis() + " ms, limit "
+                    + limiter.getLimit());
+        }
+        final var start = System.nanoTime();
+        final ClientHttpResponse response;
+        final int statusCode;
+        try {
+            response = execution.execute(request, body);
+            statusCode = response.getRawStatusCode();
+        } catch (IOException | RuntimeException exception) {
+            limiter.release(inFlight, System.nanoTime() - start, true);
+            throw exception;
+        }
+        return new LimitedResponse(response, inFlight, System.nanoTime() - start, isOverload(statusCode));
+    }
+
+    private static boolean isOverload(final int statusCode) {
+        return statusCode == HttpStatus.TOO_MANY_REQUESTS.value()
+                || statusCode == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || statusCode == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+
+    private final class LimitedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final int inFlight;
+        private final long latencyNanos;
+        private final boolean overload;
+        private boolean closed;
+
+        private LimitedResponse(final ClientHttpResponse response, final int inFlight, final long latencyNanos,
+                                final boolean overload) {
+            this.response = response;
+            this.inFlight = inFlight;
+            this.latencyNanos = latencyNanos;
+            this.overload = overload;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (!closed) {
+                    closed = true;
+                    limiter.release(inFlight, latencyNanos, overload);
+                }
+            }
+        }
+    }
+}
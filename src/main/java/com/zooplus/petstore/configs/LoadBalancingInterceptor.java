@@ -0,0 +1,141 @@
+package com.zooplus.petstore.configs;
+
+import com.zooplus.petstore.balancer.BalancerSettings;
+import com.zooplus.petstore.balancer.LoadBalancer;
+import com.zooplus.petstore.balancer.PetstoreNode;
+import com.zooplus.petstore.metrics.PetstoreMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * Sends each request below {@code rootUri} to a petstore node picked by {@link LoadBalancer}, replacing the root
+ * with the node's base URL. Requests to other URLs pass through untouched.
+ * <p>
+ * A node's request counts as outstanding until the response is closed. Its latency, up to the response headers,
+ * and its outcome are fed to the node and recorded per node in {@link PetstoreMetrics}; I/O errors and {@code 5xx}
+ * responses count as failures.
+ */
+public class LoadBalancingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final LoadBalancer balancer;
+    private final String rootUri;
+    private final PetstoreMetrics metrics;
+
+    public LoadBalancingInterceptor(final LoadBalancer balancer, final String rootUri,
+                                    final PetstoreMetrics metrics) {
+        this.balancer = balancer;
+        this.rootUri = rootUri.endsWith("/") ? rootUri.substring(0, rootUri.length() - 1) : rootUri;
+        this.metrics = metrics;
+    }
+
+    public static LoadBalancingInterceptor fromSettings(final BalancerSettings settings, final String rootUri,
+                                                        final PetstoreMetrics metrics) {
+        return new LoadBalancingInterceptor(settings.newLoadBalancer(), rootUri, metrics);
+    }
+
+    public LoadBalancer getBalancer() {
+        return balancer;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        final var uri = request.getURI().toString();
+        if (!isBelowRoot(uri)) {
+            return execution.execute(request, body);
+        }
+        final var node = balancer.select();
+        final var nodeUri = URI.create(node.getBaseUrl() + uri.substring(rootUri.length()));
+        node.onStart();
+        final var start = System.nanoTime();
+        final ClientHttpResponse response;
+        final int statusCode;
+        try {
+            response = execution.execute(new HttpRequestWrapper(request) {
+
+                @Override
+                public URI getURI() {
+                    return nodeUri;
+                }
+            }, body);
+            statusCode = response.getRawStatusCode();
+        } catch (IOException | RuntimeException exception) {
+            completed(node, System.nanoTime() - start, false);
+            node.onEnd();
+            throw exception;
+        }
+        completed(node, System.nanoTime() - start, statusCode < HttpStatus.INTERNAL_SERVER_ERROR.value());
+        return new BalancedResponse(response, node);
+    }
+
+    private boolean isBelowRoot(final String uri) {
+        if (!uri.startsWith(rootUri)) {
+            return false;
+        }
+        if (uri.length() == rootUri.length()) {
+            return true;
+        }
+        final var next = uri.charAt(rootUri.length());
+        return next == '/' || next == '?';
+    }
+
+    private void completed(final PetstoreNode node, final long latencyNanos, final boolean success) {
+        node.onResponse(latencyNanos, success);
+        metrics.recordNode(node.getBaseUrl(), latencyNanos, success);
+    }
+
+    private static final class BalancedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final PetstoreNode node;
+        private boolean closed;
+
+        private BalancedResponse(final ClientHttpResponse response, final PetstoreNode node) {
+            this.response = response;
+            this.node = node;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            response.close();
+            if (!closed) {
+                closed = true;
+                node.onEnd();
+            }
+        }
+    }
+}
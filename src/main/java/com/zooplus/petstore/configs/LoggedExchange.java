@@ -0,0 +1,31 @@
+package com.zooplus.petstore.configs;
+
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+
+/**
+ * Raw facts about one request/response exchange, captured on the request thread and formatted later by
+ * {@link AsyncExchangeLogger} or {@link AllureAttachmentWriter}. Bodies are kept as bytes; for logging the response
+ * body only as far as it was read and up to the truncation limit.
+ */
+@Value
+public class LoggedExchange {
+
+    public enum Reason {
+        SAMPLED, SLOW, FAILED
+    }
+
+    Reason reason;
+    String method;
+    URI uri;
+    HttpHeaders requestHeaders;
+    byte[] requestBody;
+    int statusCode;
+    HttpHeaders responseHeaders;
+    byte[] responseBodyPrefix;
+    long responseBodyLength;
+    long latencyNanos;
+    Throwable error;
+}
@@ -0,0 +1,136 @@
+package com.zooplus.petstore.configs;
+
+import com.zooplus.petstore.metrics.PetOperation;
+import com.zooplus.petstore.metrics.PetstoreMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Feeds {@link PetstoreMetrics} with the latency, status and response size of every exchange.
+ * <p>
+ * Registered second to last, after every interceptor but {@link ResponseTimingInterceptor}, which only stamps a
+ * header on the response: the latency is the transport's time to the response headers, without the others.
+ * The response size is counted as the body is read and recorded when the response is closed; a body that was
+ * never read counts with its {@code Content-Length}.
+ */
+public class MetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private final PetstoreMetrics metrics;
+    private final String petEndpoint;
+
+    public MetricsInterceptor(final PetstoreMetrics metrics, final String petEndpoint) {
+        this.metrics = metrics;
+        this.petEndpoint = petEndpoint;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        final var operation = PetOperation.of(request.getMethodValue(), request.getURI().getPath(), petEndpoint);
+        final var start = System.nanoTime();
+        final ClientHttpResponse response;
+        final int statusCode;
+        try {
+            response = execution.execute(request, body);
+            statusCode = response.getRawStatusCode();
+        } catch (IOException | RuntimeException exception) {
+            metrics.record(operation, 0, System.nanoTime() - start, 0);
+            throw exception;
+        }
+        return new MeasuredResponse(response, operation, statusCode, System.nanoTime() - start);
+    }
+
+    private final class MeasuredResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final PetOperation operation;
+        private final int statusCode;
+        private final long latencyNanos;
+        private long bodyLength;
+        private InputStream body;
+        private boolean closed;
+
+        private MeasuredResponse(final ClientHttpResponse response, final PetOperation operation,
+                                 final int statusCode, final long latencyNanos) {
+            this.response = response;
+            this.operation = operation;
+            this.statusCode = statusCode;
+            this.latencyNanos = latencyNanos;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(response.getBody()) {
+
+                    /**
+                     * Re-read bytes would be counted twice; without mark support callers push back instead.
+                     */
+                    @Override
+                    public boolean markSupported() {
+                        return false;
+                    }
+
+                    @Override
+                    public int read() throws IOException {
+                        final var value = super.read();
+                        if (value >= 0) {
+                            bodyLength++;
+                        }
+                        return value;
+                    }
+
+                    @Override
+                    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+                        final var read = super.read(buffer, offset, length);
+                        if (read > 0) {
+                            bodyLength += read;
+                        }
+                        return read;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            final var contentLength = response.getHeaders().getContentLength();
+            response.close();
+            if (closed) {
+                return;
+            }
+            closed = true;
+            metrics.record(operation, statusCode, latencyNanos,
+                    body == null ? Math.max(0, contentLength) : bodyLength);
+        }
+    }
+}
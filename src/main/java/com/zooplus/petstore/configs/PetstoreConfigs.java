@@ -1,8 +1,13 @@
 package com.zooplus.petstore.configs;
 
+import com.zooplus.petstore.balancer.BalancingStrategy;
+import com.zooplus.petstore.load.LoadModel;
+import com.zooplus.petstore.transport.TransportType;
 import org.aeonbits.owner.Config;
 import org.aeonbits.owner.ConfigFactory;
 
+import java.net.http.HttpClient;
+
 @Config.LoadPolicy(Config.LoadType.MERGE)
 @Config.Sources({"system:properties",
         "classpath:petstore.properties"})
@@ -13,6 +18,285 @@ public interface PetstoreConfigs extends Config {
     @Key("petstore.baseUrl")
     String petstoreBaseUrl();
 
+    @Key("petstore.balancer.urls")
+    String[] balancerUrls();
+
+    @Key("petstore.balancer.strategy")
+    BalancingStrategy balancerStrategy();
+
+    @Key("petstore.balancer.failureThreshold")
+    int balancerFailureThreshold();
+
+    @Key("petstore.balancer.ejectionMillis")
+    long balancerEjectionMillis();
+
+    @Key("petstore.balancer.maxEjectionMillis")
+    long balancerMaxEjectionMillis();
+
+    @Key("petstore.balancer.ewmaDecayMillis")
+    long balancerEwmaDecayMillis();
+
     @Key("pet.endpoint")
     String petEndpoint();
+
+    @Key("petstore.stub.port")
+    int stubPort();
+
+    @Key("petstore.stub.seedPets")
+    int stubSeedPets();
+
+    @Key("petstore.data.seed")
+    long dataSeed();
+
+    @Key("petstore.data.statusWeights")
+    String[] dataStatusWeights();
+
+    @Key("petstore.data.categoryWeights")
+    String[] dataCategoryWeights();
+
+    @Key("petstore.data.tagWeights")
+    String[] dataTagWeights();
+
+    @Key("petstore.data.minTags")
+    int dataMinTags();
+
+    @Key("petstore.data.maxTags")
+    int dataMaxTags();
+
+    @Key("petstore.data.minPhotoUrls")
+    int dataMinPhotoUrls();
+
+    @Key("petstore.data.maxPhotoUrls")
+    int dataMaxPhotoUrls();
+
+    @Key("petstore.data.minNameLength")
+    int dataMinNameLength();
+
+    @Key("petstore.data.maxNameLength")
+    int dataMaxNameLength();
+
+    @Key("petstore.data.photoUrlLength")
+    int dataPhotoUrlLength();
+
+    @Key("petstore.http.pool.maxTotal")
+    int httpPoolMaxTotal();
+
+    @Key("petstore.http.pool.maxPerRoute")
+    int httpPoolMaxPerRoute();
+
+    @Key("petstore.http.pool.idleEvictionSeconds")
+    long httpPoolIdleEvictionSeconds();
+
+    @Key("petstore.http.connectTimeoutMillis")
+    int httpConnectTimeoutMillis();
+
+    @Key("petstore.http.connectionRequestTimeoutMillis")
+    int httpConnectionRequestTimeoutMillis();
+
+    @Key("petstore.http.readTimeoutMillis")
+    int httpReadTimeoutMillis();
+
+    @Key("petstore.transport")
+    TransportType transport();
+
+    @Key("petstore.transport.httpVersion")
+    HttpClient.Version transportHttpVersion();
+
+    @Key("petstore.async.maxInFlight")
+    int asyncMaxInFlight();
+
+    @Key("petstore.bulk.parallelism")
+    int bulkParallelism();
+
+    @Key("petstore.cleanup.enabled")
+    boolean cleanupEnabled();
+
+    @Key("petstore.cleanup.parallelism")
+    int cleanupParallelism();
+
+    @Key("petstore.cleanup.file")
+    String cleanupFile();
+
+    @Key("petstore.upload.chunkBytes")
+    int uploadChunkBytes();
+
+    @Key("petstore.upload.maxConcurrent")
+    int uploadMaxConcurrent();
+
+    @Key("petstore.capture.enabled")
+    boolean captureEnabled();
+
+    @Key("petstore.capture.file")
+    String captureFile();
+
+    @Key("petstore.capture.queueCapacity")
+    int captureQueueCapacity();
+
+    @Key("petstore.limit.enabled")
+    boolean limitEnabled();
+
+    @Key("petstore.limit.initial")
+    int limitInitial();
+
+    @Key("petstore.limit.min")
+    int limitMin();
+
+    @Key("petstore.limit.max")
+    int limitMax();
+
+    @Key("petstore.limit.latencyTolerance")
+    double limitLatencyTolerance();
+
+    @Key("petstore.limit.backoffRatio")
+    double limitBackoffRatio();
+
+    @Key("petstore.limit.maxWaitMillis")
+    long limitMaxWaitMillis();
+
+    @Key("petstore.limit.ratesPerSecond")
+    String[] limitRatesPerSecond();
+
+    @Key("petstore.limit.burst")
+    int limitBurst();
+
+    @Key("petstore.retry.maxAttempts")
+    int retryMaxAttempts();
+
+    @Key("petstore.retry.initialBackoffMillis")
+    long retryInitialBackoffMillis();
+
+    @Key("petstore.retry.maxBackoffMillis")
+    long retryMaxBackoffMillis();
+
+    @Key("petstore.hedge.enabled")
+    boolean hedgeEnabled();
+
+    @Key("petstore.hedge.percentile")
+    double hedgePercentile();
+
+    @Key("petstore.hedge.minDelayMillis")
+    long hedgeMinDelayMillis();
+
+    @Key("petstore.hedge.maxHedges")
+    int hedgeMaxHedges();
+
+    @Key("petstore.hedge.minSamples")
+    int hedgeMinSamples();
+
+    @Key("petstore.load.model")
+    LoadModel loadModel();
+
+    @Key("petstore.load.ratePerSecond")
+    double loadRatePerSecond();
+
+    @Key("petstore.load.concurrency")
+    int loadConcurrency();
+
+    @Key("petstore.load.maxInFlight")
+    int loadMaxInFlight();
+
+    @Key("petstore.load.rampUpSeconds")
+    long loadRampUpSeconds();
+
+    @Key("petstore.load.steadyStateSeconds")
+    long loadSteadyStateSeconds();
+
+    @Key("petstore.load.rampDownSeconds")
+    long loadRampDownSeconds();
+
+    @Key("petstore.load.corpus")
+    String loadCorpus();
+
+    @Key("petstore.soak.durationMinutes")
+    long soakDurationMinutes();
+
+    @Key("petstore.soak.sampleIntervalSeconds")
+    long soakSampleIntervalSeconds();
+
+    @Key("petstore.soak.warmUpSeconds")
+    long soakWarmUpSeconds();
+
+    @Key("petstore.soak.concurrency")
+    int soakConcurrency();
+
+    @Key("petstore.soak.dir")
+    String soakDir();
+
+    @Key("petstore.distributed.workers")
+    int distributedWorkers();
+
+    @Key("petstore.distributed.mix")
+    String[] distributedMix();
+
+    @Key("petstore.distributed.petsPerWorker")
+    long distributedPetsPerWorker();
+
+    @Key("petstore.distributed.progressIntervalMillis")
+    long distributedProgressIntervalMillis();
+
+    @Key("petstore.distributed.host")
+    String distributedHost();
+
+    @Key("petstore.distributed.port")
+    int distributedPort();
+
+    @Key("petstore.distributed.connectTimeoutSeconds")
+    long distributedConnectTimeoutSeconds();
+
+    @Key("petstore.distributed.spawnWorkers")
+    boolean distributedSpawnWorkers();
+
+    @Key("petstore.distributed.dir")
+    String distributedDir();
+
+    @Key("petstore.scenario.file")
+    String scenarioFile();
+
+    @Key("petstore.sla.responseTimeMillis")
+    long slaResponseTimeMillis();
+
+    @Key("petstore.sla.p99Millis")
+    long slaP99Millis();
+
+    @Key("petstore.sla.errorRatePercent")
+    double slaErrorRatePercent();
+
+    @Key("petstore.sla.minThroughput")
+    double slaMinThroughput();
+
+    @Key("petstore.log.enabled")
+    boolean requestResponseLoggingEnabled();
+
+    @Key("petstore.log.sampleRate")
+    double logSampleRate();
+
+    @Key("petstore.log.maxBodyBytes")
+    int logMaxBodyBytes();
+
+    @Key("petstore.log.slowThresholdMillis")
+    long logSlowThresholdMillis();
+
+    @Key("petstore.log.queueCapacity")
+    int logQueueCapacity();
+
+    @Key("petstore.metrics.enabled")
+    boolean metricsEnabled();
+
+    @Key("petstore.metrics.dir")
+    String metricsDir();
+
+    @Key("petstore.allure.enabled")
+    boolean allureAttachmentsEnabled();
+
+    @Key("petstore.allure.mode")
+    AllureMode allureMode();
+
+    @Key("petstore.allure.sampleRate")
+    double allureSampleRate();
+
+    @Key("petstore.allure.slowThresholdMillis")
+    long allureSlowThresholdMillis();
+
+    @Key("petstore.allure.queueCapacity")
+    int allureQueueCapacity();
 }
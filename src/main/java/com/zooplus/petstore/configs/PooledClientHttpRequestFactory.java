@@ -0,0 +1,65 @@
+package com.zooplus.petstore.configs;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Keep-alive HTTP transport backed by a shared Apache HttpClient connection pool.
+ * <p>
+ * Deliberately a wrapper rather than a {@link HttpComponentsClientHttpRequestFactory} subclass:
+ * {@code TestRestTemplate} swaps any factory of that type for its own unpooled one.
+ */
+public final class PooledClientHttpRequestFactory implements ClientHttpRequestFactory, Closeable {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final HttpComponentsClientHttpRequestFactory delegate;
+
+    public PooledClientHttpRequestFactory(final PetstoreConfigs configs) {
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(configs.httpPoolMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(configs.httpPoolMaxPerRoute());
+        final var requestConfig = RequestConfig.custom()
+                .setConnectTimeout(configs.httpConnectTimeoutMillis())
+                .setConnectionRequestTimeout(configs.httpConnectionRequestTimeoutMillis())
+                .setSocketTimeout(configs.httpReadTimeoutMillis())
+                .build();
+        httpClient = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictExpiredConnections()
+                .evictIdleConnections(configs.httpPoolIdleEvictionSeconds(), SECONDS)
+                .build();
+        delegate = new HttpComponentsClientHttpRequestFactory(httpClient);
+        delegate.setBufferRequestBody(false);
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(final URI uri, final HttpMethod httpMethod) throws IOException {
+        return delegate.createRequest(uri, httpMethod);
+    }
+
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+}
@@ -1,48 +1,189 @@
 package com.zooplus.petstore.configs;
 
-import lombok.SneakyThrows;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.util.StreamUtils;
 
-import java.nio.charset.Charset;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-@Slf4j
+/**
+ * Logs request/response exchanges with next to no cost on the request thread.
+ * <p>
+ * Failed (4xx, 5xx, I/O error) and slow exchanges are always logged, the others with probability
+ * {@code sampleRate}. Whether to log is decided as soon as the response status is known, so unlogged exchanges pass
+ * through untouched. For logged ones the response body is not buffered: its first {@code maxBodyBytes} are copied
+ * while the caller reads it, and the exchange is handed to {@link AsyncExchangeLogger} when the response is closed.
+ */
 public class RequestResponseLoggingInterceptor implements ClientHttpRequestInterceptor {
 
-    @Override
-    @SneakyThrows
-    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) {
-        logRequest(request, body);
-        ClientHttpResponse response = execution.execute(request, body);
-        logResponse(response);
+    private final double sampleRate;
+    private final int maxBodyBytes;
+    private final long slowThresholdNanos;
+    private final AsyncExchangeLogger exchangeLogger;
 
-        return response;
+    public RequestResponseLoggingInterceptor(final double sampleRate, final int maxBodyBytes,
+                                             final Duration slowThreshold,
+                                             final AsyncExchangeLogger exchangeLogger) {
+        this.sampleRate = sampleRate;
+        this.maxBodyBytes = maxBodyBytes;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.exchangeLogger = exchangeLogger;
     }
 
-    @SneakyThrows
-    private void logRequest(HttpRequest request, byte[] body) {
-        log.info("Request");
-        log.info("URI :" + request.getURI());
-        log.info("Headers: " + request.getHeaders());
-        log.info("Request body: {}", new String(body, UTF_8));
+    public static RequestResponseLoggingInterceptor fromConfig(final PetstoreConfigs configs) {
+        return new RequestResponseLoggingInterceptor(configs.logSampleRate(), configs.logMaxBodyBytes(),
+                Duration.ofMillis(configs.logSlowThresholdMillis()),
+                new AsyncExchangeLogger(configs.logQueueCapacity(), configs.logMaxBodyBytes()));
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        final var start = System.nanoTime();
+        final ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException exception) {
+            exchangeLogger.submit(new LoggedExchange(LoggedExchange.Reason.FAILED, request.getMethodValue(),
+                    request.getURI(), request.getHeaders(), body, 0, null, null, 0,
+                    System.nanoTime() - start, exception));
+            throw exception;
+        }
+        final var latencyNanos = System.nanoTime() - start;
+        final var statusCode = response.getRawStatusCode();
+        final var reason = reasonToLog(statusCode, latencyNanos);
+        return reason == null
+                ? response
+                : new LoggedResponse(response, request, body, reason, statusCode, latencyNanos);
     }
 
-    @SneakyThrows
-    private void logResponse(ClientHttpResponse response) {
-        log.info("Response");
-        logStatus(response.getStatusCode());
-        log.info("Headers: " + response.getHeaders());
-        log.info("Response body: {}", StreamUtils.copyToString(response.getBody(), Charset.defaultCharset()));
+    private LoggedExchange.Reason reasonToLog(final int statusCode, final long latencyNanos) {
+        if (statusCode >= HttpStatus.BAD_REQUEST.value()) {
+            return LoggedExchange.Reason.FAILED;
+        }
+        if (latencyNanos >= slowThresholdNanos) {
+            return LoggedExchange.Reason.SLOW;
+        }
+        if (sampleRate >= 1 || sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return LoggedExchange.Reason.SAMPLED;
+        }
+        return null;
     }
 
-    private void logStatus(HttpStatus statusCode) {
-        log.info(String.format("Status code: [%s][%s]", statusCode.value(), statusCode.getReasonPhrase()));
+    private final class LoggedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final HttpRequest request;
+        private final byte[] requestBody;
+        private final LoggedExchange.Reason reason;
+        private final int statusCode;
+        private final long latencyNanos;
+        private final byte[] bodyPrefix = new byte[maxBodyBytes];
+        private int prefixLength;
+        private long bodyLength;
+        private InputStream body;
+        private boolean closed;
+
+        private LoggedResponse(final ClientHttpResponse response, final HttpRequest request, final byte[] requestBody,
+                               final LoggedExchange.Reason reason, final int statusCode, final long latencyNanos) {
+            this.response = response;
+            this.request = request;
+            this.requestBody = requestBody;
+            this.reason = reason;
+            this.statusCode = statusCode;
+            this.latencyNanos = latencyNanos;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(response.getBody()) {
+
+                    /**
+                     * Re-read bytes would be captured twice; without mark support callers push back instead.
+                     */
+                    @Override
+                    public boolean markSupported() {
+                        return false;
+                    }
+
+                    @Override
+                    public int read() throws IOException {
+                        final var value = super.read();
+                        if (value >= 0) {
+                            capture((byte) value);
+                        }
+                        return value;
+                    }
+
+                    @Override
+                    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+                        final var read = super.read(buffer, offset, length);
+                        if (read > 0) {
+                            capture(buffer, offset, read);
+                        }
+                        return read;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            final var responseHeaders = response.getHeaders();
+            response.close();
+            if (closed) {
+                return;
+            }
+            closed = true;
+            exchangeLogger.submit(new LoggedExchange(reason, request.getMethodValue(), request.getURI(),
+                    request.getHeaders(), requestBody, statusCode, responseHeaders,
+                    Arrays.copyOf(bodyPrefix, prefixLength), bodyLength, latencyNanos, null));
+        }
+
+        private void capture(final byte value) {
+            if (prefixLength < bodyPrefix.length) {
+                bodyPrefix[prefixLength++] = value;
+            }
+            bodyLength++;
+        }
+
+        private void capture(final byte[] buffer, final int offset, final int length) {
+            final var copied = Math.min(length, bodyPrefix.length - prefixLength);
+            if (copied > 0) {
+                System.arraycopy(buffer, offset, bodyPrefix, prefixLength, copied);
+                prefixLength += copied;
+            }
+            bodyLength += length;
+        }
     }
 }
@@ -0,0 +1,76 @@
+package com.zooplus.petstore.configs;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Makes the response body re-readable for the interceptors registered before this one.
+ * <p>
+ * Must come after every interceptor that re-reads the body. Unlike {@code BufferingClientHttpRequestFactory} it leaves
+ * the request untouched, so the pooled transport can still write the already collected body directly.
+ */
+public class ResponseBufferingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        return new BufferedClientHttpResponse(execution.execute(request, body));
+    }
+
+    static final class BufferedClientHttpResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private byte[] body;
+
+        private BufferedClientHttpResponse(final ClientHttpResponse response) {
+            this.response = response;
+        }
+
+        BufferedClientHttpResponse(final ClientHttpResponse response, final byte[] body) {
+            this.response = response;
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = StreamUtils.copyToByteArray(response.getBody());
+            }
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.zooplus.petstore.configs;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Stamps every response with the time it took to arrive, in microseconds, as the {@value #RESPONSE_TIME_HEADER}
+ * header, so the latency of a single call can be asserted on from its {@code ResponseEntity} alone.
+ * <p>
+ * Registered last, right after {@link MetricsInterceptor}, so the time is the transport's time to the response
+ * headers, as in the endpoint metrics. A retried or hedged call carries the time of the exchange whose response it
+ * returned.
+ */
+public class ResponseTimingInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String RESPONSE_TIME_HEADER = "X-Petstore-Response-Micros";
+
+    /**
+     * Response time stamped on {@code headers}, empty for responses that did not pass this interceptor.
+     */
+    public static Optional<Duration> responseTime(final HttpHeaders headers) {
+        final var micros = headers.getFirst(RESPONSE_TIME_HEADER);
+        return micros == null ? Optional.empty() : Optional.of(Duration.ofNanos(Long.parseLong(micros) * 1_000));
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        final var start = System.nanoTime();
+        final var response = execution.execute(request, body);
+        return new TimedResponse(response, (System.nanoTime() - start) / 1_000);
+    }
+
+    private static final class TimedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final long responseMicros;
+        private HttpHeaders headers;
+
+        private TimedResponse(final ClientHttpResponse response, final long responseMicros) {
+            this.response = response;
+            this.responseMicros = responseMicros;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        /**
+         * A copy, as the transport's own headers may be read-only.
+         */
+        @Override
+        public HttpHeaders getHeaders() {
+            if (headers == null) {
+                headers = new HttpHeaders();
+                headers.putAll(response.getHeaders());
+                headers.set(RESPONSE_TIME_HEADER, Long.toString(responseMicros));
+            }
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.zooplus.petstore.configs;
+
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The concurrency limit and the load balancer, each present when enabled, shared by everything that sends petstore
+ * requests through the pooled transport: the {@code TestRestTemplate} and {@code ImageUploadService}. Sharing them
+ * keeps one limit on the requests in flight and one view of the replicas.
+ */
+public final class TrafficInterceptors {
+
+    private final ConcurrencyLimitInterceptor limit;
+    private final LoadBalancingInterceptor balancer;
+
+    public TrafficInterceptors(final ConcurrencyLimitInterceptor limit, final LoadBalancingInterceptor balancer) {
+        this.limit = limit;
+        this.balancer = balancer;
+    }
+
+    public Optional<ConcurrencyLimitInterceptor> getLimit() {
+        return Optional.ofNullable(limit);
+    }
+
+    public Optional<LoadBalancingInterceptor> getBalancer() {
+        return Optional.ofNullable(balancer);
+    }
+
+    /**
+     * In the order they run: the limit first, so a request waiting for a permit has no replica picked yet.
+     */
+    public List<ClientHttpRequestInterceptor> asList() {
+        final var interceptors = new ArrayList<ClientHttpRequestInterceptor>(2);
+        getLimit().ifPresent(interceptors::add);
+        getBalancer().ifPresent(interceptors::add);
+        return interceptors;
+    }
+}
@@ -0,0 +1,139 @@
+package com.zooplus.petstore.data;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.zooplus.petstore.model.Pet;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Pets rendered to JSON ahead of a run, so sending them costs no generation or serialization on the hot path.
+ * <p>
+ * The file is memory-mapped for reading and read by any number of threads. Layout: magic number, number of pets,
+ * then per pet its ID, the length of its JSON and the JSON itself. The IDs are fixed when the corpus is written, so
+ * a corpus is replayed once per store: adding its pets again is rejected as duplicates.
+ */
+@Slf4j
+public final class PetCorpus implements Closeable {
+
+    private static final int MAGIC = 0x50455443;
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int[] offsets;
+    private final AtomicLong cursor = new AtomicLong();
+
+    private PetCorpus(final FileChannel channel, final MappedByteBuffer buffer, final int[] offsets) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Renders {@code count} pets of {@code generator}, starting at index 0, to {@code file}.
+     */
+    public static void write(final Path file, final PetGenerator generator, final int count) throws IOException {
+        final var petWriter = Jackson2ObjectMapperBuilder.json().build().writerFor(Pet.class);
+        write(file, generator, count, petWriter);
+    }
+
+    public static void write(final Path file, final PetGenerator generator, final int count,
+                             final ObjectWriter petWriter) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            output.writeInt(MAGIC);
+            output.writeLong(count);
+            for (var index = 0; index < count; index++) {
+                final var pet = generator.generate(index);
+                final var json = petWriter.writeValueAsBytes(pet);
+                output.writeLong(pet.getId());
+                output.writeInt(json.length);
+                output.write(json);
+            }
+        }
+    }
+
+    public static PetCorpus open(final Path file) throws IOException {
+        final var channel = FileChannel.open(file, READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Corpus files over 2 GB are not supported: " + file);
+            }
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a pet corpus: " + file);
+            }
+            final var offsets = new int[Math.toIntExact(buffer.getLong())];
+            for (var index = 0; index < offsets.length; index++) {
+                offsets[index] = buffer.position();
+                buffer.position(buffer.position() + Long.BYTES + buffer.getInt(buffer.position() + Long.BYTES)
+                        + Integer.BYTES);
+            }
+            return new PetCorpus(channel, buffer, offsets);
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    public int size() {
+        return offsets.length;
+    }
+
+    public Entry get(final int index) {
+        final var record = buffer.duplicate();
+        record.position(offsets[index]);
+        final var petId = record.getLong();
+        final var json = new byte[record.getInt()];
+        record.get(json);
+        return new Entry(petId, json);
+    }
+
+    /**
+     * Entries in file order, starting over after the last one. Safe to call from many threads.
+     */
+    public Entry next() {
+        return get((int) (cursor.getAndIncrement() % offsets.length));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Renders a corpus of {@code petstore.data.*} pets: {@code <file> <number of pets>}.
+     */
+    public static void main(final String[] args) throws IOException {
+        final var file = Paths.get(args.length > 0 ? args[0] : "build/pets.corpus");
+        final var count = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        final var start = System.nanoTime();
+        write(file, new PetGenerator(PetGeneratorSettings.fromConfig(PLATFORM_CONFIG)), count);
+        log.info("Wrote {} pets to {} ({} bytes) in {} ms", count, file.toAbsolutePath(), Files.size(file),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Value
+    public static class Entry {
+
+        long petId;
+        byte[] json;
+    }
+}
@@ -13,20 +13,20 @@ import static java.lang.Integer.MAX_VALUE;
 
 public final class PetDataProvider {
 
-    private static final ThreadLocalRandom RANDOM_NUMBER_GENERATOR = ThreadLocalRandom.current();
-
     public static Pet getValidPetData() {
+        // ThreadLocalRandom.current() must be called on the thread that uses it, never cached across threads
+        final var randomNumberGenerator = ThreadLocalRandom.current();
         return Pet.builder()
-                .id(RANDOM_NUMBER_GENERATOR.nextInt(0, MAX_VALUE))
+                .id(randomNumberGenerator.nextInt(0, MAX_VALUE))
                 .name("Dundee")
-                .category(new Category(RANDOM_NUMBER_GENERATOR.nextInt(MAX_VALUE), "Crocodile"))
+                .category(new Category(randomNumberGenerator.nextInt(MAX_VALUE), "Crocodile"))
                 .photoUrls(List.of("https://i.guim.co.uk/img/media/8c5d882b8501dda8499819d8cc98f6e13fb6c433/" +
                                 "0_0_3264_2119/master/3264.jpg?width=620&quality=45&auto=format&fit=max&dpr=2&s=" +
                                 "073b4106cc1671d82af95b3c394864b9",
                         "https://s.yimg.com/ny/api/res/1.2/GDZTSHJFOA_8Ww4XpTwR8Q--/YXBwaWQ9aGlnaGxhbmRlcjt3PTk2MDto" +
                                 "PTU2MA--/https://67.media.tumblr.com/6669c3a60b21717582c6d9f18bf3f6aa/tumblr_inline_" +
                                 "obop4fohhx1ttbdeg_1280.jpg"))
-                .tags(List.of(new Tag(RANDOM_NUMBER_GENERATOR.nextInt(MAX_VALUE), "Reptiles")))
+                .tags(List.of(new Tag(randomNumberGenerator.nextInt(MAX_VALUE), "Reptiles")))
                 .status(AVAILABLE)
                 .build();
     }
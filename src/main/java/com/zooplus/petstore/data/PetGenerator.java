@@ -0,0 +1,136 @@
+package com.zooplus.petstore.data;
+
+import com.zooplus.petstore.model.Category;
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.model.Status;
+import com.zooplus.petstore.model.Tag;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic source of varied, valid pets.
+ * <p>
+ * Pet number {@code index} is a pure function of the seed and the index, so runs are reproducible and threads
+ * share no state beyond an optional counter: generating a range in parallel gives the same pets as generating it
+ * sequentially. IDs are unique within the first 2<sup>31</sup> indexes of a seed and always valid petstore IDs.
+ */
+public final class PetGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    /**
+     * Odd, so {@code index * ID_STRIDE} modulo 2<sup>31</sup> visits every valid ID once.
+     */
+    private static final long ID_STRIDE = 1_103_515_245L;
+    private static final long ID_MASK = Integer.MAX_VALUE;
+    private static final String PHOTO_URL_PREFIX = "https://images.petstore.test/";
+    private static final String PHOTO_URL_SUFFIX = ".jpg";
+    private static final char[] LETTERS = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final PetGeneratorSettings settings;
+    private final long seed;
+    private final long idOffset;
+    private final WeightedChoice<Status> statuses;
+    private final WeightedChoice<String> categories;
+    private final WeightedChoice<String> tags;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public PetGenerator(final PetGeneratorSettings settings) {
+        checkRange("tags", settings.getMinTags(), settings.getMaxTags(), 0);
+        checkRange("photoUrls", settings.getMinPhotoUrls(), settings.getMaxPhotoUrls(), 1);
+        checkRange("nameLength", settings.getMinNameLength(), settings.getMaxNameLength(), 1);
+        this.settings = settings;
+        this.seed = mix(settings.getSeed());
+        this.idOffset = mix(seed + GOLDEN_GAMMA) & ID_MASK;
+        final var statusWeights = new EnumMap<Status, Integer>(Status.class);
+        statusWeights.putAll(settings.getStatusWeights());
+        this.statuses = new WeightedChoice<>(statusWeights);
+        this.categories = new WeightedChoice<>(new TreeMap<>(settings.getCategoryWeights()));
+        this.tags = new WeightedChoice<>(new TreeMap<>(settings.getTagWeights()));
+    }
+
+    public Pet generate(final long index) {
+        final var random = new SplittableRandom(mix(seed + index * GOLDEN_GAMMA));
+        final var categoryIndex = categories.pickIndex(random);
+        final var photoUrls = new ArrayList<String>(settings.getMaxPhotoUrls());
+        final var numberOfPhotoUrls = between(random, settings.getMinPhotoUrls(), settings.getMaxPhotoUrls());
+        for (var i = 0; i < numberOfPhotoUrls; i++) {
+            photoUrls.add(photoUrl(random));
+        }
+        final var petTags = new ArrayList<Tag>(settings.getMaxTags());
+        final var numberOfTags = between(random, settings.getMinTags(), settings.getMaxTags());
+        for (var i = 0; i < numberOfTags; i++) {
+            final var tagIndex = tags.pickIndex(random);
+            petTags.add(new Tag(tagIndex + 1, tags.get(tagIndex)));
+        }
+        return Pet.builder()
+                .id(petId(index))
+                .category(new Category(categoryIndex + 1, categories.get(categoryIndex)))
+                .name(name(random))
+                .photoUrls(photoUrls)
+                .tags(petTags)
+                .status(statuses.get(statuses.pickIndex(random)))
+                .build();
+    }
+
+    /**
+     * Next pet of this generator's own sequence, starting at index 0.
+     */
+    public Pet next() {
+        return generate(sequence.getAndIncrement());
+    }
+
+    public Stream<Pet> stream(final long fromIndex, final long count) {
+        return LongStream.range(fromIndex, fromIndex + count).mapToObj(this::generate);
+    }
+
+    public long petId(final long index) {
+        return (idOffset + index * ID_STRIDE) & ID_MASK;
+    }
+
+    private String name(final SplittableRandom random) {
+        final var name = new char[between(random, settings.getMinNameLength(), settings.getMaxNameLength())];
+        for (var i = 0; i < name.length; i++) {
+            name[i] = LETTERS[random.nextInt(LETTERS.length)];
+        }
+        name[0] = Character.toUpperCase(name[0]);
+        return new String(name);
+    }
+
+    private String photoUrl(final SplittableRandom random) {
+        final var digits = Math.max(8,
+                settings.getPhotoUrlLength() - PHOTO_URL_PREFIX.length() - PHOTO_URL_SUFFIX.length());
+        final var url = new StringBuilder(PHOTO_URL_PREFIX.length() + digits + PHOTO_URL_SUFFIX.length())
+                .append(PHOTO_URL_PREFIX);
+        for (var i = 0; i < digits; i++) {
+            url.append(HEX_DIGITS[random.nextInt(HEX_DIGITS.length)]);
+        }
+        return url.append(PHOTO_URL_SUFFIX).toString();
+    }
+
+    private static int between(final SplittableRandom random, final int min, final int max) {
+        return min == max ? min : random.nextInt(min, max + 1);
+    }
+
+    private static void checkRange(final String name, final int min, final int max, final int lowest) {
+        if (min < lowest || max < min) {
+            throw new IllegalArgumentException(String.format("Invalid %s range [%d, %d]", name, min, max));
+        }
+    }
+
+    /**
+     * SplitMix64 finalizer: neighbouring inputs give unrelated outputs.
+     */
+    private static long mix(final long value) {
+        var z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,77 @@
+package com.zooplus.petstore.data;
+
+import com.zooplus.petstore.configs.PetstoreConfigs;
+import com.zooplus.petstore.model.Status;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Shape of the pets a {@link PetGenerator} produces. Weights are relative; a zero weight excludes a value.
+ */
+@Value
+@Builder(toBuilder = true)
+public class PetGeneratorSettings {
+
+    @Builder.Default
+    long seed = 42;
+    @Builder.Default
+    Map<Status, Integer> statusWeights = Map.of(Status.AVAILABLE, 6, Status.PENDING, 3, Status.SOLD, 1);
+    @Builder.Default
+    Map<String, Integer> categoryWeights = Map.of("Dog", 4, "Cat", 4, "Parrot", 2, "Crocodile", 1);
+    @Builder.Default
+    Map<String, Integer> tagWeights = Map.of("Mammals", 8, "Friendly", 5, "Vaccinated", 5, "Birds", 2,
+            "Reptiles", 1);
+    @Builder.Default
+    int minTags = 0;
+    @Builder.Default
+    int maxTags = 3;
+    @Builder.Default
+    int minPhotoUrls = 1;
+    @Builder.Default
+    int maxPhotoUrls = 3;
+    @Builder.Default
+    int minNameLength = 3;
+    @Builder.Default
+    int maxNameLength = 12;
+    /**
+     * Length of every photo URL, the main knob for the payload size.
+     */
+    @Builder.Default
+    int photoUrlLength = 64;
+
+    public static PetGeneratorSettings fromConfig(final PetstoreConfigs configs) {
+        return PetGeneratorSettings.builder()
+                .seed(configs.dataSeed())
+                .statusWeights(parseWeights(configs.dataStatusWeights(), Status::valueOf))
+                .categoryWeights(parseWeights(configs.dataCategoryWeights(), Function.identity()))
+                .tagWeights(parseWeights(configs.dataTagWeights(), Function.identity()))
+                .minTags(configs.dataMinTags())
+                .maxTags(configs.dataMaxTags())
+                .minPhotoUrls(configs.dataMinPhotoUrls())
+                .maxPhotoUrls(configs.dataMaxPhotoUrls())
+                .minNameLength(configs.dataMinNameLength())
+                .maxNameLength(configs.dataMaxNameLength())
+                .photoUrlLength(configs.dataPhotoUrlLength())
+                .build();
+    }
+
+    /**
+     * Parses {@code value:weight} pairs such as {@code Dog:4}.
+     */
+    public static <T> Map<T, Integer> parseWeights(final String[] pairs, final Function<String, T> valueParser) {
+        final var weights = new LinkedHashMap<T, Integer>();
+        for (final var pair : pairs) {
+            final var separator = pair.lastIndexOf(':');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected value:weight, was '" + pair + "'");
+            }
+            weights.put(valueParser.apply(pair.substring(0, separator).trim()),
+                    Integer.parseInt(pair.substring(separator + 1).trim()));
+        }
+        return weights;
+    }
+}
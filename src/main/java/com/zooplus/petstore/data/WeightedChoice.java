@@ -0,0 +1,53 @@
+package com.zooplus.petstore.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Picks values with probability proportional to their weights, in {@code O(log n)} per pick.
+ */
+final class WeightedChoice<T> {
+
+    private final List<T> values = new ArrayList<>();
+    private final long[] cumulativeWeights;
+
+    /**
+     * Values are taken in the iteration order of {@code weights}, which therefore has to be stable for picks to be
+     * reproducible.
+     */
+    WeightedChoice(final Map<T, Integer> weights) {
+        final var cumulative = new long[weights.size()];
+        var total = 0L;
+        for (final var weight : weights.entrySet()) {
+            if (weight.getValue() < 0) {
+                throw new IllegalArgumentException("Negative weight of " + weight.getKey());
+            }
+            if (weight.getValue() > 0) {
+                total += weight.getValue();
+                cumulative[values.size()] = total;
+                values.add(weight.getKey());
+            }
+        }
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("At least one value needs a positive weight");
+        }
+        this.cumulativeWeights = Arrays.copyOf(cumulative, values.size());
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    T get(final int index) {
+        return values.get(index);
+    }
+
+    int pickIndex(final SplittableRandom random) {
+        final var point = random.nextLong(cumulativeWeights[cumulativeWeights.length - 1]);
+        final var found = Arrays.binarySearch(cumulativeWeights, point);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+}
@@ -0,0 +1,95 @@
+package com.zooplus.petstore.databind;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the elements of a top-level JSON array one at a time, so only the element being read is held in memory
+ * however long the array is.
+ * <p>
+ * The input stream stays owned by the caller: closing the iterator releases the parser only, so the caller decides
+ * whether the rest of the input is drained or discarded.
+ */
+public final class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+
+    private final ObjectReader elementReader;
+    private final JsonParser parser;
+    private JsonToken nextToken;
+
+    public JsonArrayIterator(final ObjectReader elementReader, final InputStream json) throws IOException {
+        this.elementReader = elementReader;
+        this.parser = elementReader.getFactory().createParser(json);
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new JsonParseException(parser, "Expected a JSON array");
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextToken == null) {
+            try {
+                nextToken = parser.nextToken();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            if (nextToken == null) {
+                throw new UncheckedIOException(new JsonParseException(parser, "Unexpected end of JSON array"));
+            }
+        }
+        return nextToken != JsonToken.END_ARRAY;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        nextToken = null;
+        try {
+            return elementReader.readValue(parser);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Whether the whole array has been read, up to its closing bracket.
+     */
+    public boolean isExhausted() {
+        return nextToken == JsonToken.END_ARRAY;
+    }
+
+    /**
+     * Sequential stream over the remaining elements, closing the stream closes this iterator.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
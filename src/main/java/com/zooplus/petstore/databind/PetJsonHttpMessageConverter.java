@@ -0,0 +1,70 @@
+package com.zooplus.petstore.databind;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.model.PetUpdateStatus;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toUnmodifiableMap;
+
+/**
+ * JSON converter for the petstore models, with an {@link ObjectWriter} and {@link ObjectReader} prebuilt per type.
+ * <p>
+ * Bodies are written straight into the request body stream and read straight from the response body stream, with
+ * neither an intermediate String nor the per-call type resolution and serializer lookup of
+ * {@code MappingJackson2HttpMessageConverter}. Other types are left to the converters registered after this one.
+ */
+public class PetJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private static final List<Class<?>> TYPES = List.of(Pet.class, Pet[].class, PetUpdateStatus.class);
+
+    private final Map<Class<?>, ObjectWriter> writers;
+    private final Map<Class<?>, ObjectReader> readers;
+
+    public PetJsonHttpMessageConverter(final ObjectMapper objectMapper) {
+        // Same media types as the general JSON converter, which is registered for any response content type
+        super(MediaType.APPLICATION_JSON, MediaType.ALL);
+        writers = TYPES.stream().collect(toUnmodifiableMap(Function.identity(), type ->
+                objectMapper.writerFor(type).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)));
+        readers = TYPES.stream().collect(toUnmodifiableMap(Function.identity(), objectMapper::readerFor));
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return writers.containsKey(clazz);
+    }
+
+    @Override
+    protected Object readInternal(final Class<?> clazz, final HttpInputMessage inputMessage) throws IOException {
+        try {
+            return readers.get(clazz).readValue(inputMessage.getBody());
+        } catch (JsonProcessingException exception) {
+            throw new HttpMessageNotReadableException("Could not read " + clazz.getSimpleName() + ": "
+                    + exception.getOriginalMessage(), exception, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(final Object body, final HttpOutputMessage outputMessage) throws IOException {
+        try {
+            writers.get(body.getClass()).writeValue(outputMessage.getBody(), body);
+        } catch (JsonProcessingException exception) {
+            throw new HttpMessageNotWritableException("Could not write " + body.getClass().getSimpleName() + ": "
+                    + exception.getOriginalMessage(), exception);
+        }
+    }
+}
@@ -3,8 +3,10 @@ package com.zooplus.petstore.databind;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.zooplus.petstore.exception.ObjectMapperException;
 
+@Singleton
 public class RequestBodyConverter {
 
     private final ObjectMapper objectMapper;
@@ -0,0 +1,58 @@
+package com.zooplus.petstore.distributed;
+
+import com.zooplus.petstore.load.LoadProfile;
+import com.zooplus.petstore.load.LoadReport;
+import com.zooplus.petstore.metrics.OperationStats;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.lang.System.lineSeparator;
+
+/**
+ * Result of a {@link LoadCoordinator} run: the merged report of the workers that finished, their own reports by
+ * worker index and why the others did not finish.
+ */
+@Value
+public class DistributedReport {
+
+    LoadReport merged;
+    Map<Integer, LoadReport> workers;
+    Map<Integer, String> failures;
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    public String format() {
+        final var report = new StringBuilder()
+                .append(String.format("Distributed run: %d of %d workers finished", workers.size(),
+                        workers.size() + failures.size()))
+                .append(lineSeparator());
+        failures.forEach((index, failure) -> report.append(String.format("  worker %d failed: %s", index, failure))
+                .append(lineSeparator()));
+        workers.forEach((index, worker) -> report.append(String.format("  worker %d: %d requests sent, %s", index,
+                worker.getRequestsSent(), worker.getTotal())).append(lineSeparator()));
+        return report.append(merged.format()).toString();
+    }
+
+    /**
+     * Merges operations by name; throughput is over the longest steady state, as the workers run side by side.
+     */
+    static LoadReport merge(final LoadProfile profile, final Collection<LoadReport> reports) {
+        final var operations = new LinkedHashMap<String, OperationStats>();
+        var total = new OperationStats("total", OperationStats.newHistogram(), 0, Duration.ZERO);
+        var requestsSent = 0L;
+        for (final var report : reports) {
+            report.getOperations().forEach(stats -> operations.merge(stats.getOperation(), stats,
+                    OperationStats::merge));
+            total = total.merge(report.getTotal());
+            requestsSent += report.getRequestsSent();
+        }
+        return new LoadReport(profile, new ArrayList<>(operations.values()), total, requestsSent);
+    }
+}
@@ -0,0 +1,87 @@
+package com.zooplus.petstore.distributed;
+
+import com.zooplus.petstore.configs.PetstoreConfigs;
+import com.zooplus.petstore.data.PetGeneratorSettings;
+import com.zooplus.petstore.load.LoadModel;
+import com.zooplus.petstore.load.LoadProfile;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A load run to be shared by several {@link LoadWorker}s: the profile is the load of all workers together.
+ */
+@Value
+@Builder
+public class DistributedWorkload {
+
+    @Builder.Default
+    LoadProfile profile = LoadProfile.builder().build();
+    /**
+     * Operation names and their weights, see {@code LoadOperations.mix}.
+     */
+    @Builder.Default
+    Map<String, Integer> mix = defaultMix();
+    @Builder.Default
+    int workers = 2;
+    /**
+     * Seed of the {@code PetGenerator} of every worker; each worker adds pets from its own index range.
+     */
+    @Builder.Default
+    long seed = 42;
+    @Builder.Default
+    long petsPerWorker = 1_000_000;
+    /**
+     * How often workers send the statistics so far.
+     */
+    @Builder.Default
+    Duration progressInterval = Duration.ofSeconds(1);
+
+    public static DistributedWorkload fromConfig(final PetstoreConfigs configs) {
+        return DistributedWorkload.builder()
+                .profile(LoadProfile.fromConfig(configs))
+                .mix(PetGeneratorSettings.parseWeights(configs.distributedMix(), Function.identity()))
+                .workers(configs.distributedWorkers())
+                .seed(configs.dataSeed())
+                .petsPerWorker(configs.distributedPetsPerWorker())
+                .progressInterval(Duration.ofMillis(configs.distributedProgressIntervalMillis()))
+                .build();
+    }
+
+    /**
+     * Share of worker {@code index}: an equal part of the arrival rate, in-flight bound or virtual users, and the
+     * {@code index}-th range of pet indexes.
+     */
+    public WorkerAssignment assignment(final int index) {
+        if (index < 0 || index >= workers) {
+            throw new IllegalArgumentException("Worker " + index + " of " + workers);
+        }
+        if (profile.getModel() == LoadModel.CLOSED && profile.getConcurrency() < workers) {
+            throw new IllegalArgumentException("Expected at least one virtual user per worker, was "
+                    + profile.getConcurrency() + " for " + workers + " workers");
+        }
+        final var share = LoadProfile.builder()
+                .model(profile.getModel())
+                .ratePerSecond(profile.getRatePerSecond() / workers)
+                .concurrency(profile.getConcurrency() / workers + (index < profile.getConcurrency() % workers ? 1 : 0))
+                .maxInFlight(Math.max(1, (profile.getMaxInFlight() + workers - 1) / workers))
+                .rampUp(profile.getRampUp())
+                .steadyState(profile.getSteadyState())
+                .rampDown(profile.getRampDown())
+                .build();
+        return new WorkerAssignment(index, workers, share, mix, seed, index * petsPerWorker, petsPerWorker,
+                progressInterval);
+    }
+
+    private static Map<String, Integer> defaultMix() {
+        final var mix = new LinkedHashMap<String, Integer>();
+        mix.put("addNewPetToStore", 1);
+        mix.put("findPetById", 8);
+        mix.put("findPetsByStatus", 2);
+        return mix;
+    }
+}
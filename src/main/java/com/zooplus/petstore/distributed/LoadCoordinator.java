@@ -0,0 +1,193 @@
+package com.zooplus.petstore.distributed;
+
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import com.zooplus.petstore.load.LoadReport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Shares a {@link DistributedWorkload} among {@link LoadWorker}s connecting to a server socket and merges the
+ * statistics they stream back.
+ * <p>
+ * The run starts once every worker has connected, so all of them ramp up together. While they run, the merged
+ * progress is logged every {@link DistributedWorkload#getProgressInterval()}. A worker that fails, disconnects or
+ * has not finished {@code connectTimeout} after the planned end of the run is reported as failed and left out of
+ * the merged report.
+ */
+@Slf4j
+public class LoadCoordinator {
+
+    public DistributedReport run(final DistributedWorkload workload, final ServerSocket server,
+                                 final Duration connectTimeout) throws IOException {
+        final var sockets = accept(server, workload.getWorkers(), connectTimeout);
+        final var latest = new ConcurrentHashMap<Integer, LoadReport>();
+        final var finished = new ConcurrentHashMap<Integer, LoadReport>();
+        final var failures = new ConcurrentHashMap<Integer, String>();
+        final var ended = new CountDownLatch(sockets.size());
+        final var readers = Executors.newCachedThreadPool(
+                PetstoreExecutors.daemonThreadFactory("petstore-coordinator"));
+        try {
+            for (var index = 0; index < sockets.size(); index++) {
+                final var assignment = workload.assignment(index);
+                final var socket = sockets.get(index);
+                WorkerProtocol.writeAssignment(new DataOutputStream(new BufferedOutputStream(
+                        socket.getOutputStream())), assignment);
+                readers.execute(() -> {
+                    try {
+                        read(socket, assignment, latest, finished, failures);
+                    } finally {
+                        ended.countDown();
+                    }
+                });
+            }
+            log.info("Started {} workers on {}", sockets.size(), workload.getProfile());
+            await(workload, connectTimeout, ended, latest);
+        } finally {
+            for (final var socket : sockets) {
+                socket.close();
+            }
+            readers.shutdownNow();
+        }
+        for (var index = 0; index < sockets.size(); index++) {
+            if (!finished.containsKey(index)) {
+                failures.putIfAbsent(index, "No report within " + connectTimeout + " after the end of the run");
+            }
+        }
+        final var report = new DistributedReport(
+                DistributedReport.merge(workload.getProfile(), new TreeMap<>(finished).values()),
+                new TreeMap<>(finished), new TreeMap<>(failures));
+        log.info(report.format());
+        return report;
+    }
+
+    private static List<Socket> accept(final ServerSocket server, final int workers, final Duration connectTimeout)
+            throws IOException {
+        final var sockets = new ArrayList<Socket>(workers);
+        final var deadline = System.nanoTime() + connectTimeout.toNanos();
+        try {
+            while (sockets.size() < workers) {
+                final var remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    throw new SocketTimeoutException();
+                }
+                server.setSoTimeout((int) Math.min(Integer.MAX_VALUE, remainingMillis));
+                final var socket = server.accept();
+                socket.setTcpNoDelay(true);
+                sockets.add(socket);
+                log.info("Worker {} of {} connected from {}", sockets.size(), workers,
+                        socket.getRemoteSocketAddress());
+            }
+            return sockets;
+        } catch (SocketTimeoutException exception) {
+            for (final var socket : sockets) {
+                socket.close();
+            }
+            throw new IOException("Only " + sockets.size() + " of " + workers + " workers connected within "
+                    + connectTimeout, exception);
+        }
+    }
+
+    private static void read(final Socket socket, final WorkerAssignment assignment,
+                             final Map<Integer, LoadReport> latest, final Map<Integer, LoadReport> finished,
+                             final Map<Integer, String> failures) {
+        final var index = assignment.getIndex();
+        try {
+            final var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            while (true) {
+                final var type = in.readByte();
+                if (type == WorkerProtocol.PROGRESS) {
+                    latest.put(index, WorkerProtocol.readReport(in, assignment.getProfile()));
+                } else if (type == WorkerProtocol.DONE) {
+                    final var report = WorkerProtocol.readReport(in, assignment.getProfile());
+                    latest.put(index, report);
+                    finished.put(index, report);
+                    return;
+                } else if (type == WorkerProtocol.FAILED) {
+                    failures.put(index, in.readUTF());
+                    return;
+                } else {
+                    throw new IOException("Unexpected message " + type);
+                }
+            }
+        } catch (EOFException exception) {
+            failures.put(index, "Disconnected before the end of the run");
+        } catch (IOException exception) {
+            if (!socket.isClosed()) {
+                failures.put(index, exception.toString());
+            }
+        }
+    }
+
+    private static void await(final DistributedWorkload workload, final Duration connectTimeout,
+                              final CountDownLatch ended, final Map<Integer, LoadReport> latest) {
+        final var deadline = System.nanoTime() + workload.getProfile().getTotalDuration().toNanos()
+                + connectTimeout.toNanos();
+        final var intervalMillis = Math.max(1, workload.getProgressInterval().toMillis());
+        try {
+            while (!ended.await(Math.min(intervalMillis, (deadline - System.nanoTime()) / 1_000_000),
+                    MILLISECONDS)) {
+                if (System.nanoTime() - deadline >= 0) {
+                    log.warn("{} workers still running {} after the planned end of the run", ended.getCount(),
+                            connectTimeout);
+                    return;
+                }
+                final var progress = DistributedReport.merge(workload.getProfile(), latest.values());
+                log.info("Progress: {} requests sent, {}", progress.getRequestsSent(), progress.getTotal());
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs {@link DistributedWorkload#fromConfig} with {@code petstore.distributed.workers} workers, started as
+     * local processes unless {@code petstore.distributed.spawnWorkers} is off, and writes the report to
+     * {@code petstore.distributed.dir}.
+     */
+    public static void main(final String[] args) throws IOException {
+        final var workload = DistributedWorkload.fromConfig(PLATFORM_CONFIG);
+        final var host = PLATFORM_CONFIG.distributedHost();
+        final var dir = Paths.get(PLATFORM_CONFIG.distributedDir());
+        final DistributedReport report;
+        try (var server = new ServerSocket(PLATFORM_CONFIG.distributedPort(), workload.getWorkers(),
+                InetAddress.getByName(host))) {
+            final var workers = PLATFORM_CONFIG.distributedSpawnWorkers()
+                    ? LocalWorkers.start(workload.getWorkers(), host, server.getLocalPort(), dir)
+                    : LocalWorkers.none();
+            try (workers) {
+                log.info("Waiting for {} workers on {}:{}", workload.getWorkers(), host, server.getLocalPort());
+                report = new LoadCoordinator().run(workload, server,
+                        Duration.ofSeconds(PLATFORM_CONFIG.distributedConnectTimeoutSeconds()));
+            }
+        }
+        Files.createDirectories(dir);
+        Files.write(dir.resolve("report.txt"), report.format().getBytes(UTF_8));
+        if (report.hasFailures()) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.zooplus.petstore.distributed;
+
+import com.google.inject.Inject;
+import com.zooplus.petstore.bindings.PetstoreInjector;
+import com.zooplus.petstore.data.PetGenerator;
+import com.zooplus.petstore.data.PetGeneratorSettings;
+import com.zooplus.petstore.load.LoadOperations;
+import com.zooplus.petstore.load.LoadReport;
+import com.zooplus.petstore.load.LoadRunner;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+
+/**
+ * Runs its share of a distributed load run: connects to a {@link LoadCoordinator}, runs the assignment it receives
+ * with {@link LoadRunner} and streams the statistics back.
+ */
+@Slf4j
+public class LoadWorker {
+
+    private final LoadRunner loadRunner;
+
+    @Inject
+    public LoadWorker(final LoadRunner loadRunner) {
+        this.loadRunner = loadRunner;
+    }
+
+    public LoadReport run(final String host, final int port) throws IOException {
+        try (var socket = new Socket(host, port);
+             var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             var out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            socket.setTcpNoDelay(true);
+            final var assignment = WorkerProtocol.readAssignment(in);
+            log.info("Worker {} of {} running {} with {}", assignment.getIndex() + 1, assignment.getWorkers(),
+                    assignment.getProfile(), assignment.getMix());
+            final var sender = new ReportSender(out);
+            try {
+                final var report = run(assignment, sender);
+                sender.done(report);
+                return report;
+            } catch (RuntimeException exception) {
+                sender.failed(exception);
+                throw exception;
+            }
+        }
+    }
+
+    private LoadReport run(final WorkerAssignment assignment, final ReportSender sender) {
+        final var generator = new PetGenerator(PetGeneratorSettings.fromConfig(PLATFORM_CONFIG).toBuilder()
+                .seed(assignment.getSeed())
+                .build());
+        final var operations = LoadOperations.mix(assignment.getMix(), generator, assignment.getFirstPetIndex(),
+                assignment.getPetCount());
+        return loadRunner.run(assignment.getProfile(), operations, assignment.getProgressInterval(),
+                sender::progress);
+    }
+
+    /**
+     * Progress reports come from the load runner's own thread, so writes are serialized and none follows the last.
+     */
+    private static final class ReportSender {
+
+        private final DataOutputStream out;
+        private boolean finished;
+
+        private ReportSender(final DataOutputStream out) {
+            this.out = out;
+        }
+
+        synchronized void progress(final LoadReport report) {
+            if (finished) {
+                return;
+            }
+            try {
+                WorkerProtocol.writeReport(out, WorkerProtocol.PROGRESS, report);
+            } catch (IOException exception) {
+                log.warn("Could not send progress to the coordinator", exception);
+            }
+        }
+
+        synchronized void done(final LoadReport report) throws IOException {
+            finished = true;
+            WorkerProtocol.writeReport(out, WorkerProtocol.DONE, report);
+        }
+
+        synchronized void failed(final RuntimeException exception) {
+            finished = true;
+            try {
+                WorkerProtocol.writeFailure(out, exception.toString());
+            } catch (IOException writeException) {
+                log.warn("Could not report the failure to the coordinator", writeException);
+            }
+        }
+    }
+
+    /**
+     * Joins a coordinator: {@code [host] [port]}, by default {@code petstore.distributed.host} and
+     * {@code petstore.distributed.port}.
+     */
+    public static void main(final String[] args) throws IOException {
+        final var host = args.length > 0 ? args[0] : PLATFORM_CONFIG.distributedHost();
+        final var port = args.length > 1 ? Integer.parseInt(args[1]) : PLATFORM_CONFIG.distributedPort();
+        PetstoreInjector.get().getInstance(LoadWorker.class).run(host, port);
+    }
+}
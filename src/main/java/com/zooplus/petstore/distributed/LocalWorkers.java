@@ -0,0 +1,86 @@
+package com.zooplus.petstore.distributed;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * {@link LoadWorker} processes on this machine, each a JVM of its own with the classpath and {@code petstore.*}
+ * system properties of this one. Their output goes to {@code worker-<index>.log} in the given directory.
+ */
+@Slf4j
+public final class LocalWorkers implements Closeable {
+
+    private final List<Process> processes;
+
+    private LocalWorkers(final List<Process> processes) {
+        this.processes = processes;
+    }
+
+    public static LocalWorkers none() {
+        return new LocalWorkers(List.of());
+    }
+
+    public static LocalWorkers start(final int count, final String host, final int port, final Path logDir)
+            throws IOException {
+        return start(count, host, port, logDir, System.getProperty("java.class.path"));
+    }
+
+    public static LocalWorkers start(final int count, final String host, final int port, final Path logDir,
+                                     final String classPath) throws IOException {
+        Files.createDirectories(logDir);
+        final var command = new ArrayList<String>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(classPath);
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("petstore."))
+                .sorted()
+                .forEach(name -> command.add("-D" + name + "=" + System.getProperty(name)));
+        command.add(LoadWorker.class.getName());
+        command.add(host);
+        command.add(Integer.toString(port));
+        final var processes = new ArrayList<Process>(count);
+        final var workers = new LocalWorkers(processes);
+        try {
+            for (var index = 0; index < count; index++) {
+                final var logFile = logDir.resolve("worker-" + index + ".log").toFile();
+                processes.add(new ProcessBuilder(command)
+                        .redirectErrorStream(true)
+                        .redirectOutput(logFile)
+                        .start());
+            }
+        } catch (IOException | RuntimeException exception) {
+            workers.close();
+            throw exception;
+        }
+        log.info("Started {} local workers, logging to {}", count, logDir);
+        return workers;
+    }
+
+    /**
+     * Gives workers a few seconds to exit on their own, then kills those still running.
+     */
+    @Override
+    public void close() {
+        for (final var process : processes) {
+            try {
+                if (!process.waitFor(5, SECONDS)) {
+                    log.warn("Worker {} did not exit, killing it", process.pid());
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+}
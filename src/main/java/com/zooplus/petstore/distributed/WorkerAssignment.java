@@ -0,0 +1,23 @@
+package com.zooplus.petstore.distributed;
+
+import com.zooplus.petstore.load.LoadProfile;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * What one {@link LoadWorker} runs, as sent by {@link LoadCoordinator}.
+ */
+@Value
+public class WorkerAssignment {
+
+    int index;
+    int workers;
+    LoadProfile profile;
+    Map<String, Integer> mix;
+    long seed;
+    long firstPetIndex;
+    long petCount;
+    Duration progressInterval;
+}
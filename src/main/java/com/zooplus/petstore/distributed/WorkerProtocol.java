@@ -0,0 +1,147 @@
+package com.zooplus.petstore.distributed;
+
+import com.zooplus.petstore.load.LoadModel;
+import com.zooplus.petstore.load.LoadProfile;
+import com.zooplus.petstore.load.LoadReport;
+import com.zooplus.petstore.metrics.OperationStats;
+import org.HdrHistogram.Histogram;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.zip.DataFormatException;
+
+/**
+ * Messages between {@link LoadCoordinator} and {@link LoadWorker}: a type byte followed by its fields.
+ * <p>
+ * The coordinator sends one {@link #ASSIGNMENT}. The worker answers with {@link #PROGRESS} reports while it runs
+ * and ends with {@link #DONE} or {@link #FAILED}. Reports carry the statistics since the start of the run, so a
+ * later report replaces an earlier one and the coordinator only keeps the latest; histograms travel in
+ * HdrHistogram's compressed encoding, a few hundred bytes each.
+ */
+final class WorkerProtocol {
+
+    static final byte ASSIGNMENT = 1;
+    static final byte PROGRESS = 2;
+    static final byte DONE = 3;
+    static final byte FAILED = 4;
+
+    private WorkerProtocol() {
+    }
+
+    static void writeAssignment(final DataOutputStream out, final WorkerAssignment assignment) throws IOException {
+        out.writeByte(ASSIGNMENT);
+        out.writeInt(assignment.getIndex());
+        out.writeInt(assignment.getWorkers());
+        final var profile = assignment.getProfile();
+        out.writeUTF(profile.getModel().name());
+        out.writeDouble(profile.getRatePerSecond());
+        out.writeInt(profile.getConcurrency());
+        out.writeInt(profile.getMaxInFlight());
+        out.writeLong(profile.getRampUp().toNanos());
+        out.writeLong(profile.getSteadyState().toNanos());
+        out.writeLong(profile.getRampDown().toNanos());
+        out.writeInt(assignment.getMix().size());
+        for (final var operation : assignment.getMix().entrySet()) {
+            out.writeUTF(operation.getKey());
+            out.writeInt(operation.getValue());
+        }
+        out.writeLong(assignment.getSeed());
+        out.writeLong(assignment.getFirstPetIndex());
+        out.writeLong(assignment.getPetCount());
+        out.writeLong(assignment.getProgressInterval().toNanos());
+        out.flush();
+    }
+
+    static WorkerAssignment readAssignment(final DataInputStream in) throws IOException {
+        expect(in, ASSIGNMENT);
+        final var index = in.readInt();
+        final var workers = in.readInt();
+        final var profile = LoadProfile.builder()
+                .model(LoadModel.valueOf(in.readUTF()))
+                .ratePerSecond(in.readDouble())
+                .concurrency(in.readInt())
+                .maxInFlight(in.readInt())
+                .rampUp(Duration.ofNanos(in.readLong()))
+                .steadyState(Duration.ofNanos(in.readLong()))
+                .rampDown(Duration.ofNanos(in.readLong()))
+                .build();
+        final var operations = in.readInt();
+        final var mix = new LinkedHashMap<String, Integer>();
+        for (var i = 0; i < operations; i++) {
+            mix.put(in.readUTF(), in.readInt());
+        }
+        return new WorkerAssignment(index, workers, profile, mix, in.readLong(), in.readLong(), in.readLong(),
+                Duration.ofNanos(in.readLong()));
+    }
+
+    /**
+     * @param type {@link #PROGRESS} or {@link #DONE}
+     */
+    static void writeReport(final DataOutputStream out, final byte type, final LoadReport report)
+            throws IOException {
+        out.writeByte(type);
+        out.writeLong(report.getRequestsSent());
+        out.writeInt(report.getOperations().size());
+        for (final var stats : report.getOperations()) {
+            writeStats(out, stats);
+        }
+        writeStats(out, report.getTotal());
+        out.flush();
+    }
+
+    /**
+     * Body of a {@link #PROGRESS} or {@link #DONE} message, after its type byte.
+     */
+    static LoadReport readReport(final DataInputStream in, final LoadProfile profile) throws IOException {
+        final var requestsSent = in.readLong();
+        final var count = in.readInt();
+        final var operations = new ArrayList<OperationStats>(count);
+        for (var i = 0; i < count; i++) {
+            operations.add(readStats(in));
+        }
+        return new LoadReport(profile, operations, readStats(in), requestsSent);
+    }
+
+    static void writeFailure(final DataOutputStream out, final String message) throws IOException {
+        out.writeByte(FAILED);
+        out.writeUTF(message == null ? "" : message);
+        out.flush();
+    }
+
+    private static void writeStats(final DataOutputStream out, final OperationStats stats) throws IOException {
+        out.writeUTF(stats.getOperation());
+        out.writeLong(stats.getErrors());
+        out.writeLong(stats.getElapsed().toNanos());
+        final var buffer = ByteBuffer.allocate(stats.getHistogram().getNeededByteBufferCapacity());
+        final var length = stats.getHistogram().encodeIntoCompressedByteBuffer(buffer);
+        out.writeInt(length);
+        out.write(buffer.array(), 0, length);
+    }
+
+    private static OperationStats readStats(final DataInputStream in) throws IOException {
+        final var operation = in.readUTF();
+        final var errors = in.readLong();
+        final var elapsed = Duration.ofNanos(in.readLong());
+        final var encoded = new byte[in.readInt()];
+        in.readFully(encoded);
+        final Histogram histogram;
+        try {
+            histogram = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), 0);
+        } catch (DataFormatException exception) {
+            throw new IOException("Corrupt histogram of " + operation, exception);
+        }
+        return new OperationStats(operation, histogram, errors, elapsed);
+    }
+
+    private static void expect(final DataInputStream in, final byte type) throws IOException {
+        final var actual = in.readByte();
+        if (actual != type) {
+            throw new IOException("Expected message " + type + ", got " + actual);
+        }
+    }
+}
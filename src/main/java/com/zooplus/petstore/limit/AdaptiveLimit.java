@@ -0,0 +1,78 @@
+package com.zooplus.petstore.limit;
+
+/**
+ * Concurrency limit that follows the server's latency, in the manner of a TCP congestion window.
+ * <p>
+ * A moving average of the latency stands for the server's current latency, and its lowest value so far for the
+ * server without load; a single lucky response does not set it. While the average stays within
+ * {@code latencyTolerance} times the lowest the server is keeping up, and the limit grows by about its square root
+ * per exchange; once requests start queueing on the server, latency rises and the limit is scaled down by the ratio
+ * between the two, halving at most. It settles where adding requests would only add latency, not throughput.
+ * Errors that signal overload cut the limit by {@code backoffRatio} at once, no more than once per round trip.
+ * The limit only grows while it is actually used, so a quiet client does not build up a limit it never tested.
+ */
+public final class AdaptiveLimit {
+
+    private static final double SHORT_RTT_WEIGHT = 0.1;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private double limit;
+    private double shortRttNanos;
+    private long baselineRttNanos = Long.MAX_VALUE;
+    private long lastDropNanos;
+    private boolean droppedBefore;
+    private volatile int currentLimit;
+
+    public AdaptiveLimit(final int initialLimit, final int minLimit, final int maxLimit,
+                         final double latencyTolerance, final double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(String.format("Expected 1 <= min (%d) <= initial (%d) <= max (%d)",
+                    minLimit, initialLimit, maxLimit));
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+        this.currentLimit = initialLimit;
+    }
+
+    public int getLimit() {
+        return currentLimit;
+    }
+
+    /**
+     * @param rttNanos time to the response of the exchange
+     * @param inFlight exchanges in flight when it was sent, itself included
+     * @param dropped  whether it failed in a way that signals overload
+     */
+    public synchronized void onSample(final long rttNanos, final int inFlight, final boolean dropped) {
+        if (dropped) {
+            final var now = System.nanoTime();
+            if (!droppedBefore || now - lastDropNanos >= shortRttNanos) {
+                droppedBefore = true;
+                lastDropNanos = now;
+                update(limit * backoffRatio);
+            }
+            return;
+        }
+        shortRttNanos = shortRttNanos == 0 ? rttNanos : shortRttNanos + (rttNanos - shortRttNanos) * SHORT_RTT_WEIGHT;
+        baselineRttNanos = Math.min(baselineRttNanos, (long) shortRttNanos);
+        final var gradient = Math.max(MIN_GRADIENT, Math.min(1, latencyTolerance * baselineRttNanos / shortRttNanos));
+        final var target = limit * gradient + Math.sqrt(limit);
+        if (target > limit && inFlight < limit / 2) {
+            return;
+        }
+        update(limit * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    private void update(final double newLimit) {
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        currentLimit = (int) limit;
+    }
+}
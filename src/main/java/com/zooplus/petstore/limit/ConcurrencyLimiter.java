@@ -0,0 +1,74 @@
+package com.zooplus.petstore.limit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the exchanges in flight under an {@link AdaptiveLimit}; callers over it wait for a permit.
+ */
+public final class ConcurrencyLimiter {
+
+    private final AdaptiveLimit limit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final LongAdder timeouts = new LongAdder();
+    private int inFlight;
+
+    public ConcurrencyLimiter(final AdaptiveLimit limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * @return exchanges in flight including this one, to be handed back to {@link #release}; {@code 0} when no
+     * permit became available within {@code maxWait}
+     */
+    public int acquire(final Duration maxWait) throws InterruptedException {
+        var remainingNanos = maxWait.toNanos();
+        lock.lock();
+        try {
+            while (inFlight >= limit.getLimit()) {
+                if (remainingNanos <= 0) {
+                    timeouts.increment();
+                    return 0;
+                }
+                remainingNanos = released.awaitNanos(remainingNanos);
+            }
+            return ++inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(final int inFlightAtStart, final long rttNanos, final boolean dropped) {
+        limit.onSample(rttNanos, inFlightAtStart, dropped);
+        lock.lock();
+        try {
+            inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Callers that gave up waiting for a permit.
+     */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+}
@@ -0,0 +1,81 @@
+package com.zooplus.petstore.limit;
+
+import com.zooplus.petstore.configs.PetstoreConfigs;
+import com.zooplus.petstore.metrics.PetOperation;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Value
+@Builder
+public class LimiterSettings {
+
+    /**
+     * Best kept below what the server sustains: the lowest latency seen is taken as the server's latency without
+     * load, and starting congested would set it too high.
+     */
+    @Builder.Default
+    int initialLimit = 4;
+    @Builder.Default
+    int minLimit = 1;
+    /**
+     * Keep it at or below the connection pool's per-route size, requests over it would only queue for a connection.
+     */
+    @Builder.Default
+    int maxLimit = 100;
+    /**
+     * How much slower than usual responses may get before the limit is lowered.
+     */
+    @Builder.Default
+    double latencyTolerance = 1.5;
+    @Builder.Default
+    double backoffRatio = 0.9;
+    @Builder.Default
+    Duration maxWait = Duration.ofSeconds(30);
+    /**
+     * Requests per second allowed per operation; operations left out are not rate limited.
+     */
+    @Builder.Default
+    Map<PetOperation, Double> ratesPerSecond = Map.of();
+    @Builder.Default
+    int burst = 1;
+
+    public static LimiterSettings fromConfig(final PetstoreConfigs configs) {
+        return LimiterSettings.builder()
+                .initialLimit(configs.limitInitial())
+                .minLimit(configs.limitMin())
+                .maxLimit(configs.limitMax())
+                .latencyTolerance(configs.limitLatencyTolerance())
+                .backoffRatio(configs.limitBackoffRatio())
+                .maxWait(Duration.ofMillis(configs.limitMaxWaitMillis()))
+                .ratesPerSecond(parseRates(configs.limitRatesPerSecond()))
+                .burst(configs.limitBurst())
+                .build();
+    }
+
+    public AdaptiveLimit newAdaptiveLimit() {
+        return new AdaptiveLimit(initialLimit, minLimit, maxLimit, latencyTolerance, backoffRatio);
+    }
+
+    /**
+     * Parses {@code operation:rate} pairs such as {@code FIND_BY_ID:50}.
+     */
+    static Map<PetOperation, Double> parseRates(final String[] pairs) {
+        final var rates = new EnumMap<PetOperation, Double>(PetOperation.class);
+        for (final var pair : pairs) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            final var separator = pair.lastIndexOf(':');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected operation:rate, was '" + pair + "'");
+            }
+            rates.put(PetOperation.valueOf(pair.substring(0, separator).trim()),
+                    Double.parseDouble(pair.substring(separator + 1).trim()));
+        }
+        return rates;
+    }
+}
@@ -0,0 +1,60 @@
+package com.zooplus.petstore.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free rate limit of {@code ratePerSecond} with bursts of up to {@code burst} requests.
+ * <p>
+ * Implemented as a generic cell rate algorithm: instead of a token count it keeps the time at which the bucket
+ * would be full again, so taking a token is a single compare-and-set and callers over the rate are told exactly
+ * how long to wait.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt = new AtomicLong(System.nanoTime());
+
+    public TokenBucket(final double ratePerSecond, final int burst) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Expected a positive rate and burst, was " + ratePerSecond + "/s and "
+                    + burst);
+        }
+        this.intervalNanos = Math.max(1, (long) (1e9 / ratePerSecond));
+        this.burstNanos = intervalNanos * (burst - 1);
+    }
+
+    /**
+     * Takes a token, parking the calling thread until it is due.
+     */
+    public void acquire() {
+        final var waitNanos = reserve();
+        if (waitNanos > 0) {
+            final var deadline = System.nanoTime() + waitNanos;
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+    }
+
+    /**
+     * Takes a token.
+     *
+     * @return nanoseconds until it may be used
+     */
+    long reserve() {
+        return reserve(System.nanoTime());
+    }
+
+    long reserve(final long now) {
+        while (true) {
+            final var current = fullAt.get();
+            final var start = current - now > 0 ? current : now;
+            if (fullAt.compareAndSet(current, start + intervalNanos)) {
+                return Math.max(0, start - burstNanos - now);
+            }
+        }
+    }
+}
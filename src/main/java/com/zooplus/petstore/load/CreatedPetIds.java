@@ -0,0 +1,34 @@
+package com.zooplus.petstore.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size ring of the most recently created pet IDs, so read operations can target pets that exist.
+ */
+public final class CreatedPetIds {
+
+    private final AtomicLongArray ring;
+    private final AtomicLong written = new AtomicLong();
+
+    public CreatedPetIds(final int capacity) {
+        this.ring = new AtomicLongArray(capacity);
+    }
+
+    public void add(final long petId) {
+        ring.set((int) (written.getAndIncrement() % ring.length()), petId);
+    }
+
+    public boolean isEmpty() {
+        return written.get() == 0;
+    }
+
+    public long random() {
+        final var size = (int) Math.min(written.get(), ring.length());
+        if (size == 0) {
+            throw new IllegalStateException("No pet has been created yet");
+        }
+        return ring.get(ThreadLocalRandom.current().nextInt(size));
+    }
+}
@@ -0,0 +1,16 @@
+package com.zooplus.petstore.load;
+
+/**
+ * How load is offered to the petstore.
+ */
+public enum LoadModel {
+
+    /**
+     * Requests arrive at a target rate regardless of how fast earlier ones complete.
+     */
+    OPEN,
+    /**
+     * A fixed number of virtual users, each sending its next request as soon as the previous one completes.
+     */
+    CLOSED
+}
@@ -0,0 +1,20 @@
+package com.zooplus.petstore.load;
+
+import com.zooplus.petstore.service.PetClient;
+import lombok.Value;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Function;
+
+/**
+ * A named petstore call and its relative weight in the operation mix. Any non-2xx response counts as an error. A
+ * call returns {@code null} to skip its turn, e.g. a read before there is anything to read; skipped turns send
+ * nothing and are not recorded.
+ */
+@Value(staticConstructor = "of")
+public class LoadOperation {
+
+    String name;
+    int weight;
+    Function<PetClient, ResponseEntity<?>> call;
+}
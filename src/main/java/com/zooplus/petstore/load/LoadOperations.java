@@ -0,0 +1,157 @@
+package com.zooplus.petstore.load;
+
+import com.zooplus.petstore.data.PetCorpus;
+import com.zooplus.petstore.data.PetDataProvider;
+import com.zooplus.petstore.data.PetGenerator;
+import com.zooplus.petstore.model.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.zooplus.petstore.model.Status.AVAILABLE;
+
+/**
+ * Ready-made {@link LoadOperation}s built on the same {@code PetClient} calls as the functional suite's steps.
+ */
+public final class LoadOperations {
+
+    private LoadOperations() {
+    }
+
+    public static LoadOperation addNewPet(final int weight, final CreatedPetIds createdPetIds) {
+        return LoadOperation.of("addNewPetToStore", weight, petClient -> {
+            final var pet = PetDataProvider.getValidPetData();
+            final var response = petClient.addNewPetToStore(pet);
+            if (response.getStatusCode().is2xxSuccessful()) {
+                createdPetIds.add(pet.getId());
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Adds the next pet of a pre-rendered corpus, so the load generator spends nothing on building request bodies.
+     */
+    public static LoadOperation addNewPetFromCorpus(final int weight, final PetCorpus corpus,
+                                                    final CreatedPetIds createdPetIds) {
+        return LoadOperation.of("addNewPetToStore", weight, petClient -> {
+            final var entry = corpus.next();
+            final var response = petClient.addNewPetToStore(entry.getJson());
+            if (response.getStatusCode().is2xxSuccessful()) {
+                createdPetIds.add(entry.getPetId());
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Adds pets {@code firstIndex} to {@code firstIndex + count - 1} of {@code generator} in turn, starting over
+     * once the range is used up. Load generators given disjoint ranges never add a pet with the same ID.
+     */
+    public static LoadOperation addGeneratedPet(final int weight, final PetGenerator generator, final long firstIndex,
+                                                final long count, final CreatedPetIds createdPetIds) {
+        final var next = new AtomicLong();
+        return LoadOperation.of("addNewPetToStore", weight, petClient -> {
+            final var pet = generator.generate(firstIndex + Math.floorMod(next.getAndIncrement(), count));
+            final var response = petClient.addNewPetToStore(pet);
+            if (response.getStatusCode().is2xxSuccessful()) {
+                createdPetIds.add(pet.getId());
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Reads back a recently added pet; skipped until an add operation sharing {@code createdPetIds} added one.
+     */
+    public static LoadOperation findPetById(final int weight, final CreatedPetIds createdPetIds) {
+        return LoadOperation.of("findPetById", weight, petClient -> createdPetIds.isEmpty()
+                ? null
+                : petClient.findPetById(createdPetIds.random()));
+    }
+
+    public static LoadOperation findPetsByStatus(final int weight, final Status status) {
+        return LoadOperation.of("findPetsByStatus", weight, petClient -> petClient.findPetsByStatus(status));
+    }
+
+    /**
+     * Adds a pet, reads it back and deletes it again, so repeating it leaves the store as it was. Only the delete
+     * response is reported.
+     */
+    public static LoadOperation petLifecycle(final int weight) {
+        return LoadOperation.of("petLifecycle", weight, petClient -> {
+            final var pet = PetDataProvider.getValidPetData();
+            petClient.addNewPetToStore(pet);
+            petClient.findPetById(pet.getId());
+            return petClient.deletePet(pet.getId());
+        });
+    }
+
+    /**
+     * Read-heavy mix: one write for every ten reads.
+     */
+    public static List<LoadOperation> defaultMix() {
+        final var createdPetIds = new CreatedPetIds(10_000);
+        return List.of(
+                addNewPet(1, createdPetIds),
+                findPetById(8, createdPetIds),
+                findPetsByStatus(2, AVAILABLE));
+    }
+
+    /**
+     * {@link #defaultMix()} with the added pets taken from {@code corpus}.
+     */
+    public static List<LoadOperation> defaultMix(final PetCorpus corpus) {
+        final var createdPetIds = new CreatedPetIds(10_000);
+        return List.of(
+                addNewPetFromCorpus(1, corpus, createdPetIds),
+                findPetById(8, createdPetIds),
+                findPetsByStatus(2, AVAILABLE));
+    }
+
+    /**
+     * Mix of the operations named in {@code weights}: {@code addNewPetToStore}, adding pets of {@code generator}
+     * from the given index range, {@code findPetById}, which needs {@code addNewPetToStore} in the mix,
+     * {@code findPetsByStatus} of available pets and {@code petLifecycle}.
+     */
+    public static List<LoadOperation> mix(final Map<String, Integer> weights, final PetGenerator generator,
+                                          final long firstIndex, final long count) {
+        final var createdPetIds = new CreatedPetIds(10_000);
+        final var operations = new ArrayList<LoadOperation>();
+        weights.forEach((name, weight) -> {
+            switch (name) {
+                case "addNewPetToStore":
+                    operations.add(addGeneratedPet(weight, generator, firstIndex, count, createdPetIds));
+                    break;
+                case "findPetById":
+                    operations.add(findPetById(weight, createdPetIds));
+                    break;
+                case "findPetsByStatus":
+                    operations.add(findPetsByStatus(weight, AVAILABLE));
+                    break;
+                case "petLifecycle":
+                    operations.add(petLifecycle(weight));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown load operation '" + name + "'");
+            }
+        });
+        if (weights.containsKey("findPetById") && !weights.containsKey("addNewPetToStore")) {
+            throw new IllegalArgumentException("findPetById reads pets added by addNewPetToStore, which is not in "
+                    + "the mix " + weights);
+        }
+        return operations;
+    }
+
+    /**
+     * Mix for long runs: pets are deleted as fast as they are added, so the store does not grow however long it
+     * runs.
+     */
+    public static List<LoadOperation> soakMix() {
+        return List.of(
+                petLifecycle(4),
+                findPetsByStatus(1, AVAILABLE));
+    }
+}
@@ -0,0 +1,134 @@
+package com.zooplus.petstore.load;
+
+import com.zooplus.petstore.configs.PetstoreConfigs;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+@Builder
+public class LoadProfile {
+
+    @Builder.Default
+    LoadModel model = LoadModel.OPEN;
+    /**
+     * Target arrivals per second at steady state, {@link LoadModel#OPEN} only.
+     */
+    @Builder.Default
+    double ratePerSecond = 10;
+    /**
+     * Virtual users at steady state, {@link LoadModel#CLOSED} only.
+     */
+    @Builder.Default
+    int concurrency = 1;
+    /**
+     * Upper bound of requests in flight for {@link LoadModel#OPEN}; arrivals above it queue, and the queueing
+     * time is part of the recorded latency.
+     */
+    @Builder.Default
+    int maxInFlight = 100;
+    @Builder.Default
+    Duration rampUp = Duration.ZERO;
+    @Builder.Default
+    Duration steadyState = Duration.ofSeconds(30);
+    @Builder.Default
+    Duration rampDown = Duration.ZERO;
+
+    LoadProfile(final LoadModel model, final double ratePerSecond, final int concurrency, final int maxInFlight,
+                final Duration rampUp, final Duration steadyState, final Duration rampDown) {
+        if (!(ratePerSecond > 0)) {
+            throw new IllegalArgumentException("Expected a positive rate per second, was " + ratePerSecond);
+        }
+        if (model == LoadModel.CLOSED && concurrency < 1) {
+            throw new IllegalArgumentException("Expected at least one virtual user, was " + concurrency);
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Expected at least one request in flight, was " + maxInFlight);
+        }
+        if (rampUp.isNegative() || rampDown.isNegative()) {
+            throw new IllegalArgumentException("Expected ramps of zero or more, was " + rampUp + " and " + rampDown);
+        }
+        if (steadyState.isNegative() || steadyState.isZero()) {
+            throw new IllegalArgumentException("Expected a steady state longer than zero, was " + steadyState);
+        }
+        this.model = model;
+        this.ratePerSecond = ratePerSecond;
+        this.concurrency = concurrency;
+        this.maxInFlight = maxInFlight;
+        this.rampUp = rampUp;
+        this.steadyState = steadyState;
+        this.rampDown = rampDown;
+    }
+
+    public static LoadProfile fromConfig(final PetstoreConfigs configs) {
+        return LoadProfile.builder()
+                .model(configs.loadModel())
+                .ratePerSecond(configs.loadRatePerSecond())
+                .concurrency(configs.loadConcurrency())
+                .maxInFlight(configs.loadMaxInFlight())
+                .rampUp(Duration.ofSeconds(configs.loadRampUpSeconds()))
+                .steadyState(Duration.ofSeconds(configs.loadSteadyStateSeconds()))
+                .rampDown(Duration.ofSeconds(configs.loadRampDownSeconds()))
+                .build();
+    }
+
+    public Duration getTotalDuration() {
+        return rampUp.plus(steadyState).plus(rampDown);
+    }
+
+    /**
+     * Share of the steady-state load, between 0 and 1, that should be offered {@code elapsed} into the run.
+     */
+    public double loadFactorAt(final Duration elapsed) {
+        if (elapsed.compareTo(rampUp) < 0) {
+            return (double) elapsed.toNanos() / rampUp.toNanos();
+        }
+        final var rampDownStart = rampUp.plus(steadyState);
+        if (elapsed.compareTo(rampDownStart) < 0) {
+            return 1;
+        }
+        if (rampDown.isZero()) {
+            return 0;
+        }
+        return Math.max(0, 1 - (double) elapsed.minus(rampDownStart).toNanos() / rampDown.toNanos());
+    }
+
+    /**
+     * Offset into the run, in nanoseconds, by which {@code arrivals} arrivals are due in the {@link LoadModel#OPEN}
+     * model: the inverse of {@code ratePerSecond} times {@link #loadFactorAt} integrated over time, so ramps follow
+     * the profile from their first arrival on. {@code Long.MAX_VALUE} once the run offers no more arrivals.
+     */
+    public long arrivalOffsetNanos(final long arrivals) {
+        final var rampUpSeconds = seconds(rampUp);
+        final var steadyStateSeconds = seconds(steadyState);
+        final var rampDownSeconds = seconds(rampDown);
+        // Time the arrivals take at the steady-state rate; each ramp offers half its length of that time
+        var fullRateSeconds = arrivals / ratePerSecond;
+        if (fullRateSeconds < rampUpSeconds / 2) {
+            return nanos(Math.sqrt(2 * rampUpSeconds * fullRateSeconds));
+        }
+        fullRateSeconds -= rampUpSeconds / 2;
+        if (fullRateSeconds < steadyStateSeconds) {
+            return nanos(rampUpSeconds + fullRateSeconds);
+        }
+        fullRateSeconds -= steadyStateSeconds;
+        if (fullRateSeconds < rampDownSeconds / 2) {
+            return nanos(rampUpSeconds + steadyStateSeconds
+                    + rampDownSeconds * (1 - Math.sqrt(1 - 2 * fullRateSeconds / rampDownSeconds)));
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public boolean isSteadyState(final Duration elapsed) {
+        return elapsed.compareTo(rampUp) >= 0 && elapsed.compareTo(rampUp.plus(steadyState)) < 0;
+    }
+
+    private static double seconds(final Duration duration) {
+        return duration.toNanos() / 1e9;
+    }
+
+    private static long nanos(final double seconds) {
+        return (long) (seconds * 1e9);
+    }
+}
@@ -0,0 +1,29 @@
+package com.zooplus.petstore.load;
+
+import com.zooplus.petstore.metrics.OperationStats;
+import lombok.Value;
+
+import java.util.List;
+
+import static java.lang.System.lineSeparator;
+
+/**
+ * Result of a {@link LoadRunner} run. Latency statistics cover the steady-state phase only.
+ */
+@Value
+public class LoadReport {
+
+    LoadProfile profile;
+    List<OperationStats> operations;
+    OperationStats total;
+    long requestsSent;
+
+    public String format() {
+        final var report = new StringBuilder()
+                .append(String.format("Load run %s: %d requests sent, steady-state statistics:",
+                        profile, requestsSent))
+                .append(lineSeparator());
+        operations.forEach(stats -> report.append("  ").append(stats).append(lineSeparator()));
+        return report.append("  ").append(total).toString();
+    }
+}
@@ -0,0 +1,205 @@
+package com.zooplus.petstore.load;
+
+import com.google.inject.Inject;
+import com.zooplus.petstore.concurrent.BoundedExecutor;
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import com.zooplus.petstore.metrics.OperationRecorder;
+import com.zooplus.petstore.metrics.OperationStats;
+import com.zooplus.petstore.service.PetClient;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Drives {@link PetClient} with a weighted operation mix according to a {@link LoadProfile}. Requests are sent from
+ * worker threads outside of the test case that started the run, so none of them is reported to Allure, whatever
+ * {@code petstore.allure.mode} is; the {@link LoadReport} covers them.
+ * <p>
+ * Coordinated omission: in the open model every request is timed from the moment it was scheduled to be sent,
+ * so time spent waiting behind a slow server is part of its latency. Closed model users send their next request
+ * as soon as the last one completes, with no pacing and so no intended send time, and its latencies are
+ * service time only: a slow server shows up as less throughput rather than as higher percentiles.
+ */
+@Slf4j
+public class LoadRunner {
+
+    private static final String TOTAL = "total";
+
+    private final PetClient petClient;
+
+    @Inject
+    public LoadRunner(final PetClient petClient) {
+        this.petClient = petClient;
+    }
+
+    public LoadReport run(final LoadProfile profile, final List<LoadOperation> operations) {
+        return run(profile, operations, Duration.ZERO, report -> {
+        });
+    }
+
+    /**
+     * Also hands the statistics so far to {@code progress} every {@code progressInterval}, from a thread of its
+     * own; a zero interval reports no progress.
+     */
+    public LoadReport run(final LoadProfile profile, final List<LoadOperation> operations,
+                          final Duration progressInterval, final Consumer<LoadReport> progress) {
+        final var run = new Run(profile, operations);
+        final var executorService = PetstoreExecutors.newRequestExecutor("petstore-load");
+        final var progressReporter = Executors.newSingleThreadScheduledExecutor(
+                PetstoreExecutors.daemonThreadFactory("petstore-load-progress"));
+        log.info("Starting load run {}", profile);
+        try {
+            if (!progressInterval.isZero()) {
+                final var intervalMillis = progressInterval.toMillis();
+                progressReporter.scheduleAtFixedRate(() -> progress.accept(run.report()), intervalMillis,
+                        intervalMillis, MILLISECONDS);
+            }
+            if (profile.getModel() == LoadModel.OPEN) {
+                run.open(executorService);
+            } else {
+                run.closed(executorService);
+            }
+        } finally {
+            progressReporter.shutdownNow();
+            executorService.shutdownNow();
+        }
+        final var report = run.report();
+        log.info(report.format());
+        return report;
+    }
+
+    private final class Run {
+
+        private final LoadProfile profile;
+        private final List<LoadOperation> operations;
+        private final int[] cumulativeWeights;
+        private final Map<String, OperationRecorder> recorders = new LinkedHashMap<>();
+        private final OperationRecorder total = new OperationRecorder(TOTAL);
+        private final AtomicLong requestsSent = new AtomicLong();
+        private long startNanos;
+
+        private Run(final LoadProfile profile, final List<LoadOperation> operations) {
+            if (operations.isEmpty()) {
+                throw new IllegalArgumentException("At least one operation is required");
+            }
+            this.profile = profile;
+            this.operations = operations;
+            this.cumulativeWeights = new int[operations.size()];
+            var weight = 0;
+            for (var i = 0; i < operations.size(); i++) {
+                weight += operations.get(i).getWeight();
+                cumulativeWeights[i] = weight;
+                recorders.putIfAbsent(operations.get(i).getName(),
+                        new OperationRecorder(operations.get(i).getName()));
+            }
+        }
+
+        private void open(final ExecutorService executorService) {
+            final var executor = new BoundedExecutor(executorService, profile.getMaxInFlight());
+            final var outstanding = new AtomicLong();
+            final var totalNanos = profile.getTotalDuration().toNanos();
+            startNanos = System.nanoTime();
+            var arrivals = 0L;
+            var scheduledOffset = profile.arrivalOffsetNanos(arrivals);
+            while (scheduledOffset < totalNanos) {
+                final var scheduledAt = startNanos + scheduledOffset;
+                parkUntil(scheduledAt);
+                outstanding.incrementAndGet();
+                executor.submit(() -> {
+                    try {
+                        execute(scheduledAt);
+                    } finally {
+                        outstanding.decrementAndGet();
+                    }
+                    return null;
+                });
+                scheduledOffset = profile.arrivalOffsetNanos(++arrivals);
+            }
+            while (outstanding.get() > 0) {
+                LockSupport.parkNanos(1_000_000);
+            }
+        }
+
+        private void closed(final ExecutorService executorService) {
+            final var users = profile.getConcurrency();
+            final var rampUpNanos = profile.getRampUp().toNanos();
+            final var rampDownStart = profile.getRampUp().plus(profile.getSteadyState()).toNanos();
+            final var rampDownNanos = profile.getRampDown().toNanos();
+            final var virtualUsers = new ArrayList<CompletableFuture<Void>>(users);
+            startNanos = System.nanoTime();
+            for (var user = 0; user < users; user++) {
+                final var joinAt = startNanos + rampUpNanos * user / users;
+                final var leaveAt = startNanos + rampDownStart + rampDownNanos * (users - user) / users;
+                virtualUsers.add(CompletableFuture.runAsync(() -> {
+                    parkUntil(joinAt);
+                    while (System.nanoTime() < leaveAt) {
+                        execute(System.nanoTime());
+                    }
+                }, executorService));
+            }
+            CompletableFuture.allOf(virtualUsers.toArray(CompletableFuture[]::new)).join();
+        }
+
+        private void execute(final long scheduledAt) {
+            final var operation = pickOperation();
+            var success = false;
+            try {
+                final var response = operation.getCall().apply(petClient);
+                if (response == null) {
+                    return;
+                }
+                success = response.getStatusCode().is2xxSuccessful();
+            } catch (RuntimeException exception) {
+                log.debug("Load operation {} failed", operation.getName(), exception);
+            }
+            final var completedAt = System.nanoTime();
+            requestsSent.incrementAndGet();
+            if (profile.isSteadyState(Duration.ofNanos(scheduledAt - startNanos))) {
+                recorders.get(operation.getName()).record(completedAt - scheduledAt, success);
+                total.record(completedAt - scheduledAt, success);
+            }
+        }
+
+        private LoadOperation pickOperation() {
+            final var ticket = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            var low = 0;
+            var high = cumulativeWeights.length - 1;
+            while (low < high) {
+                final var middle = (low + high) >>> 1;
+                if (cumulativeWeights[middle] > ticket) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return operations.get(low);
+        }
+
+        private LoadReport report() {
+            final var steadyState = profile.getSteadyState();
+            final var stats = new ArrayList<OperationStats>();
+            recorders.values().forEach(recorder -> stats.add(recorder.snapshot(steadyState)));
+            return new LoadReport(profile, stats, total.snapshot(steadyState), requestsSent.get());
+        }
+    }
+
+    private static void parkUntil(final long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.zooplus.petstore.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wait-free recorder of one {@link PetOperation}: latency and errors, responses per status and response sizes, and
+ * the latency and retries/hedges of calls made through the resilience layer.
+ */
+final class EndpointRecorder {
+
+    static final long HIGHEST_TRACKABLE_BYTES = 1L << 34;
+    private static final int SIZE_SIGNIFICANT_DIGITS = 2;
+
+    private final PetOperation operation;
+    private final OperationRecorder latencies;
+    private final OperationRecorder calls;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final Recorder responseSizes = new Recorder(HIGHEST_TRACKABLE_BYTES, SIZE_SIGNIFICANT_DIGITS);
+    private final Histogram accumulatedSizes = new Histogram(HIGHEST_TRACKABLE_BYTES, SIZE_SIGNIFICANT_DIGITS);
+    private Histogram sizesInterval;
+
+    EndpointRecorder(final PetOperation operation) {
+        this.operation = operation;
+        this.latencies = new OperationRecorder(operation.name());
+        this.calls = new OperationRecorder(operation.name() + " (calls)");
+    }
+
+    void record(final int statusCode, final long latencyNanos, final long responseBytes) {
+        latencies.record(latencyNanos, statusCode > 0 && statusCode < 400);
+        statusCounts.computeIfAbsent(statusCode, status -> new LongAdder()).increment();
+        responseSizes.recordValue(Math.max(0, Math.min(responseBytes, HIGHEST_TRACKABLE_BYTES)));
+    }
+
+    void recordCall(final long latencyNanos, final boolean success) {
+        calls.record(latencyNanos, success);
+    }
+
+    void recordRetry() {
+        retries.increment();
+    }
+
+    void recordHedge() {
+        hedges.increment();
+    }
+
+    void recordHedgeWin() {
+        hedgeWins.increment();
+    }
+
+    synchronized EndpointStats snapshot(final Duration elapsed) {
+        sizesInterval = responseSizes.getIntervalHistogram(sizesInterval);
+        accumulatedSizes.add(sizesInterval);
+        final var statuses = new TreeMap<Integer, Long>();
+        statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+        return new EndpointStats(operation, latencies.snapshot(elapsed), statuses, accumulatedSizes.copy(),
+                calls.snapshot(elapsed), retries.sum(), hedges.sum(), hedgeWins.sum());
+    }
+}
@@ -0,0 +1,59 @@
+package com.zooplus.petstore.metrics;
+
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * Latency, status and response size summary of one {@link PetOperation}.
+ */
+@Value
+public class EndpointStats {
+
+    PetOperation operation;
+    OperationStats latency;
+    /**
+     * Responses per HTTP status, {@code 0} counting exchanges that failed with an I/O error.
+     */
+    Map<Integer, Long> statusCounts;
+    /**
+     * Response body sizes in bytes.
+     */
+    Histogram responseSizes;
+    /**
+     * Latency of whole calls as their caller saw it, retries and hedges included; empty for operations that are
+     * not called through {@code ResilientCalls}. Compared with {@link #latency} it shows what retries and hedging
+     * cost and save.
+     */
+    OperationStats callLatency;
+    /**
+     * Exchanges repeated after a transient failure.
+     */
+    long retries;
+    /**
+     * Duplicate exchanges sent because a call was slower than the hedging percentile.
+     */
+    long hedges;
+    /**
+     * Hedges whose response arrived before the original one.
+     */
+    long hedgeWins;
+
+    public long getResponseBytesAtPercentile(final double percentile) {
+        return responseSizes.getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public String toString() {
+        final var text = format("%s statuses=%s bytes p50=%d p99=%d max=%d", latency, statusCounts,
+                getResponseBytesAtPercentile(50), getResponseBytesAtPercentile(99), responseSizes.getMaxValue());
+        if (callLatency.getCount() == 0) {
+            return text;
+        }
+        return format("%s retries=%d hedges=%d hedgeWins=%d call p99=%.3fms", text, retries, hedges, hedgeWins,
+                callLatency.getP99().toNanos() / 1e6);
+    }
+}
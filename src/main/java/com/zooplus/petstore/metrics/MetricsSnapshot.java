@@ -0,0 +1,118 @@
+package com.zooplus.petstore.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+import static java.lang.System.lineSeparator;
+
+/**
+ * Point-in-time view of {@link PetstoreMetrics}, exportable as JSON for dashboards and run-to-run comparison.
+ */
+@Value
+public class MetricsSnapshot {
+
+    private static final double[] EXPORTED_PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    Instant startedAt;
+    Duration elapsed;
+    Map<PetOperation, EndpointStats> endpoints;
+    Map<String, Long> gauges;
+    /**
+     * Exchanges per petstore node of a load-balanced run, keyed by base URL; empty without load balancing.
+     */
+    Map<String, OperationStats> nodes;
+
+    public boolean isEmpty() {
+        return endpoints.isEmpty();
+    }
+
+    /**
+     * Latencies are exported in milliseconds. Each histogram is also included compressed and Base64 encoded,
+     * as HdrHistogram's {@code Histogram.decodeFromCompressedByteBuffer} reads it, so runs can be merged later.
+     */
+    public byte[] toJson(final ObjectMapper objectMapper) {
+        final var root = objectMapper.createObjectNode()
+                .put("startedAt", startedAt.toString())
+                .put("elapsedMillis", elapsed.toMillis());
+        final var endpointNodes = root.putObject("endpoints");
+        endpoints.forEach((operation, stats) -> {
+            final var node = endpointNodes.putObject(operation.name());
+            putLatency(node, stats.getLatency());
+            final var statuses = node.putObject("statusCounts");
+            stats.getStatusCounts().forEach((status, count) -> statuses.put(String.valueOf(status), count));
+            final var sizeNode = node.putObject("responseBytes")
+                    .put("mean", stats.getResponseSizes().getMean())
+                    .put("max", stats.getResponseSizes().getMaxValue());
+            putPercentiles(sizeNode, stats.getResponseSizes(), 1);
+            sizeNode.put("histogram", encode(stats.getResponseSizes()));
+            final var callLatency = stats.getCallLatency();
+            if (callLatency.getCount() > 0) {
+                node.put("retries", stats.getRetries())
+                        .put("hedges", stats.getHedges())
+                        .put("hedgeWins", stats.getHedgeWins());
+                final var callNode = node.putObject("callLatencyMillis")
+                        .put("count", callLatency.getCount())
+                        .put("errors", callLatency.getErrors())
+                        .put("max", callLatency.getMax().toNanos() / 1e6);
+                putPercentiles(callNode, callLatency.getHistogram(), 1e3);
+                callNode.put("histogram", encode(callLatency.getHistogram()));
+            }
+        });
+        final var nodeNodes = root.putObject("nodes");
+        nodes.forEach((url, latency) -> putLatency(nodeNodes.putObject(url), latency));
+        final var gaugeNodes = root.putObject("gauges");
+        gauges.forEach(gaugeNodes::put);
+        try {
+            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(root);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Could not export the petstore metrics", exception);
+        }
+    }
+
+    private static void putLatency(final ObjectNode node, final OperationStats latency) {
+        node.put("count", latency.getCount())
+                .put("errors", latency.getErrors())
+                .put("errorRate", latency.getErrorRate())
+                .put("throughputPerSecond", latency.getThroughput());
+        final var latencyNode = node.putObject("latencyMillis")
+                .put("mean", latency.getMean().toNanos() / 1e6)
+                .put("max", latency.getMax().toNanos() / 1e6);
+        putPercentiles(latencyNode, latency.getHistogram(), 1e3);
+        latencyNode.put("histogram", encode(latency.getHistogram()));
+    }
+
+    private static void putPercentiles(final ObjectNode node, final Histogram histogram, final double divisor) {
+        for (final var percentile : EXPORTED_PERCENTILES) {
+            final var name = percentile == (long) percentile ? String.valueOf((long) percentile)
+                    : String.valueOf(percentile);
+            node.put("p" + name, histogram.getValueAtPercentile(percentile) / divisor);
+        }
+    }
+
+    private static String encode(final Histogram histogram) {
+        final var buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        final var length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    @Override
+    public String toString() {
+        final var text = new StringBuilder("Petstore endpoint metrics over ").append(elapsed.toMillis()).append(" ms");
+        endpoints.values().forEach(stats -> text.append(lineSeparator()).append(stats));
+        nodes.values().forEach(stats -> text.append(lineSeparator()).append(stats));
+        if (!gauges.isEmpty()) {
+            text.append(lineSeparator()).append(gauges);
+        }
+        return text.toString();
+    }
+}
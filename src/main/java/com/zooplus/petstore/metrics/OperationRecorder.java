@@ -0,0 +1,46 @@
+package com.zooplus.petstore.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Wait-free latency and error recorder for a single operation, safe to use from any number of threads.
+ */
+public final class OperationRecorder {
+
+    private final String operation;
+    private final Recorder latencies = new Recorder(OperationStats.HIGHEST_TRACKABLE_MICROS,
+            OperationStats.SIGNIFICANT_DIGITS);
+    private final Histogram accumulated = OperationStats.newHistogram();
+    private final LongAdder errors = new LongAdder();
+    private Histogram interval;
+
+    public OperationRecorder(final String operation) {
+        this.operation = operation;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void record(final long latencyNanos, final boolean success) {
+        latencies.recordValue(OperationStats.clampMicros(NANOSECONDS.toMicros(latencyNanos)));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Everything recorded since this recorder was created, with throughput relative to {@code elapsed}.
+     */
+    public synchronized OperationStats snapshot(final Duration elapsed) {
+        interval = latencies.getIntervalHistogram(interval);
+        accumulated.add(interval);
+        return new OperationStats(operation, accumulated.copy(), errors.sum(), elapsed);
+    }
+}
@@ -0,0 +1,99 @@
+package com.zooplus.petstore.metrics;
+
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+
+import static java.lang.String.format;
+
+/**
+ * Immutable latency and throughput summary of one operation. Latencies are kept in microseconds.
+ */
+@Getter
+public final class OperationStats {
+
+    static final long HIGHEST_TRACKABLE_MICROS = Duration.ofHours(1).toNanos() / 1_000;
+    static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String operation;
+    private final Histogram histogram;
+    private final long errors;
+    private final Duration elapsed;
+
+    public OperationStats(final String operation, final Histogram histogram, final long errors,
+                          final Duration elapsed) {
+        this.operation = operation;
+        this.histogram = histogram;
+        this.errors = errors;
+        this.elapsed = elapsed;
+    }
+
+    public static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    static long clampMicros(final long micros) {
+        return Math.max(0, Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    public double getErrorRate() {
+        return getCount() == 0 ? 0 : (double) errors / getCount();
+    }
+
+    public double getThroughput() {
+        final var seconds = elapsed.toNanos() / 1e9;
+        return seconds == 0 ? 0 : getCount() / seconds;
+    }
+
+    public Duration percentile(final double percentile) {
+        return Duration.ofNanos(histogram.getValueAtPercentile(percentile) * 1_000);
+    }
+
+    public Duration getP50() {
+        return percentile(50);
+    }
+
+    public Duration getP90() {
+        return percentile(90);
+    }
+
+    public Duration getP99() {
+        return percentile(99);
+    }
+
+    public Duration getP999() {
+        return percentile(99.9);
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(histogram.getMaxValue() * 1_000);
+    }
+
+    public Duration getMean() {
+        return Duration.ofNanos((long) (histogram.getMean() * 1_000));
+    }
+
+    public OperationStats merge(final OperationStats other) {
+        final var merged = histogram.copy();
+        merged.add(other.histogram);
+        final var longestElapsed = elapsed.compareTo(other.elapsed) >= 0 ? elapsed : other.elapsed;
+        return new OperationStats(operation, merged, errors + other.errors, longestElapsed);
+    }
+
+    @Override
+    public String toString() {
+        return format("%-24s count=%d errors=%d (%.2f%%) throughput=%.1f/s p50=%.3fms p90=%.3fms p99=%.3fms "
+                        + "p99.9=%.3fms max=%.3fms",
+                operation, getCount(), errors, getErrorRate() * 100, getThroughput(), millis(getP50()),
+                millis(getP90()), millis(getP99()), millis(getP999()), millis(getMax()));
+    }
+
+    private static double millis(final Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+}
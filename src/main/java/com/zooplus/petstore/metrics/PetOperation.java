@@ -0,0 +1,46 @@
+package com.zooplus.petstore.metrics;
+
+/**
+ * {@code PetService} operations, told apart by HTTP method and path below the pet endpoint.
+ */
+public enum PetOperation {
+
+    FIND_BY_ID,
+    FIND_BY_STATUS,
+    ADD,
+    UPDATE,
+    DELETE,
+    UPDATE_WITH_FORM,
+    UPLOAD_IMAGE,
+    OTHER;
+
+    public static PetOperation of(final String method, final String path, final String petEndpoint) {
+        final var endpointStart = path.indexOf(petEndpoint);
+        if (endpointStart < 0) {
+            return OTHER;
+        }
+        final var rest = path.substring(endpointStart + petEndpoint.length());
+        if (rest.isEmpty() || "/".equals(rest)) {
+            return "POST".equals(method) ? ADD : "PUT".equals(method) ? UPDATE : OTHER;
+        }
+        if ("/findByStatus".equals(rest)) {
+            return "GET".equals(method) ? FIND_BY_STATUS : OTHER;
+        }
+        final var segments = rest.substring(1).split("/");
+        if (segments.length == 1) {
+            switch (method) {
+                case "GET":
+                    return FIND_BY_ID;
+                case "DELETE":
+                    return DELETE;
+                case "POST":
+                    return UPDATE_WITH_FORM;
+                default:
+                    return OTHER;
+            }
+        }
+        return segments.length == 2 && "uploadImage".equals(segments[1]) && "POST".equals(method)
+                ? UPLOAD_IMAGE
+                : OTHER;
+    }
+}
@@ -0,0 +1,99 @@
+package com.zooplus.petstore.metrics;
+
+import com.google.inject.Singleton;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-endpoint latency, throughput, status and response size metrics of every exchange made through the shared
+ * {@code TestRestTemplate}, fed by {@link com.zooplus.petstore.configs.MetricsInterceptor}.
+ * <p>
+ * Recording is wait-free and allocation-free once a status has been seen, {@link #snapshot()} may be called at any
+ * time from any thread.
+ */
+@Singleton
+public final class PetstoreMetrics {
+
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final Map<PetOperation, EndpointRecorder> recorders = new EnumMap<>(PetOperation.class);
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, OperationRecorder> nodes = new ConcurrentHashMap<>();
+
+    public PetstoreMetrics() {
+        for (final var operation : PetOperation.values()) {
+            recorders.put(operation, new EndpointRecorder(operation));
+        }
+    }
+
+    /**
+     * @param statusCode    HTTP status of the response, {@code 0} when the exchange failed with an I/O error
+     * @param latencyNanos  time until the response status and headers were received
+     * @param responseBytes size of the response body
+     */
+    public void record(final PetOperation operation, final int statusCode, final long latencyNanos,
+                       final long responseBytes) {
+        recorders.get(operation).record(statusCode, latencyNanos, responseBytes);
+    }
+
+    /**
+     * A whole call made through the resilience layer, from its first exchange to the response handed to the caller.
+     */
+    public void recordCall(final PetOperation operation, final long latencyNanos, final boolean success) {
+        recorders.get(operation).recordCall(latencyNanos, success);
+    }
+
+    public void recordRetry(final PetOperation operation) {
+        recorders.get(operation).recordRetry();
+    }
+
+    public void recordHedge(final PetOperation operation) {
+        recorders.get(operation).recordHedge();
+    }
+
+    /**
+     * A hedge answered before the exchange it duplicated.
+     */
+    public void recordHedgeWin(final PetOperation operation) {
+        recorders.get(operation).recordHedgeWin();
+    }
+
+    /**
+     * An exchange with one petstore node of a load-balanced run, whatever the endpoint.
+     */
+    public void recordNode(final String node, final long latencyNanos, final boolean success) {
+        nodes.computeIfAbsent(node, OperationRecorder::new).record(latencyNanos, success);
+    }
+
+    /**
+     * A value read with every snapshot, such as the current concurrency limit.
+     */
+    public void registerGauge(final String name, final LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Everything recorded since start-up. Operations that were never called are left out.
+     */
+    public MetricsSnapshot snapshot() {
+        final var elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        final var endpoints = new EnumMap<PetOperation, EndpointStats>(PetOperation.class);
+        recorders.forEach((operation, recorder) -> {
+            final var stats = recorder.snapshot(elapsed);
+            if (stats.getLatency().getCount() > 0 || stats.getCallLatency().getCount() > 0) {
+                endpoints.put(operation, stats);
+            }
+        });
+        final var gaugeValues = new TreeMap<String, Long>();
+        gauges.forEach((name, value) -> gaugeValues.put(name, value.getAsLong()));
+        final var nodeStats = new TreeMap<String, OperationStats>();
+        nodes.forEach((node, recorder) -> nodeStats.put(node, recorder.snapshot(elapsed)));
+        return new MetricsSnapshot(startedAt, elapsed, endpoints, gaugeValues, nodeStats);
+    }
+}
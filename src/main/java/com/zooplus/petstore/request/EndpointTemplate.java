@@ -0,0 +1,183 @@
+package com.zooplus.petstore.request;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.web.util.UriUtils;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An endpoint compiled once into an immutable request template: method, URI template and read-only headers.
+ * <p>
+ * {@code {name}} placeholders in the path or the query are the only variable parts. Expanding a template appends
+ * the literal parts and the encoded values to one presized buffer, so a request costs little more than its
+ * {@link URI}; the headers are one instance shared by every request. Declare templates as constants, as
+ * {@link PetEndpoints} does, with an absolute URI so {@code TestRestTemplate} does not parse it a second time
+ * to apply its root URI.
+ */
+public final class EndpointTemplate {
+
+    private static final int EXPECTED_VALUE_LENGTH = 20;
+
+    private final HttpMethod method;
+    private final String uriTemplate;
+    private final String[] literals;
+    private final String[] variableNames;
+    private final boolean[] inQuery;
+    private final int literalsLength;
+    private final HttpHeaders headers;
+
+    private EndpointTemplate(final HttpMethod method, final String uriTemplate, final HttpHeaders headers) {
+        this.method = method;
+        this.uriTemplate = uriTemplate;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        final var literalParts = new ArrayList<String>();
+        final var names = new ArrayList<String>();
+        final var queryFlags = new ArrayList<Boolean>();
+        var literalStart = 0;
+        var open = uriTemplate.indexOf('{');
+        while (open >= 0) {
+            final var close = uriTemplate.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed variable in URI template " + uriTemplate);
+            }
+            literalParts.add(uriTemplate.substring(literalStart, open));
+            names.add(uriTemplate.substring(open + 1, close));
+            queryFlags.add(uriTemplate.lastIndexOf('?', open) >= 0);
+            literalStart = close + 1;
+            open = uriTemplate.indexOf('{', literalStart);
+        }
+        literalParts.add(uriTemplate.substring(literalStart));
+        literals = literalParts.toArray(String[]::new);
+        variableNames = names.toArray(String[]::new);
+        inQuery = new boolean[queryFlags.size()];
+        for (var index = 0; index < inQuery.length; index++) {
+            inQuery[index] = queryFlags.get(index);
+        }
+        literalsLength = literalParts.stream().mapToInt(String::length).sum();
+        // Fails fast on templates whose literal parts are not a valid URI
+        expand(names.stream().map(name -> "x").toArray());
+    }
+
+    public static Builder builder(final HttpMethod method, final String uriTemplate) {
+        return new Builder(method, uriTemplate);
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public String getUriTemplate() {
+        return uriTemplate;
+    }
+
+    public List<String> getVariableNames() {
+        return List.of(variableNames);
+    }
+
+    /**
+     * Read-only; the same instance goes into every request of this template.
+     */
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * The URI with {@code values} in place of the variables, in template order. Values are percent-encoded as path
+     * segments or query parameters; numbers and strings without reserved characters are appended as they are.
+     */
+    public URI expand(final Object... values) {
+        if (values.length != variableNames.length) {
+            throw new IllegalArgumentException(format("%s expects values for %s, got %d", uriTemplate,
+                    Arrays.toString(variableNames), values.length));
+        }
+        final var uri = new StringBuilder(literalsLength + EXPECTED_VALUE_LENGTH * values.length);
+        for (var index = 0; index < values.length; index++) {
+            uri.append(literals[index]);
+            appendEncoded(uri, values[index], index);
+        }
+        return URI.create(uri.append(literals[values.length]).toString());
+    }
+
+    public RequestEntity<Void> request(final Object... values) {
+        return new RequestEntity<>(headers, method, expand(values));
+    }
+
+    public <T> RequestEntity<T> requestWithBody(final T body, final Object... values) {
+        return new RequestEntity<>(body, headers, method, expand(values));
+    }
+
+    private void appendEncoded(final StringBuilder uri, final Object value, final int index) {
+        Objects.requireNonNull(value, () -> "No value for " + variableNames[index] + " of " + uriTemplate);
+        if (value instanceof Long || value instanceof Integer) {
+            uri.append(((Number) value).longValue());
+            return;
+        }
+        final var text = value.toString();
+        if (isUnreserved(text)) {
+            uri.append(text);
+        } else if (inQuery[index]) {
+            uri.append(UriUtils.encodeQueryParam(text, UTF_8));
+        } else {
+            uri.append(UriUtils.encodePathSegment(text, UTF_8));
+        }
+    }
+
+    private static boolean isUnreserved(final String text) {
+        for (var index = 0; index < text.length(); index++) {
+            final var character = text.charAt(index);
+            final var unreserved = character >= 'a' && character <= 'z' || character >= 'A' && character <= 'Z'
+                    || character >= '0' && character <= '9'
+                    || character == '-' || character == '.' || character == '_' || character == '~';
+            if (!unreserved) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + uriTemplate;
+    }
+
+    public static final class Builder {
+
+        private final HttpMethod method;
+        private final String uriTemplate;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private Builder(final HttpMethod method, final String uriTemplate) {
+            this.method = method;
+            this.uriTemplate = uriTemplate;
+        }
+
+        public Builder accept(final MediaType... mediaTypes) {
+            headers.setAccept(List.of(mediaTypes));
+            return this;
+        }
+
+        public Builder contentType(final MediaType contentType) {
+            headers.setContentType(contentType);
+            return this;
+        }
+
+        public Builder header(final String name, final String... values) {
+            headers.put(name, List.of(values));
+            return this;
+        }
+
+        public EndpointTemplate build() {
+            return new EndpointTemplate(method, uriTemplate, headers);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.zooplus.petstore.request;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * A {@code multipart/form-data} body with a single file part, streamed from disk.
+ * <p>
+ * The file is read from its {@link FileChannel} one {@code chunkBytes} buffer at a time and written straight to
+ * the request stream, so memory use does not depend on the file size. Meant for a streaming request such as the
+ * pooled transport creates; a body is written once.
+ */
+public final class MultipartFileBody implements StreamingHttpOutputMessage.Body {
+
+    private static final String CRLF = "\r\n";
+
+    private final Path file;
+    private final int chunkBytes;
+    private final String boundary;
+    private final byte[] head;
+    private final byte[] tail;
+    private long fileBytesWritten;
+
+    public MultipartFileBody(final String partName, final Path file, final int chunkBytes) throws IOException {
+        this.file = file;
+        this.chunkBytes = chunkBytes;
+        final var random = ThreadLocalRandom.current();
+        this.boundary = "petstore-" + Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong());
+        final var fileType = Files.probeContentType(file);
+        final var fileName = file.getFileName().toString().replace("\"", "%22");
+        this.head = ("--" + boundary + CRLF
+                + "Content-Disposition: form-data; name=\"" + partName + "\"; filename=\"" + fileName + "\"" + CRLF
+                + "Content-Type: " + (fileType == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : fileType) + CRLF
+                + CRLF).getBytes(UTF_8);
+        this.tail = (CRLF + "--" + boundary + "--" + CRLF).getBytes(UTF_8);
+    }
+
+    /**
+     * {@code multipart/form-data} with this body's boundary.
+     */
+    public MediaType getContentType() {
+        return new MediaType(MediaType.MULTIPART_FORM_DATA, Map.of("boundary", boundary));
+    }
+
+    public long getFileBytesWritten() {
+        return fileBytesWritten;
+    }
+
+    /**
+     * Part headers and boundaries included; the body is still sent chunked, this is for reporting.
+     */
+    public long getBodyBytesWritten() {
+        return fileBytesWritten == 0 ? 0 : head.length + fileBytesWritten + tail.length;
+    }
+
+    @Override
+    public void writeTo(final OutputStream outputStream) throws IOException {
+        outputStream.write(head);
+        try (var channel = FileChannel.open(file, READ)) {
+            final var buffer = ByteBuffer.allocate(chunkBytes);
+            while (channel.read(buffer) >= 0) {
+                outputStream.write(buffer.array(), 0, buffer.position());
+                fileBytesWritten += buffer.position();
+                buffer.clear();
+            }
+        }
+        outputStream.write(tail);
+    }
+}
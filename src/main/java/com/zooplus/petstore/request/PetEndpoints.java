@@ -0,0 +1,52 @@
+package com.zooplus.petstore.request;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static org.springframework.http.HttpMethod.DELETE;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpMethod.PUT;
+import static org.springframework.http.MediaType.APPLICATION_FORM_URLENCODED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.MULTIPART_FORM_DATA;
+
+/**
+ * The pet endpoints of the petstore, compiled once against {@code petstore.baseUrl}.
+ */
+public final class PetEndpoints {
+
+    private static final String PET_URL = PLATFORM_CONFIG.petstoreBaseUrl() + PLATFORM_CONFIG.petEndpoint();
+
+    public static final EndpointTemplate FIND_BY_ID = EndpointTemplate.builder(GET, PET_URL + "/{petId}").build();
+
+    public static final EndpointTemplate FIND_BY_STATUS = EndpointTemplate
+            .builder(GET, PET_URL + "/findByStatus?status={status}")
+            .build();
+
+    public static final EndpointTemplate ADD = EndpointTemplate.builder(POST, PET_URL)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .build();
+
+    public static final EndpointTemplate UPDATE = EndpointTemplate.builder(PUT, PET_URL)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .build();
+
+    public static final EndpointTemplate DELETE_BY_ID = EndpointTemplate.builder(DELETE, PET_URL + "/{petId}")
+            .accept(APPLICATION_JSON)
+            .build();
+
+    public static final EndpointTemplate UPDATE_WITH_FORM = EndpointTemplate.builder(POST, PET_URL + "/{petId}")
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_FORM_URLENCODED)
+            .build();
+
+    public static final EndpointTemplate UPLOAD_IMAGE = EndpointTemplate
+            .builder(POST, PET_URL + "/{petId}/uploadImage")
+            .accept(APPLICATION_JSON)
+            .contentType(MULTIPART_FORM_DATA)
+            .build();
+
+    private PetEndpoints() {
+    }
+}
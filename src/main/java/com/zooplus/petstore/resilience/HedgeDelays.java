@@ -0,0 +1,85 @@
+package com.zooplus.petstore.resilience;
+
+import com.zooplus.petstore.metrics.PetOperation;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Hedge delay per operation: the configured percentile of the latency of recent exchanges.
+ * <p>
+ * Exchanges are recorded wait-free. The percentile is recomputed at most every {@link #REFRESH_NANOS} over the
+ * last one to two windows of {@link #WINDOW_SAMPLES} exchanges, so it follows the server as it speeds up or slows
+ * down. Every exchange is recorded, hedges and losers included: recording only what callers saw would pull the
+ * percentile down with every won hedge and hedge more and more.
+ */
+final class HedgeDelays {
+
+    static final long REFRESH_NANOS = MILLISECONDS.toNanos(100);
+    static final int WINDOW_SAMPLES = 1_000;
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final HedgePolicy policy;
+    private final Map<PetOperation, Window> windows = new EnumMap<>(PetOperation.class);
+
+    HedgeDelays(final HedgePolicy policy) {
+        this.policy = policy;
+        for (final var operation : PetOperation.values()) {
+            windows.put(operation, new Window());
+        }
+    }
+
+    void record(final PetOperation operation, final long latencyNanos) {
+        windows.get(operation).latencies.recordValue(Math.max(0, NANOSECONDS.toMicros(latencyNanos)));
+    }
+
+    /**
+     * @return nanoseconds to wait for a response before hedging, negative while too few exchanges were seen
+     */
+    long delayNanos(final PetOperation operation) {
+        final var window = windows.get(operation);
+        final var now = System.nanoTime();
+        if (window.delayNanos < 0 || now - window.refreshedAt >= REFRESH_NANOS) {
+            window.refresh(now);
+        }
+        return window.delayNanos;
+    }
+
+    private final class Window {
+
+        private final Recorder latencies = new Recorder(SIGNIFICANT_DIGITS);
+        private Histogram interval;
+        private Histogram previous = new Histogram(SIGNIFICANT_DIGITS);
+        private Histogram current = new Histogram(SIGNIFICANT_DIGITS);
+        private volatile long delayNanos = -1;
+        private volatile long refreshedAt = System.nanoTime();
+
+        private synchronized void refresh(final long now) {
+            if (delayNanos >= 0 && now - refreshedAt < REFRESH_NANOS) {
+                return;
+            }
+            interval = latencies.getIntervalHistogram(interval);
+            current.add(interval);
+            if (current.getTotalCount() >= WINDOW_SAMPLES) {
+                final var emptied = previous;
+                previous = current;
+                current = emptied;
+                current.reset();
+            }
+            final var samples = previous.getTotalCount() + current.getTotalCount();
+            if (samples >= policy.getMinSamples()) {
+                final var recent = previous.copy();
+                recent.add(current);
+                delayNanos = Math.max(policy.getMinDelay().toNanos(),
+                        MICROSECONDS.toNanos(recent.getValueAtPercentile(policy.getPercentile())));
+            }
+            refreshedAt = now;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.zooplus.petstore.resilience;
+
+import com.zooplus.petstore.configs.PetstoreConfigs;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * When to send a duplicate of a read that is taking longer than usual.
+ * <p>
+ * A hedge is sent once a call has been running for the {@code percentile} latency of recent exchanges of the same
+ * operation, but never earlier than {@code minDelay}. Until {@code minSamples} exchanges have been seen the
+ * percentile is unknown and nothing is hedged.
+ */
+@Value
+@Builder
+public class HedgePolicy {
+
+    public static final HedgePolicy NONE = HedgePolicy.builder().enabled(false).build();
+
+    @Builder.Default
+    boolean enabled = false;
+    @Builder.Default
+    double percentile = 95;
+    @Builder.Default
+    Duration minDelay = Duration.ofMillis(10);
+    /**
+     * Duplicates per call, each one sent another hedge delay after the previous.
+     */
+    @Builder.Default
+    int maxHedges = 1;
+    @Builder.Default
+    int minSamples = 20;
+
+    public static HedgePolicy fromConfig(final PetstoreConfigs configs) {
+        return HedgePolicy.builder()
+                .enabled(configs.hedgeEnabled())
+                .percentile(configs.hedgePercentile())
+                .minDelay(Duration.ofMillis(configs.hedgeMinDelayMillis()))
+                .maxHedges(configs.hedgeMaxHedges())
+                .minSamples(configs.hedgeMinSamples())
+                .build();
+    }
+}
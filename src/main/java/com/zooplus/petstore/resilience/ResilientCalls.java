@@ -0,0 +1,205 @@
+package com.zooplus.petstore.resilience;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import com.zooplus.petstore.configs.AllureTestCaseContext;
+import com.zooplus.petstore.metrics.PetOperation;
+import com.zooplus.petstore.metrics.PetstoreMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Retries and hedging around idempotent {@code PetService} calls.
+ * <p>
+ * A call is repeated after a transient failure as {@link RetryPolicy} allows. With hedging enabled, reads that run
+ * longer than the {@link HedgePolicy} percentile get a duplicate exchange; the first response wins. Duplicates still
+ * queued by then are never sent. Those already sent cannot be aborted through {@code RestTemplate}: they keep their
+ * connection, and their concurrency permit when limits are on, until their response arrives and is discarded. They
+ * are not interrupted either, as an interrupted exchange may end in an I/O error that the concurrency limit and the
+ * load balancer would hold against the petstore.
+ * <p>
+ * Neither hides anything: every exchange is still recorded on its own by the metrics interceptor, and
+ * {@link PetstoreMetrics} counts retries, hedges and won hedges next to the latency the caller saw.
+ */
+@Slf4j
+@Singleton
+public final class ResilientCalls {
+
+    private final RetryPolicy retryPolicy;
+    private final HedgePolicy hedgePolicy;
+    private final HedgeDelays hedgeDelays;
+    private final PetstoreMetrics metrics;
+    private final ExecutorService executor;
+
+    @Inject
+    public ResilientCalls(final PetstoreMetrics metrics) {
+        this(RetryPolicy.fromConfig(PLATFORM_CONFIG), HedgePolicy.fromConfig(PLATFORM_CONFIG), metrics,
+                PetstoreExecutors.newRequestExecutor("petstore-hedge"));
+    }
+
+    public ResilientCalls(final RetryPolicy retryPolicy, final HedgePolicy hedgePolicy, final PetstoreMetrics metrics,
+                          final ExecutorService executor) {
+        this.retryPolicy = retryPolicy;
+        this.hedgePolicy = hedgePolicy;
+        this.hedgeDelays = new HedgeDelays(hedgePolicy);
+        this.metrics = metrics;
+        this.executor = executor;
+    }
+
+    /**
+     * Retried but never hedged, for calls whose duplicate could change the outcome, such as a delete answering
+     * {@code 404} because its twin got there first.
+     */
+    public <T> ResponseEntity<T> retry(final PetOperation operation, final Supplier<ResponseEntity<T>> exchange) {
+        return call(operation, exchange, false);
+    }
+
+    /**
+     * Retried and, when enabled, hedged; for reads.
+     */
+    public <T> ResponseEntity<T> retryAndHedge(final PetOperation operation,
+                                               final Supplier<ResponseEntity<T>> exchange) {
+        return call(operation, exchange, hedgePolicy.isEnabled());
+    }
+
+    private <T> ResponseEntity<T> call(final PetOperation operation, final Supplier<ResponseEntity<T>> exchange,
+                                       final boolean hedged) {
+        final var start = System.nanoTime();
+        for (var attempt = 1; ; attempt++) {
+            final var lastAttempt = attempt >= retryPolicy.getMaxAttempts();
+            try {
+                final var response = hedged ? hedge(operation, exchange) : timed(operation, exchange);
+                if (lastAttempt || !retryPolicy.isRetryable(response)) {
+                    metrics.recordCall(operation, System.nanoTime() - start, true);
+                    return response;
+                }
+                log.debug("{} answered {}, retrying", operation, response.getStatusCodeValue());
+            } catch (RuntimeException exception) {
+                if (lastAttempt || !retryPolicy.isRetryable(exception)) {
+                    metrics.recordCall(operation, System.nanoTime() - start, false);
+                    throw exception;
+                }
+                log.debug("{} failed, retrying: {}", operation, exception.toString());
+            }
+            metrics.recordRetry(operation);
+            pause(retryPolicy.backoff(attempt).toNanos());
+        }
+    }
+
+    private <T> ResponseEntity<T> timed(final PetOperation operation, final Supplier<ResponseEntity<T>> exchange) {
+        final var start = System.nanoTime();
+        try {
+            return exchange.get();
+        } finally {
+            hedgeDelays.record(operation, System.nanoTime() - start);
+        }
+    }
+
+    private <T> ResponseEntity<T> hedge(final PetOperation operation, final Supplier<ResponseEntity<T>> exchange) {
+        final var delayNanos = hedgeDelays.delayNanos(operation);
+        if (delayNanos < 0) {
+            return timed(operation, exchange);
+        }
+        final var race = new Race<T>(operation, exchange);
+        race.launch();
+        try {
+            for (var hedges = 0; hedges < hedgePolicy.getMaxHedges(); hedges++) {
+                try {
+                    return race.winner.get(delayNanos, NANOSECONDS);
+                } catch (TimeoutException timeout) {
+                    if (!race.launch()) {
+                        break;
+                    }
+                }
+            }
+            return race.winner.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + operation, exception);
+        } catch (ExecutionException exception) {
+            throw exception.getCause() instanceof RuntimeException
+                    ? (RuntimeException) exception.getCause()
+                    : new IllegalStateException(exception.getCause());
+        } finally {
+            race.cancelUnsent();
+        }
+    }
+
+    private static void pause(final long nanos) {
+        try {
+            NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off", exception);
+        }
+    }
+
+    /**
+     * The exchanges of one hedged attempt. The first response completes {@link #winner}; it fails only once every
+     * launched exchange has failed, with the first failure.
+     */
+    private final class Race<T> {
+
+        private final PetOperation operation;
+        private final Supplier<ResponseEntity<T>> exchange;
+        private final CompletableFuture<ResponseEntity<T>> winner = new CompletableFuture<>();
+        private final List<Future<?>> exchanges = new ArrayList<>();
+        private int failed;
+        private RuntimeException firstFailure;
+
+        private Race(final PetOperation operation, final Supplier<ResponseEntity<T>> exchange) {
+            this.operation = operation;
+            this.exchange = exchange;
+        }
+
+        /**
+         * @return whether another exchange was sent; not once the race is decided
+         */
+        private synchronized boolean launch() {
+            if (winner.isDone()) {
+                return false;
+            }
+            final var index = exchanges.size();
+            if (index > 0) {
+                metrics.recordHedge(operation);
+            }
+            exchanges.add(executor.submit(AllureTestCaseContext.propagate(() -> {
+                try {
+                    final var response = timed(operation, exchange);
+                    if (winner.complete(response) && index > 0) {
+                        metrics.recordHedgeWin(operation);
+                    }
+                } catch (RuntimeException exception) {
+                    failed(exception);
+                }
+            })));
+            return true;
+        }
+
+        private synchronized void failed(final RuntimeException exception) {
+            if (firstFailure == null) {
+                firstFailure = exception;
+            }
+            if (++failed == exchanges.size()) {
+                winner.completeExceptionally(firstFailure);
+            }
+        }
+
+        private synchronized void cancelUnsent() {
+            exchanges.forEach(future -> future.cancel(false));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.zooplus.petstore.resilience;
+
+import com.zooplus.petstore.configs.PetstoreConfigs;
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * When and how long to wait before repeating an idempotent call.
+ * <p>
+ * Only transient failures are retried: I/O errors, and the {@code 429}, {@code 502}, {@code 503} and {@code 504}
+ * responses of an overloaded or restarting server. Backoff is exponential with full jitter, so clients that failed
+ * together do not come back together.
+ */
+@Value
+@Builder
+public class RetryPolicy {
+
+    public static final RetryPolicy NONE = RetryPolicy.builder().maxAttempts(1).build();
+
+    /**
+     * Attempts including the first one, {@code 1} disables retries.
+     */
+    @Builder.Default
+    int maxAttempts = 3;
+    @Builder.Default
+    Duration initialBackoff = Duration.ofMillis(50);
+    @Builder.Default
+    Duration maxBackoff = Duration.ofSeconds(1);
+
+    public static RetryPolicy fromConfig(final PetstoreConfigs configs) {
+        return RetryPolicy.builder()
+                .maxAttempts(configs.retryMaxAttempts())
+                .initialBackoff(Duration.ofMillis(configs.retryInitialBackoffMillis()))
+                .maxBackoff(Duration.ofMillis(configs.retryMaxBackoffMillis()))
+                .build();
+    }
+
+    public boolean isRetryable(final ResponseEntity<?> response) {
+        switch (response.getStatusCodeValue()) {
+            case 429:
+            case 502:
+            case 503:
+            case 504:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public boolean isRetryable(final RuntimeException exception) {
+        return exception instanceof ResourceAccessException;
+    }
+
+    /**
+     * Random pause before retry number {@code retry}, counted from {@code 1}: between zero and
+     * {@code initialBackoff * 2^(retry - 1)}, capped at {@code maxBackoff}.
+     */
+    public Duration backoff(final int retry) {
+        final var ceilingNanos = initialBackoff.toNanos() << Math.min(retry - 1, 30);
+        final var boundNanos = ceilingNanos <= 0 ? maxBackoff.toNanos() : Math.min(ceilingNanos, maxBackoff.toNanos());
+        return boundNanos <= 0 ? Duration.ZERO : Duration.ofNanos(ThreadLocalRandom.current().nextLong(boundNanos + 1));
+    }
+}
@@ -0,0 +1,463 @@
+package com.zooplus.petstore.scenario;
+
+import com.zooplus.petstore.configs.PetstoreConfigs;
+import com.zooplus.petstore.data.PetGeneratorSettings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static com.zooplus.petstore.model.Status.AVAILABLE;
+import static com.zooplus.petstore.model.Status.PENDING;
+import static java.lang.System.lineSeparator;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * User journey over the petstore as a Markov chain: a journey enters at one of the entry steps, chosen by weight,
+ * and after each step thinks for a random time and moves on to one of the step's next steps, again chosen by
+ * weight, or leaves through {@link #EXIT}. A step without next steps ends the journey, so a weighted operation mix
+ * is a scenario of entry steps only.
+ * <p>
+ * Scenarios are built in code with {@link #builder(String)} or read from a properties file with {@link #load(Path)}:
+ * <pre>
+ * steps=browse,view,reserve
+ * entry=browse:8,reserve:2
+ * thinkTimeMillis=500-2000
+ * browse.action=findPetsByStatus
+ * browse.next=view:6,exit:4
+ * view.action=findPetById
+ * reserve.action=addNewPetToStore:PENDING
+ * reserve.thinkTimeMillis=0
+ * </pre>
+ * Actions are those of {@link ScenarioActions#named(String)}, the step name when omitted.
+ */
+public final class Scenario {
+
+    public static final String EXIT = "exit";
+    static final int EXIT_INDEX = -1;
+
+    private static final String STEPS = "steps";
+    private static final String ENTRY = "entry";
+    private static final String NAME = "name";
+    private static final String THINK_TIME = "thinkTimeMillis";
+    private static final String ACTION = ".action";
+    private static final String NEXT = ".next";
+
+    private final String name;
+    private final List<Step> steps;
+    private final Transitions entry;
+
+    private Scenario(final String name, final List<Step> steps, final Transitions entry) {
+        this.name = name;
+        this.steps = steps;
+        this.entry = entry;
+    }
+
+    public static Builder builder(final String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Shoppers mostly browse available pets and look at one of them; some reserve a new pet, read it back, buy it
+     * and take it off the store again. Journeys only buy and delete pets they added themselves, and add them as
+     * pending, so they never race other shoppers, or other users of the petstore, for the same pet.
+     */
+    public static Scenario shopper() {
+        final var browsing = Duration.ofMillis(500);
+        final var reading = Duration.ofSeconds(2);
+        return builder("shopper")
+                .step("browse", ScenarioActions.findPetsByStatus(AVAILABLE))
+                .step("view", ScenarioActions.findPetById())
+                .step("reserve", ScenarioActions.addNewPetToStore(PENDING))
+                .step("readBack", ScenarioActions.findPetById())
+                .step("buy", ScenarioActions.buyPet())
+                .step("remove", ScenarioActions.deletePet())
+                .entry("browse", 8)
+                .entry("reserve", 2)
+                .thinkTime(browsing, reading)
+                .transition("browse", "view", 6)
+                .transition("browse", "browse", 2)
+                .transition("browse", EXIT, 2)
+                .transition("view", "browse", 3)
+                .transition("view", EXIT, 7)
+                .thinkTime("reserve", Duration.ZERO, Duration.ZERO)
+                .transition("reserve", "readBack", 1)
+                .transition("readBack", "buy", 1)
+                .transition("buy", "remove", 1)
+                .build();
+    }
+
+    /**
+     * The scenario file {@code petstore.scenario.file}, {@link #shopper()} when none is set.
+     */
+    public static Scenario fromConfig(final PetstoreConfigs configs) throws IOException {
+        final var file = configs.scenarioFile();
+        return file == null || file.isBlank() ? shopper() : load(Paths.get(file));
+    }
+
+    /**
+     * Reads a scenario file, named after the file unless it sets a {@code name}.
+     */
+    public static Scenario load(final Path file) throws IOException {
+        final var properties = new Properties();
+        try (var reader = Files.newBufferedReader(file, UTF_8)) {
+            properties.load(reader);
+        }
+        final var fileName = file.getFileName().toString();
+        final var extension = fileName.lastIndexOf('.');
+        return parse(extension > 0 ? fileName.substring(0, extension) : fileName, properties);
+    }
+
+    public static Scenario parse(final String defaultName, final Properties properties) {
+        final var stepNames = list(properties, STEPS);
+        final var known = new HashSet<>(List.of(NAME, STEPS, ENTRY, THINK_TIME));
+        stepNames.forEach(step -> known.addAll(List.of(step + ACTION, step + NEXT, step + "." + THINK_TIME)));
+        properties.stringPropertyNames().stream()
+                .filter(key -> !known.contains(key))
+                .sorted()
+                .findFirst()
+                .ifPresent(key -> {
+                    throw new IllegalArgumentException("Unknown scenario key '" + key + "'");
+                });
+        final var builder = builder(properties.getProperty(NAME, defaultName));
+        for (final var step : stepNames) {
+            builder.step(step, ScenarioActions.named(properties.getProperty(step + ACTION, step).trim()));
+        }
+        weights(properties, ENTRY).forEach(builder::entry);
+        final var defaultThinkTime = properties.getProperty(THINK_TIME);
+        if (defaultThinkTime != null) {
+            final var range = thinkTime(THINK_TIME, defaultThinkTime);
+            builder.thinkTime(range[0], range[1]);
+        }
+        for (final var step : stepNames) {
+            final var thinkTime = properties.getProperty(step + "." + THINK_TIME);
+            if (thinkTime != null) {
+                final var range = thinkTime(step + "." + THINK_TIME, thinkTime);
+                builder.thinkTime(step, range[0], range[1]);
+            }
+            weights(properties, step + NEXT).forEach((next, weight) -> builder.transition(step, next, weight));
+        }
+        return builder.build();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getStepNames() {
+        final var names = new ArrayList<String>(steps.size());
+        steps.forEach(step -> names.add(step.name));
+        return names;
+    }
+
+    int stepCount() {
+        return steps.size();
+    }
+
+    Step step(final int index) {
+        return steps.get(index);
+    }
+
+    int pickEntry() {
+        return entry.pick();
+    }
+
+    /**
+     * The scenario in the file format, without the actions.
+     */
+    @Override
+    public String toString() {
+        final var text = new StringBuilder()
+                .append(NAME).append('=').append(name).append(lineSeparator())
+                .append(STEPS).append('=').append(String.join(",", getStepNames())).append(lineSeparator())
+                .append(ENTRY).append('=').append(entry).append(lineSeparator());
+        for (final var step : steps) {
+            text.append(step.name).append('.').append(THINK_TIME).append('=')
+                    .append(step.minThinkNanos / 1_000_000).append('-').append(step.maxThinkNanos / 1_000_000)
+                    .append(lineSeparator());
+            if (!step.next.isEmpty()) {
+                text.append(step.name).append(NEXT).append('=').append(step.next).append(lineSeparator());
+            }
+        }
+        return text.toString();
+    }
+
+    private static List<String> list(final Properties properties, final String key) {
+        final var value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Scenario key '" + key + "' is missing");
+        }
+        final var values = new ArrayList<String>();
+        for (final var item : value.split(",")) {
+            values.add(item.trim());
+        }
+        return values;
+    }
+
+    private static Map<String, Integer> weights(final Properties properties, final String key) {
+        final var value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return Map.of();
+        }
+        return PetGeneratorSettings.parseWeights(value.split(","), Function.identity());
+    }
+
+    /**
+     * {@code min-max} or a fixed number of milliseconds.
+     */
+    private static Duration[] thinkTime(final String key, final String value) {
+        final var separator = value.indexOf('-');
+        try {
+            final var min = Duration.ofMillis(Long.parseLong(
+                    (separator < 0 ? value : value.substring(0, separator)).trim()));
+            final var max = separator < 0 ? min : Duration.ofMillis(Long.parseLong(value.substring(separator + 1)
+                    .trim()));
+            return new Duration[]{min, max};
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Expected min-max milliseconds for '" + key + "', was '" + value
+                    + "'", exception);
+        }
+    }
+
+    /**
+     * Builds a {@link Scenario}; steps are reported in the order they are added.
+     */
+    public static final class Builder {
+
+        private final String name;
+        private final Map<String, ScenarioAction> actions = new LinkedHashMap<>();
+        private final Map<String, Integer> entry = new LinkedHashMap<>();
+        private final Map<String, Map<String, Integer>> transitions = new LinkedHashMap<>();
+        private final Map<String, Duration[]> thinkTimes = new LinkedHashMap<>();
+        private Duration[] defaultThinkTime = {Duration.ZERO, Duration.ZERO};
+
+        private Builder(final String name) {
+            this.name = name;
+        }
+
+        public Builder step(final String step, final ScenarioAction action) {
+            if (EXIT.equals(step)) {
+                throw new IllegalArgumentException("'" + EXIT + "' is reserved for leaving the scenario");
+            }
+            if (actions.putIfAbsent(step, action) != null) {
+                throw new IllegalArgumentException("Step '" + step + "' is defined twice");
+            }
+            return this;
+        }
+
+        public Builder entry(final String step, final int weight) {
+            entry.put(step, weight);
+            return this;
+        }
+
+        /**
+         * Moves from {@code from} to {@code to}, or leaves the scenario when {@code to} is {@link #EXIT}, with a
+         * probability proportional to {@code weight} among the transitions of {@code from}.
+         */
+        public Builder transition(final String from, final String to, final int weight) {
+            transitions.computeIfAbsent(from, step -> new LinkedHashMap<>()).put(to, weight);
+            return this;
+        }
+
+        /**
+         * Think time, drawn uniformly between {@code min} and {@code max}, after steps without one of their own.
+         */
+        public Builder thinkTime(final Duration min, final Duration max) {
+            defaultThinkTime = thinkTimeRange("default", min, max);
+            return this;
+        }
+
+        public Builder thinkTime(final String step, final Duration min, final Duration max) {
+            thinkTimes.put(step, thinkTimeRange(step, min, max));
+            return this;
+        }
+
+        public Scenario build() {
+            if (actions.isEmpty()) {
+                throw new IllegalArgumentException("Scenario '" + name + "' has no steps");
+            }
+            final var indices = new HashMap<String, Integer>();
+            actions.keySet().forEach(step -> indices.put(step, indices.size()));
+            transitions.keySet().forEach(step -> index(indices, step, false));
+            thinkTimes.keySet().forEach(step -> index(indices, step, false));
+            final var steps = new ArrayList<Step>(actions.size());
+            actions.forEach((step, action) -> {
+                final var thinkTime = thinkTimes.getOrDefault(step, defaultThinkTime);
+                steps.add(new Step(step, action, thinkTime[0].toNanos(), thinkTime[1].toNanos(),
+                        new Transitions(transitions.getOrDefault(step, Map.of()), indices, true)));
+            });
+            if (entry.isEmpty()) {
+                throw new IllegalArgumentException("Scenario '" + name + "' has no entry step");
+            }
+            final var scenario = new Scenario(name, Collections.unmodifiableList(steps),
+                    new Transitions(entry, indices, false));
+            scenario.checkJourneysEnd();
+            return scenario;
+        }
+
+        private Duration[] thinkTimeRange(final String step, final Duration min, final Duration max) {
+            if (min.isNegative() || max.compareTo(min) < 0) {
+                throw new IllegalArgumentException("Think time of '" + step + "' must be a range from zero up, was "
+                        + min + " to " + max);
+            }
+            return new Duration[]{min, max};
+        }
+    }
+
+    /**
+     * A chain in which some step cannot lead to an exit would keep its journeys going until the run ends.
+     */
+    private void checkJourneysEnd() {
+        final var reachable = new HashSet<Integer>();
+        final var pending = new ArrayDeque<Integer>();
+        for (final var target : entry.targets) {
+            if (reachable.add(target)) {
+                pending.add(target);
+            }
+        }
+        while (!pending.isEmpty()) {
+            for (final var target : steps.get(pending.poll()).next.targets) {
+                if (target != EXIT_INDEX && reachable.add(target)) {
+                    pending.add(target);
+                }
+            }
+        }
+        final var ending = new HashSet<Integer>();
+        var changed = true;
+        while (changed) {
+            changed = false;
+            for (var index = 0; index < steps.size(); index++) {
+                if (!ending.contains(index) && steps.get(index).next.canEnd(ending)) {
+                    ending.add(index);
+                    changed = true;
+                }
+            }
+        }
+        reachable.removeAll(ending);
+        reachable.stream().sorted().findFirst().ifPresent(index -> {
+            throw new IllegalArgumentException("Journeys of scenario '" + name + "' reaching step '"
+                    + steps.get(index).name + "' never end");
+        });
+    }
+
+    private static int index(final Map<String, Integer> indices, final String step, final boolean exitAllowed) {
+        if (exitAllowed && EXIT.equals(step)) {
+            return EXIT_INDEX;
+        }
+        final var index = indices.get(step);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown scenario step '" + step + "'");
+        }
+        return index;
+    }
+
+    static final class Step {
+
+        final String name;
+        final ScenarioAction action;
+        final long minThinkNanos;
+        final long maxThinkNanos;
+        final Transitions next;
+
+        private Step(final String name, final ScenarioAction action, final long minThinkNanos,
+                     final long maxThinkNanos, final Transitions next) {
+            this.name = name;
+            this.action = action;
+            this.minThinkNanos = minThinkNanos;
+            this.maxThinkNanos = maxThinkNanos;
+            this.next = next;
+        }
+
+        long thinkNanos() {
+            return minThinkNanos == maxThinkNanos
+                    ? minThinkNanos
+                    : ThreadLocalRandom.current().nextLong(minThinkNanos, maxThinkNanos + 1);
+        }
+
+        /**
+         * Index of the next step, {@link #EXIT_INDEX} to leave.
+         */
+        int pickNext() {
+            return next.isEmpty() ? EXIT_INDEX : next.pick();
+        }
+    }
+
+    /**
+     * Weighted choice among step indices, in {@code O(log n)} per pick.
+     */
+    static final class Transitions {
+
+        private final String text;
+        private final int[] targets;
+        private final long[] cumulativeWeights;
+
+        private Transitions(final Map<String, Integer> weights, final Map<String, Integer> indices,
+                            final boolean exitAllowed) {
+            final var targetList = new ArrayList<Integer>();
+            final var cumulative = new long[weights.size()];
+            final var text = new StringBuilder();
+            var total = 0L;
+            for (final var weight : weights.entrySet()) {
+                final var target = index(indices, weight.getKey(), exitAllowed);
+                if (weight.getValue() < 0) {
+                    throw new IllegalArgumentException("Negative weight of '" + weight.getKey() + "'");
+                }
+                if (weight.getValue() > 0) {
+                    total += weight.getValue();
+                    cumulative[targetList.size()] = total;
+                    targetList.add(target);
+                    text.append(text.length() == 0 ? "" : ",").append(weight.getKey()).append(':')
+                            .append(weight.getValue());
+                }
+            }
+            if (!weights.isEmpty() && targetList.isEmpty()) {
+                throw new IllegalArgumentException("At least one of " + weights.keySet() + " needs a positive weight");
+            }
+            this.text = text.toString();
+            this.targets = targetList.stream().mapToInt(Integer::intValue).toArray();
+            this.cumulativeWeights = Arrays.copyOf(cumulative, targets.length);
+        }
+
+        boolean isEmpty() {
+            return targets.length == 0;
+        }
+
+        int pick() {
+            final var point = ThreadLocalRandom.current().nextLong(cumulativeWeights[cumulativeWeights.length - 1]);
+            final var found = Arrays.binarySearch(cumulativeWeights, point);
+            return targets[found >= 0 ? found + 1 : -found - 1];
+        }
+
+        private boolean canEnd(final Set<Integer> ending) {
+            if (isEmpty()) {
+                return true;
+            }
+            for (final var target : targets) {
+                if (target == EXIT_INDEX || ending.contains(target)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.zooplus.petstore.scenario;
+
+import com.zooplus.petstore.service.PetClient;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * One petstore call of a {@link Scenario} step. Any non-2xx response or exception counts as an error.
+ */
+@FunctionalInterface
+public interface ScenarioAction {
+
+    ResponseEntity<?> perform(PetClient petClient, ScenarioSession session);
+}
@@ -0,0 +1,114 @@
+package com.zooplus.petstore.scenario;
+
+import com.zooplus.petstore.data.PetDataProvider;
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.model.Status;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.zooplus.petstore.model.Status.AVAILABLE;
+import static com.zooplus.petstore.model.Status.SOLD;
+
+/**
+ * Ready-made {@link ScenarioAction}s on the {@code PetClient} calls, passing pets from step to step through the
+ * {@link ScenarioSession}.
+ */
+public final class ScenarioActions {
+
+    private ScenarioActions() {
+    }
+
+    /**
+     * Browses pets of {@code status} and, unless the journey already has a pet, picks one of them to look at next.
+     */
+    public static ScenarioAction findPetsByStatus(final Status status) {
+        return (petClient, session) -> {
+            final var response = petClient.findPetsByStatus(status);
+            final var pets = response.getBody();
+            if (session.getPet().isEmpty() && pets != null && pets.length > 0) {
+                session.setPet(pets[ThreadLocalRandom.current().nextInt(pets.length)]);
+            }
+            return response;
+        };
+    }
+
+    /**
+     * Reads back the journey's pet; without one, a pet recently added by another journey, or a random ID.
+     */
+    public static ScenarioAction findPetById() {
+        return (petClient, session) -> {
+            final var createdPetIds = session.getCreatedPetIds();
+            final long petId = session.getPet().map(Pet::getId).orElseGet(() -> createdPetIds.isEmpty()
+                    ? ThreadLocalRandom.current().nextInt(0, Integer.MAX_VALUE)
+                    : createdPetIds.random());
+            return petClient.findPetById(petId);
+        };
+    }
+
+    /**
+     * Adds a new pet of {@code status}, which becomes the journey's pet. Pets added as anything but available stay
+     * out of sight of journeys browsing available pets, so those never pick a pet that is about to be deleted.
+     */
+    public static ScenarioAction addNewPetToStore(final Status status) {
+        return (petClient, session) -> {
+            final var pet = PetDataProvider.getValidPetData();
+            pet.setStatus(status);
+            final var response = petClient.addNewPetToStore(pet);
+            if (response.getStatusCode().is2xxSuccessful()) {
+                session.setPet(pet);
+                session.getCreatedPetIds().add(pet.getId());
+            }
+            return response;
+        };
+    }
+
+    /**
+     * Marks the journey's pet as sold through the form update.
+     */
+    public static ScenarioAction buyPet() {
+        return (petClient, session) -> {
+            final var pet = session.requirePet();
+            final var response = petClient.updatePetWithFormData(pet.getId(), pet.getName(), "sold");
+            if (response.getStatusCode().is2xxSuccessful()) {
+                pet.setStatus(SOLD);
+            }
+            return response;
+        };
+    }
+
+    /**
+     * Deletes the journey's pet, which the journey then forgets.
+     */
+    public static ScenarioAction deletePet() {
+        return (petClient, session) -> {
+            final var response = petClient.deletePet(session.requirePet().getId());
+            session.clearPet();
+            return response;
+        };
+    }
+
+    /**
+     * The action of a scenario file: {@code findPetsByStatus}, {@code findPetById}, {@code addNewPetToStore},
+     * {@code buyPet} or {@code deletePet}. Pets are browsed and added as available unless a status follows the
+     * name, as in {@code addNewPetToStore:PENDING}.
+     */
+    public static ScenarioAction named(final String action) {
+        final var separator = action.indexOf(':');
+        final var name = separator < 0 ? action : action.substring(0, separator).trim();
+        final var status = separator < 0 ? AVAILABLE : Status.valueOf(action.substring(separator + 1).trim());
+        switch (name) {
+            case "findPetsByStatus":
+                return findPetsByStatus(status);
+            case "findPetById":
+                return findPetById();
+            case "addNewPetToStore":
+                return addNewPetToStore(status);
+            case "buyPet":
+                return buyPet();
+            case "deletePet":
+                return deletePet();
+            default:
+                throw new IllegalArgumentException("Unknown scenario action '" + name + "'");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.zooplus.petstore.scenario;
+
+import com.zooplus.petstore.load.LoadProfile;
+import com.zooplus.petstore.metrics.OperationStats;
+import lombok.Value;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static java.lang.System.lineSeparator;
+
+/**
+ * Result of a {@link ScenarioRunner} run: statistics per step, of all requests and of whole journeys, think times
+ * included. Latency statistics cover the steady-state phase only.
+ */
+@Value
+public class ScenarioReport {
+
+    String scenario;
+    LoadProfile profile;
+    List<OperationStats> steps;
+    OperationStats total;
+    OperationStats journeys;
+    long requestsSent;
+
+    /**
+     * Share of the time journeys spent waiting on the petstore that went into {@code step}.
+     */
+    public double timeShare(final OperationStats step) {
+        final var totalTime = timeSpent(total);
+        return totalTime == 0 ? 0 : timeSpent(step) / totalTime;
+    }
+
+    /**
+     * The step journeys spend the most time waiting on: a slow step, or a quick one on the path of nearly every
+     * journey.
+     */
+    public Optional<OperationStats> getBottleneck() {
+        return steps.stream()
+                .filter(step -> step.getCount() > 0)
+                .max(Comparator.comparingDouble(ScenarioReport::timeSpent));
+    }
+
+    public String format() {
+        final var report = new StringBuilder()
+                .append(String.format("Scenario %s with %s: %d requests sent, steady-state statistics:",
+                        scenario, profile, requestsSent))
+                .append(lineSeparator());
+        steps.forEach(step -> report.append(String.format("  %5.1f%% ", timeShare(step) * 100)).append(step)
+                .append(lineSeparator()));
+        report.append("         ").append(total).append(lineSeparator())
+                .append("         ").append(journeys);
+        getBottleneck().ifPresent(step -> report.append(lineSeparator())
+                .append(String.format("  Bottleneck: %s, %.1f%% of the time spent waiting on the petstore",
+                        step.getOperation(), timeShare(step) * 100)));
+        return report.toString();
+    }
+
+    private static double timeSpent(final OperationStats stats) {
+        return stats.getCount() * stats.getHistogram().getMean();
+    }
+}
@@ -0,0 +1,231 @@
+package com.zooplus.petstore.scenario;
+
+import com.google.inject.Inject;
+import com.zooplus.petstore.concurrent.BoundedExecutor;
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import com.zooplus.petstore.load.CreatedPetIds;
+import com.zooplus.petstore.load.LoadModel;
+import com.zooplus.petstore.load.LoadProfile;
+import com.zooplus.petstore.metrics.OperationRecorder;
+import com.zooplus.petstore.metrics.OperationStats;
+import com.zooplus.petstore.service.PetClient;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Sends journeys through a {@link Scenario} according to a {@link LoadProfile}: in the open model new journeys
+ * arrive at {@code ratePerSecond}, with at most {@code maxInFlight} requests in flight; in the closed model each of
+ * {@code concurrency} virtual users starts a new journey as soon as its last one has ended and it has thought.
+ * <p>
+ * Thinking holds no thread: a journey waits for its next step on a timer, and only requests take a request thread,
+ * so the number of users is bounded by memory rather than threads. Each step is timed from the moment it was due,
+ * so time spent waiting for a free request slot is part of its latency. Journeys still under way when their user
+ * leaves, or when the open run ends, are abandoned at their next step. Steps are sent from worker threads outside of
+ * the Allure test case that started the run, so none of them is reported to Allure, whatever
+ * {@code petstore.allure.mode} is.
+ */
+@Slf4j
+public class ScenarioRunner {
+
+    private static final String TOTAL = "total";
+    private static final String JOURNEY = "journey";
+
+    private final PetClient petClient;
+
+    @Inject
+    public ScenarioRunner(final PetClient petClient) {
+        this.petClient = petClient;
+    }
+
+    public ScenarioReport run(final LoadProfile profile, final Scenario scenario) {
+        final var executorService = PetstoreExecutors.newRequestExecutor("petstore-scenario");
+        final var timer = Executors.newSingleThreadScheduledExecutor(
+                PetstoreExecutors.daemonThreadFactory("petstore-scenario-timer"));
+        final var run = new Run(profile, scenario, executorService, timer);
+        log.info("Starting scenario {} with {}", scenario.getName(), profile);
+        try {
+            if (profile.getModel() == LoadModel.OPEN) {
+                run.open();
+            } else {
+                run.closed();
+            }
+        } finally {
+            timer.shutdownNow();
+            executorService.shutdownNow();
+        }
+        final var report = run.report();
+        log.info(report.format());
+        return report;
+    }
+
+    private final class Run {
+
+        private final LoadProfile profile;
+        private final Scenario scenario;
+        private final Executor requests;
+        private final ScheduledExecutorService timer;
+        private final OperationRecorder[] steps;
+        private final OperationRecorder total = new OperationRecorder(TOTAL);
+        private final OperationRecorder journeys = new OperationRecorder(JOURNEY);
+        private final CreatedPetIds createdPetIds = new CreatedPetIds(10_000);
+        private final AtomicLong requestsSent = new AtomicLong();
+        private final AtomicLong active = new AtomicLong();
+        private long startNanos;
+
+        private Run(final LoadProfile profile, final Scenario scenario, final ExecutorService executorService,
+                    final ScheduledExecutorService timer) {
+            this.profile = profile;
+            this.scenario = scenario;
+            this.timer = timer;
+            if (profile.getModel() == LoadModel.OPEN) {
+                final var bounded = new BoundedExecutor(executorService, profile.getMaxInFlight());
+                this.requests = task -> bounded.submit(() -> {
+                    task.run();
+                    return null;
+                });
+            } else {
+                this.requests = executorService;
+            }
+            this.steps = new OperationRecorder[scenario.stepCount()];
+            for (var index = 0; index < steps.length; index++) {
+                steps[index] = new OperationRecorder(scenario.step(index).name);
+            }
+        }
+
+        private void open() {
+            final var totalNanos = profile.getTotalDuration().toNanos();
+            startNanos = System.nanoTime();
+            final var endNanos = startNanos + totalNanos;
+            var arrivals = 0L;
+            var scheduledOffset = profile.arrivalOffsetNanos(arrivals);
+            while (scheduledOffset < totalNanos) {
+                final var scheduledAt = startNanos + scheduledOffset;
+                parkUntil(scheduledAt);
+                active.incrementAndGet();
+                start(new Journey(scheduledAt, endNanos, false));
+                scheduledOffset = profile.arrivalOffsetNanos(++arrivals);
+            }
+            awaitJourneys();
+        }
+
+        private void closed() {
+            final var users = profile.getConcurrency();
+            final var rampUpNanos = profile.getRampUp().toNanos();
+            final var rampDownStart = profile.getRampUp().plus(profile.getSteadyState()).toNanos();
+            final var rampDownNanos = profile.getRampDown().toNanos();
+            startNanos = System.nanoTime();
+            active.addAndGet(users);
+            for (var user = 0; user < users; user++) {
+                final var joinAt = startNanos + rampUpNanos * user / users;
+                final var leaveAt = startNanos + rampDownStart + rampDownNanos * (users - user) / users;
+                timer.schedule(() -> start(new Journey(joinAt, leaveAt, true)), joinAt - System.nanoTime(),
+                        NANOSECONDS);
+            }
+            awaitJourneys();
+        }
+
+        private void start(final Journey journey) {
+            schedule(journey, scenario.pickEntry(), journey.startedAt);
+        }
+
+        private void schedule(final Journey journey, final int step, final long dueAt) {
+            final Runnable task = () -> perform(journey, step, dueAt);
+            final var delay = dueAt - System.nanoTime();
+            if (delay <= 0) {
+                requests.execute(task);
+            } else {
+                timer.schedule(() -> requests.execute(task), delay, NANOSECONDS);
+            }
+        }
+
+        private void perform(final Journey journey, final int index, final long dueAt) {
+            if (dueAt - journey.leaveAt >= 0) {
+                active.decrementAndGet();
+                return;
+            }
+            final var step = scenario.step(index);
+            var success = false;
+            try {
+                success = step.action.perform(petClient, journey.session).getStatusCode().is2xxSuccessful();
+            } catch (RuntimeException exception) {
+                log.debug("Scenario step {} failed", step.name, exception);
+            }
+            final var completedAt = System.nanoTime();
+            requestsSent.incrementAndGet();
+            if (isSteadyState(dueAt)) {
+                steps[index].record(completedAt - dueAt, success);
+                total.record(completedAt - dueAt, success);
+            }
+            journey.failed |= !success;
+            final var next = step.pickNext();
+            final var nextDueAt = completedAt + step.thinkNanos();
+            if (next != Scenario.EXIT_INDEX) {
+                schedule(journey, next, nextDueAt);
+                return;
+            }
+            if (isSteadyState(journey.startedAt)) {
+                journeys.record(completedAt - journey.startedAt, !journey.failed);
+            }
+            if (journey.repeat) {
+                start(new Journey(nextDueAt, journey.leaveAt, true));
+            } else {
+                active.decrementAndGet();
+            }
+        }
+
+        private boolean isSteadyState(final long nanos) {
+            return profile.isSteadyState(Duration.ofNanos(nanos - startNanos));
+        }
+
+        private void awaitJourneys() {
+            while (active.get() > 0) {
+                LockSupport.parkNanos(1_000_000);
+            }
+        }
+
+        private ScenarioReport report() {
+            final var steadyState = profile.getSteadyState();
+            final var stats = new ArrayList<OperationStats>(steps.length);
+            for (final var step : steps) {
+                stats.add(step.snapshot(steadyState));
+            }
+            return new ScenarioReport(scenario.getName(), profile, stats, total.snapshot(steadyState),
+                    journeys.snapshot(steadyState), requestsSent.get());
+        }
+
+        /**
+         * One pass through the scenario; {@code repeat} starts the user's next journey once this one ends.
+         */
+        private final class Journey {
+
+            private final ScenarioSession session = new ScenarioSession(createdPetIds);
+            private final long startedAt;
+            private final long leaveAt;
+            private final boolean repeat;
+            private boolean failed;
+
+            private Journey(final long startedAt, final long leaveAt, final boolean repeat) {
+                this.startedAt = startedAt;
+                this.leaveAt = leaveAt;
+                this.repeat = repeat;
+            }
+        }
+    }
+
+    private static void parkUntil(final long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.zooplus.petstore.scenario;
+
+import com.zooplus.petstore.load.CreatedPetIds;
+import com.zooplus.petstore.model.Pet;
+
+import java.util.Optional;
+
+/**
+ * State of one journey through a {@link Scenario}, so a step can act on what an earlier step created or found.
+ * <p>
+ * The steps of a journey run one after the other, though not necessarily on the same thread; a session is never
+ * used by two steps at once and needs no locking.
+ */
+public final class ScenarioSession {
+
+    private final CreatedPetIds createdPetIds;
+    private Pet pet;
+
+    ScenarioSession(final CreatedPetIds createdPetIds) {
+        this.createdPetIds = createdPetIds;
+    }
+
+    /**
+     * Pets recently added by any journey of the run.
+     */
+    public CreatedPetIds getCreatedPetIds() {
+        return createdPetIds;
+    }
+
+    /**
+     * The pet this journey added or picked last, if any.
+     */
+    public Optional<Pet> getPet() {
+        return Optional.ofNullable(pet);
+    }
+
+    public Pet requirePet() {
+        if (pet == null) {
+            throw new IllegalStateException("No pet has been added or found in this journey yet");
+        }
+        return pet;
+    }
+
+    public void setPet(final Pet pet) {
+        this.pet = pet;
+    }
+
+    public void clearPet() {
+        pet = null;
+    }
+}
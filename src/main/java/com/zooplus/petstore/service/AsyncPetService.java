@@ -0,0 +1,84 @@
+package com.zooplus.petstore.service;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.zooplus.petstore.concurrent.BoundedExecutor;
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import com.zooplus.petstore.configs.AllureTestCaseContext;
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.model.PetUpdateStatus;
+import com.zooplus.petstore.model.Status;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+
+/**
+ * Non-blocking counterpart of {@link PetService}.
+ * <p>
+ * Every call is delegated to {@link PetService} on a request executor, so the same Allure steps are reported, in a
+ * step of the test case that issued the call named after the worker thread.
+ * <p>
+ * Only the caller is not blocked: each call in flight holds a thread of the executor while it waits for the
+ * response, a virtual thread on JDK 21 and later, a pooled platform thread on older JDKs such as 11 and 17. There
+ * {@code petstore.async.maxInFlight} bounds the threads as well as the calls. Requests that must not hold a thread
+ * go through {@code PetstoreTransport.exchangeAsync} instead, without steps.
+ */
+@Singleton
+public class AsyncPetService {
+
+    private final PetService petService;
+    private final BoundedExecutor executor;
+
+    @Inject
+    public AsyncPetService(final PetService petService) {
+        this.petService = petService;
+        this.executor = new BoundedExecutor(PetstoreExecutors.newRequestExecutor("petstore-async"),
+                PLATFORM_CONFIG.asyncMaxInFlight());
+    }
+
+    public CompletableFuture<ResponseEntity<Pet>> findPetById(final long value) {
+        return submit(() -> petService.findPetById(value));
+    }
+
+    public CompletableFuture<ResponseEntity<Pet[]>> findPetsByStatus(final Status status) {
+        return submit(() -> petService.findPetsByStatus(status));
+    }
+
+    public CompletableFuture<ResponseEntity<Pet[]>> findPetsByStatus(final String status) {
+        return submit(() -> petService.findPetsByStatus(status));
+    }
+
+    public CompletableFuture<ResponseEntity<Pet>> addNewPetToStore(final Pet pet) {
+        return submit(() -> petService.addNewPetToStore(pet));
+    }
+
+    public CompletableFuture<ResponseEntity<Pet>> updateExistingPet(final Pet pet) {
+        return submit(() -> petService.updateExistingPet(pet));
+    }
+
+    public CompletableFuture<ResponseEntity<PetUpdateStatus>> deletePet(final long petId) {
+        return submit(() -> petService.deletePet(petId));
+    }
+
+    public CompletableFuture<ResponseEntity<PetUpdateStatus>> updatePetWithFormData(final long petId,
+                                                                                    final String name,
+                                                                                    final String status) {
+        return submit(() -> petService.updatePetWithFormData(petId, name, status));
+    }
+
+    public CompletableFuture<ResponseEntity<PetUpdateStatus>> uploadImageById(final long petId,
+                                                                              final String fileName) {
+        return submit(() -> petService.uploadImageById(petId, fileName));
+    }
+
+    public int inFlight() {
+        return executor.inFlight();
+    }
+
+    private <T> CompletableFuture<T> submit(final Supplier<T> call) {
+        return executor.submit(AllureTestCaseContext.propagate(call));
+    }
+}
@@ -0,0 +1,23 @@
+package com.zooplus.petstore.service;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one request of a batch. {@code statusCode} is {@code 0} when no response was received,
+ * {@code error} then holds the reason.
+ */
+@Value
+public class BatchItemResult<T> {
+
+    long petId;
+    int statusCode;
+    T body;
+    Duration latency;
+    String error;
+
+    public boolean isSuccessful() {
+        return error == null && statusCode >= 200 && statusCode < 300;
+    }
+}
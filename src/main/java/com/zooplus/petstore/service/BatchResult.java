@@ -0,0 +1,78 @@
+package com.zooplus.petstore.service;
+
+import com.zooplus.petstore.metrics.OperationStats;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+
+/**
+ * Per-item outcome of a {@link BulkPetService} call, in the order the items were given.
+ */
+@Getter
+public final class BatchResult<T> {
+
+    private final String operation;
+    private final List<BatchItemResult<T>> items;
+    private final Duration elapsed;
+
+    public BatchResult(final String operation, final List<BatchItemResult<T>> items, final Duration elapsed) {
+        this.operation = operation;
+        this.items = List.copyOf(items);
+        this.elapsed = elapsed;
+    }
+
+    public long getSucceeded() {
+        return items.stream().filter(BatchItemResult::isSuccessful).count();
+    }
+
+    public long getFailed() {
+        return items.size() - getSucceeded();
+    }
+
+    public boolean isAllSucceeded() {
+        return items.stream().allMatch(BatchItemResult::isSuccessful);
+    }
+
+    public List<BatchItemResult<T>> getFailures() {
+        return items.stream()
+                .filter(item -> !item.isSuccessful())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Bodies of the successful items.
+     */
+    public List<T> getBodies() {
+        return items.stream()
+                .filter(BatchItemResult::isSuccessful)
+                .map(BatchItemResult::getBody)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Number of items per response status, {@code 0} counting the items that got no response at all.
+     */
+    public Map<Integer, Long> getStatusCounts() {
+        return items.stream()
+                .collect(Collectors.groupingBy(BatchItemResult::getStatusCode, TreeMap::new, Collectors.counting()));
+    }
+
+    public OperationStats getLatencyStats() {
+        final var histogram = OperationStats.newHistogram();
+        items.forEach(item -> histogram.recordValue(
+                Math.min(item.getLatency().toNanos() / 1_000, histogram.getHighestTrackableValue())));
+        return new OperationStats(operation, histogram, getFailed(), elapsed);
+    }
+
+    @Override
+    public String toString() {
+        return format("%s: %d items in %d ms, %d succeeded, %d failed, statuses %s", operation, items.size(),
+                elapsed.toMillis(), getSucceeded(), getFailed(), getStatusCounts());
+    }
+}
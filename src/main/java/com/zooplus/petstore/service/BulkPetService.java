@@ -0,0 +1,88 @@
+package com.zooplus.petstore.service;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.zooplus.petstore.concurrent.BoundedExecutor;
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.model.PetUpdateStatus;
+import io.qameta.allure.Step;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+
+/**
+ * Batch counterpart of {@link PetService} for fixture setup and teardown.
+ * <p>
+ * Items are sent concurrently over the keep-alive pool, at most {@code petstore.bulk.parallelism} at a time across
+ * all batches. A batch always completes: every item gets its own {@link BatchItemResult}, failed ones included.
+ * Only the batch itself is reported as an Allure step. Its items go through {@link PetClient} on worker threads outside
+ * of the calling test case, so whatever {@code petstore.allure.mode} is, a batch of thousands of pets costs no
+ * attachment; the {@link BatchResult} reports every item instead.
+ */
+@Singleton
+public class BulkPetService {
+
+    private final PetClient petClient;
+    private final BoundedExecutor executor;
+
+    @Inject
+    public BulkPetService(final PetClient petClient) {
+        this.petClient = petClient;
+        this.executor = new BoundedExecutor(PetstoreExecutors.newRequestExecutor("petstore-bulk"),
+                PLATFORM_CONFIG.bulkParallelism());
+    }
+
+    @Step("Add new pets to the store in bulk")
+    public BatchResult<Pet> addNewPetsToStore(final Collection<Pet> pets) {
+        return execute("addNewPetsToStore", pets, Pet::getId, petClient::addNewPetToStore);
+    }
+
+    @Step("Update existing pets in bulk")
+    public BatchResult<Pet> updateExistingPets(final Collection<Pet> pets) {
+        return execute("updateExistingPets", pets, Pet::getId, petClient::updateExistingPet);
+    }
+
+    @Step("Delete pets in bulk")
+    public BatchResult<PetUpdateStatus> deletePets(final Collection<Long> petIds) {
+        return execute("deletePets", petIds, Long::longValue, petClient::deletePet);
+    }
+
+    @Step("Find pets by IDs in bulk")
+    public BatchResult<Pet> findPetsByIds(final Collection<Long> petIds) {
+        return execute("findPetsByIds", petIds, Long::longValue, petClient::findPetById);
+    }
+
+    private <I, T> BatchResult<T> execute(final String operation, final Collection<I> items,
+                                          final ToLongFunction<I> petIdOf,
+                                          final Function<I, ResponseEntity<T>> call) {
+        final var start = System.nanoTime();
+        final var futures = new ArrayList<CompletableFuture<BatchItemResult<T>>>(items.size());
+        items.forEach(item -> futures.add(executor.submit(() -> executeItem(item, petIdOf, call))));
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        final var results = new ArrayList<BatchItemResult<T>>(futures.size());
+        futures.forEach(future -> results.add(future.join()));
+        return new BatchResult<>(operation, results, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static <I, T> BatchItemResult<T> executeItem(final I item, final ToLongFunction<I> petIdOf,
+                                                         final Function<I, ResponseEntity<T>> call) {
+        final var petId = petIdOf.applyAsLong(item);
+        final var start = System.nanoTime();
+        try {
+            final var response = call.apply(item);
+            return new BatchItemResult<>(petId, response.getStatusCodeValue(), response.getBody(),
+                    Duration.ofNanos(System.nanoTime() - start), null);
+        } catch (RuntimeException exception) {
+            return new BatchItemResult<>(petId, 0, null, Duration.ofNanos(System.nanoTime() - start),
+                    exception.toString());
+        }
+    }
+}
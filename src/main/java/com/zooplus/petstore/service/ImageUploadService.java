@@ -0,0 +1,182 @@
+package com.zooplus.petstore.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.zooplus.petstore.concurrent.BoundedExecutor;
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import com.zooplus.petstore.configs.AllureTestCaseContext;
+import com.zooplus.petstore.configs.PooledClientHttpRequestFactory;
+import com.zooplus.petstore.configs.TrafficInterceptors;
+import com.zooplus.petstore.metrics.PetOperation;
+import com.zooplus.petstore.metrics.PetstoreMetrics;
+import com.zooplus.petstore.model.PetUpdateStatus;
+import com.zooplus.petstore.request.MultipartFileBody;
+import io.qameta.allure.Step;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static com.zooplus.petstore.request.PetEndpoints.UPLOAD_IMAGE;
+import static org.springframework.http.HttpMethod.POST;
+
+/**
+ * Uploads real image files, from thumbnails to hundreds of megabytes, to the {@code uploadImage} endpoint.
+ * <p>
+ * Requests go to the pooled transport past the {@code TestRestTemplate}, whose interceptors would collect the whole
+ * body into one array: the file is streamed from disk by {@link MultipartFileBody} with chunked transfer encoding.
+ * Only the {@link TrafficInterceptors} run on the way, so each upload holds a concurrency permit and goes to a
+ * balanced replica like any other request; uploads are neither logged nor attached to the Allure report. Concurrent
+ * uploads each hold their own pooled connection; {@link #uploadImageAsync} runs at most
+ * {@code petstore.upload.maxConcurrent} of them at a time. Uploads are recorded in {@link PetstoreMetrics}.
+ */
+@Slf4j
+@Singleton
+public class ImageUploadService {
+
+    private final PooledClientHttpRequestFactory requestFactory;
+    private final List<ClientHttpRequestInterceptor> interceptors;
+    private final ObjectReader statusReader;
+    private final PetstoreMetrics metrics;
+    private final BoundedExecutor executor;
+
+    @Inject
+    public ImageUploadService(final PooledClientHttpRequestFactory requestFactory, final TrafficInterceptors traffic,
+                              final ObjectMapper objectMapper, final PetstoreMetrics metrics) {
+        this.requestFactory = requestFactory;
+        this.interceptors = traffic.asList();
+        this.statusReader = objectMapper.readerFor(PetUpdateStatus.class);
+        this.metrics = metrics;
+        this.executor = new BoundedExecutor(PetstoreExecutors.newRequestExecutor("petstore-upload"),
+                PLATFORM_CONFIG.uploadMaxConcurrent());
+    }
+
+    @Step("Uploads an image file by Pet's ID")
+    public UploadResult uploadImage(final long petId, final Path file) {
+        try {
+            return upload(petId, file);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Reported as a step of the test case that started the upload.
+     */
+    public CompletableFuture<UploadResult> uploadImageAsync(final long petId, final Path file) {
+        return executor.submit(AllureTestCaseContext.propagate(() -> uploadImage(petId, file)));
+    }
+
+    private UploadResult upload(final long petId, final Path file) throws IOException {
+        final var body = new MultipartFileBody("file", file, PLATFORM_CONFIG.uploadChunkBytes());
+        final var request = new UploadRequest(UPLOAD_IMAGE.expand(petId));
+        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+        request.getHeaders().setContentType(body.getContentType());
+        final var execution = new StreamingExecution(body);
+        final int statusCode;
+        final MediaType contentType;
+        final byte[] responseBody;
+        try (var response = execution.execute(request, new byte[0])) {
+            statusCode = response.getRawStatusCode();
+            contentType = response.getHeaders().getContentType();
+            responseBody = response.getBody().readAllBytes();
+        } catch (IOException | RuntimeException exception) {
+            if (execution.start != 0) {
+                metrics.record(PetOperation.UPLOAD_IMAGE, 0, System.nanoTime() - execution.start, 0);
+            }
+            throw exception;
+        }
+        final var elapsedNanos = System.nanoTime() - execution.start;
+        metrics.record(PetOperation.UPLOAD_IMAGE, statusCode, elapsedNanos, responseBody.length);
+        final var result = new UploadResult(petId, file, body.getFileBytesWritten(), body.getBodyBytesWritten(),
+                Duration.ofNanos(elapsedNanos), statusCode, readStatus(statusCode, contentType, responseBody));
+        log.info("Uploaded {}", result);
+        return result;
+    }
+
+    /**
+     * Error pages, such as an HTML {@code 413} from a proxy, are no {@link PetUpdateStatus}: only successful JSON
+     * responses are read.
+     */
+    private PetUpdateStatus readStatus(final int statusCode, final MediaType contentType, final byte[] responseBody)
+            throws IOException {
+        if (statusCode < 200 || statusCode >= 300 || responseBody.length == 0) {
+            return null;
+        }
+        if (contentType != null && !MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return null;
+        }
+        return statusReader.readValue(responseBody);
+    }
+
+    /**
+     * Runs the upload through the traffic interceptors, then sends it with the file streamed as its body to the URI
+     * they left on the request. Times the exchange from there, so waiting for a permit is not part of it.
+     */
+    private final class StreamingExecution implements ClientHttpRequestExecution {
+
+        private final MultipartFileBody body;
+        private final Iterator<ClientHttpRequestInterceptor> remaining = interceptors.iterator();
+        private long start;
+
+        private StreamingExecution(final MultipartFileBody body) {
+            this.body = body;
+        }
+
+        @Override
+        public ClientHttpResponse execute(final HttpRequest request, final byte[] emptyBody) throws IOException {
+            if (remaining.hasNext()) {
+                return remaining.next().intercept(request, emptyBody, this);
+            }
+            final var streamed = requestFactory.createRequest(request.getURI(), POST);
+            if (!(streamed instanceof StreamingHttpOutputMessage)) {
+                throw new IllegalStateException("The pooled transport must not buffer request bodies");
+            }
+            streamed.getHeaders().putAll(request.getHeaders());
+            ((StreamingHttpOutputMessage) streamed).setBody(body);
+            start = System.nanoTime();
+            return streamed.execute();
+        }
+    }
+
+    private static final class UploadRequest implements HttpRequest {
+
+        private final URI uri;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private UploadRequest(final URI uri) {
+            this.uri = uri;
+        }
+
+        @Override
+        public String getMethodValue() {
+            return POST.name();
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.zooplus.petstore.service;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.zooplus.petstore.cleanup.PetRegistry;
+import com.zooplus.petstore.metrics.PetOperation;
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.model.PetUpdateStatus;
+import com.zooplus.petstore.model.Status;
+import com.zooplus.petstore.resilience.ResilientCalls;
+import com.zooplus.petstore.transport.PetstoreTransport;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+
+import static com.zooplus.petstore.request.PetEndpoints.ADD;
+import static com.zooplus.petstore.request.PetEndpoints.DELETE_BY_ID;
+import static com.zooplus.petstore.request.PetEndpoints.FIND_BY_ID;
+import static com.zooplus.petstore.request.PetEndpoints.FIND_BY_STATUS;
+import static com.zooplus.petstore.request.PetEndpoints.UPDATE;
+import static com.zooplus.petstore.request.PetEndpoints.UPDATE_WITH_FORM;
+import static com.zooplus.petstore.request.PetEndpoints.UPLOAD_IMAGE;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Petstore pet endpoints. Finds and deletes are idempotent and go through {@link ResilientCalls}: retried after
+ * transient failures, finds also hedged when enabled. Requests go out through the {@link PetstoreTransport} that
+ * {@code petstore.transport} selects. Pets added are kept in the {@link PetRegistry} until they are deleted, so
+ * the run can delete whatever its tests leave behind; pets it only updated are never deleted by the cleanup.
+ * <p>
+ * Calls are not reported as Allure steps: this is the petstore for code that makes many calls or runs outside of
+ * any test, such as load runs. Tests call the same endpoints as steps through {@link PetService}.
+ */
+@Singleton
+public class PetClient {
+
+    private final PetstoreTransport transport;
+    private final ResilientCalls resilientCalls;
+    private final PetRegistry registry;
+
+    @Inject
+    public PetClient(final PetstoreTransport transport, final ResilientCalls resilientCalls,
+                     final PetRegistry registry) {
+        this.transport = transport;
+        this.resilientCalls = resilientCalls;
+        this.registry = registry;
+    }
+
+    public ResponseEntity<Pet> findPetById(final long value) {
+        final var request = FIND_BY_ID.request(value);
+        return resilientCalls.retryAndHedge(PetOperation.FIND_BY_ID,
+                () -> transport.exchange(request, Pet.class));
+    }
+
+    public ResponseEntity<Pet[]> findPetsByStatus(final Status status) {
+        final var request = FIND_BY_STATUS.request(status.toString().toLowerCase());
+        return resilientCalls.retryAndHedge(PetOperation.FIND_BY_STATUS,
+                () -> transport.exchange(request, Pet[].class));
+    }
+
+    public ResponseEntity<Pet[]> findPetsByStatus(final String status) {
+        final var request = FIND_BY_STATUS.request(status);
+        return resilientCalls.retryAndHedge(PetOperation.FIND_BY_STATUS,
+                () -> transport.exchange(request, Pet[].class));
+    }
+
+    /**
+     * The pet itself is the body: on the Spring transport, {@code PetJsonHttpMessageConverter} writes it straight
+     * into the request stream.
+     */
+    public ResponseEntity<Pet> addNewPetToStore(final Pet pet) {
+        return registered(transport.exchange(ADD.requestWithBody(pet), Pet.class));
+    }
+
+    /**
+     * Sends an already rendered pet, such as a {@code PetCorpus} entry.
+     */
+    public ResponseEntity<Pet> addNewPetToStore(final byte[] petJson) {
+        return registered(transport.exchange(ADD.requestWithBody(petJson), Pet.class));
+    }
+
+    public ResponseEntity<Pet> updateExistingPet(final Pet pet) {
+        return transport.exchange(UPDATE.requestWithBody(pet), Pet.class);
+    }
+
+    /**
+     * Retried but not hedged: a duplicate delete racing the original would answer {@code 404}.
+     */
+    public ResponseEntity<PetUpdateStatus> deletePet(final long petId) {
+        final var request = DELETE_BY_ID.request(petId);
+        final var response = resilientCalls.retry(PetOperation.DELETE,
+                () -> transport.exchange(request, PetUpdateStatus.class));
+        if (response.getStatusCode().is2xxSuccessful() || response.getStatusCode() == NOT_FOUND) {
+            registry.unregister(petId);
+        }
+        return response;
+    }
+
+    public ResponseEntity<PetUpdateStatus> updatePetWithFormData(final long petId, final String name,
+                                                                 final String status) {
+        final var updatedParams = new LinkedMultiValueMap<>();
+        updatedParams.add("name", name);
+        updatedParams.add("status", status);
+        return transport.exchange(UPDATE_WITH_FORM.requestWithBody(updatedParams, petId),
+                PetUpdateStatus.class);
+    }
+
+    public ResponseEntity<PetUpdateStatus> uploadImageById(final long petId, final String fileName) {
+        final var body = new LinkedMultiValueMap<>();
+        body.add("file", fileName);
+        return transport.exchange(UPLOAD_IMAGE.requestWithBody(body, petId), PetUpdateStatus.class);
+    }
+
+    private ResponseEntity<Pet> registered(final ResponseEntity<Pet> response) {
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            registry.register(response.getBody().getId());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,100 @@
+package com.zooplus.petstore.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.zooplus.petstore.configs.PooledClientHttpRequestFactory;
+import com.zooplus.petstore.databind.JsonArrayIterator;
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.model.Status;
+import io.qameta.allure.Step;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.zooplus.petstore.request.PetEndpoints.FIND_BY_STATUS;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+/**
+ * Constant-memory counterpart of {@link PetService#findPetsByStatus}: pets are parsed lazily off the response while
+ * the returned stream is consumed, instead of into one {@code Pet[]}.
+ * <p>
+ * Requests go straight to the pooled transport, past the logging and Allure interceptors that would buffer the body.
+ * The body stream holds a pooled connection until it is closed, so use it in try-with-resources. Closing it before
+ * the end discards the rest of the response together with its connection rather than downloading it.
+ */
+@Slf4j
+@Singleton
+public class StreamingPetService {
+
+    private final PooledClientHttpRequestFactory requestFactory;
+    private final ObjectReader petReader;
+
+    @Inject
+    public StreamingPetService(final PooledClientHttpRequestFactory requestFactory, final ObjectMapper objectMapper) {
+        this.requestFactory = requestFactory;
+        this.petReader = objectMapper.readerFor(Pet.class);
+    }
+
+    @Step("Streams Pets by VALID Status")
+    public ResponseEntity<Stream<Pet>> findPetsByStatus(final Status status) {
+        return findPetsByStatus(status.toString().toLowerCase());
+    }
+
+    /**
+     * Non-2xx responses are released right away and carry an empty stream.
+     */
+    @Step("Streams Pets by ANY Status")
+    public ResponseEntity<Stream<Pet>> findPetsByStatus(final String status) {
+        try {
+            return stream(FIND_BY_STATUS.expand(status));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private ResponseEntity<Stream<Pet>> stream(final URI uri) throws IOException {
+        final var request = requestFactory.createRequest(uri, GET);
+        request.getHeaders().setAccept(List.of(APPLICATION_JSON));
+        final var response = request.execute();
+        log.debug("Streaming response [{}] of GET {}", response.getRawStatusCode(), uri);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            response.close();
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .headers(response.getHeaders())
+                    .body(Stream.empty());
+        }
+        try {
+            final var body = response.getBody();
+            final var pets = new JsonArrayIterator<Pet>(petReader, body);
+            final var stream = pets.stream().onClose(() -> release(response, body, pets.isExhausted()));
+            return ResponseEntity.ok()
+                    .headers(response.getHeaders())
+                    .body(stream);
+        } catch (IOException | RuntimeException exception) {
+            release(response, response.getBody(), false);
+            throw exception;
+        }
+    }
+
+    private static void release(final ClientHttpResponse response, final InputStream body, final boolean fullyRead) {
+        if (!fullyRead && body instanceof ConnectionReleaseTrigger) {
+            try {
+                ((ConnectionReleaseTrigger) body).abortConnection();
+            } catch (IOException exception) {
+                log.debug("Could not abort a partially read response", exception);
+            }
+        }
+        response.close();
+    }
+}
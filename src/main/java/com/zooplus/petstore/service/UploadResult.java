@@ -0,0 +1,42 @@
+package com.zooplus.petstore.service;
+
+import com.zooplus.petstore.model.PetUpdateStatus;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static java.lang.String.format;
+
+/**
+ * Outcome and transfer rate of one {@link ImageUploadService} upload.
+ */
+@Value
+public class UploadResult {
+
+    long petId;
+    Path file;
+    long fileBytes;
+    long requestBytes;
+    Duration elapsed;
+    int statusCode;
+    PetUpdateStatus body;
+
+    public boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    /**
+     * File bytes per second, from the start of the request until the response was read.
+     */
+    public double getBytesPerSecond() {
+        final var seconds = elapsed.toNanos() / 1e9;
+        return seconds == 0 ? 0 : fileBytes / seconds;
+    }
+
+    @Override
+    public String toString() {
+        return format("%s for pet %d -> %d: %d bytes in %.3f s (%.1f MB/s)", file.getFileName(), petId, statusCode,
+                fileBytes, elapsed.toNanos() / 1e9, getBytesPerSecond() / 1e6);
+    }
+}
@@ -0,0 +1,95 @@
+package com.zooplus.petstore.soak;
+
+import lombok.Value;
+
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Trend of one {@link ResourceMetric} over a soak run.
+ * <p>
+ * Garbage collection, connection reuse and thread pools make every resource oscillate, so single samples say
+ * little. The series is cut into {@value #WINDOWS} windows and only the lowest value of each is compared: a
+ * resource leaks when even its floor keeps rising, window after window, by more than the metric's minimum growth.
+ */
+@Value
+public class GrowthCheck {
+
+    static final int WINDOWS = 4;
+    static final int MIN_SAMPLES_PER_WINDOW = 2;
+
+    ResourceMetric metric;
+    /**
+     * Lowest value of each window, oldest first; empty when the check was inconclusive.
+     */
+    List<Long> windowMinima;
+    /**
+     * Least-squares slope of all samples.
+     */
+    double slopePerHour;
+    boolean growing;
+    /**
+     * {@code false} when there were too few samples or the JVM does not expose the metric.
+     */
+    boolean conclusive;
+
+    public static GrowthCheck of(final ResourceMetric metric, final List<ResourceSample> samples) {
+        final var size = samples.size();
+        final var values = new long[size];
+        for (var i = 0; i < size; i++) {
+            values[i] = metric.valueOf(samples.get(i));
+            if (values[i] < 0) {
+                return new GrowthCheck(metric, List.of(), 0, false, false);
+            }
+        }
+        if (size < WINDOWS * MIN_SAMPLES_PER_WINDOW) {
+            return new GrowthCheck(metric, List.of(), 0, false, false);
+        }
+        final var minima = new Long[WINDOWS];
+        var rising = true;
+        for (var window = 0; window < WINDOWS; window++) {
+            var minimum = Long.MAX_VALUE;
+            for (var i = window * size / WINDOWS; i < (window + 1) * size / WINDOWS; i++) {
+                minimum = Math.min(minimum, values[i]);
+            }
+            minima[window] = minimum;
+            rising &= window == 0 || minimum > minima[window - 1];
+        }
+        final var growth = minima[WINDOWS - 1] - minima[0];
+        return new GrowthCheck(metric, List.of(minima), slopePerHour(samples, values),
+                rising && growth >= metric.minGrowth(minima[0]), true);
+    }
+
+    private static double slopePerHour(final List<ResourceSample> samples, final long[] values) {
+        var meanHours = 0.0;
+        var meanValue = 0.0;
+        for (var i = 0; i < values.length; i++) {
+            meanHours += hours(samples.get(i));
+            meanValue += values[i];
+        }
+        meanHours /= values.length;
+        meanValue /= values.length;
+        var covariance = 0.0;
+        var variance = 0.0;
+        for (var i = 0; i < values.length; i++) {
+            final var deviation = hours(samples.get(i)) - meanHours;
+            covariance += deviation * (values[i] - meanValue);
+            variance += deviation * deviation;
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+
+    private static double hours(final ResourceSample sample) {
+        return sample.getElapsed().toMillis() / 3_600_000.0;
+    }
+
+    @Override
+    public String toString() {
+        if (!conclusive) {
+            return format("%s: inconclusive", metric);
+        }
+        return format("%s: %s window minima=%s slope=%.1f/h", metric, growing ? "GROWING" : "stable",
+                windowMinima, slopePerHour);
+    }
+}
@@ -0,0 +1,41 @@
+package com.zooplus.petstore.soak;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Resources a soak run watches for growth, each with the smallest growth worth flagging: {@code absolute} units
+ * or {@code relative} times the level after warm-up, whichever is larger.
+ */
+public enum ResourceMetric {
+
+    /**
+     * Falls back to plain heap usage on JVMs without post-collection usage figures.
+     */
+    HEAP_AFTER_GC(sample -> sample.getHeapAfterGcBytes() >= 0
+            ? sample.getHeapAfterGcBytes()
+            : sample.getHeapUsedBytes(), 4L << 20, 0.1),
+    THREADS(ResourceSample::getThreads, 2, 0.1),
+    OPEN_FILE_DESCRIPTORS(ResourceSample::getOpenFileDescriptors, 5, 0.1),
+    /**
+     * Connections handed out by the pool; responses that are never closed keep theirs forever.
+     */
+    POOL_LEASED(ResourceSample::getPoolLeased, 1, 0);
+
+    private final ToLongFunction<ResourceSample> value;
+    private final long absolute;
+    private final double relative;
+
+    ResourceMetric(final ToLongFunction<ResourceSample> value, final long absolute, final double relative) {
+        this.value = value;
+        this.absolute = absolute;
+        this.relative = relative;
+    }
+
+    public long valueOf(final ResourceSample sample) {
+        return value.applyAsLong(sample);
+    }
+
+    long minGrowth(final long baseline) {
+        return Math.max(absolute, (long) Math.ceil(baseline * relative));
+    }
+}
@@ -0,0 +1,46 @@
+package com.zooplus.petstore.soak;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * JVM and connection pool state at one point of a soak run. Values the JVM does not expose are {@code -1}.
+ */
+@Value
+public class ResourceSample {
+
+    static final String CSV_HEADER = "elapsedSeconds,heapUsedBytes,heapAfterGcBytes,heapCommittedBytes,"
+            + "gcCount,gcTimeMillis,threads,openFileDescriptors,poolLeased,poolAvailable,poolPending,poolMax";
+
+    Duration elapsed;
+    long heapUsedBytes;
+    /**
+     * Heap still in use right after the latest collection of each pool; unlike {@link #heapUsedBytes} it does not
+     * saw-tooth with allocation, so it is what grows when objects leak.
+     */
+    long heapAfterGcBytes;
+    long heapCommittedBytes;
+    /**
+     * Collections since JVM start, all collectors.
+     */
+    long gcCount;
+    /**
+     * Accumulated collection time since JVM start, all collectors.
+     */
+    long gcTimeMillis;
+    int threads;
+    long openFileDescriptors;
+    int poolLeased;
+    int poolAvailable;
+    int poolPending;
+    int poolMax;
+
+    String toCsv() {
+        return String.join(",", String.valueOf(elapsed.toSeconds()), String.valueOf(heapUsedBytes),
+                String.valueOf(heapAfterGcBytes), String.valueOf(heapCommittedBytes), String.valueOf(gcCount),
+                String.valueOf(gcTimeMillis), String.valueOf(threads), String.valueOf(openFileDescriptors),
+                String.valueOf(poolLeased), String.valueOf(poolAvailable), String.valueOf(poolPending),
+                String.valueOf(poolMax));
+    }
+}
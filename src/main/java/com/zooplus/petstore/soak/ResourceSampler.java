@@ -0,0 +1,58 @@
+package com.zooplus.petstore.soak;
+
+import com.google.inject.Inject;
+import com.zooplus.petstore.configs.PooledClientHttpRequestFactory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Duration;
+
+/**
+ * Reads heap, GC, thread and file descriptor figures from the platform MXBeans and the state of the shared
+ * connection pool.
+ */
+public class ResourceSampler {
+
+    private final PooledClientHttpRequestFactory requestFactory;
+
+    @Inject
+    public ResourceSampler(final PooledClientHttpRequestFactory requestFactory) {
+        this.requestFactory = requestFactory;
+    }
+
+    public ResourceSample sample(final Duration elapsed) {
+        final var heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        var gcCount = 0L;
+        var gcTimeMillis = 0L;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, collector.getCollectionCount());
+            gcTimeMillis += Math.max(0, collector.getCollectionTime());
+        }
+        final var pool = requestFactory.getPoolStats();
+        return new ResourceSample(elapsed, heap.getUsed(), heapAfterGc(), heap.getCommitted(), gcCount,
+                gcTimeMillis, ManagementFactory.getThreadMXBean().getThreadCount(), openFileDescriptors(),
+                pool.getLeased(), pool.getAvailable(), pool.getPending(), pool.getMax());
+    }
+
+    private static long heapAfterGc() {
+        var used = 0L;
+        var supported = false;
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            final var afterGc = memoryPool.getType() == MemoryType.HEAP ? memoryPool.getCollectionUsage() : null;
+            if (afterGc != null) {
+                used += afterGc.getUsed();
+                supported = true;
+            }
+        }
+        return supported ? used : -1;
+    }
+
+    private static long openFileDescriptors() {
+        final var operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+        return operatingSystem instanceof com.sun.management.UnixOperatingSystemMXBean
+                ? ((com.sun.management.UnixOperatingSystemMXBean) operatingSystem).getOpenFileDescriptorCount()
+                : -1;
+    }
+}
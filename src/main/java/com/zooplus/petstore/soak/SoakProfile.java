@@ -0,0 +1,47 @@
+package com.zooplus.petstore.soak;
+
+import com.zooplus.petstore.configs.PetstoreConfigs;
+import com.zooplus.petstore.load.LoadModel;
+import com.zooplus.petstore.load.LoadProfile;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+@Builder
+public class SoakProfile {
+
+    @Builder.Default
+    Duration duration = Duration.ofHours(1);
+    @Builder.Default
+    Duration sampleInterval = Duration.ofSeconds(10);
+    /**
+     * Samples taken before this much of the run has passed are reported but not checked for growth: pools,
+     * caches and JIT-compiled code fill up first.
+     */
+    @Builder.Default
+    Duration warmUp = Duration.ofMinutes(2);
+    /**
+     * Virtual users calling the petstore back to back.
+     */
+    @Builder.Default
+    int concurrency = 4;
+
+    public static SoakProfile fromConfig(final PetstoreConfigs configs) {
+        return SoakProfile.builder()
+                .duration(Duration.ofMinutes(configs.soakDurationMinutes()))
+                .sampleInterval(Duration.ofSeconds(configs.soakSampleIntervalSeconds()))
+                .warmUp(Duration.ofSeconds(configs.soakWarmUpSeconds()))
+                .concurrency(configs.soakConcurrency())
+                .build();
+    }
+
+    LoadProfile toLoadProfile() {
+        return LoadProfile.builder()
+                .model(LoadModel.CLOSED)
+                .concurrency(concurrency)
+                .steadyState(duration)
+                .build();
+    }
+}
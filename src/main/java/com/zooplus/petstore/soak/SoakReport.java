@@ -0,0 +1,63 @@
+package com.zooplus.petstore.soak;
+
+import com.zooplus.petstore.load.LoadReport;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.lang.System.lineSeparator;
+
+/**
+ * Result of a {@link SoakRunner} run: the resource time series, its growth checks and the load statistics.
+ */
+@Value
+public class SoakReport {
+
+    SoakProfile profile;
+    List<ResourceSample> samples;
+    List<GrowthCheck> checks;
+    LoadReport load;
+
+    static SoakReport of(final SoakProfile profile, final List<ResourceSample> samples, final LoadReport load) {
+        final var checked = samples.stream()
+                .filter(sample -> sample.getElapsed().compareTo(profile.getWarmUp()) >= 0)
+                .collect(Collectors.toList());
+        final var checks = new ArrayList<GrowthCheck>();
+        for (ResourceMetric metric : ResourceMetric.values()) {
+            checks.add(GrowthCheck.of(metric, checked));
+        }
+        return new SoakReport(profile, List.copyOf(samples), List.copyOf(checks), load);
+    }
+
+    public boolean hasGrowth() {
+        return checks.stream().anyMatch(GrowthCheck::isGrowing);
+    }
+
+    public List<GrowthCheck> getGrowing() {
+        return checks.stream().filter(GrowthCheck::isGrowing).collect(Collectors.toList());
+    }
+
+    public String toCsv() {
+        final var csv = new StringBuilder(ResourceSample.CSV_HEADER).append('\n');
+        samples.forEach(sample -> csv.append(sample.toCsv()).append('\n'));
+        return csv.toString();
+    }
+
+    public String format() {
+        final var report = new StringBuilder()
+                .append(String.format("Soak run %s: %d samples, %s", profile, samples.size(),
+                        hasGrowth() ? "resource growth detected" : "no resource growth"))
+                .append(lineSeparator());
+        if (samples.size() > 1) {
+            final var first = samples.get(0);
+            final var last = samples.get(samples.size() - 1);
+            final var minutes = Math.max(1, last.getElapsed().minus(first.getElapsed()).toSeconds()) / 60.0;
+            report.append(String.format("  GC: %d collections, %.1f ms/min", last.getGcCount() - first.getGcCount(),
+                    (last.getGcTimeMillis() - first.getGcTimeMillis()) / minutes)).append(lineSeparator());
+        }
+        checks.forEach(check -> report.append("  ").append(check).append(lineSeparator()));
+        return report.append(load.format()).toString();
+    }
+}
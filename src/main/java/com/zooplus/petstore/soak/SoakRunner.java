@@ -0,0 +1,61 @@
+package com.zooplus.petstore.soak;
+
+import com.google.inject.Inject;
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import com.zooplus.petstore.load.LoadOperation;
+import com.zooplus.petstore.load.LoadReport;
+import com.zooplus.petstore.load.LoadRunner;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Keeps {@link LoadRunner} calling the petstore with a fixed number of virtual users for a whole
+ * {@link SoakProfile#getDuration()}, sampling JVM and connection pool resources alongside.
+ */
+@Slf4j
+public class SoakRunner {
+
+    private final LoadRunner loadRunner;
+    private final ResourceSampler sampler;
+
+    @Inject
+    public SoakRunner(final LoadRunner loadRunner, final ResourceSampler sampler) {
+        this.loadRunner = loadRunner;
+        this.sampler = sampler;
+    }
+
+    public SoakReport run(final SoakProfile profile, final List<LoadOperation> operations) {
+        final var samples = Collections.synchronizedList(new ArrayList<ResourceSample>());
+        final var scheduler = Executors.newSingleThreadScheduledExecutor(
+                PetstoreExecutors.daemonThreadFactory("petstore-soak"));
+        final var startNanos = System.nanoTime();
+        scheduler.scheduleAtFixedRate(() -> {
+            final var sample = sampler.sample(Duration.ofNanos(System.nanoTime() - startNanos));
+            samples.add(sample);
+            log.debug("Soak sample {}", sample);
+        }, 0, profile.getSampleInterval().toMillis(), MILLISECONDS);
+        final LoadReport load;
+        try {
+            load = loadRunner.run(profile.toLoadProfile(), operations);
+        } finally {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(1, SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        samples.add(sampler.sample(Duration.ofNanos(System.nanoTime() - startNanos)));
+        final var report = SoakReport.of(profile, samples, load);
+        log.info(report.format());
+        return report;
+    }
+}
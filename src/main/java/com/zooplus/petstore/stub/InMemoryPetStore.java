@@ -0,0 +1,121 @@
+package com.zooplus.petstore.stub;
+
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.model.Status;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent pet storage with a secondary index by {@link Status}.
+ * <p>
+ * Pets are kept together with their serialized JSON, so reads never serialize again. Index entries are changed
+ * inside the per-key atomic map operations, so a pet is never indexed under two statuses at once.
+ */
+public final class InMemoryPetStore {
+
+    private final ConcurrentHashMap<Long, StoredPet> pets = new ConcurrentHashMap<>();
+    private final Map<Status, Set<Long>> idsByStatus = new EnumMap<>(Status.class);
+
+    public InMemoryPetStore() {
+        for (final var status : Status.values()) {
+            idsByStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * @return {@code false} if a pet with the same ID already exists
+     */
+    public boolean add(final Pet pet, final byte[] json) {
+        final var added = new boolean[1];
+        pets.computeIfAbsent(pet.getId(), id -> {
+            added[0] = true;
+            index(pet.getStatus(), id);
+            return new StoredPet(pet, json);
+        });
+        return added[0];
+    }
+
+    /**
+     * @return {@code false} if there is no pet with this ID
+     */
+    public boolean replace(final Pet pet, final byte[] json) {
+        return pets.computeIfPresent(pet.getId(), (id, existing) -> {
+            unindex(existing.pet.getStatus(), id);
+            index(pet.getStatus(), id);
+            return new StoredPet(pet, json);
+        }) != null;
+    }
+
+    /**
+     * @return {@code false} if there is no pet with this ID
+     */
+    public boolean delete(final long petId) {
+        final var removed = new boolean[1];
+        pets.computeIfPresent(petId, (id, existing) -> {
+            removed[0] = true;
+            unindex(existing.pet.getStatus(), id);
+            return null;
+        });
+        return removed[0];
+    }
+
+    public Optional<Pet> find(final long petId) {
+        return Optional.ofNullable(pets.get(petId)).map(stored -> stored.pet);
+    }
+
+    public Optional<byte[]> findJson(final long petId) {
+        return Optional.ofNullable(pets.get(petId)).map(stored -> stored.json);
+    }
+
+    /**
+     * Visits the serialized pets currently indexed under {@code status}, without scanning other pets.
+     */
+    public void forEachJsonWithStatus(final Status status, final Consumer<byte[]> consumer) {
+        for (final var id : idsByStatus.get(status)) {
+            final var stored = pets.get(id);
+            if (stored != null && stored.pet.getStatus() == status) {
+                consumer.accept(stored.json);
+            }
+        }
+    }
+
+    public int size() {
+        return pets.size();
+    }
+
+    public int countWithStatus(final Status status) {
+        return idsByStatus.get(status).size();
+    }
+
+    public void clear() {
+        pets.keySet().forEach(this::delete);
+    }
+
+    private void index(final Status status, final long petId) {
+        if (status != null) {
+            idsByStatus.get(status).add(petId);
+        }
+    }
+
+    private void unindex(final Status status, final long petId) {
+        if (status != null) {
+            idsByStatus.get(status).remove(petId);
+        }
+    }
+
+    private static final class StoredPet {
+
+        private final Pet pet;
+        private final byte[] json;
+
+        private StoredPet(final Pet pet, final byte[] json) {
+            this.pet = pet;
+            this.json = json;
+        }
+    }
+}
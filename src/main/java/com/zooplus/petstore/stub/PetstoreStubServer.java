@@ -0,0 +1,365 @@
+package com.zooplus.petstore.stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import com.zooplus.petstore.data.PetDataProvider;
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.model.Status;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static java.net.HttpURLConnection.HTTP_BAD_METHOD;
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Embedded stand-in for the {@code /pet} endpoints of the Swagger petstore, backed by an {@link InMemoryPetStore}.
+ * <p>
+ * Status codes follow what the functional suite expects from the public petstore: IDs outside
+ * {@code [0, Integer.MAX_VALUE]} are rejected, duplicates and pets without photo URLs are not created, and
+ * statuses must be lower case. Start it with {@code gradle petstoreStub} and point {@code petstore.baseUrl} at it.
+ */
+@Slf4j
+public final class PetstoreStubServer implements Closeable {
+
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final long MAX_VALID_ID = Integer.MAX_VALUE;
+    private static final String APPLICATION_JSON = "application/json";
+
+    static {
+        // Without TCP_NODELAY delayed ACKs add ~40 ms to every keep-alive exchange
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final InMemoryPetStore store;
+    private final String petEndpoint;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectReader petReader = objectMapper.readerFor(Pet.class);
+    private final ObjectWriter petWriter = objectMapper.writerFor(Pet.class);
+
+    private PetstoreStubServer(final int port, final String petEndpoint, final InMemoryPetStore store)
+            throws IOException {
+        this.store = store;
+        this.petEndpoint = petEndpoint;
+        this.executor = PetstoreExecutors.newRequestExecutor("petstore-stub");
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        server.setExecutor(executor);
+        server.createContext(petEndpoint, this::handle);
+        server.start();
+    }
+
+    /**
+     * @param port {@code 0} picks a free port, see {@link #getBaseUrl()}
+     */
+    public static PetstoreStubServer start(final int port) throws IOException {
+        return start(port, new InMemoryPetStore());
+    }
+
+    public static PetstoreStubServer start(final int port, final InMemoryPetStore store) throws IOException {
+        return new PetstoreStubServer(port, PLATFORM_CONFIG.petEndpoint(), store);
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final var port = args.length > 0 ? Integer.parseInt(args[0]) : PLATFORM_CONFIG.stubPort();
+        final var stubServer = start(port);
+        stubServer.seed(PLATFORM_CONFIG.stubSeedPets());
+        Runtime.getRuntime().addShutdownHook(new Thread(stubServer::close));
+        log.info("Petstore stub listening, run the suite with -Dpetstore.baseUrl={}", stubServer.getBaseUrl());
+    }
+
+    /**
+     * Adds random available pets, like the ones other users leave behind on the public petstore.
+     */
+    public void seed(final int numberOfPets) throws JsonProcessingException {
+        for (var i = 0; i < numberOfPets; i++) {
+            final var pet = PetDataProvider.getValidPetData();
+            store.add(pet, petWriter.writeValueAsBytes(pet));
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + getPort();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public InMemoryPetStore getStore() {
+        return store;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            route(exchange);
+        } catch (JsonProcessingException exception) {
+            sendError(exchange, HTTP_BAD_METHOD, "Invalid input");
+        } catch (RuntimeException exception) {
+            log.warn("Petstore stub failed on {} {}", exchange.getRequestMethod(), exchange.getRequestURI(),
+                    exception);
+            sendError(exchange, 500, "Something bad happened");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(final HttpExchange exchange) throws IOException {
+        final var path = exchange.getRequestURI().getRawPath().substring(petEndpoint.length());
+        final var method = exchange.getRequestMethod();
+        if (path.isEmpty() || "/".equals(path)) {
+            if ("POST".equals(method)) {
+                addPet(exchange);
+            } else if ("PUT".equals(method)) {
+                updatePet(exchange);
+            } else {
+                sendError(exchange, HTTP_BAD_METHOD, "Method not allowed");
+            }
+            return;
+        }
+        if ("/findByStatus".equals(path) && "GET".equals(method)) {
+            findByStatus(exchange);
+            return;
+        }
+        final var segments = path.substring(1).split("/");
+        final var petId = parseId(segments[0]);
+        if (petId.isEmpty() || !isValidId(petId.get())) {
+            sendError(exchange, "DELETE".equals(method) ? HTTP_NOT_FOUND : HTTP_BAD_REQUEST, "Invalid ID supplied");
+        } else if (segments.length == 1 && "GET".equals(method)) {
+            findById(exchange, petId.get());
+        } else if (segments.length == 1 && "DELETE".equals(method)) {
+            deletePet(exchange, petId.get());
+        } else if (segments.length == 1 && "POST".equals(method)) {
+            updateWithForm(exchange, petId.get());
+        } else if (segments.length == 2 && "uploadImage".equals(segments[1]) && "POST".equals(method)) {
+            uploadImage(exchange, petId.get());
+        } else {
+            sendError(exchange, HTTP_NOT_FOUND, "Unknown endpoint");
+        }
+    }
+
+    private void addPet(final HttpExchange exchange) throws IOException {
+        final var pet = readPet(exchange);
+        final var json = petWriter.writeValueAsBytes(pet);
+        if (!isValidId(pet.getId()) || !hasRequiredFields(pet) || !store.add(pet, json)) {
+            sendError(exchange, HTTP_BAD_METHOD, "Invalid input");
+            return;
+        }
+        sendJson(exchange, HTTP_OK, json);
+    }
+
+    private void updatePet(final HttpExchange exchange) throws IOException {
+        final var pet = readPet(exchange);
+        if (!isValidId(pet.getId())) {
+            sendError(exchange, HTTP_BAD_REQUEST, "Invalid ID supplied");
+        } else if (!hasRequiredFields(pet)) {
+            sendError(exchange, HTTP_BAD_METHOD, "Validation exception");
+        } else {
+            final var json = petWriter.writeValueAsBytes(pet);
+            if (store.replace(pet, json)) {
+                sendJson(exchange, HTTP_OK, json);
+            } else {
+                sendError(exchange, HTTP_NOT_FOUND, "Pet not found");
+            }
+        }
+    }
+
+    private void findById(final HttpExchange exchange, final long petId) throws IOException {
+        final var json = store.findJson(petId);
+        if (json.isPresent()) {
+            sendJson(exchange, HTTP_OK, json.get());
+        } else {
+            sendError(exchange, HTTP_NOT_FOUND, "Pet not found");
+        }
+    }
+
+    private void findByStatus(final HttpExchange exchange) throws IOException {
+        final var statuses = new ArrayList<Status>();
+        for (final var value : queryParameters(exchange.getRequestURI().getRawQuery()).getOrDefault("status",
+                List.of())) {
+            for (final var name : value.split(",")) {
+                final var status = parseStatus(name);
+                if (status.isEmpty()) {
+                    sendEmpty(exchange, HTTP_BAD_REQUEST);
+                    return;
+                }
+                statuses.add(status.get());
+            }
+        }
+        if (statuses.isEmpty()) {
+            sendEmpty(exchange, HTTP_BAD_REQUEST);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", APPLICATION_JSON);
+        exchange.sendResponseHeaders(HTTP_OK, 0);
+        try (var body = new BufferedOutputStream(exchange.getResponseBody(), 64 * 1024)) {
+            final var first = new boolean[]{true};
+            body.write('[');
+            statuses.stream().distinct().forEach(status -> store.forEachJsonWithStatus(status, json -> {
+                try {
+                    if (!first[0]) {
+                        body.write(',');
+                    }
+                    first[0] = false;
+                    body.write(json);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            }));
+            body.write(']');
+        }
+    }
+
+    private void deletePet(final HttpExchange exchange, final long petId) throws IOException {
+        if (store.delete(petId)) {
+            sendStatus(exchange, petId);
+        } else {
+            sendError(exchange, HTTP_NOT_FOUND, "Pet not found");
+        }
+    }
+
+    private void updateWithForm(final HttpExchange exchange, final long petId) throws IOException {
+        final var form = queryParameters(new String(exchange.getRequestBody().readAllBytes(), UTF_8));
+        final var existing = store.find(petId);
+        if (existing.isEmpty()) {
+            sendError(exchange, HTTP_NOT_FOUND, "Pet not found");
+            return;
+        }
+        final var pet = existing.get();
+        final var name = form.containsKey("name") ? form.get("name").get(0) : pet.getName();
+        Status status = pet.getStatus();
+        if (form.containsKey("status")) {
+            final var requestedStatus = parseStatus(form.get("status").get(0));
+            if (requestedStatus.isEmpty()) {
+                sendError(exchange, HTTP_BAD_METHOD, "Invalid input");
+                return;
+            }
+            status = requestedStatus.get();
+        }
+        final var updated = new Pet(petId, pet.getCategory(), name, pet.getPhotoUrls(), pet.getTags(), status);
+        if (store.replace(updated, petWriter.writeValueAsBytes(updated))) {
+            sendStatus(exchange, petId);
+        } else {
+            sendError(exchange, HTTP_NOT_FOUND, "Pet not found");
+        }
+    }
+
+    private void uploadImage(final HttpExchange exchange, final long petId) throws IOException {
+        // The image itself is not kept, but it is read in full so uploads cost what they would on the wire
+        exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+        if (store.find(petId).isPresent()) {
+            sendStatus(exchange, petId);
+        } else {
+            sendError(exchange, HTTP_NOT_FOUND, "Pet not found");
+        }
+    }
+
+    /**
+     * Also accepts a pet encoded as a JSON string literal, which the public petstore tolerates as well.
+     */
+    private Pet readPet(final HttpExchange exchange) throws IOException {
+        final var body = objectMapper.readTree(exchange.getRequestBody().readAllBytes());
+        return body.isTextual() ? petReader.readValue(body.textValue()) : petReader.readValue(body);
+    }
+
+    private void sendStatus(final HttpExchange exchange, final long petId) throws IOException {
+        sendJson(exchange, HTTP_OK, apiResponse(HTTP_OK, "unknown", String.valueOf(petId)));
+    }
+
+    private void sendError(final HttpExchange exchange, final int code, final String message) throws IOException {
+        sendJson(exchange, code, apiResponse(code, "error", message));
+    }
+
+    private byte[] apiResponse(final int code, final String type, final String message)
+            throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(objectMapper.createObjectNode()
+                .put("code", code)
+                .put("type", type)
+                .put("message", message));
+    }
+
+    private static void sendJson(final HttpExchange exchange, final int code, final byte[] json)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", APPLICATION_JSON);
+        exchange.sendResponseHeaders(code, json.length);
+        exchange.getResponseBody().write(json);
+    }
+
+    /**
+     * Error responses of array endpoints carry no body, clients would fail to read an error object as an array.
+     * An empty chunked body is sent instead of {@code -1}, which makes the JDK server reset a kept-alive connection.
+     */
+    private static void sendEmpty(final HttpExchange exchange, final int code) throws IOException {
+        exchange.sendResponseHeaders(code, 0);
+    }
+
+    private static Optional<Long> parseId(final String value) {
+        try {
+            return Optional.of(Long.parseLong(value));
+        } catch (NumberFormatException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isValidId(final long petId) {
+        return petId >= 0 && petId <= MAX_VALID_ID;
+    }
+
+    private static boolean hasRequiredFields(final Pet pet) {
+        return pet.getPhotoUrls() != null && !pet.getPhotoUrls().isEmpty();
+    }
+
+    private static Optional<Status> parseStatus(final String value) {
+        return Arrays.stream(Status.values())
+                .filter(status -> status.name().toLowerCase(Locale.ROOT).equals(value))
+                .findFirst();
+    }
+
+    private static Map<String, List<String>> queryParameters(final String query) {
+        final var parameters = new HashMap<String, List<String>>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (final var pair : query.split("&")) {
+            final var separator = pair.indexOf('=');
+            final var name = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator), UTF_8);
+            final var value = separator < 0 ? "" : URLDecoder.decode(pair.substring(separator + 1), UTF_8);
+            parameters.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+        return parameters;
+    }
+}
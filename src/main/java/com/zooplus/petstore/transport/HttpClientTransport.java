@@ -0,0 +1,268 @@
+package com.zooplus.petstore.transport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import com.zooplus.petstore.configs.PetstoreConfigs;
+import com.zooplus.petstore.configs.ResponseTimingInterceptor;
+import com.zooplus.petstore.metrics.PetOperation;
+import com.zooplus.petstore.metrics.PetstoreMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * {@link PetstoreTransport} on one shared JDK {@link HttpClient}, for jobs that should not pay for Spring Boot's
+ * client setup before their first request.
+ * <p>
+ * The client negotiates HTTP/2 when {@code petstore.transport.httpVersion} asks for it and the petstore supports
+ * it, multiplexing concurrent exchanges over one connection per host; it falls back to HTTP/1.1 otherwise.
+ * {@link #exchangeAsync} sends without blocking a thread. Bodies are written and read with Jackson: pets, forms
+ * and multipart forms of plain values as {@code PetService} sends them, and {@code byte[]} as it is. Exchanges are
+ * recorded in {@link PetstoreMetrics} and stamped with their response time; the other interceptors of the Spring
+ * path (logging, Allure attachments, limits, capture, balancing) do not apply.
+ */
+public class HttpClientTransport implements PetstoreTransport {
+
+    private static final String CRLF = "\r\n";
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+    private final PetstoreMetrics metrics;
+    private final String petEndpoint;
+
+    /**
+     * @param metrics where exchanges are recorded, {@code null} for nowhere
+     */
+    public HttpClientTransport(final HttpClient client, final ObjectMapper objectMapper, final Duration requestTimeout,
+                               final PetstoreMetrics metrics, final String petEndpoint) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+        this.metrics = metrics;
+        this.petEndpoint = petEndpoint;
+    }
+
+    public static HttpClientTransport fromConfig(final PetstoreConfigs configs, final ObjectMapper objectMapper,
+                                                 final PetstoreMetrics metrics) {
+        final var client = HttpClient.newBuilder()
+                .version(configs.transportHttpVersion())
+                .connectTimeout(Duration.ofMillis(configs.httpConnectTimeoutMillis()))
+                .executor(PetstoreExecutors.newRequestExecutor("petstore-http-client"))
+                .build();
+        return new HttpClientTransport(client, objectMapper, Duration.ofMillis(configs.httpReadTimeoutMillis()),
+                configs.metricsEnabled() ? metrics : null, configs.petEndpoint());
+    }
+
+    public HttpClient getClient() {
+        return client;
+    }
+
+    @Override
+    public <T> ResponseEntity<T> exchange(final RequestEntity<?> request, final Class<T> responseType) {
+        final var httpRequest = httpRequest(request);
+        final var bodyHandler = new TimedBodyHandler();
+        final HttpResponse<byte[]> response;
+        try {
+            response = client.send(httpRequest, bodyHandler);
+        } catch (IOException exception) {
+            failed(request, bodyHandler);
+            throw ioError(request, exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            failed(request, bodyHandler);
+            throw new IllegalStateException("Interrupted while sending " + request.getMethod() + " "
+                    + request.getUrl(), exception);
+        }
+        return toEntity(request, response, bodyHandler.latencyNanos(), responseType);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> exchangeAsync(final RequestEntity<?> request,
+                                                                final Class<T> responseType) {
+        final HttpRequest httpRequest;
+        try {
+            httpRequest = httpRequest(request);
+        } catch (RuntimeException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+        final var bodyHandler = new TimedBodyHandler();
+        return client.sendAsync(httpRequest, bodyHandler).handle((response, failure) -> {
+            if (failure == null) {
+                return toEntity(request, response, bodyHandler.latencyNanos(), responseType);
+            }
+            failed(request, bodyHandler);
+            final var cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause()
+                    : failure;
+            if (cause instanceof IOException) {
+                throw ioError(request, (IOException) cause);
+            }
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+        });
+    }
+
+    private HttpRequest httpRequest(final RequestEntity<?> request) {
+        final var builder = HttpRequest.newBuilder(request.getUrl()).timeout(requestTimeout);
+        final var headers = request.getHeaders();
+        var contentType = headers.getContentType();
+        final HttpRequest.BodyPublisher body;
+        final var entityBody = request.getBody();
+        if (entityBody == null) {
+            body = HttpRequest.BodyPublishers.noBody();
+        } else if (entityBody instanceof byte[]) {
+            body = HttpRequest.BodyPublishers.ofByteArray((byte[]) entityBody);
+        } else if (entityBody instanceof MultiValueMap && MediaType.MULTIPART_FORM_DATA.includes(contentType)) {
+            final var random = ThreadLocalRandom.current();
+            final var boundary = "petstore-" + Long.toHexString(random.nextLong())
+                    + Long.toHexString(random.nextLong());
+            contentType = new MediaType(MediaType.MULTIPART_FORM_DATA, Map.of("boundary", boundary));
+            body = HttpRequest.BodyPublishers.ofByteArray(multipart((MultiValueMap<?, ?>) entityBody, boundary));
+        } else if (entityBody instanceof MultiValueMap) {
+            body = HttpRequest.BodyPublishers.ofString(form((MultiValueMap<?, ?>) entityBody));
+        } else {
+            body = HttpRequest.BodyPublishers.ofByteArray(json(entityBody));
+        }
+        headers.forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        if (contentType != null) {
+            builder.header(HttpHeaders.CONTENT_TYPE, contentType.toString());
+        }
+        if (headers.getAccept().isEmpty()) {
+            builder.header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        }
+        return builder.method(request.getMethod().name(), body).build();
+    }
+
+    private byte[] json(final Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException exception) {
+            throw new HttpMessageNotWritableException("Could not write " + body.getClass().getSimpleName() + ": "
+                    + exception.getOriginalMessage(), exception);
+        }
+    }
+
+    private static String form(final MultiValueMap<?, ?> fields) {
+        final var form = new StringBuilder();
+        fields.forEach((name, values) -> values.forEach(value -> {
+            if (form.length() > 0) {
+                form.append('&');
+            }
+            form.append(URLEncoder.encode(String.valueOf(name), UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(String.valueOf(value), UTF_8));
+        }));
+        return form.toString();
+    }
+
+    /**
+     * Plain values as text parts, as {@code FormHttpMessageConverter} writes them.
+     */
+    private static byte[] multipart(final MultiValueMap<?, ?> parts, final String boundary) {
+        final var body = new ByteArrayOutputStream();
+        parts.forEach((name, values) -> values.forEach(value -> body.writeBytes(("--" + boundary + CRLF
+                + "Content-Disposition: form-data; name=\"" + name + "\"" + CRLF
+                + "Content-Type: text/plain;charset=UTF-8" + CRLF
+                + CRLF
+                + value + CRLF).getBytes(UTF_8))));
+        body.writeBytes(("--" + boundary + "--" + CRLF).getBytes(UTF_8));
+        return body.toByteArray();
+    }
+
+    private <T> ResponseEntity<T> toEntity(final RequestEntity<?> request, final HttpResponse<byte[]> response,
+                                           final long latencyNanos, final Class<T> responseType) {
+        final var bytes = response.body();
+        if (metrics != null) {
+            metrics.record(operation(request), response.statusCode(), latencyNanos, bytes.length);
+        }
+        final var headers = new HttpHeaders();
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                headers.addAll(name, values);
+            }
+        });
+        headers.set(ResponseTimingInterceptor.RESPONSE_TIME_HEADER, Long.toString(latencyNanos / 1_000));
+        return ResponseEntity.status(response.statusCode())
+                .headers(headers)
+                .body(read(request, response.statusCode(), bytes, responseType));
+    }
+
+    private <T> T read(final RequestEntity<?> request, final int statusCode, final byte[] bytes,
+                       final Class<T> responseType) {
+        if (bytes.length == 0 || responseType == Void.class) {
+            return null;
+        }
+        if (responseType == byte[].class) {
+            return responseType.cast(bytes);
+        }
+        if (responseType == String.class) {
+            return responseType.cast(new String(bytes, UTF_8));
+        }
+        try {
+            return objectMapper.readValue(bytes, responseType);
+        } catch (IOException exception) {
+            throw new RestClientException("Could not read " + responseType.getSimpleName() + " from the "
+                    + statusCode + " response of " + request.getMethod() + " " + request.getUrl(), exception);
+        }
+    }
+
+    private void failed(final RequestEntity<?> request, final TimedBodyHandler bodyHandler) {
+        if (metrics != null) {
+            metrics.record(operation(request), 0, bodyHandler.latencyNanos(), 0);
+        }
+    }
+
+    private PetOperation operation(final RequestEntity<?> request) {
+        return PetOperation.of(request.getMethod().name(), request.getUrl().getPath(), petEndpoint);
+    }
+
+    private static ResourceAccessException ioError(final RequestEntity<?> request, final IOException exception) {
+        return new ResourceAccessException("I/O error on " + request.getMethod() + " request for \""
+                + request.getUrl() + "\": " + exception.getMessage(), exception);
+    }
+
+    /**
+     * Notes when the response headers arrived, so the latency matches the Spring path's: up to the headers, not
+     * the end of the body.
+     */
+    private static final class TimedBodyHandler implements HttpResponse.BodyHandler<byte[]> {
+
+        private final long start = System.nanoTime();
+        private volatile long headersNanos;
+
+        @Override
+        public HttpResponse.BodySubscriber<byte[]> apply(final HttpResponse.ResponseInfo responseInfo) {
+            headersNanos = System.nanoTime();
+            return HttpResponse.BodySubscribers.ofByteArray();
+        }
+
+        long latencyNanos() {
+            final var headers = headersNanos;
+            return (headers == 0 ? System.nanoTime() : headers) - start;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.zooplus.petstore.transport;
+
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends petstore requests and maps their responses, under {@code PetService}.
+ * <p>
+ * As with {@code TestRestTemplate}, error statuses come back as responses rather than exceptions. I/O failures are
+ * thrown as {@link org.springframework.web.client.ResourceAccessException}, which {@code ResilientCalls} retries.
+ * The {@link org.springframework.http.HttpHeaders} of a response carry its time to the response headers, see
+ * {@code ResponseTimingInterceptor}.
+ */
+public interface PetstoreTransport {
+
+    <T> ResponseEntity<T> exchange(RequestEntity<?> request, Class<T> responseType);
+
+    /**
+     * Completes with the response, or exceptionally with what {@link #exchange} would have thrown.
+     */
+    <T> CompletableFuture<ResponseEntity<T>> exchangeAsync(RequestEntity<?> request, Class<T> responseType);
+}
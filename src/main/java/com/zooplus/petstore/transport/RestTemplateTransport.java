@@ -0,0 +1,39 @@
+package com.zooplus.petstore.transport;
+
+import com.zooplus.petstore.concurrent.PetstoreExecutors;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * {@link PetstoreTransport} on the shared {@code TestRestTemplate}. {@code RestTemplate} only blocks, so
+ * asynchronous exchanges take a thread each.
+ */
+public class RestTemplateTransport implements PetstoreTransport {
+
+    private final TestRestTemplate testRestTemplate;
+    private final ExecutorService executor;
+
+    public RestTemplateTransport(final TestRestTemplate testRestTemplate) {
+        this(testRestTemplate, PetstoreExecutors.newRequestExecutor("petstore-transport"));
+    }
+
+    public RestTemplateTransport(final TestRestTemplate testRestTemplate, final ExecutorService executor) {
+        this.testRestTemplate = testRestTemplate;
+        this.executor = executor;
+    }
+
+    @Override
+    public <T> ResponseEntity<T> exchange(final RequestEntity<?> request, final Class<T> responseType) {
+        return testRestTemplate.exchange(request, responseType);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> exchangeAsync(final RequestEntity<?> request,
+                                                                final Class<T> responseType) {
+        return CompletableFuture.supplyAsync(() -> exchange(request, responseType), executor);
+    }
+}
@@ -0,0 +1,16 @@
+package com.zooplus.petstore.transport;
+
+/**
+ * The {@link PetstoreTransport} behind {@code PetService}.
+ */
+public enum TransportType {
+
+    /**
+     * {@code TestRestTemplate} over the pooled Apache client, with every interceptor the configuration enables.
+     */
+    SPRING,
+    /**
+     * One shared JDK {@code HttpClient}, HTTP/2 when the petstore speaks it; quick to start, metrics only.
+     */
+    HTTP_CLIENT
+}
@@ -0,0 +1,93 @@
+package com.zooplus.petstore.assertion;
+
+import com.zooplus.petstore.configs.ResponseTimingInterceptor;
+import com.zooplus.petstore.metrics.OperationStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Checks latency, error rate and throughput assertions.")
+public class PerformanceAssertionTest {
+
+    @Test
+    @DisplayName("Responses carry their response time and fail when they were slower than allowed")
+    void checkResponseTimeAssertions() throws IOException {
+        final var interceptor = new ResponseTimingInterceptor();
+        final var canned = new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        canned.getHeaders().set("X-Request-Id", "42");
+        final var response = interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("/v2/pet/42")),
+                new byte[0], (request, body) -> {
+                    sleep(Duration.ofMillis(20));
+                    return canned;
+                });
+        final var entity = ResponseEntity.status(response.getRawStatusCode()).headers(response.getHeaders()).build();
+
+        assertThat(entity.getHeaders().getFirst("X-Request-Id")).as("Header of the transport").isEqualTo("42");
+        assertThat(ResponseTimingInterceptor.responseTime(entity.getHeaders())).as("Stamped response time")
+                .hasValueSatisfying(time -> assertThat(time).isBetween(Duration.ofMillis(20), Duration.ofSeconds(5)));
+        ResponseAssertion.assertThat(entity)
+                .isStatusOk()
+                .respondedWithin(Duration.ofSeconds(5));
+        assertThatThrownBy(() -> ResponseAssertion.assertThat(entity).respondedWithinMillis(1))
+                .as("Response slower than allowed")
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Response time");
+        assertThatThrownBy(() -> ResponseAssertion.assertThat(ResponseEntity.ok().build()).respondedWithinMillis(1))
+                .as("Response that never passed the interceptor")
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining(ResponseTimingInterceptor.RESPONSE_TIME_HEADER);
+    }
+
+    @Test
+    @DisplayName("Aggregate statistics are checked against percentile, error rate and throughput bounds")
+    void checkAggregateAssertions() {
+        final var histogram = OperationStats.newHistogram();
+        for (var call = 1; call <= 100; call++) {
+            histogram.recordValue(call * 1_000L);
+        }
+        final var stats = new OperationStats("findPetsByStatus", histogram, 2, Duration.ofSeconds(10));
+
+        PerformanceAssertion.assertThat(stats)
+                .hasCountAtLeast(100)
+                .hasP50Below(Duration.ofMillis(51))
+                .hasP99BelowMillis(100)
+                .hasErrorRateAtMost(2)
+                .hasThroughputAtLeast(10);
+        assertThatThrownBy(() -> PerformanceAssertion.assertThat(stats).hasP99BelowMillis(50))
+                .as("p99 above the bound")
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("p99.0 latency of findPetsByStatus");
+        assertThatThrownBy(() -> PerformanceAssertion.assertThat(stats).hasErrorRateAtMost(1))
+                .as("Error rate above the bound")
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Error rate");
+        assertThatThrownBy(() -> PerformanceAssertion.assertThat(stats).hasThroughputAtLeast(11))
+                .as("Throughput below the bound")
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Throughput");
+        assertThatThrownBy(() -> PerformanceAssertion.assertThat(new OperationStats("findPetById",
+                OperationStats.newHistogram(), 0, Duration.ofSeconds(1))).hasP99BelowMillis(50))
+                .as("Percentile of no calls")
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Number of calls");
+    }
+
+    private static void sleep(final Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
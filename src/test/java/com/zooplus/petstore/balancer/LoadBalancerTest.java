@@ -0,0 +1,176 @@
+package com.zooplus.petstore.balancer;
+
+import com.zooplus.petstore.configs.LoadBalancingInterceptor;
+import com.zooplus.petstore.metrics.PetstoreMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Checks client-side load balancing across petstore nodes.")
+public class LoadBalancerTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    @DisplayName("Round robin takes every available node in turn and falls back to all nodes when none is left")
+    void checkRoundRobin() {
+        final var balancer = balancer(BalancingStrategy.ROUND_ROBIN, 3);
+        final var nodes = balancer.getNodes();
+        assertThat(selections(balancer, 0, 300).values()).as("Requests per node").containsOnly(100);
+
+        eject(nodes.get(1), 0);
+        assertThat(selections(balancer, 0, 300)).as("Requests per node with the second one ejected")
+                .containsOnlyKeys(nodes.get(0), nodes.get(2));
+
+        eject(nodes.get(0), 0);
+        eject(nodes.get(2), 0);
+        assertThat(selections(balancer, 0, 300)).as("Requests per node with every node ejected")
+                .containsOnlyKeys(nodes);
+    }
+
+    @Test
+    @DisplayName("Least outstanding requests picks the least busy node")
+    void checkLeastOutstanding() {
+        final var balancer = balancer(BalancingStrategy.LEAST_OUTSTANDING, 3);
+        final var nodes = balancer.getNodes();
+        nodes.get(0).onStart();
+        nodes.get(0).onStart();
+        nodes.get(2).onStart();
+        assertThat(selections(balancer, 0, 100)).as("Requests per node").containsOnlyKeys(nodes.get(1));
+
+        for (var request = 0; request < 30; request++) {
+            balancer.select(0).onStart();
+        }
+        assertThat(nodes).as("Requests in flight per node after 30 more")
+                .extracting(PetstoreNode::getOutstanding)
+                .containsExactly(11, 11, 11);
+    }
+
+    @Test
+    @DisplayName("Latency-weighted selection sends most requests to the fast node and reacts to a slowdown at once")
+    void checkEwmaAvoidsSlowNode() {
+        final var balancer = balancer(BalancingStrategy.EWMA, 2);
+        final var fast = balancer.getNodes().get(0);
+        final var slow = balancer.getNodes().get(1);
+        final var counts = new HashMap<PetstoreNode, Integer>();
+        for (var request = 0; request < 1_000; request++) {
+            final var node = balancer.select(request * 1_000_000L);
+            counts.merge(node, 1, Integer::sum);
+            node.onResponse(node == fast ? 10_000_000 : 50_000_000, true, request * 1_000_000L);
+        }
+        assertThat(counts.get(fast)).as("Requests to the fast node out of 1000").isGreaterThan(900);
+
+        fast.onResponse(500_000_000, true, 1_000 * 1_000_000L);
+        assertThat(fast.getEwmaNanos()).as("Average latency right after a slow response").isEqualTo(500_000_000);
+        assertThat(selections(balancer, 1_000 * 1_000_000L, 100)).as("Requests right after the slowdown")
+                .containsOnlyKeys(slow);
+    }
+
+    @Test
+    @DisplayName("Failing nodes are ejected for ever longer and re-admitted by their first success")
+    void checkPassiveEjection() {
+        final var node = new PetstoreNode("http://node-1", 3, SECOND, 3 * SECOND, SECOND);
+        node.onResponse(0, false, 0);
+        node.onResponse(0, false, 0);
+        assertThat(node.isEjected()).as("Ejected after two failures").isFalse();
+        node.onResponse(0, false, 0);
+        assertThat(node.isEjected()).as("Ejected after three failures").isTrue();
+        assertThat(node.isAvailable(SECOND - 1)).as("Available before the ejection ended").isFalse();
+        assertThat(node.isAvailable(SECOND)).as("Available once the ejection ended").isTrue();
+
+        node.onResponse(0, false, SECOND);
+        assertThat(node.isAvailable(3 * SECOND - 1)).as("Available before the second, longer ejection ended")
+                .isFalse();
+        node.onResponse(0, false, 3 * SECOND);
+        assertThat(node.isAvailable(6 * SECOND - 1)).as("Available before the third ejection, capped, ended")
+                .isFalse();
+        node.onResponse(1_000, true, 6 * SECOND);
+        assertThat(node.isEjected()).as("Ejected after a success").isFalse();
+        assertThat(node.getEjections()).as("Ejections").isEqualTo(3);
+
+        node.onResponse(0, false, 7 * SECOND);
+        assertThat(node.isEjected()).as("Ejected after one failure of a re-admitted node").isFalse();
+    }
+
+    @Test
+    @DisplayName("Requests below the root URI are sent to the picked node and recorded per node")
+    void checkRequestsAreRoutedToNodes() throws IOException {
+        final var metrics = new PetstoreMetrics();
+        final var interceptor = LoadBalancingInterceptor.fromSettings(BalancerSettings.builder()
+                .urls(List.of("http://node-1:8080/", "http://node-2:8080"))
+                .strategy(BalancingStrategy.ROUND_ROBIN)
+                .build(), "http://petstore/", metrics);
+        final var sentTo = new ArrayList<URI>();
+        for (var request = 0; request < 4; request++) {
+            final var status = request == 3 ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK;
+            interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("http://petstore/v2/pet/42")),
+                    new byte[0], (sent, body) -> {
+                        sentTo.add(sent.getURI());
+                        return new MockClientHttpResponse(new byte[0], status);
+                    }).close();
+        }
+        final var open = interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET,
+                URI.create("http://petstore/v2/pet/findByStatus?status=sold")), new byte[0], (sent, body) -> {
+                    sentTo.add(sent.getURI());
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                });
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("http://elsewhere/v2/pet/42")),
+                new byte[0], (sent, body) -> {
+                    sentTo.add(sent.getURI());
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                }).close();
+
+        assertThat(sentTo).as("URIs sent").extracting(URI::toString).containsExactly(
+                "http://node-1:8080/v2/pet/42",
+                "http://node-2:8080/v2/pet/42",
+                "http://node-1:8080/v2/pet/42",
+                "http://node-2:8080/v2/pet/42",
+                "http://node-1:8080/v2/pet/findByStatus?status=sold",
+                "http://elsewhere/v2/pet/42");
+        assertThat(interceptor.getBalancer().getNodes()).as("Requests in flight per node")
+                .extracting(PetstoreNode::getOutstanding)
+                .containsExactly(1, 0);
+        open.close();
+        assertThat(interceptor.getBalancer().getNodes().get(0).getOutstanding())
+                .as("Requests in flight after the response was closed")
+                .isZero();
+        final var nodes = metrics.snapshot().getNodes();
+        assertThat(nodes).as("Nodes recorded").containsOnlyKeys("http://node-1:8080", "http://node-2:8080");
+        assertThat(nodes.get("http://node-1:8080").getCount()).as("Exchanges with node 1").isEqualTo(3);
+        assertThat(nodes.get("http://node-2:8080").getErrors()).as("Failed exchanges with node 2").isEqualTo(1);
+    }
+
+    private static LoadBalancer balancer(final BalancingStrategy strategy, final int size) {
+        final var nodes = new ArrayList<PetstoreNode>();
+        for (var node = 1; node <= size; node++) {
+            nodes.add(new PetstoreNode("http://node-" + node, 1, SECOND, SECOND, SECOND));
+        }
+        return new LoadBalancer(strategy, nodes);
+    }
+
+    private static Map<PetstoreNode, Integer> selections(final LoadBalancer balancer, final long now,
+                                                         final int requests) {
+        final var counts = new HashMap<PetstoreNode, Integer>();
+        for (var request = 0; request < requests; request++) {
+            counts.merge(balancer.select(now), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static void eject(final PetstoreNode node, final long now) {
+        node.onResponse(0, false, now);
+    }
+}
@@ -0,0 +1,105 @@
+package com.zooplus.petstore.capture;
+
+import com.zooplus.petstore.configs.CaptureInterceptor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("Checks binary capture logs.")
+public class CaptureLogTest {
+
+    @Test
+    @DisplayName("Captured exchanges are read back as they were sent, across mapped windows and appended runs")
+    void checkExchangesAreCaptured(@TempDir final Path directory) throws IOException {
+        final var file = directory.resolve("traffic.capture");
+        final var body = "{\"name\": \"Rex\"}".getBytes(UTF_8);
+        try (var writer = new CaptureWriter(file, 100)) {
+            final var interceptor = new CaptureInterceptor(writer);
+            final var add = request(HttpMethod.POST, "http://localhost/v2/pet");
+            add.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            add.getHeaders().add(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+            add.getHeaders().add(HttpHeaders.ACCEPT, MediaType.ALL_VALUE);
+            interceptor.intercept(add, body, (request, requestBody) -> new MockClientHttpResponse(body, HttpStatus.OK));
+            interceptor.intercept(request(HttpMethod.GET, "http://localhost/v2/pet/-1?x=%20"), new byte[0],
+                    (request, requestBody) -> new MockClientHttpResponse(new byte[0], HttpStatus.NOT_FOUND));
+            assertThat(writer.flush(Duration.ofSeconds(5))).as("Flushed").isTrue();
+        }
+        try (var writer = new CaptureWriter(file, 100)) {
+            assertThatThrownBy(() -> new CaptureInterceptor(writer).intercept(
+                    request(HttpMethod.DELETE, "http://localhost/v2/pet/42"), new byte[0],
+                    (request, requestBody) -> {
+                        throw new IOException("Connection reset");
+                    })).isInstanceOf(IOException.class);
+        }
+
+        final var exchanges = readAll(file, 64);
+
+        assertThat(exchanges).as("Captured exchanges")
+                .extracting(CapturedExchange::getMethod, exchange -> exchange.getUri().toString(),
+                        CapturedExchange::getStatusCode)
+                .containsExactly(tuple("POST", "http://localhost/v2/pet", 200),
+                        tuple("GET", "http://localhost/v2/pet/-1?x=%20", 404),
+                        tuple("DELETE", "http://localhost/v2/pet/42", 0));
+        final var added = exchanges.get(0);
+        assertThat(added.getBody()).as("Request body").isEqualTo(body);
+        assertThat(added.getHeaders().get(HttpHeaders.ACCEPT)).as("Multi-valued header")
+                .containsExactly("application/json", "*/*");
+        assertThat(added.getLatencyNanos()).as("Latency").isPositive();
+        assertThat(exchanges.get(1).getSentAtMicros()).as("Send time of the second exchange")
+                .isGreaterThanOrEqualTo(added.getSentAtMicros());
+    }
+
+    @Test
+    @DisplayName("A record cut short by a crash ends the log, anything else is rejected")
+    void checkTruncatedAndForeignLogs(@TempDir final Path directory) throws IOException {
+        final var file = directory.resolve("traffic.capture");
+        try (var writer = new CaptureWriter(file, 100)) {
+            for (var id = 0; id < 3; id++) {
+                writer.submit(new CapturedExchange(id, "GET", URI.create("http://localhost/v2/pet/" + id),
+                        new HttpHeaders(), new byte[0], 200, 1_000));
+            }
+        }
+        try (var channel = FileChannel.open(file, WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        assertThat(readAll(file, CaptureReader.MAX_MAPPED_BYTES)).as("Exchanges of a truncated log")
+                .extracting(CapturedExchange::getSentAtMicros)
+                .containsExactly(0L, 1L);
+
+        final var foreign = Files.write(directory.resolve("pets.corpus"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThatThrownBy(() -> new CaptureReader(foreign)).isInstanceOf(IOException.class);
+    }
+
+    private static List<CapturedExchange> readAll(final Path file, final long maxMappedBytes) throws IOException {
+        final var exchanges = new ArrayList<CapturedExchange>();
+        try (var reader = new CaptureReader(file, maxMappedBytes)) {
+            reader.forEachRemaining(exchanges::add);
+        }
+        return exchanges;
+    }
+
+    private static MockClientHttpRequest request(final HttpMethod method, final String uri) {
+        return new MockClientHttpRequest(method, URI.create(uri));
+    }
+}
@@ -0,0 +1,27 @@
+package com.zooplus.petstore.cleanup;
+
+import com.zooplus.petstore.bindings.PetstoreInjector;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+
+/**
+ * Deletes the pets the run added once all tests have finished, after the endpoint metrics have been reported so
+ * the deletions do not show up in them. A run that made no calls still finishes the cleanup of earlier runs.
+ */
+public class PetCleanupListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(final TestPlan testPlan) {
+        if (!PLATFORM_CONFIG.cleanupEnabled()) {
+            return;
+        }
+        if (PetstoreInjector.getIfCreated().isPresent() || Files.exists(Paths.get(PLATFORM_CONFIG.cleanupFile()))) {
+            PetstoreInjector.get().getInstance(PetCleaner.class).cleanUp();
+        }
+    }
+}
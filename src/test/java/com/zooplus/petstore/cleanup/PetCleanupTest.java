@@ -0,0 +1,147 @@
+package com.zooplus.petstore.cleanup;
+
+import com.zooplus.petstore.concurrent.ConcurrentLongSet;
+import com.zooplus.petstore.metrics.PetstoreMetrics;
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.resilience.ResilientCalls;
+import com.zooplus.petstore.service.PetClient;
+import com.zooplus.petstore.service.PetService;
+import com.zooplus.petstore.transport.PetstoreTransport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Checks the registry of created pets and the cleanup deleting them at the end of a run.")
+public class PetCleanupTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("The primitive set keeps every ID added concurrently exactly once, and forgets removed ones")
+    void checkConcurrentLongSet() {
+        final var set = new ConcurrentLongSet();
+        final var threads = 4;
+        final var perThread = 250_000;
+        final var added = new AtomicInteger();
+        final var writers = new ArrayList<CompletableFuture<Void>>();
+        for (var thread = 0; thread < threads; thread++) {
+            // Neighbouring threads overlap by half their range, so every ID is offered twice
+            final var first = thread * perThread / 2;
+            writers.add(CompletableFuture.runAsync(() -> LongStream.range(first, first + perThread)
+                    .filter(set::add)
+                    .forEach(id -> added.incrementAndGet())));
+        }
+        CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).join();
+        final var distinct = (threads + 1) * perThread / 2;
+
+        assertThat(set.size()).as("Size").isEqualTo(distinct);
+        assertThat(added.get()).as("Successful adds").isEqualTo(distinct);
+        LongStream.range(0, distinct).filter(id -> id % 2 == 0).forEach(set::remove);
+        assertThat(set.size()).as("Size after removing even IDs").isEqualTo(distinct / 2);
+        assertThat(set.contains(0)).as("Contains 0").isFalse();
+        assertThat(set.contains(distinct - 1)).as("Contains the last odd ID").isTrue();
+        assertThat(set.remove(2)).as("Removed 2 again").isFalse();
+        assertThat(set.add(-7) && set.add(0) && set.add(Long.MIN_VALUE)).as("Added negative and zero IDs").isTrue();
+        final var values = set.toArray();
+        assertThat(values).as("All values").hasSize(distinct / 2 + 3)
+                .contains(-7, 0, Long.MIN_VALUE, 1, distinct - 1)
+                .doesNotContain(2, distinct - 2);
+    }
+
+    @Test
+    @DisplayName("Pets left by the run are deleted in parallel, and failed deletions are finished by the next run")
+    void checkCleanup() throws IOException {
+        final var transport = new FakePetstore();
+        final var registry = new PetRegistry(true);
+        final var petClient = new PetClient(transport, new ResilientCalls(new PetstoreMetrics()), registry);
+        final var petService = new PetService(petClient);
+        for (var petId = 1; petId <= 2_000; petId++) {
+            petService.addNewPetToStore(Pet.builder().id(petId).name("Rex").build());
+        }
+        for (var petId = 1; petId <= 100; petId++) {
+            petService.deletePet(petId);
+        }
+        petService.updateExistingPet(Pet.builder().id(9_000).name("Seeded").build());
+        assertThat(registry.contains(9_000)).as("Pet updated but not added is registered").isFalse();
+        assertThat(registry.size()).as("Pets registered after the test deleted some").isEqualTo(1_900);
+
+        final var pendingFile = dir.resolve("cleanup").resolve("pending.txt");
+        Files.createDirectories(pendingFile.getParent());
+        Files.write(pendingFile, List.of("5000", "5001", "150"), UTF_8);
+        transport.failing.addAll(LongStream.range(150, 160).boxed().collect(Collectors.toSet()));
+        transport.gone.add(5001L);
+        final var cleaner = new PetCleaner(petClient, registry, 8, pendingFile);
+        final var first = cleaner.cleanUp();
+
+        assertThat(first.getPets()).as("Pets to delete").isEqualTo(1_902);
+        assertThat(first.getFromPreviousRuns()).as("Pets left by an earlier run").isEqualTo(2);
+        assertThat(first.getFailed()).as("Failed deletions").isEqualTo(10);
+        assertThat(transport.maxInFlight.get()).as("Most deletions in flight").isBetween(2, 8);
+        assertThat(Files.readAllLines(pendingFile, UTF_8)).as("Pending pet IDs")
+                .containsExactlyInAnyOrderElementsOf(LongStream.range(150, 160).mapToObj(Long::toString)
+                        .collect(Collectors.toList()));
+        assertThat(registry.petIds()).as("Pets still registered").hasSize(10);
+
+        transport.failing.clear();
+        final var second = cleaner.cleanUp();
+        assertThat(second.getDeleted()).as("Pets deleted by the next cleanup").isEqualTo(10);
+        assertThat(second.getFailed()).as("Failed deletions of the next cleanup").isZero();
+        assertThat(pendingFile).as("Pending file once everything is deleted").doesNotExist();
+        assertThat(registry.size()).as("Pets still registered").isZero();
+    }
+
+    /**
+     * Answers adds with the pet sent and deletes with {@code 200}, {@code 404} for pets that are gone and
+     * {@code 500} for failing ones, each delete taking a millisecond.
+     */
+    private static final class FakePetstore implements PetstoreTransport {
+
+        private final Set<Long> failing = ConcurrentHashMap.newKeySet();
+        private final Set<Long> gone = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public <T> ResponseEntity<T> exchange(final RequestEntity<?> request, final Class<T> responseType) {
+            if (request.getMethod() != HttpMethod.DELETE) {
+                return ResponseEntity.ok(responseType.cast(request.getBody()));
+            }
+            final var path = request.getUrl().getPath();
+            final var petId = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                LockSupport.parkNanos(1_000_000);
+                final var status = failing.contains(petId) ? 500 : gone.contains(petId) ? 404 : 200;
+                return ResponseEntity.status(status).build();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public <T> CompletableFuture<ResponseEntity<T>> exchangeAsync(final RequestEntity<?> request,
+                                                                    final Class<T> responseType) {
+            return CompletableFuture.supplyAsync(() -> exchange(request, responseType));
+        }
+    }
+}
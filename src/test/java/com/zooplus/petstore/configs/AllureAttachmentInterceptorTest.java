@@ -0,0 +1,129 @@
+package com.zooplus.petstore.configs;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Checks full, sampled and asynchronous Allure attachments and exchange summaries.")
+public class AllureAttachmentInterceptorTest {
+
+    private final Map<String, String> writtenAttachments = new ConcurrentHashMap<>();
+    private final AllureLifecycle lifecycle = new AllureLifecycle(new InMemoryResultsWriter());
+    private final AllureAttachmentWriter attachmentWriter = new AllureAttachmentWriter(lifecycle, 100);
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+            URI.create("http://localhost/v2/pet/1"));
+    private final TestResult testResult = new TestResult().setUuid(UUID.randomUUID().toString());
+
+    @BeforeEach
+    void startTestCase() {
+        lifecycle.scheduleTestCase(testResult);
+        lifecycle.startTestCase(testResult.getUuid());
+    }
+
+    @AfterEach
+    void forgetExchanges() {
+        AllureExchangeSummaries.attachSummary(testResult, lifecycle);
+    }
+
+    @Test
+    @DisplayName("Failed exchange is attached off the request thread, a successful one that is not sampled is not")
+    void checkOnlyFailedExchangeIsAttached() throws IOException {
+        final var interceptor = interceptor(AllureMode.SAMPLED, Duration.ofSeconds(10));
+        final var successful = new MockClientHttpResponse("{}".getBytes(UTF_8), HttpStatus.OK);
+        final var body = "{\"message\": \"Pet not found\"}".getBytes(UTF_8);
+
+        assertThat(interceptor.intercept(request, new byte[0], (httpRequest, requestBody) -> successful))
+                .as("Successful response handed to the caller")
+                .isSameAs(successful);
+        final var failed = interceptor.intercept(request, new byte[0], (httpRequest, requestBody) ->
+                new MockClientHttpResponse(body, HttpStatus.NOT_FOUND));
+
+        assertThat(StreamUtils.copyToByteArray(failed.getBody())).as("Body read by the caller").isEqualTo(body);
+        assertThat(attachmentWriter.flush(Duration.ofSeconds(5))).as("Attachment queue drained").isTrue();
+        assertThat(testResult.getAttachments()).as("Attachments of the test case")
+                .extracting(Attachment::getName)
+                .containsExactly("Request [FAILED]", "Response [FAILED]");
+        assertThat(writtenAttachments.get(testResult.getAttachments().get(1).getSource()))
+                .as("Rendered response attachment")
+                .contains("Pet not found");
+    }
+
+    @Test
+    @DisplayName("Summary mode attaches no successful exchange, only a summary of all of them")
+    void checkSummaryIsAttached() throws IOException {
+        final var interceptor = interceptor(AllureMode.SUMMARY, Duration.ZERO);
+
+        for (var call = 0; call < 3; call++) {
+            interceptor.intercept(request, new byte[0], (httpRequest, requestBody) ->
+                    new MockClientHttpResponse("{}".getBytes(UTF_8), HttpStatus.OK)).close();
+        }
+        AllureExchangeSummaries.attachSummary(testResult, lifecycle);
+
+        assertThat(testResult.getAttachments()).as("Attachments of the test case")
+                .singleElement()
+                .satisfies(attachment -> {
+                    assertThat(attachment.getName()).isEqualTo("HTTP exchanges");
+                    assertThat(writtenAttachments.get(attachment.getSource()))
+                            .containsPattern("FIND_BY_ID +3 ")
+                            .contains("{200=3}");
+                });
+    }
+
+    @Test
+    @DisplayName("Full mode passes exchanges sent outside of any test case through without buffering them")
+    void checkFullModeSkipsExchangesOutsideTestCases() throws IOException {
+        final var interceptor = new AllureFullAttachmentInterceptor(new AllureLifecycle(new InMemoryResultsWriter()));
+        final var response = new MockClientHttpResponse("{}".getBytes(UTF_8), HttpStatus.OK);
+
+        assertThat(interceptor.intercept(request, new byte[0], (httpRequest, requestBody) -> response))
+                .as("Response of an exchange outside of any test case")
+                .isSameAs(response);
+    }
+
+    private AllureAttachmentInterceptor interceptor(final AllureMode mode, final Duration slowThreshold) {
+        return new AllureAttachmentInterceptor(mode, 0, slowThreshold, "/v2/pet", lifecycle, attachmentWriter);
+    }
+
+    private final class InMemoryResultsWriter implements AllureResultsWriter {
+
+        @Override
+        public void write(final TestResult testResult) {
+        }
+
+        @Override
+        public void write(final TestResultContainer testResultContainer) {
+        }
+
+        @Override
+        public void write(final String source, final InputStream attachment) {
+            try {
+                writtenAttachments.put(source, StreamUtils.copyToString(attachment, UTF_8));
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+}
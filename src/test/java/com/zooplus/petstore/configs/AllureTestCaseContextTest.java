@@ -0,0 +1,121 @@
+package com.zooplus.petstore.configs;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Checks that tasks on pooled threads run in the test case that submitted them, and only there.")
+public class AllureTestCaseContextTest {
+
+    private final AllureLifecycle lifecycle = new AllureLifecycle(new DiscardingResultsWriter());
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+
+    private String workerName;
+
+    @BeforeEach
+    void startWorker() {
+        // Threads inherit the test case of the thread starting them; this one starts outside of any
+        workerName = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), worker).join();
+    }
+
+    @AfterEach
+    void stopWorker() {
+        worker.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("A pooled thread runs each task in a step of its submitter's test case and is left without one")
+    void checkTestCaseIsPropagatedAndCleared() {
+        final var first = startTestCase();
+        final var inFirst = submit();
+        final var second = startTestCase();
+        final var inSecond = submit();
+        final var failure = CompletableFuture.supplyAsync(AllureTestCaseContext.propagate(lifecycle, () -> {
+            throw new IllegalStateException("Petstore is down");
+        }), worker);
+
+        assertThat(inFirst).as("Test case of the first task").contains(first.getUuid());
+        assertThat(inSecond).as("Test case of the second task").contains(second.getUuid());
+        assertThatThrownBy(failure::join).as("Failed task").hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(first.getSteps()).as("Steps of the first test case")
+                .singleElement()
+                .satisfies(step -> {
+                    assertThat(step.getName()).as("Step name").isEqualTo(workerName);
+                    assertThat(step.getStatus()).as("Step status").isEqualTo(Status.PASSED);
+                });
+        assertThat(second.getSteps()).as("Statuses of the steps of the second test case")
+                .extracting(StepResult::getStatus)
+                .containsExactly(Status.PASSED, Status.BROKEN);
+        assertThat(CompletableFuture.supplyAsync(lifecycle::getCurrentTestCaseOrStep, worker).join())
+                .as("Test case or step of the pooled thread between tasks")
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("A task run on a thread of another test case hands the thread back to that test case")
+    void checkPreviousTestCaseIsRestored() {
+        final var own = startTestCase();
+        final var other = CompletableFuture.supplyAsync(this::startTestCase, worker).join();
+        final var inTask = submit();
+
+        assertThat(inTask).as("Test case of the task").contains(own.getUuid());
+        assertThat(own.getSteps()).as("Steps of the task's test case").hasSize(1);
+        assertThat(other.getSteps()).as("Steps of the worker thread's test case").isEmpty();
+        assertThat(CompletableFuture.supplyAsync(lifecycle::getCurrentTestCaseOrStep, worker).join())
+                .as("Test case of the worker thread afterwards")
+                .contains(other.getUuid());
+        assertThat(AllureTestCaseContext.propagate(lifecycle, this::currentTestCase).get())
+                .as("Test case of a task run on the submitting thread")
+                .contains(own.getUuid());
+        assertThat(own.getSteps()).as("Steps of the task's test case after a task on the submitting thread")
+                .hasSize(1);
+    }
+
+    private TestResult startTestCase() {
+        final var result = new TestResult().setUuid(UUID.randomUUID().toString());
+        lifecycle.scheduleTestCase(result);
+        lifecycle.startTestCase(result.getUuid());
+        return result;
+    }
+
+    private Optional<String> currentTestCase() {
+        return AllureTestCaseContext.currentTestCase(lifecycle);
+    }
+
+    private Optional<String> submit() {
+        return CompletableFuture.supplyAsync(AllureTestCaseContext.propagate(lifecycle, this::currentTestCase),
+                worker).join();
+    }
+
+    private static final class DiscardingResultsWriter implements AllureResultsWriter {
+
+        @Override
+        public void write(final TestResult testResult) {
+        }
+
+        @Override
+        public void write(final TestResultContainer testResultContainer) {
+        }
+
+        @Override
+        public void write(final String source, final InputStream attachment) {
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.zooplus.petstore.configs;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.read.ListAppender;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.PushbackInputStream;
+import java.net.URI;
+import java.time.Duration;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Checks sampled, asynchronous request/response logging.")
+public class RequestResponseLoggingInterceptorTest {
+
+    private static final int MAX_BODY_BYTES = 8;
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AsyncExchangeLogger.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final AsyncExchangeLogger exchangeLogger = new AsyncExchangeLogger(100, MAX_BODY_BYTES);
+    private final RequestResponseLoggingInterceptor interceptor = new RequestResponseLoggingInterceptor(0,
+            MAX_BODY_BYTES, Duration.ofSeconds(10), exchangeLogger);
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+            URI.create("http://localhost/v2/pet/1"));
+
+    @BeforeEach
+    void attachAppender() {
+        // Tests running in parallel log their exchanges through the same logger
+        appender.addFilter(new Filter<>() {
+            @Override
+            public FilterReply decide(final ILoggingEvent event) {
+                return event.getFormattedMessage().contains(" " + request.getURI() + " ")
+                        ? FilterReply.NEUTRAL
+                        : FilterReply.DENY;
+            }
+        });
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("Successful exchange that is not sampled passes through untouched")
+    void checkSampledOutExchangeIsNotLogged() throws IOException {
+        final var response = new MockClientHttpResponse("{}".getBytes(UTF_8), HttpStatus.OK);
+
+        assertThat(interceptor.intercept(request, new byte[0], (httpRequest, body) -> response))
+                .as("Response handed to the caller")
+                .isSameAs(response);
+        exchangeLogger.flush(Duration.ofSeconds(5));
+        assertThat(appender.list).as("Logged exchanges").isEmpty();
+    }
+
+    @Test
+    @DisplayName("Failed exchange is always logged, with its body truncated and decoded in its own charset")
+    void checkFailedExchangeIsLogged() throws IOException {
+        final var body = "{\"n\u00e9\": \"not found\"}".getBytes(ISO_8859_1);
+        final var cannedResponse = new MockClientHttpResponse(body, HttpStatus.NOT_FOUND);
+        cannedResponse.getHeaders().setContentType(new MediaType(MediaType.APPLICATION_JSON, ISO_8859_1));
+
+        final var response = interceptor.intercept(request, new byte[0], (httpRequest, requestBody) ->
+                cannedResponse);
+        assertThat(readAndClose(response)).as("Body read by the caller").isEqualTo(body);
+
+        assertThat(exchangeLogger.flush(Duration.ofSeconds(5))).as("Log queue drained").isTrue();
+        assertThat(appender.list).as("Logged exchanges").singleElement().satisfies(event -> {
+            assertThat(event.getLevel()).isEqualTo(Level.WARN);
+            assertThat(event.getFormattedMessage())
+                    .contains("GET http://localhost/v2/pet/1 -> 404 Not Found")
+                    .contains("[FAILED]")
+                    .contains("Response body (" + body.length + " bytes, first 8 shown): {\"n\u00e9\": \"");
+        });
+    }
+
+    private static byte[] readAndClose(final ClientHttpResponse response) throws IOException {
+        try (response) {
+            // Peeks at the first byte like RestTemplate does before reading a body
+            final var body = new PushbackInputStream(response.getBody());
+            body.unread(body.read());
+            return StreamUtils.copyToByteArray(body);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.zooplus.petstore.data;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.zooplus.petstore.model.Pet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Checks pre-rendered pet corpora.")
+public class PetCorpusTest {
+
+    private final ObjectReader petReader = Jackson2ObjectMapperBuilder.json().build().readerFor(Pet.class);
+    private final PetGenerator generator = new PetGenerator(PetGeneratorSettings.builder().build());
+
+    @Test
+    @DisplayName("Corpus replays the generated pets in order, then starts over")
+    void checkCorpusReplaysGeneratedPets(@TempDir final Path directory) throws IOException {
+        final var file = directory.resolve("pets.corpus");
+        PetCorpus.write(file, generator, 3);
+
+        try (var corpus = PetCorpus.open(file)) {
+            assertThat(corpus.size()).as("Number of pets in the corpus").isEqualTo(3);
+            for (var index = 0; index < 4; index++) {
+                final var entry = corpus.next();
+                final var expected = generator.generate(index % 3);
+                assertThat(entry.getPetId()).as("ID of entry %s", index).isEqualTo(expected.getId());
+                assertThat(petReader.<Pet>readValue(entry.getJson())).as("Pet of entry %s", index)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Anything but a corpus is rejected")
+    void checkOtherFilesAreRejected(@TempDir final Path directory) throws IOException {
+        final var file = Files.writeString(directory.resolve("pets.json"), "[{\"id\": 1}]");
+
+        assertThatThrownBy(() -> PetCorpus.open(file))
+                .as("JSON file opened as a corpus")
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a pet corpus");
+    }
+}
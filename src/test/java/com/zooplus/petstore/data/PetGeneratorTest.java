@@ -0,0 +1,72 @@
+package com.zooplus.petstore.data;
+
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.model.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.zooplus.petstore.model.Status.AVAILABLE;
+import static com.zooplus.petstore.model.Status.PENDING;
+import static com.zooplus.petstore.model.Status.SOLD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Checks the synthetic pet generator.")
+public class PetGeneratorTest {
+
+    private static final int NUMBER_OF_PETS = 100_000;
+
+    @Test
+    @DisplayName("Same seed gives the same pets, whatever the thread generating them")
+    void checkGenerationIsReproducible() {
+        final var settings = PetGeneratorSettings.builder().seed(7).build();
+        final var sequential = new PetGenerator(settings).stream(0, 1_000).collect(Collectors.toList());
+        final var parallel = new PetGenerator(settings).stream(0, 1_000).parallel().collect(Collectors.toList());
+
+        assertThat(parallel).as("Pets generated in parallel").isEqualTo(sequential);
+        assertThat(new PetGenerator(PetGeneratorSettings.builder().seed(8).build()).generate(0))
+                .as("First pet of another seed")
+                .isNotEqualTo(sequential.get(0));
+    }
+
+    @Test
+    @DisplayName("Generated pets have unique, valid IDs")
+    void checkIdsAreUniqueAndValid() {
+        final var ids = new PetGenerator(PetGeneratorSettings.builder().build())
+                .stream(0, NUMBER_OF_PETS)
+                .map(Pet::getId)
+                .collect(Collectors.toSet());
+
+        assertThat(ids).as("Distinct IDs").hasSize(NUMBER_OF_PETS);
+        assertThat(ids).as("IDs within the valid range").allMatch(id -> id >= 0 && id <= Integer.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("Statuses follow their weights and sizes stay within their ranges")
+    void checkSettingsAreFollowed() {
+        final var settings = PetGeneratorSettings.builder()
+                .statusWeights(Map.of(AVAILABLE, 2, PENDING, 1, SOLD, 1))
+                .minPhotoUrls(2)
+                .maxPhotoUrls(4)
+                .minNameLength(5)
+                .maxNameLength(5)
+                .photoUrlLength(100)
+                .build();
+        final var pets = new PetGenerator(settings).stream(0, NUMBER_OF_PETS).collect(Collectors.toList());
+        final var statuses = pets.stream().collect(Collectors.groupingBy(Pet::getStatus, Collectors.counting()));
+
+        assertThat(share(statuses, AVAILABLE)).as("Share of available pets").isCloseTo(0.5, within(0.01));
+        assertThat(share(statuses, SOLD)).as("Share of sold pets").isCloseTo(0.25, within(0.01));
+        assertThat(pets).as("Names of 5 characters").allMatch(pet -> pet.getName().length() == 5);
+        assertThat(pets).as("Between 2 and 4 photo URLs of 100 characters").allMatch(pet ->
+                pet.getPhotoUrls().size() >= 2 && pet.getPhotoUrls().size() <= 4
+                        && pet.getPhotoUrls().stream().allMatch(url -> url.length() == 100));
+    }
+
+    private static double share(final Map<Status, Long> counts, final Status status) {
+        return (double) counts.getOrDefault(status, 0L) / NUMBER_OF_PETS;
+    }
+}
@@ -0,0 +1,65 @@
+package com.zooplus.petstore.databind;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.zooplus.petstore.data.PetDataProvider;
+import com.zooplus.petstore.model.Pet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Checks lazy reading of JSON arrays.")
+public class JsonArrayIteratorTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectReader petReader = objectMapper.readerFor(Pet.class);
+
+    @Test
+    @DisplayName("All elements are read in order")
+    void checkAllElementsAreRead() throws IOException {
+        final var pets = List.of(PetDataProvider.getValidPetData(), PetDataProvider.getValidPetData());
+        final var iterator = new JsonArrayIterator<Pet>(petReader, json(objectMapper.writeValueAsString(pets)));
+
+        try (final var stream = iterator.stream()) {
+            assertThat(stream.collect(Collectors.toList()))
+                    .as("Pets read from the array")
+                    .containsExactlyElementsOf(pets);
+        }
+        assertThat(iterator.isExhausted()).as("Array read up to its end").isTrue();
+    }
+
+    @Test
+    @DisplayName("Elements are only parsed when asked for")
+    void checkElementsAreParsedLazily() throws IOException {
+        final var pet = PetDataProvider.getValidPetData();
+        final var truncatedArray = "[" + objectMapper.writeValueAsString(pet) + ", {\"id\": ";
+
+        try (final var iterator = new JsonArrayIterator<Pet>(petReader, json(truncatedArray))) {
+            assertThat(iterator.next()).as("First pet of a truncated array").isEqualTo(pet);
+            assertThat(iterator.isExhausted()).as("Array read up to its end").isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Anything but an array is rejected")
+    void checkNonArrayIsRejected() {
+        assertThatThrownBy(() -> new JsonArrayIterator<Pet>(petReader, json("{\"code\": 400}")))
+                .as("Error object instead of an array")
+                .isInstanceOf(JsonParseException.class);
+    }
+
+    private static InputStream json(final String json) {
+        return new ByteArrayInputStream(json.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,168 @@
+package com.zooplus.petstore.distributed;
+
+import com.zooplus.petstore.load.LoadModel;
+import com.zooplus.petstore.load.LoadProfile;
+import com.zooplus.petstore.load.LoadReport;
+import com.zooplus.petstore.metrics.OperationStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("Checks how the coordinator of a distributed load run splits the work and merges worker reports.")
+public class LoadCoordinatorTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    @DisplayName("Every worker gets an equal share of the load and a pet range of its own")
+    void checkAssignments() {
+        final var workload = workload(3, LoadProfile.builder()
+                .model(LoadModel.CLOSED)
+                .concurrency(8)
+                .build());
+        assertThat(List.of(workload.assignment(0), workload.assignment(1), workload.assignment(2)))
+                .as("Virtual users and first pet per worker")
+                .extracting(assignment -> assignment.getProfile().getConcurrency(), WorkerAssignment::getFirstPetIndex)
+                .containsExactly(tuple(3, 0L), tuple(3, 1_000L), tuple(2, 2_000L));
+
+        final var open = workload(4, LoadProfile.builder().ratePerSecond(100).maxInFlight(10).build()).assignment(3);
+        assertThat(open.getProfile().getRatePerSecond()).as("Arrival rate of one of 4 workers").isEqualTo(25);
+        assertThat(open.getProfile().getMaxInFlight()).as("In-flight bound of one of 4 workers").isEqualTo(3);
+        assertThatThrownBy(() -> workload(3, LoadProfile.builder().model(LoadModel.CLOSED).concurrency(2).build())
+                .assignment(0)).as("Fewer virtual users than workers").isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Histograms streamed by the workers are merged by operation into one report")
+    void checkReportsAreMerged() throws Exception {
+        final var received = new ConcurrentHashMap<Integer, WorkerAssignment>();
+        final var report = run(3, (assignment, out) -> {
+            received.put(assignment.getIndex(), assignment);
+            final var latencyMicros = (assignment.getIndex() + 1) * 1_000L;
+            WorkerProtocol.writeReport(out, WorkerProtocol.PROGRESS, report(assignment, latencyMicros, 5));
+            WorkerProtocol.writeReport(out, WorkerProtocol.DONE, report(assignment, latencyMicros, 10));
+        });
+
+        assertThat(received.keySet()).as("Workers assigned").containsExactlyInAnyOrder(0, 1, 2);
+        assertThat(received.get(2).getMix()).as("Mix sent to a worker").containsEntry("findPetById", 8);
+        assertThat(report.hasFailures()).as("Any worker failed").isFalse();
+        assertThat(report.getWorkers()).as("Worker reports").containsOnlyKeys(0, 1, 2);
+        final var merged = report.getMerged();
+        assertThat(merged.getRequestsSent()).as("Requests sent by all workers").isEqualTo(30);
+        assertThat(merged.getOperations()).as("Merged operations").extracting(OperationStats::getOperation)
+                .containsExactly("findPetById", "addNewPetToStore");
+        final var findPetById = merged.getOperations().get(0);
+        assertThat(findPetById.getCount()).as("Merged findPetById count").isEqualTo(30);
+        assertThat(findPetById.getErrors()).as("Merged findPetById errors").isEqualTo(3);
+        assertThat(findPetById.getP50().toMillis()).as("Merged findPetById median in ms").isEqualTo(2);
+        assertThat(findPetById.getMax().toMillis()).as("Merged findPetById max in ms").isEqualTo(3);
+        assertThat(merged.getTotal().getCount()).as("Merged total count").isEqualTo(33);
+    }
+
+    @Test
+    @DisplayName("Failed and disconnected workers are reported and left out of the merged report")
+    void checkFailedWorkers() throws Exception {
+        final var report = run(3, (assignment, out) -> {
+            if (assignment.getIndex() == 0) {
+                WorkerProtocol.writeReport(out, WorkerProtocol.DONE, report(assignment, 1_000, 10));
+            } else if (assignment.getIndex() == 1) {
+                WorkerProtocol.writeReport(out, WorkerProtocol.PROGRESS, report(assignment, 1_000, 5));
+                WorkerProtocol.writeFailure(out, "petstore unreachable");
+            } else {
+                WorkerProtocol.writeReport(out, WorkerProtocol.PROGRESS, report(assignment, 1_000, 5));
+            }
+        });
+
+        assertThat(report.getFailures()).as("Failures per worker")
+                .containsEntry(1, "petstore unreachable")
+                .containsEntry(2, "Disconnected before the end of the run")
+                .hasSize(2);
+        assertThat(report.getMerged().getRequestsSent()).as("Requests sent by the worker that finished")
+                .isEqualTo(10);
+        assertThat(report.format()).as("Formatted report").contains("1 of 3 workers finished");
+    }
+
+    @Test
+    @DisplayName("The run does not start unless every worker connects in time")
+    void checkMissingWorker() throws IOException {
+        try (var server = new ServerSocket(0, 2, InetAddress.getLoopbackAddress());
+             var socket = new Socket(server.getInetAddress(), server.getLocalPort())) {
+            assertThat(socket.isConnected()).as("First worker connected").isTrue();
+            assertThatThrownBy(() -> new LoadCoordinator().run(workload(2, LoadProfile.builder().build()), server,
+                    Duration.ofMillis(300)))
+                    .as("Coordinator with one of two workers connected")
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("Only 1 of 2 workers connected");
+        }
+    }
+
+    private static DistributedReport run(final int workers, final FakeWorker worker) throws Exception {
+        try (var server = new ServerSocket(0, workers, InetAddress.getLoopbackAddress())) {
+            final var fakes = new ArrayList<CompletableFuture<Void>>();
+            for (var index = 0; index < workers; index++) {
+                fakes.add(CompletableFuture.runAsync(() -> {
+                    try (var socket = new Socket(server.getInetAddress(), server.getLocalPort());
+                         var in = new DataInputStream(socket.getInputStream());
+                         var out = new DataOutputStream(socket.getOutputStream())) {
+                        worker.run(WorkerProtocol.readAssignment(in), out);
+                    } catch (IOException exception) {
+                        throw new IllegalStateException(exception);
+                    }
+                }));
+            }
+            final var report = new LoadCoordinator().run(workload(workers, LoadProfile.builder()
+                    .steadyState(Duration.ofSeconds(1))
+                    .build()), server, TIMEOUT);
+            CompletableFuture.allOf(fakes.toArray(new CompletableFuture<?>[0])).join();
+            return report;
+        }
+    }
+
+    private static DistributedWorkload workload(final int workers, final LoadProfile profile) {
+        return DistributedWorkload.builder()
+                .profile(profile)
+                .workers(workers)
+                .petsPerWorker(1_000)
+                .progressInterval(Duration.ofMillis(50))
+                .build();
+    }
+
+    /**
+     * {@code findPetById} calls of the given latency, one failed, plus one {@code addNewPetToStore} call.
+     */
+    private static LoadReport report(final WorkerAssignment assignment, final long latencyMicros,
+                                     final int calls) {
+        final var findPetById = OperationStats.newHistogram();
+        findPetById.recordValueWithCount(latencyMicros, calls);
+        final var addNewPetToStore = OperationStats.newHistogram();
+        addNewPetToStore.recordValue(latencyMicros);
+        final var total = findPetById.copy();
+        total.add(addNewPetToStore);
+        final var elapsed = Duration.ofSeconds(1);
+        return new LoadReport(assignment.getProfile(), List.of(
+                new OperationStats("findPetById", findPetById, 1, elapsed),
+                new OperationStats("addNewPetToStore", addNewPetToStore, 0, elapsed)),
+                new OperationStats("total", total, 1, elapsed), calls);
+    }
+
+    @FunctionalInterface
+    private interface FakeWorker {
+
+        void run(WorkerAssignment assignment, DataOutputStream out) throws IOException;
+    }
+}
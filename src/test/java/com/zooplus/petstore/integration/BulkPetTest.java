@@ -0,0 +1,106 @@
+package com.zooplus.petstore.integration;
+
+import com.google.inject.Inject;
+import com.zooplus.petstore.assertion.PerformanceAssertion;
+import com.zooplus.petstore.bindings.PetstoreInjector;
+import com.zooplus.petstore.data.PetDataProvider;
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.service.BatchItemResult;
+import com.zooplus.petstore.service.BulkPetService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.OK;
+
+@DisplayName("Checks bulk operations on many Pets at once.")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class BulkPetTest {
+
+    private static final int BATCH_SIZE = 50;
+
+    private final List<Pet> pets = Stream.generate(PetDataProvider::getValidPetData)
+            .limit(BATCH_SIZE)
+            .collect(Collectors.toList());
+    @Inject
+    private BulkPetService bulkPetService;
+
+    public BulkPetTest() {
+        PetstoreInjector.injectMembers(this);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Add a batch of new pets to the store")
+    void checkNewPetsAddedToStore() {
+        final var result = bulkPetService.addNewPetsToStore(pets);
+        assertThat(result.getFailures())
+                .as("Batch %s", result)
+                .isEmpty();
+        assertThat(result.getBodies())
+                .as("Check every pet was added, in the order it was given")
+                .containsExactlyElementsOf(pets);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Find a batch of pets by their IDs")
+    void checkPetsCouldBeFoundByTheirIds() {
+        final var result = bulkPetService.findPetsByIds(petIds());
+        assertThat(result.getStatusCounts())
+                .as("Batch %s", result)
+                .containsOnlyKeys(OK.value());
+        assertThat(result.getBodies())
+                .as("Check every pet was found")
+                .containsExactlyElementsOf(pets);
+        PerformanceAssertion.assertThat(result.getLatencyStats())
+                .hasCountAtLeast(BATCH_SIZE)
+                .hasErrorRateAtMost(PLATFORM_CONFIG.slaErrorRatePercent())
+                .hasP99BelowMillis(PLATFORM_CONFIG.slaP99Millis());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Failed items of a batch don't stop the rest of it")
+    void checkFailedItemsAreReportedWithoutStoppingBatch() {
+        final var petIds = new ArrayList<>(petIds());
+        petIds.add(0, Long.MAX_VALUE);
+        final var result = bulkPetService.deletePets(petIds);
+        assertThat(result.getSucceeded())
+                .as("Batch %s", result)
+                .isEqualTo(BATCH_SIZE);
+        assertThat(result.getFailures())
+                .as("Check only the pet with invalid ID was not removed")
+                .extracting(BatchItemResult::getPetId, BatchItemResult::getStatusCode)
+                .containsExactly(tuple(Long.MAX_VALUE, NOT_FOUND.value()));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("No pets of a removed batch are found")
+    void checkRemovedPetsAreNotFound() {
+        final var result = bulkPetService.findPetsByIds(petIds());
+        assertThat(result.getStatusCounts())
+                .as("Batch %s", result)
+                .containsOnlyKeys(NOT_FOUND.value());
+    }
+
+    private List<Long> petIds() {
+        return pets.stream()
+                .map(Pet::getId)
+                .collect(Collectors.toList());
+    }
+}
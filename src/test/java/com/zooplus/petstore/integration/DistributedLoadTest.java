@@ -0,0 +1,59 @@
+package com.zooplus.petstore.integration;
+
+import com.zooplus.petstore.assertion.PerformanceAssertion;
+import com.zooplus.petstore.distributed.DistributedReport;
+import com.zooplus.petstore.distributed.DistributedWorkload;
+import com.zooplus.petstore.distributed.LoadCoordinator;
+import com.zooplus.petstore.distributed.LocalWorkers;
+import com.zooplus.petstore.load.LoadReport;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Capacity run against the petstore from several worker processes.")
+@EnabledIfSystemProperty(named = "petstore.distributed.enabled", matches = "true")
+public class DistributedLoadTest {
+
+    @Test
+    @DisplayName("Configured operation mix shared by local worker processes")
+    void runDistributedOperationMix() throws IOException {
+        final var workload = DistributedWorkload.fromConfig(PLATFORM_CONFIG);
+        final var host = PLATFORM_CONFIG.distributedHost();
+        final DistributedReport report;
+        try (var server = new ServerSocket(0, workload.getWorkers(), InetAddress.getByName(host))) {
+            final var workers = LocalWorkers.start(workload.getWorkers(), host, server.getLocalPort(),
+                    Paths.get(PLATFORM_CONFIG.distributedDir()));
+            try (workers) {
+                report = new LoadCoordinator().run(workload, server,
+                        Duration.ofSeconds(PLATFORM_CONFIG.distributedConnectTimeoutSeconds()));
+            }
+        }
+        Allure.addAttachment("Distributed load report", "text/plain", report.format(), "txt");
+
+        assertThat(report.getFailures())
+                .as("Workers that did not finish")
+                .isEmpty();
+        assertThat(report.getMerged().getTotal().getCount())
+                .as("Requests completed by all workers during steady state")
+                .isEqualTo(report.getWorkers().values().stream()
+                        .mapToLong(worker -> worker.getTotal().getCount())
+                        .sum())
+                .isPositive();
+        assertThat(report.getMerged().getRequestsSent())
+                .as("Requests sent by all workers")
+                .isEqualTo(report.getWorkers().values().stream().mapToLong(LoadReport::getRequestsSent).sum());
+        PerformanceAssertion.assertThat(report.getMerged().getTotal())
+                .hasP99BelowMillis(PLATFORM_CONFIG.slaP99Millis())
+                .hasThroughputAtLeast(PLATFORM_CONFIG.slaMinThroughput());
+    }
+}
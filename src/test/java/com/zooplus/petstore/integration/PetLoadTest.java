@@ -0,0 +1,52 @@
+package com.zooplus.petstore.integration;
+
+import com.google.inject.Inject;
+import com.zooplus.petstore.assertion.PerformanceAssertion;
+import com.zooplus.petstore.bindings.PetstoreInjector;
+import com.zooplus.petstore.data.PetCorpus;
+import com.zooplus.petstore.load.LoadOperations;
+import com.zooplus.petstore.load.LoadProfile;
+import com.zooplus.petstore.load.LoadReport;
+import com.zooplus.petstore.load.LoadRunner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Capacity run against the petstore.")
+@EnabledIfSystemProperty(named = "petstore.load.enabled", matches = "true")
+public class PetLoadTest {
+
+    @Inject
+    private LoadRunner loadRunner;
+
+    public PetLoadTest() {
+        PetstoreInjector.injectMembers(this);
+    }
+
+    @Test
+    @DisplayName("Default operation mix at the configured load profile")
+    void runDefaultOperationMix() throws IOException {
+        final var corpusFile = PLATFORM_CONFIG.loadCorpus();
+        final LoadReport report;
+        if (corpusFile == null || corpusFile.isBlank()) {
+            report = loadRunner.run(LoadProfile.fromConfig(PLATFORM_CONFIG), LoadOperations.defaultMix());
+        } else {
+            try (var corpus = PetCorpus.open(Paths.get(corpusFile))) {
+                report = loadRunner.run(LoadProfile.fromConfig(PLATFORM_CONFIG), LoadOperations.defaultMix(corpus));
+            }
+        }
+        assertThat(report.getTotal().getCount())
+                .as("Number of requests completed during steady state")
+                .isPositive();
+        PerformanceAssertion.assertThat(report.getTotal())
+                .hasErrorRateAtMost(PLATFORM_CONFIG.slaErrorRatePercent())
+                .hasP99BelowMillis(PLATFORM_CONFIG.slaP99Millis())
+                .hasThroughputAtLeast(PLATFORM_CONFIG.slaMinThroughput());
+    }
+}
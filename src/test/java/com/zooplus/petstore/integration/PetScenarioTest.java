@@ -0,0 +1,42 @@
+package com.zooplus.petstore.integration;
+
+import com.google.inject.Inject;
+import com.zooplus.petstore.assertion.PerformanceAssertion;
+import com.zooplus.petstore.bindings.PetstoreInjector;
+import com.zooplus.petstore.load.LoadProfile;
+import com.zooplus.petstore.scenario.Scenario;
+import com.zooplus.petstore.scenario.ScenarioRunner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("User journeys against the petstore.")
+@EnabledIfSystemProperty(named = "petstore.scenario.enabled", matches = "true")
+public class PetScenarioTest {
+
+    @Inject
+    private ScenarioRunner scenarioRunner;
+
+    public PetScenarioTest() {
+        PetstoreInjector.injectMembers(this);
+    }
+
+    @Test
+    @DisplayName("Configured scenario at the configured load profile")
+    void runScenario() throws IOException {
+        final var report = scenarioRunner.run(LoadProfile.fromConfig(PLATFORM_CONFIG),
+                Scenario.fromConfig(PLATFORM_CONFIG));
+
+        assertThat(report.getJourneys().getCount())
+                .as("Number of journeys completed during steady state")
+                .isPositive();
+        PerformanceAssertion.assertThat(report.getTotal())
+                .hasErrorRateAtMost(PLATFORM_CONFIG.slaErrorRatePercent())
+                .hasP99BelowMillis(PLATFORM_CONFIG.slaP99Millis());
+    }
+}
@@ -0,0 +1,57 @@
+package com.zooplus.petstore.integration;
+
+import com.google.inject.Inject;
+import com.zooplus.petstore.bindings.PetstoreInjector;
+import com.zooplus.petstore.load.LoadOperations;
+import com.zooplus.petstore.soak.SoakProfile;
+import com.zooplus.petstore.soak.SoakRunner;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Soak run against the petstore.")
+@EnabledIfSystemProperty(named = "petstore.soak.enabled", matches = "true")
+public class PetSoakTest {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Inject
+    private SoakRunner soakRunner;
+
+    public PetSoakTest() {
+        PetstoreInjector.injectMembers(this);
+    }
+
+    @Test
+    @DisplayName("Client resources stay flat over the configured soak duration")
+    void runSoakOperationMix() throws IOException {
+        final var report = soakRunner.run(SoakProfile.fromConfig(PLATFORM_CONFIG), LoadOperations.soakMix());
+        final var csv = report.toCsv();
+        final var summary = report.format();
+        final var directory = Paths.get(PLATFORM_CONFIG.soakDir());
+        final var fileName = "soak-" + LocalDateTime.now().format(FILE_TIMESTAMP);
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(fileName + ".csv"), csv.getBytes(UTF_8));
+        Files.write(directory.resolve(fileName + ".txt"), summary.getBytes(UTF_8));
+        Allure.addAttachment("Soak resource time series", "text/csv", csv, "csv");
+        Allure.addAttachment("Soak summary", "text/plain", summary, "txt");
+
+        assertThat(report.getLoad().getTotal().getCount())
+                .as("Number of requests completed during the soak run")
+                .isPositive();
+        assertThat(report.getGrowing())
+                .as("Resources whose floor kept rising during the soak run")
+                .isEmpty();
+    }
+}
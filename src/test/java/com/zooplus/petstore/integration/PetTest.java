@@ -1,44 +1,65 @@
 package com.zooplus.petstore.integration;
 
-import com.google.inject.Guice;
 import com.google.inject.Inject;
 import com.zooplus.petstore.assertion.ResponseAssertion;
-import com.zooplus.petstore.bindings.PetstoreModule;
+import com.zooplus.petstore.bindings.PetstoreInjector;
 import com.zooplus.petstore.data.PetDataProvider;
 import com.zooplus.petstore.model.Category;
 import com.zooplus.petstore.model.Pet;
 import com.zooplus.petstore.model.PetUpdateStatus;
+import com.zooplus.petstore.service.ImageUploadService;
 import com.zooplus.petstore.service.PetService;
+import com.zooplus.petstore.service.StreamingPetService;
+import com.zooplus.petstore.service.UploadResult;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Stream;
 
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
 import static com.zooplus.petstore.model.Status.PENDING;
 import static com.zooplus.petstore.model.Status.SOLD;
 import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.util.StringUtils.capitalize;
 
 @DisplayName("Checks everything about your Pets.")
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Execution(ExecutionMode.CONCURRENT)
 public class PetTest {
 
-    private static final Pet VALID_PET_DATA = PetDataProvider.getValidPetData();
     @Inject
     private PetService petService;
+    @Inject
+    private StreamingPetService streamingPetService;
+    @Inject
+    private ImageUploadService imageUploadService;
 
     public PetTest() {
-        Guice.createInjector(new PetstoreModule()).injectMembers(this);
+        PetstoreInjector.injectMembers(this);
     }
 
     private static Stream<Arguments> invalidPetStatuses() {
@@ -57,21 +78,6 @@ public class PetTest {
         );
     }
 
-    @Test
-    @DisplayName("Add a new pet to the store")
-    @Order(1)
-    void checkNewPetAddedToStore() {
-        final var response = petService.addNewPetToStore(VALID_PET_DATA);
-        final var petAdded = ResponseAssertion.assertThat(response)
-                .isStatusOk()
-                .hasBody()
-                .getBody();
-        assertThat(petAdded)
-                .as(format("Check pet '%s' was added successfully with ID = '%s'", VALID_PET_DATA.getName(),
-                        VALID_PET_DATA.getId()))
-                .isEqualTo(VALID_PET_DATA);
-    }
-
     @ParameterizedTest(name = "When pet ID has invalid value [{0}], the record would not be added")
     @MethodSource("invalidPetIds")
     void checkPetWithIdExceedingLimitNotAdded(long invalidPetId) {
@@ -82,38 +88,6 @@ public class PetTest {
                 .isRecordNotCreated();
     }
 
-    @Test
-    @DisplayName("Pet could be found by its ID")
-    @Order(2)
-    void checkPetCouldBeFoundByItsId() {
-        final var petId = VALID_PET_DATA.getId();
-        final var response = petService.findPetById(petId);
-        final var foundPet = ResponseAssertion.assertThat(response)
-                .isStatusOk()
-                .hasBody()
-                .getBody();
-
-        assertThat(foundPet)
-                .as(format("Compare pet, found by ID=%s, with expectation", petId))
-                .isEqualTo(VALID_PET_DATA);
-    }
-
-    @Test
-    @DisplayName("Pets could be found by their Status")
-    @Order(2)
-    void checkPetsCouldBeFoundByTheirStatus() {
-        final var minNumberOfPetsFound = 1;
-        final var response = petService.findPetsByStatus(VALID_PET_DATA.getStatus());
-        final var foundPets = ResponseAssertion.assertThat(response)
-                .isStatusOk()
-                .hasBody()
-                .getBody();
-
-        assertThat(foundPets.length)
-                .as(format("Check number of pets, found by status, is more than %s", minNumberOfPetsFound))
-                .isGreaterThanOrEqualTo(minNumberOfPetsFound);
-    }
-
     @Test
     @DisplayName("No pet is found when invalid ID was provided")
     void checkNoPetFoundByInvalidId() {
@@ -134,38 +108,6 @@ public class PetTest {
     }
 
     @Test
-    @Order(2)
-    @DisplayName("Check pet ID is unique. New record with the same ID would be rejected.")
-    void checkPetIdIsUniqueAndNewPetWithSameIdNotAdded() {
-        final var response = petService.addNewPetToStore(VALID_PET_DATA);
-        ResponseAssertion.assertThat(response)
-                .as("Invalid input")
-                .isRecordNotCreated();
-    }
-
-    @Test
-    @Order(2)
-    @DisplayName("Update existing pet")
-    void checkPetCouldBeUpdated() {
-        final var petToBeUpdated = Pet.builder()
-                .id(VALID_PET_DATA.getId())
-                .category(new Category(VALID_PET_DATA.getCategory().getId(), "Alligator"))
-                .photoUrls(VALID_PET_DATA.getPhotoUrls())
-                .tags(VALID_PET_DATA.getTags())
-                .status(PENDING)
-                .build();
-        final var response = petService.updateExistingPet(petToBeUpdated);
-        final var updatedPet = ResponseAssertion.assertThat(response)
-                .isStatusOk()
-                .hasBody()
-                .getBody();
-        assertThat(updatedPet)
-                .as(format("Check pet with ID = '%s' has been updated successfully ", petToBeUpdated.getId()))
-                .isEqualTo(petToBeUpdated);
-    }
-
-    @Test
-    @Order(2)
     @DisplayName("Existing pet remains without changes, when invalid ID was provided during it's update")
     void checkExistingPetRemainsWithoutChangesWhenInvalidIdWasProvided() {
         final var petToBeUpdatedViaInvalidId = Pet.builder()
@@ -179,22 +121,6 @@ public class PetTest {
                 .isBadRequest();
     }
 
-    @Test
-    @Order(2)
-    @DisplayName("Existing pet remains without changes, when update information didn't pass validation")
-    void checkExistingPetRemainsWithoutChangesWhenUpdateNotPassedValidation() {
-        final var petWithInvalidStatus = Pet.builder()
-                .id(VALID_PET_DATA.getId())
-                .photoUrls(Lists.emptyList())
-                .tags(Lists.emptyList())
-                .status(SOLD)
-                .build();
-        final var response = petService.updateExistingPet(petWithInvalidStatus);
-        ResponseAssertion.assertThat(response)
-                .as("Validation exception")
-                .isRecordNotCreated();
-    }
-
     @Test
     @DisplayName("No pet is removed, when invalid ID was provided")
     void checkNoPetIsRemovedWhenInvalidIdWasProvided() {
@@ -205,72 +131,228 @@ public class PetTest {
                 .isRecordNotFound();
     }
 
-    @Test
-    @Order(3)
-    @DisplayName("Pet could be removed by it's ID")
-    void checkPetCouldBeRemovedById() {
-        final var response = petService.deletePet(VALID_PET_DATA.getId());
-        ResponseAssertion.assertThat(response)
-                .as("Deletes a pet")
-                .isStatusOk()
-                .hasBody()
-                .getBody();
-    }
+    @Nested
+    @DisplayName("Pet lifecycle: add, read, update and remove the same pet")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    @Execution(ExecutionMode.SAME_THREAD)
+    class PetLifecycle {
 
-    @Test
-    @Order(4)
-    @DisplayName("When pet was already removed, it's update fails")
-    void checkWhenPetWasRemovedItsUpdateFails() {
-        final var response = petService.updateExistingPet(VALID_PET_DATA);
-        ResponseAssertion.assertThat(response)
-                .as("Pet not found")
-                .isRecordNotFound();
-    }
+        private final Pet validPetData = PetDataProvider.getValidPetData();
 
-    @Test
-    @Order(2)
-    @DisplayName("Update pet name and status via it's ID")
-    void checkPetNameAndStatusCouldBeUpdatedViaId() {
-        final var id = VALID_PET_DATA.getId();
-        final var response = petService.updatePetWithFormData(id,
-                VALID_PET_DATA.getName() + "_2",
-                "sold");
-        final var petUpdatedReport = ResponseAssertion.assertThat(response)
-                .as("Pet name and status changed successfully")
-                .isStatusOk()
-                .hasBody()
-                .getBody();
-        final var expectedUpdateReport = PetUpdateStatus.builder()
-                .code(OK.value())
-                .message(String.valueOf(id))
-                .build();
-        assertThat(petUpdatedReport)
-                .as(format("Check pet with ID '%s' was updated successfully ", id))
-                .usingRecursiveComparison()
-                .ignoringFields("type")
-                .isEqualTo(expectedUpdateReport);
+        @Test
+        @Order(1)
+        @DisplayName("Add a new pet to the store")
+        void checkNewPetAddedToStore() {
+            final var response = petService.addNewPetToStore(validPetData);
+            final var petAdded = ResponseAssertion.assertThat(response)
+                    .isStatusOk()
+                    .hasBody()
+                    .getBody();
+            assertThat(petAdded)
+                    .as(format("Check pet '%s' was added successfully with ID = '%s'", validPetData.getName(),
+                            validPetData.getId()))
+                    .isEqualTo(validPetData);
+        }
+
+        @Test
+        @Order(2)
+        @DisplayName("Pet could be found by its ID")
+        void checkPetCouldBeFoundByItsId() {
+            final var petId = validPetData.getId();
+            final var response = petService.findPetById(petId);
+            final var foundPet = ResponseAssertion.assertThat(response)
+                    .isStatusOk()
+                    .respondedWithinMillis(PLATFORM_CONFIG.slaResponseTimeMillis())
+                    .hasBody()
+                    .getBody();
+
+            assertThat(foundPet)
+                    .as(format("Compare pet, found by ID=%s, with expectation", petId))
+                    .isEqualTo(validPetData);
+        }
+
+        @Test
+        @Order(2)
+        @DisplayName("Pets could be found by their Status")
+        void checkPetsCouldBeFoundByTheirStatus() {
+            final var minNumberOfPetsFound = 1;
+            final var response = petService.findPetsByStatus(validPetData.getStatus());
+            final var foundPets = ResponseAssertion.assertThat(response)
+                    .isStatusOk()
+                    .hasBody()
+                    .getBody();
+
+            assertThat(foundPets.length)
+                    .as(format("Check number of pets, found by status, is more than %s", minNumberOfPetsFound))
+                    .isGreaterThanOrEqualTo(minNumberOfPetsFound);
+        }
+
+        @Test
+        @Order(2)
+        @DisplayName("Pets found by their Status could be read one by one")
+        void checkPetsCouldBeStreamedByTheirStatus() {
+            final var response = streamingPetService.findPetsByStatus(validPetData.getStatus());
+            final var foundPets = ResponseAssertion.assertThat(response)
+                    .isStatusOk()
+                    .hasBody()
+                    .getBody();
+
+            try (foundPets) {
+                assertThat(foundPets.filter(validPetData::equals).findFirst())
+                        .as(format("Check pet with ID = '%s' is among the streamed pets", validPetData.getId()))
+                        .contains(validPetData);
+            }
+        }
+
+        @Test
+        @Order(2)
+        @DisplayName("Check pet ID is unique. New record with the same ID would be rejected.")
+        void checkPetIdIsUniqueAndNewPetWithSameIdNotAdded() {
+            final var response = petService.addNewPetToStore(validPetData);
+            ResponseAssertion.assertThat(response)
+                    .as("Invalid input")
+                    .isRecordNotCreated();
+        }
+
+        @Test
+        @Order(2)
+        @DisplayName("Existing pet remains without changes, when update information didn't pass validation")
+        void checkExistingPetRemainsWithoutChangesWhenUpdateNotPassedValidation() {
+            final var petWithInvalidStatus = Pet.builder()
+                    .id(validPetData.getId())
+                    .photoUrls(Lists.emptyList())
+                    .tags(Lists.emptyList())
+                    .status(SOLD)
+                    .build();
+            final var response = petService.updateExistingPet(petWithInvalidStatus);
+            ResponseAssertion.assertThat(response)
+                    .as("Validation exception")
+                    .isRecordNotCreated();
+        }
+
+        @Test
+        @Order(2)
+        @DisplayName("Upload Pet image")
+        void checkPetImageCouldBeUploaded() {
+            final var id = validPetData.getId();
+            final var imageFile = "pet.png";
+            final var response = petService.uploadImageById(id, imageFile);
+            final var petUpdatedReport = ResponseAssertion.assertThat(response)
+                    .as("Pet image uploaded successfully")
+                    .isStatusOk()
+                    .hasBody()
+                    .getBody();
+            final var expectedUpdateReport = PetUpdateStatus.builder()
+                    .code(OK.value())
+                    .message(String.valueOf(id))
+                    .build();
+            assertThat(petUpdatedReport)
+                    .as(format("Check pet with ID '%s' was updated successfully ", id))
+                    .usingRecursiveComparison()
+                    .ignoringFields("type")
+                    .isEqualTo(expectedUpdateReport);
+        }
+
+        @Test
+        @Order(2)
+        @DisplayName("Pet image files of any size are streamed concurrently")
+        @EnabledIfSystemProperty(named = "petstore.upload.enabled", matches = "true")
+        void checkPetImageFilesCouldBeStreamed(@TempDir final Path imageDirectory) throws IOException {
+            final var id = validPetData.getId();
+            final var fileSizes = List.of(1_000L, 3_000_000L, 20_000_000L);
+            final var uploads = new ArrayList<CompletableFuture<UploadResult>>();
+            for (final var fileSize : fileSizes) {
+                uploads.add(imageUploadService.uploadImageAsync(id,
+                        writeImageFile(imageDirectory.resolve(fileSize + ".png"), fileSize)));
+            }
+            for (var index = 0; index < fileSizes.size(); index++) {
+                final var upload = uploads.get(index).join();
+                assertThat(upload.getStatusCode()).as("Status of %s", upload).isEqualTo(OK.value());
+                assertThat(upload.getFileBytes()).as("File bytes sent of %s", upload).isEqualTo(fileSizes.get(index));
+                assertThat(upload.getRequestBytes()).as("Request bytes of %s", upload)
+                        .isGreaterThan(upload.getFileBytes());
+                assertThat(upload.getBytesPerSecond()).as("Transfer rate of %s", upload).isPositive();
+            }
+        }
+
+        @Test
+        @Order(3)
+        @DisplayName("Update existing pet")
+        void checkPetCouldBeUpdated() {
+            final var petToBeUpdated = Pet.builder()
+                    .id(validPetData.getId())
+                    .category(new Category(validPetData.getCategory().getId(), "Alligator"))
+                    .photoUrls(validPetData.getPhotoUrls())
+                    .tags(validPetData.getTags())
+                    .status(PENDING)
+                    .build();
+            final var response = petService.updateExistingPet(petToBeUpdated);
+            final var updatedPet = ResponseAssertion.assertThat(response)
+                    .isStatusOk()
+                    .hasBody()
+                    .getBody();
+            assertThat(updatedPet)
+                    .as(format("Check pet with ID = '%s' has been updated successfully ", petToBeUpdated.getId()))
+                    .isEqualTo(petToBeUpdated);
+        }
+
+        @Test
+        @Order(3)
+        @DisplayName("Update pet name and status via it's ID")
+        void checkPetNameAndStatusCouldBeUpdatedViaId() {
+            final var id = validPetData.getId();
+            final var response = petService.updatePetWithFormData(id,
+                    validPetData.getName() + "_2",
+                    "sold");
+            final var petUpdatedReport = ResponseAssertion.assertThat(response)
+                    .as("Pet name and status changed successfully")
+                    .isStatusOk()
+                    .hasBody()
+                    .getBody();
+            final var expectedUpdateReport = PetUpdateStatus.builder()
+                    .code(OK.value())
+                    .message(String.valueOf(id))
+                    .build();
+            assertThat(petUpdatedReport)
+                    .as(format("Check pet with ID '%s' was updated successfully ", id))
+                    .usingRecursiveComparison()
+                    .ignoringFields("type")
+                    .isEqualTo(expectedUpdateReport);
+        }
+
+        @Test
+        @Order(4)
+        @DisplayName("Pet could be removed by it's ID")
+        void checkPetCouldBeRemovedById() {
+            final var response = petService.deletePet(validPetData.getId());
+            ResponseAssertion.assertThat(response)
+                    .as("Deletes a pet")
+                    .isStatusOk()
+                    .hasBody()
+                    .getBody();
+        }
+
+        @Test
+        @Order(5)
+        @DisplayName("When pet was already removed, it's update fails")
+        void checkWhenPetWasRemovedItsUpdateFails() {
+            final var response = petService.updateExistingPet(validPetData);
+            ResponseAssertion.assertThat(response)
+                    .as("Pet not found")
+                    .isRecordNotFound();
+        }
     }
 
-    @Test
-    @Order(2)
-    @DisplayName("Upload Pet image")
-    void checkPetImageCouldBeUploaded() {
-        final var id = VALID_PET_DATA.getId();
-        final var imageFile = "pet.png";
-        final var response = petService.uploadImageById(id, imageFile);
-        final var petUpdatedReport = ResponseAssertion.assertThat(response)
-                .as("Pet image uploaded successfully")
-                .isStatusOk()
-                .hasBody()
-                .getBody();
-        final var expectedUpdateReport = PetUpdateStatus.builder()
-                .code(OK.value())
-                .message(String.valueOf(id))
-                .build();
-        assertThat(petUpdatedReport)
-                .as(format("Check pet with ID '%s' was updated successfully ", id))
-                .usingRecursiveComparison()
-                .ignoringFields("type")
-                .isEqualTo(expectedUpdateReport);
+    private static Path writeImageFile(final Path file, final long size) throws IOException {
+        final var chunk = ByteBuffer.allocate(64 * 1024);
+        ThreadLocalRandom.current().nextBytes(chunk.array());
+        try (var channel = FileChannel.open(file, CREATE_NEW, WRITE)) {
+            while (channel.position() < size) {
+                chunk.clear().limit((int) Math.min(chunk.capacity(), size - channel.position()));
+                channel.write(chunk);
+            }
+        }
+        return file;
     }
 }
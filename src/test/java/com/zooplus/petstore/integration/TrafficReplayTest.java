@@ -0,0 +1,66 @@
+package com.zooplus.petstore.integration;
+
+import com.google.inject.Inject;
+import com.zooplus.petstore.bindings.PetstoreInjector;
+import com.zooplus.petstore.capture.CaptureWriter;
+import com.zooplus.petstore.capture.CapturedExchange;
+import com.zooplus.petstore.capture.ReplayEngine;
+import com.zooplus.petstore.capture.ReplayOptions;
+import com.zooplus.petstore.metrics.PetOperation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Checks replay of captured petstore traffic.")
+public class TrafficReplayTest {
+
+    private static final int EXCHANGES = 20;
+
+    @Inject
+    private ReplayEngine replayEngine;
+
+    public TrafficReplayTest() {
+        PetstoreInjector.injectMembers(this);
+    }
+
+    @Test
+    @DisplayName("Captured traffic is replayed paced and flat out, with the recorded statuses")
+    void checkTrafficIsReplayed(@TempDir final Path directory) throws IOException {
+        final var capture = directory.resolve("traffic.capture");
+        final var petEndpoint = PLATFORM_CONFIG.petstoreBaseUrl() + PLATFORM_CONFIG.petEndpoint();
+        final var headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        try (var writer = new CaptureWriter(capture, EXCHANGES)) {
+            for (var exchange = 0; exchange < EXCHANGES; exchange++) {
+                final var uri = exchange % 2 == 0
+                        ? URI.create(petEndpoint + "/findByStatus?status=sold")
+                        : URI.create(petEndpoint + "/" + (Long.MAX_VALUE - exchange));
+                writer.submit(new CapturedExchange(exchange * 10_000L, "GET", uri, headers, new byte[0],
+                        exchange % 2 == 0 ? 200 : 400, Duration.ofMillis(5).toNanos()));
+            }
+        }
+
+        final var paced = replayEngine.replay(capture, ReplayOptions.builder().speed(10).build());
+        final var flatOut = replayEngine.replay(capture, ReplayOptions.builder().flatOut(true).maxInFlight(4).build());
+
+        for (final var report : List.of(paced, flatOut)) {
+            assertThat(report.getReplayed()).as("Replayed requests of %s", report.format()).isEqualTo(EXCHANGES);
+            assertThat(report.getStatusMismatches()).as("Status mismatches of %s", report.format()).isZero();
+            assertThat(report.getOperations()).as("Replayed operations")
+                    .containsOnlyKeys(PetOperation.FIND_BY_STATUS, PetOperation.FIND_BY_ID);
+        }
+        assertThat(paced.getElapsed()).as("Paced replay of 190 ms of traffic at x10")
+                .isGreaterThanOrEqualTo(Duration.ofMillis(19));
+    }
+}
@@ -0,0 +1,96 @@
+package com.zooplus.petstore.limit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Checks adaptive concurrency and rate limits.")
+public class ConcurrencyLimiterTest {
+
+    private static final long SERVICE_NANOS = Duration.ofMillis(10).toNanos();
+
+    @Test
+    @DisplayName("A client with endless work settles just above what the server handles in parallel")
+    void checkLimitConvergesOnServerCapacity() {
+        final var random = new Random(42);
+        for (final var serverCapacity : new int[]{4, 8, 32}) {
+            final var limit = new AdaptiveLimit(2, 1, 200, 1.5, 0.9);
+            var maxLatencyNanos = 0L;
+            for (var exchange = 0; exchange < 20_000; exchange++) {
+                final var inFlight = limit.getLimit();
+                final var latencyNanos = latency(inFlight, serverCapacity, random);
+                limit.onSample(latencyNanos, inFlight, false);
+                if (exchange >= 10_000) {
+                    maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+                }
+            }
+            assertThat(limit.getLimit()).as("Limit against a server handling %d at a time", serverCapacity)
+                    .isBetween(serverCapacity, serverCapacity * 5 / 2);
+            assertThat(maxLatencyNanos).as("Settled latency against a server handling %d at a time", serverCapacity)
+                    .isLessThan(SERVICE_NANOS * 3);
+        }
+    }
+
+    @Test
+    @DisplayName("Overload errors cut the limit once per round trip, an idle client does not grow it")
+    void checkOverloadAndIdleClients() {
+        final var limit = new AdaptiveLimit(40, 1, 200, 1.5, 0.5);
+        limit.onSample(SERVICE_NANOS, 40, false);
+
+        limit.onSample(SERVICE_NANOS, 40, true);
+        limit.onSample(SERVICE_NANOS, 40, true);
+        assertThat(limit.getLimit()).as("Limit after a burst of overload errors").isEqualTo(20);
+
+        for (var exchange = 0; exchange < 1_000; exchange++) {
+            limit.onSample(SERVICE_NANOS, 1, false);
+        }
+        assertThat(limit.getLimit()).as("Limit of a client with one request at a time").isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Callers over the limit wait for a permit and give up after the longest wait")
+    void checkPermits() throws InterruptedException {
+        final var limiter = new ConcurrencyLimiter(new AdaptiveLimit(2, 1, 2, 1.5, 0.9));
+        final var first = limiter.acquire(Duration.ZERO);
+        final var second = limiter.acquire(Duration.ZERO);
+
+        assertThat(limiter.acquire(Duration.ofMillis(20))).as("Permit over the limit").isZero();
+        limiter.release(first, SERVICE_NANOS, false);
+        assertThat(limiter.acquire(Duration.ZERO)).as("Permit after a release").isEqualTo(2);
+        assertThat(second).as("In flight with the second permit").isEqualTo(2);
+        assertThat(limiter.getInFlight()).as("In flight").isEqualTo(2);
+        assertThat(limiter.getTimeouts()).as("Timed out callers").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Token buckets let a burst through, then pace requests at their rate")
+    void checkTokenBucketPacing() {
+        final var bucket = new TokenBucket(100, 5);
+        final var now = System.nanoTime();
+        for (var request = 0; request < 5; request++) {
+            assertThat(bucket.reserve(now)).as("Wait of burst request %d", request).isZero();
+        }
+        final var interval = Duration.ofMillis(10).toNanos();
+        assertThat(bucket.reserve(now)).as("Wait after the burst").isEqualTo(interval);
+        assertThat(bucket.reserve(now)).as("Wait of the next request").isEqualTo(interval * 2);
+
+        final var paced = new TokenBucket(200, 1);
+        final var start = System.nanoTime();
+        for (var request = 0; request < 11; request++) {
+            paced.acquire();
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).as("Time for 11 requests at 200/s")
+                .isGreaterThanOrEqualTo(Duration.ofMillis(50));
+    }
+
+    /**
+     * A server working on {@code capacity} requests at a time, queueing the rest, with some jitter.
+     */
+    private static long latency(final int inFlight, final int capacity, final Random random) {
+        return (long) (SERVICE_NANOS * Math.max(1.0, (double) inFlight / capacity) * (1 + 0.2 * random.nextDouble()));
+    }
+}
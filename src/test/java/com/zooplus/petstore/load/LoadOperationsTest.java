@@ -0,0 +1,28 @@
+package com.zooplus.petstore.load;
+
+import com.zooplus.petstore.data.PetGenerator;
+import com.zooplus.petstore.data.PetGeneratorSettings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Checks that reads of the operation mix only target pets it added.")
+public class LoadOperationsTest {
+
+    @Test
+    @DisplayName("Finding a pet by id is skipped until a pet was added, and needs an add operation in the mix")
+    void checkFindPetByIdNeedsAddedPets() {
+        final var findPetById = LoadOperations.findPetById(1, new CreatedPetIds(10));
+
+        assertThat(findPetById.getCall().apply(null)).as("Response of a find before any pet was added").isNull();
+        assertThatThrownBy(() -> LoadOperations.mix(Map.of("findPetById", 8, "findPetsByStatus", 2),
+                new PetGenerator(PetGeneratorSettings.builder().build()), 0, 10))
+                .as("Mix that reads pets but never adds one")
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("addNewPetToStore");
+    }
+}
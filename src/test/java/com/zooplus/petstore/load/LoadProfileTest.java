@@ -0,0 +1,73 @@
+package com.zooplus.petstore.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Checks the arrival schedule of the open model and the bounds of a load profile.")
+public class LoadProfileTest {
+
+    @Test
+    @DisplayName("Arrivals follow the ramps from the first one on and add up to the integrated rate")
+    void checkArrivalSchedule() {
+        final var profile = LoadProfile.builder()
+                .ratePerSecond(100)
+                .rampUp(Duration.ofSeconds(10))
+                .steadyState(Duration.ofSeconds(10))
+                .rampDown(Duration.ofSeconds(10))
+                .build();
+        final var totalNanos = profile.getTotalDuration().toNanos();
+        final var arrivals = LongStream.iterate(0, arrival -> arrival + 1)
+                .takeWhile(arrival -> profile.arrivalOffsetNanos(arrival) < totalNanos)
+                .count();
+
+        assertThat(arrivals).as("Arrivals: half a ramp each, plus the steady state").isBetween(1_999L, 2_001L);
+        assertThat(profile.arrivalOffsetNanos(1)).as("Second arrival of the ramp-up")
+                .isCloseTo(Duration.ofMillis(447).toNanos(), within(Duration.ofMillis(1).toNanos()));
+        assertThat(profile.arrivalOffsetNanos(500)).as("Arrival ending the ramp-up")
+                .isCloseTo(Duration.ofSeconds(10).toNanos(), within(1_000L));
+        assertThat(profile.arrivalOffsetNanos(1_000) - profile.arrivalOffsetNanos(999))
+                .as("Interval at steady state")
+                .isCloseTo(Duration.ofMillis(10).toNanos(), within(1_000L));
+        assertThat(profile.arrivalOffsetNanos(1_999)).as("Last arrival of the ramp-down")
+                .isBetween(Duration.ofSeconds(29).toNanos(), totalNanos);
+        assertThat(profile.arrivalOffsetNanos(2_001)).as("Arrival after the run").isEqualTo(Long.MAX_VALUE);
+        assertThat(LoadProfile.builder().ratePerSecond(1_000).steadyState(Duration.ofSeconds(2)).build()
+                .arrivalOffsetNanos(1_999))
+                .as("Last arrival without ramps")
+                .isCloseTo(Duration.ofMillis(1_999).toNanos(), within(1_000L));
+    }
+
+    @Test
+    @DisplayName("Profiles without a rate, users or a steady state to measure are rejected")
+    void checkProfileBounds() {
+        assertThatThrownBy(() -> LoadProfile.builder().ratePerSecond(0).build())
+                .as("Profile without arrivals")
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rate per second");
+        assertThatThrownBy(() -> LoadProfile.builder().ratePerSecond(Double.NaN).build())
+                .as("Profile with an undefined rate")
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadProfile.builder().model(LoadModel.CLOSED).concurrency(0).build())
+                .as("Closed profile without virtual users")
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("virtual user");
+        assertThatThrownBy(() -> LoadProfile.builder().steadyState(Duration.ZERO).build())
+                .as("Profile without a steady state")
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("steady state");
+        assertThatThrownBy(() -> LoadProfile.builder().rampUp(Duration.ofSeconds(-1)).build())
+                .as("Profile with a negative ramp-up")
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ramps");
+        assertThat(LoadProfile.builder().concurrency(0).build().getConcurrency())
+                .as("Virtual users of an open profile, which has none")
+                .isZero();
+    }
+}
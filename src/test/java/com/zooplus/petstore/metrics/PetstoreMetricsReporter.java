@@ -0,0 +1,78 @@
+package com.zooplus.petstore.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zooplus.petstore.bindings.PetstoreInjector;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes the endpoint metrics of the run to {@code petstore.metrics.dir} and attaches them to the Allure report
+ * as a test case of their own, once all tests have finished.
+ */
+@Slf4j
+public class PetstoreMetricsReporter implements TestExecutionListener {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Override
+    public void testPlanExecutionFinished(final TestPlan testPlan) {
+        if (!PLATFORM_CONFIG.metricsEnabled()) {
+            return;
+        }
+        PetstoreInjector.getIfCreated().ifPresent(injector -> {
+            final var snapshot = injector.getInstance(PetstoreMetrics.class).snapshot();
+            if (snapshot.isEmpty()) {
+                return;
+            }
+            final var json = snapshot.toJson(injector.getInstance(ObjectMapper.class));
+            log.info(snapshot.toString());
+            write(json);
+            attachToAllure(json, snapshot.toString());
+        });
+    }
+
+    private static void write(final byte[] json) {
+        final var file = Paths.get(PLATFORM_CONFIG.metricsDir())
+                .resolve("metrics-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, json);
+            log.info("Endpoint metrics written to {}", file.toAbsolutePath());
+        } catch (IOException exception) {
+            log.warn("Could not write the endpoint metrics to {}", file, exception);
+        }
+    }
+
+    private static void attachToAllure(final byte[] json, final String summary) {
+        final var lifecycle = Allure.getLifecycle();
+        final var uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult()
+                .setUuid(uuid)
+                .setName("Endpoint metrics")
+                .setFullName(PetstoreMetricsReporter.class.getName())
+                .setHistoryId(PetstoreMetricsReporter.class.getName())
+                .setStatus(Status.PASSED)
+                .setLabels(List.of(new Label().setName("suite").setValue("Petstore metrics"))));
+        lifecycle.startTestCase(uuid);
+        lifecycle.addAttachment("Endpoint metrics", "application/json", "json", json);
+        lifecycle.addAttachment("Endpoint metrics summary", "text/plain", "txt", summary.getBytes(UTF_8));
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+}
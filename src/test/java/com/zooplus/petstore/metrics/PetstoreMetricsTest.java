@@ -0,0 +1,107 @@
+package com.zooplus.petstore.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zooplus.petstore.configs.MetricsInterceptor;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Checks per-endpoint metrics of PetService calls.")
+public class PetstoreMetricsTest {
+
+    private static final String PET_ENDPOINT = "/v2/pet";
+
+    private final PetstoreMetrics metrics = new PetstoreMetrics();
+    private final MetricsInterceptor interceptor = new MetricsInterceptor(metrics, PET_ENDPOINT);
+
+    @ParameterizedTest(name = "{0} {1} is {2}")
+    @CsvSource({
+            "GET, /v2/pet/42, FIND_BY_ID",
+            "GET, /v2/pet/findByStatus, FIND_BY_STATUS",
+            "POST, /v2/pet, ADD",
+            "PUT, /v2/pet, UPDATE",
+            "DELETE, /v2/pet/42, DELETE",
+            "POST, /v2/pet/42, UPDATE_WITH_FORM",
+            "POST, /v2/pet/42/uploadImage, UPLOAD_IMAGE",
+            "POST, /base/v2/pet/, ADD",
+            "GET, /v2/store/inventory, OTHER",
+            "PATCH, /v2/pet/42, OTHER"
+    })
+    @DisplayName("Requests are told apart by method and path")
+    void checkOperationClassification(final String method, final String path, final PetOperation operation) {
+        assertThat(PetOperation.of(method, path, PET_ENDPOINT)).as("Operation of %s %s", method, path)
+                .isEqualTo(operation);
+    }
+
+    @Test
+    @DisplayName("Status, latency and the size of read and unread bodies are recorded per endpoint")
+    void checkExchangesAreRecorded() throws IOException {
+        final var body = "{\"id\": 42}".getBytes(UTF_8);
+        final var found = interceptor.intercept(request(HttpMethod.GET, "/v2/pet/42"), new byte[0],
+                (request, requestBody) -> new MockClientHttpResponse(body, HttpStatus.OK));
+        assertThat(StreamUtils.copyToByteArray(found.getBody())).as("Body read by the caller").isEqualTo(body);
+        found.close();
+        final var cannedNotFound = new MockClientHttpResponse(new byte[7], HttpStatus.NOT_FOUND);
+        cannedNotFound.getHeaders().setContentLength(7);
+        interceptor.intercept(request(HttpMethod.GET, "/v2/pet/43"), new byte[0],
+                (request, requestBody) -> cannedNotFound).close();
+        assertThatThrownBy(() -> interceptor.intercept(request(HttpMethod.DELETE, "/v2/pet/42"), new byte[0],
+                (request, requestBody) -> {
+                    throw new IOException("Connection reset");
+                })).isInstanceOf(IOException.class);
+
+        final var snapshot = metrics.snapshot();
+        assertThat(snapshot.getEndpoints()).as("Recorded endpoints")
+                .containsOnlyKeys(PetOperation.FIND_BY_ID, PetOperation.DELETE);
+        final var findById = snapshot.getEndpoints().get(PetOperation.FIND_BY_ID);
+        assertThat(findById.getLatency().getCount()).as("Find by id calls").isEqualTo(2);
+        assertThat(findById.getLatency().getErrors()).as("Find by id errors").isEqualTo(1);
+        assertThat(findById.getStatusCounts()).as("Find by id statuses").isEqualTo(Map.of(200, 1L, 404, 1L));
+        assertThat(findById.getResponseSizes().getMaxValue()).as("Largest body").isEqualTo(body.length);
+        assertThat(findById.getResponseSizes().getMinValue()).as("Unread body").isEqualTo(7);
+        assertThat(snapshot.getEndpoints().get(PetOperation.DELETE).getStatusCounts())
+                .as("Delete statuses").isEqualTo(Map.of(0, 1L));
+    }
+
+    @Test
+    @DisplayName("JSON export carries percentiles and a histogram that decodes to the recorded one")
+    void checkJsonExport() throws Exception {
+        for (var latencyMillis = 1; latencyMillis <= 100; latencyMillis++) {
+            metrics.record(PetOperation.ADD, 200, latencyMillis * 1_000_000L, 128);
+        }
+        final var objectMapper = new ObjectMapper();
+
+        final var json = objectMapper.readTree(metrics.snapshot().toJson(objectMapper));
+
+        final var add = json.path("endpoints").path("ADD");
+        assertThat(add.path("count").asLong()).as("Exported count").isEqualTo(100);
+        assertThat(add.path("statusCounts").path("200").asLong()).as("Exported 200s").isEqualTo(100);
+        assertThat(add.path("latencyMillis").path("p99").asDouble()).as("Exported p99")
+                .isBetween(98.9, 99.1);
+        assertThat(add.path("responseBytes").path("p50").asDouble()).as("Exported size p50").isEqualTo(128);
+        final var histogram = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(
+                Base64.getDecoder().decode(add.path("latencyMillis").path("histogram").asText())), 0);
+        assertThat(histogram.getTotalCount()).as("Decoded histogram count").isEqualTo(100);
+    }
+
+    private static MockClientHttpRequest request(final HttpMethod method, final String path) {
+        return new MockClientHttpRequest(method, URI.create("http://localhost" + path));
+    }
+}
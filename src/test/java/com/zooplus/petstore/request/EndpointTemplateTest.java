@@ -0,0 +1,61 @@
+package com.zooplus.petstore.request;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Checks precompiled endpoint templates.")
+public class EndpointTemplateTest {
+
+    private final EndpointTemplate uploadImage = EndpointTemplate
+            .builder(HttpMethod.POST, "http://localhost/v2/pet/{petId}/uploadImage?name={name}")
+            .accept(MediaType.APPLICATION_JSON)
+            .build();
+
+    @Test
+    @DisplayName("Path and query variables are filled in and encoded for their part of the URI")
+    void checkVariablesAreExpanded() {
+        assertThat(uploadImage.getVariableNames()).as("Variables").isEqualTo(List.of("petId", "name"));
+        assertThat(uploadImage.expand(-42L, "cat.png")).as("Plain values")
+                .isEqualTo(URI.create("http://localhost/v2/pet/-42/uploadImage?name=cat.png"));
+        assertThat(uploadImage.expand("a/b c", "x&y=z"))
+                .as("Values with reserved characters")
+                .isEqualTo(URI.create("http://localhost/v2/pet/a%2Fb%20c/uploadImage?name=x%26y%3Dz"));
+    }
+
+    @Test
+    @DisplayName("Every request of a template shares its read-only headers")
+    void checkHeadersAreShared() {
+        final var first = uploadImage.request(1L, "a");
+        final var second = uploadImage.requestWithBody("body", 2L, "b");
+
+        assertThat(first.getMethod()).as("Method").isEqualTo(HttpMethod.POST);
+        assertThat(first.getHeaders()).as("Headers of the first request").isSameAs(uploadImage.getHeaders())
+                .isSameAs(second.getHeaders());
+        assertThat(second.getHeaders().getAccept()).as("Accept").containsExactly(MediaType.APPLICATION_JSON);
+        assertThatThrownBy(() -> first.getHeaders().setContentType(MediaType.TEXT_PLAIN))
+                .as("Changing shared headers")
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Missing values and invalid templates are rejected")
+    void checkInvalidUsageIsRejected() {
+        assertThatThrownBy(() -> uploadImage.expand(1L)).as("Too few values")
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("[petId, name]");
+        assertThatThrownBy(() -> uploadImage.expand(1L, null)).as("Null value")
+                .isInstanceOf(NullPointerException.class)
+                .hasMessageContaining("name");
+        assertThatThrownBy(() -> EndpointTemplate.builder(HttpMethod.GET, "http://localhost/v2/pet/{petId").build())
+                .as("Unclosed variable")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.zooplus.petstore.request;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Checks multipart bodies streamed from disk.")
+public class MultipartFileBodyTest {
+
+    @Test
+    @DisplayName("The file is framed as a single form-data part, whatever the chunk size")
+    void checkFileIsFramedAsOnePart(@TempDir final Path directory) throws IOException {
+        final var content = new byte[10_000];
+        ThreadLocalRandom.current().nextBytes(content);
+        final var file = Files.write(directory.resolve("cat.png"), content);
+        final var body = new MultipartFileBody("file", file, 4096);
+        final var boundary = body.getContentType().getParameter("boundary");
+
+        final var output = new ByteArrayOutputStream();
+        body.writeTo(output);
+        final var written = output.toByteArray();
+        final var head = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"cat.png\"\r\n").getBytes(UTF_8);
+        final var tail = ("\r\n--" + boundary + "--\r\n").getBytes(UTF_8);
+        final var fileStart = indexOf(written, "\r\n\r\n".getBytes(UTF_8)) + 4;
+
+        assertThat(body.getContentType().isCompatibleWith(MediaType.MULTIPART_FORM_DATA)).as("Content type").isTrue();
+        assertThat(Arrays.copyOf(written, head.length)).as("Part head").isEqualTo(head);
+        assertThat(Arrays.copyOfRange(written, fileStart, fileStart + content.length)).as("File content")
+                .isEqualTo(content);
+        assertThat(Arrays.copyOfRange(written, fileStart + content.length, written.length)).as("Closing boundary")
+                .isEqualTo(tail);
+        assertThat(body.getFileBytesWritten()).as("File bytes written").isEqualTo(content.length);
+        assertThat(body.getBodyBytesWritten()).as("Body bytes written").isEqualTo(written.length);
+    }
+
+    private static int indexOf(final byte[] bytes, final byte[] target) {
+        for (var index = 0; index <= bytes.length - target.length; index++) {
+            if (Arrays.equals(bytes, index, index + target.length, target, 0, target.length)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+}
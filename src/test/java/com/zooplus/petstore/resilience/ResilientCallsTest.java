@@ -0,0 +1,129 @@
+package com.zooplus.petstore.resilience;
+
+import com.zooplus.petstore.metrics.PetOperation;
+import com.zooplus.petstore.metrics.PetstoreMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Checks retries and hedging of idempotent calls.")
+public class ResilientCallsTest {
+
+    private static final RetryPolicy RETRY_POLICY = RetryPolicy.builder()
+            .maxAttempts(3)
+            .initialBackoff(Duration.ofMillis(1))
+            .maxBackoff(Duration.ofMillis(5))
+            .build();
+    private static final HedgePolicy HEDGE_POLICY = HedgePolicy.builder()
+            .enabled(true)
+            .percentile(90)
+            .minDelay(Duration.ofMillis(10))
+            .minSamples(10)
+            .build();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger exchanges = new AtomicInteger();
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Transient failures are retried and counted, other outcomes are returned at once")
+    void checkTransientFailuresAreRetried() {
+        final var metrics = new PetstoreMetrics();
+        final var calls = new ResilientCalls(RETRY_POLICY, HedgePolicy.NONE, metrics, executor);
+
+        final var found = calls.retry(PetOperation.FIND_BY_ID, () -> {
+            if (exchanges.incrementAndGet() == 1) {
+                throw new ResourceAccessException("Connection reset");
+            }
+            return exchanges.get() == 2 ? status(HttpStatus.SERVICE_UNAVAILABLE) : status(HttpStatus.OK);
+        });
+        assertThat(found.getStatusCode()).as("Status after retries").isEqualTo(HttpStatus.OK);
+        assertThat(exchanges.get()).as("Exchanges of a recovered call").isEqualTo(3);
+
+        exchanges.set(0);
+        assertThat(calls.retry(PetOperation.DELETE, counted(() -> status(HttpStatus.NOT_FOUND))).getStatusCode())
+                .as("Status of a missing pet").isEqualTo(HttpStatus.NOT_FOUND);
+        assertThatThrownBy(() -> calls.retry(PetOperation.DELETE, counted(() -> {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+        }))).isInstanceOf(HttpClientErrorException.class);
+        assertThat(calls.retry(PetOperation.DELETE, counted(() -> status(HttpStatus.BAD_GATEWAY))).getStatusCode())
+                .as("Status once attempts run out").isEqualTo(HttpStatus.BAD_GATEWAY);
+        assertThat(exchanges.get()).as("Exchanges of calls that were not recovered").isEqualTo(1 + 1 + 3);
+
+        final var snapshot = metrics.snapshot().getEndpoints();
+        assertThat(snapshot.get(PetOperation.FIND_BY_ID).getRetries()).as("Find by id retries").isEqualTo(2);
+        assertThat(snapshot.get(PetOperation.DELETE).getRetries()).as("Delete retries").isEqualTo(2);
+        assertThat(snapshot.get(PetOperation.DELETE).getCallLatency().getErrors()).as("Failed deletes")
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Hedging cuts the p99 of calls held up by occasional slow exchanges")
+    void checkHedgingCutsTailLatency() {
+        final var unhedged = new PetstoreMetrics();
+        runCalls(new ResilientCalls(RetryPolicy.NONE, HedgePolicy.NONE, unhedged, executor));
+        exchanges.set(0);
+        final var hedged = new PetstoreMetrics();
+        runCalls(new ResilientCalls(RetryPolicy.NONE, HEDGE_POLICY, hedged, executor));
+
+        final var unhedgedStats = unhedged.snapshot().getEndpoints().get(PetOperation.FIND_BY_ID);
+        final var hedgedStats = hedged.snapshot().getEndpoints().get(PetOperation.FIND_BY_ID);
+        assertThat(unhedgedStats.getCallLatency().getP99()).as("p99 without hedging")
+                .isGreaterThanOrEqualTo(Duration.ofMillis(200));
+        assertThat(hedgedStats.getCallLatency().getP99()).as("p99 with hedging")
+                .isLessThan(Duration.ofMillis(100));
+        assertThat(hedgedStats.getHedges()).as("Hedges").isPositive();
+        assertThat(hedgedStats.getHedgeWins()).as("Won hedges").isPositive()
+                .isLessThanOrEqualTo(hedgedStats.getHedges());
+        assertThat(unhedgedStats.getHedges()).as("Hedges when disabled").isZero();
+    }
+
+    /**
+     * Every 25th exchange takes 200 ms, the others 2 ms.
+     */
+    private void runCalls(final ResilientCalls calls) {
+        for (var call = 0; call < 200; call++) {
+            calls.retryAndHedge(PetOperation.FIND_BY_ID, () -> {
+                final var exchange = exchanges.incrementAndGet();
+                sleep(exchange % 25 == 0 ? 200 : 2);
+                return status(HttpStatus.OK);
+            });
+        }
+    }
+
+    private <T> Supplier<ResponseEntity<T>> counted(final Supplier<ResponseEntity<T>> exchange) {
+        return () -> {
+            exchanges.incrementAndGet();
+            return exchange.get();
+        };
+    }
+
+    private static <T> ResponseEntity<T> status(final HttpStatus status) {
+        return ResponseEntity.status(status).build();
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
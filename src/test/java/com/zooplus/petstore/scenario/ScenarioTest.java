@@ -0,0 +1,150 @@
+package com.zooplus.petstore.scenario;
+
+import com.zooplus.petstore.load.LoadModel;
+import com.zooplus.petstore.load.LoadProfile;
+import com.zooplus.petstore.metrics.OperationStats;
+import com.zooplus.petstore.model.Pet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Checks scenario definitions and how journeys run through them.")
+public class ScenarioTest {
+
+    @Test
+    @DisplayName("A scenario file defines the same journey as the scenario built in code")
+    void checkScenarioFile() throws IOException, URISyntaxException {
+        final var file = Paths.get(getClass().getResource("/scenarios/shopper.properties").toURI());
+        final var scenario = Scenario.load(file);
+
+        assertThat(scenario.getStepNames()).as("Steps of the scenario file")
+                .containsExactly("browse", "view", "reserve", "readBack", "buy", "remove");
+        assertThat(scenario).as("Scenario file").hasToString(Scenario.shopper().toString());
+        assertThat(scenario.toString()).as("Scenario file as text")
+                .contains("reserve.thinkTimeMillis=0-0", "view.thinkTimeMillis=500-2000", "view.next=browse:3,exit:7");
+    }
+
+    @Test
+    @DisplayName("Scenarios with unknown steps, actions or keys, or with journeys that never end, are rejected")
+    void checkInvalidScenarios() {
+        assertThatThrownBy(() -> parse("steps=findPetById\nentry=findPetById:1\nfindPetById.next=view:1"))
+                .as("Transition to an unknown step")
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown scenario step 'view'");
+        assertThatThrownBy(() -> parse("steps=findPetById\nentry=findPetById:1\nfindPetById.action=adopt"))
+                .as("Unknown action")
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown scenario action 'adopt'");
+        assertThatThrownBy(() -> parse("steps=findPetById\nentry=findPetById:1\nfindPetById.thinkTime=10"))
+                .as("Misspelt key")
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown scenario key 'findPetById.thinkTime'");
+        assertThatThrownBy(() -> parse("steps=findPetById\nentry=findPetById:1\nfindPetById.thinkTimeMillis=20-10"))
+                .as("Inverted think time")
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Scenario.builder("loop")
+                .step("browse", (petClient, session) -> ResponseEntity.ok().build())
+                .step("view", (petClient, session) -> ResponseEntity.ok().build())
+                .entry("browse", 1)
+                .transition("browse", "view", 1)
+                .transition("browse", Scenario.EXIT, 1)
+                .transition("view", "view", 1)
+                .build())
+                .as("Journey trapped in a loop")
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Journeys of scenario 'loop' reaching step 'view' never end");
+    }
+
+    @Test
+    @DisplayName("Journeys pass pets from step to step, and the slowest step shows up as the bottleneck")
+    void checkJourneys() {
+        final var petIds = new AtomicLong();
+        final var scenario = Scenario.builder("journey")
+                .step("create", (petClient, session) -> {
+                    session.setPet(Pet.builder().id(petIds.incrementAndGet()).build());
+                    return ResponseEntity.ok().build();
+                })
+                .step("read", (petClient, session) -> ResponseEntity.status(session.getPet().isPresent()
+                        ? 200
+                        : 500).build())
+                .step("slow", (petClient, session) -> {
+                    LockSupport.parkNanos(Duration.ofMillis(60).toNanos());
+                    session.clearPet();
+                    return ResponseEntity.ok().build();
+                })
+                .entry("create", 1)
+                .thinkTime(Duration.ofMillis(10), Duration.ofMillis(30))
+                .transition("create", "read", 1)
+                .transition("read", "read", 1)
+                .transition("read", "slow", 1)
+                .build();
+        final var report = new ScenarioRunner(null).run(LoadProfile.builder()
+                .model(LoadModel.CLOSED)
+                .concurrency(200)
+                .rampUp(Duration.ofMillis(500))
+                .steadyState(Duration.ofSeconds(2))
+                .build(), scenario);
+
+        assertThat(report.getSteps()).as("Steps").extracting(OperationStats::getOperation)
+                .containsExactly("create", "read", "slow");
+        final var create = report.getSteps().get(0);
+        final var read = report.getSteps().get(1);
+        final var slow = report.getSteps().get(2);
+        assertThat(create.getCount()).as("Journeys started during steady state").isGreaterThan(1_000);
+        assertThat(read.getErrors()).as("Reads without the pet created earlier in the journey").isZero();
+        assertThat((double) read.getCount() / create.getCount()).as("Reads per journey")
+                .isCloseTo(2, within(0.3));
+        assertThat(report.getJourneys().getCount()).as("Journeys completed during steady state")
+                .isCloseTo(slow.getCount(), within(slow.getCount() / 10 + 10));
+        assertThat(report.getJourneys().getMean()).as("Journey duration, think times included")
+                .isGreaterThan(Duration.ofMillis(60));
+        assertThat(report.getBottleneck()).as("Bottleneck").hasValueSatisfying(step -> assertThat(step)
+                .isSameAs(slow));
+        assertThat(report.timeShare(slow)).as("Share of the slow step, against the other steps")
+                .isGreaterThan(2 * report.timeShare(create))
+                .isGreaterThan(2 * report.timeShare(read));
+        assertThat(report.format()).as("Formatted report").contains("Bottleneck: slow");
+    }
+
+    @Test
+    @DisplayName("A scenario of entry steps only is a weighted operation mix sent at the open model's rate")
+    void checkWeightedMix() {
+        final var scenario = Scenario.builder("mix")
+                .step("find", (petClient, session) -> ResponseEntity.ok().build())
+                .step("add", (petClient, session) -> ResponseEntity.ok().build())
+                .entry("find", 4)
+                .entry("add", 1)
+                .build();
+        final var report = new ScenarioRunner(null).run(LoadProfile.builder()
+                .ratePerSecond(1_000)
+                .steadyState(Duration.ofSeconds(2))
+                .build(), scenario);
+
+        assertThat(report.getRequestsSent()).as("Requests sent, one per scheduled arrival").isEqualTo(2_000);
+        assertThat(report.getTotal().getCount()).as("Requests scheduled during steady state").isEqualTo(2_000);
+        assertThat((double) report.getSteps().get(0).getCount() / report.getTotal().getCount())
+                .as("Share of finds")
+                .isCloseTo(0.8, within(0.05));
+        assertThat(report.getJourneys().getCount()).as("Journeys, one request each")
+                .isEqualTo(report.getTotal().getCount());
+    }
+
+    private static Scenario parse(final String text) throws IOException {
+        final var properties = new Properties();
+        properties.load(new StringReader(text));
+        return Scenario.parse("test", properties);
+    }
+}
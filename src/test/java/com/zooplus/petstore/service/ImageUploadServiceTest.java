@@ -0,0 +1,118 @@
+package com.zooplus.petstore.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.zooplus.petstore.balancer.BalancerSettings;
+import com.zooplus.petstore.balancer.BalancingStrategy;
+import com.zooplus.petstore.configs.ConcurrencyLimitInterceptor;
+import com.zooplus.petstore.configs.LoadBalancingInterceptor;
+import com.zooplus.petstore.configs.PooledClientHttpRequestFactory;
+import com.zooplus.petstore.configs.TrafficInterceptors;
+import com.zooplus.petstore.limit.LimiterSettings;
+import com.zooplus.petstore.metrics.PetstoreMetrics;
+import com.zooplus.petstore.model.PetUpdateStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Checks that image uploads share the concurrency limit and the replicas of every other request.")
+public class ImageUploadServiceTest {
+
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final Map<String, Long> bytesReceived = new ConcurrentHashMap<>();
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void stopServers() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    @DisplayName("Uploads wait for a concurrency permit, go to the picked replica and only read successful JSON")
+    void checkUploadsAreLimitedAndBalanced() throws Exception {
+        final var accepting = startReplica(200, "application/json",
+                "{\"code\":200,\"type\":\"unknown\",\"message\":\"7\"}");
+        final var rejecting = startReplica(415, "text/html", "<html><body>Unsupported Media Type</body></html>");
+        final var metrics = new PetstoreMetrics();
+        final var limit = ConcurrencyLimitInterceptor.fromSettings(LimiterSettings.builder()
+                .initialLimit(1)
+                .maxLimit(1)
+                .maxWait(Duration.ofMillis(100))
+                .build(), PLATFORM_CONFIG.petEndpoint());
+        final var balancer = LoadBalancingInterceptor.fromSettings(BalancerSettings.builder()
+                .urls(List.of(accepting, rejecting))
+                .strategy(BalancingStrategy.ROUND_ROBIN)
+                .build(), PLATFORM_CONFIG.petstoreBaseUrl(), metrics);
+        final var image = Files.write(dir.resolve("pet.png"), new byte[10_000]);
+
+        try (var requestFactory = new PooledClientHttpRequestFactory(PLATFORM_CONFIG)) {
+            final var uploads = new ImageUploadService(requestFactory, new TrafficInterceptors(limit, balancer),
+                    Jackson2ObjectMapperBuilder.json().build(), metrics);
+            final var limiter = limit.getLimiter();
+            final var permit = limiter.acquire(Duration.ZERO);
+            assertThatThrownBy(() -> uploads.uploadImage(7, image))
+                    .as("Upload while another request holds the only permit")
+                    .isInstanceOf(UncheckedIOException.class)
+                    .hasMessageContaining("No concurrency permit");
+            assertThat(bytesReceived).as("Bytes received without a permit").isEmpty();
+            limiter.release(permit, Duration.ofMillis(1).toNanos(), false);
+
+            final var accepted = uploads.uploadImage(7, image);
+            final var rejected = uploads.uploadImage(7, image);
+
+            assertThat(accepted.getStatusCode()).as("Status of the upload to the first replica").isEqualTo(200);
+            assertThat(accepted.getBody()).as("Answer of the first replica")
+                    .isEqualTo(PetUpdateStatus.builder().code(200).type("unknown").message("7").build());
+            assertThat(rejected.isSuccessful()).as("Upload to the second replica succeeded").isFalse();
+            assertThat(rejected.getStatusCode()).as("Status of the upload to the second replica").isEqualTo(415);
+            assertThat(rejected.getBody()).as("Answer read from an HTML error page").isNull();
+            assertThat(bytesReceived).as("Bytes received per replica")
+                    .containsOnlyKeys(accepting, rejecting)
+                    .allSatisfy((replica, bytes) -> assertThat(bytes).as("Bytes received by %s", replica)
+                            .isGreaterThan(10_000L));
+            assertThat(limiter.getInFlight()).as("Permits held after the uploads").isZero();
+            assertThat(balancer.getBalancer().getNodes()).as("Uploads outstanding per replica")
+                    .allSatisfy(node -> assertThat(node.getOutstanding()).isZero());
+        }
+    }
+
+    private String startReplica(final int status, final String contentType, final String answer) throws IOException {
+        final var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        final var baseUrl = "http://localhost:" + server.getAddress().getPort();
+        server.createContext("/", exchange -> {
+            try {
+                final var received = exchange.getRequestBody().readAllBytes().length;
+                bytesReceived.merge(baseUrl, (long) received, Long::sum);
+                final var body = answer.getBytes(UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", contentType);
+                exchange.sendResponseHeaders(status, body.length);
+                exchange.getResponseBody().write(body);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        servers.add(server);
+        return baseUrl;
+    }
+}
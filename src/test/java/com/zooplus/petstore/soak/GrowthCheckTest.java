@@ -0,0 +1,72 @@
+package com.zooplus.petstore.soak;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntToLongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Checks resource growth detection of soak runs.")
+public class GrowthCheckTest {
+
+    private static final long MB = 1L << 20;
+
+    @Test
+    @DisplayName("A heap whose floor rises a little every minute is flagged, a saw-tooth heap is not")
+    void checkHeapGrowth() {
+        final var random = new Random(7);
+        final var leaking = GrowthCheck.of(ResourceMetric.HEAP_AFTER_GC,
+                samples(120, minute -> 100 * MB + minute * MB / 4 + random.nextInt(20) * MB));
+        assertThat(leaking.isGrowing()).as("Heap floor rising 15 MB per hour").isTrue();
+        assertThat(leaking.getSlopePerHour()).as("Heap slope per hour").isBetween(10.0 * MB, 20.0 * MB);
+
+        final var sawTooth = GrowthCheck.of(ResourceMetric.HEAP_AFTER_GC,
+                samples(120, minute -> 100 * MB + minute % 10 * 30 * MB));
+        assertThat(sawTooth.isGrowing()).as("Heap filling up and collected every ten minutes").isFalse();
+    }
+
+    @Test
+    @DisplayName("Only growth above the metric's minimum that never falls back is flagged")
+    void checkSmallAndTemporaryGrowth() {
+        final var oneThread = GrowthCheck.of(ResourceMetric.THREADS, samples(40, minute -> 20 + minute / 10));
+        assertThat(oneThread.getWindowMinima()).as("Thread window minima").containsExactly(20L, 21L, 22L, 23L);
+        assertThat(oneThread.isGrowing()).as("Thread count up by 3 from 20").isTrue();
+
+        final var burst = GrowthCheck.of(ResourceMetric.POOL_LEASED,
+                samples(40, minute -> minute < 30 ? minute / 10 : 0));
+        assertThat(burst.isGrowing()).as("Leased connections returned at the end").isFalse();
+
+        final var descriptors = GrowthCheck.of(ResourceMetric.OPEN_FILE_DESCRIPTORS,
+                samples(40, minute -> 100 + minute / 10));
+        assertThat(descriptors.isGrowing()).as("Open file descriptors up by 3 from 100").isFalse();
+    }
+
+    @Test
+    @DisplayName("Too few samples and metrics the JVM does not expose are inconclusive")
+    void checkInconclusiveChecks() {
+        assertThat(GrowthCheck.of(ResourceMetric.THREADS, samples(5, minute -> minute * 100)).isConclusive())
+                .as("Check of five samples")
+                .isFalse();
+        assertThat(GrowthCheck.of(ResourceMetric.OPEN_FILE_DESCRIPTORS, samples(40, minute -> -1)).isConclusive())
+                .as("Check of an unsupported metric")
+                .isFalse();
+    }
+
+    /**
+     * One sample per minute, every metric set to {@code value}.
+     */
+    private static List<ResourceSample> samples(final int count, final IntToLongFunction value) {
+        final var samples = new ArrayList<ResourceSample>();
+        for (var minute = 0; minute < count; minute++) {
+            final var level = value.applyAsLong(minute);
+            samples.add(new ResourceSample(Duration.ofMinutes(minute), level, level, level, 0, 0, (int) level,
+                    level, (int) level, 0, 0, 10));
+        }
+        return samples;
+    }
+}
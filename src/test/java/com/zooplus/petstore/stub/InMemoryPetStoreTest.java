@@ -0,0 +1,81 @@
+package com.zooplus.petstore.stub;
+
+import com.zooplus.petstore.data.PetDataProvider;
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.model.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.zooplus.petstore.model.Status.AVAILABLE;
+import static com.zooplus.petstore.model.Status.PENDING;
+import static com.zooplus.petstore.model.Status.SOLD;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Checks the in-memory store behind the petstore stub.")
+public class InMemoryPetStoreTest {
+
+    private final InMemoryPetStore store = new InMemoryPetStore();
+
+    @Test
+    @DisplayName("Pet with an already used ID is not added")
+    void checkDuplicateIdIsRejected() {
+        final var pet = PetDataProvider.getValidPetData();
+        assertThat(store.add(pet, json(pet))).as("First pet with the ID").isTrue();
+        assertThat(store.add(pet, json(pet))).as("Second pet with the same ID").isFalse();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Status index follows updates and deletions")
+    void checkStatusIndexFollowsChanges() {
+        final var pet = PetDataProvider.getValidPetData();
+        store.add(pet, json(pet));
+        final var sold = withStatus(pet, SOLD);
+        store.replace(sold, json(sold));
+
+        assertThat(petsWithStatus(AVAILABLE)).as("Available pets after the sale").isEmpty();
+        assertThat(petsWithStatus(SOLD)).as("Sold pets").containsExactly(new String(json(sold), UTF_8));
+
+        assertThat(store.delete(pet.getId())).as("Deletion of the sold pet").isTrue();
+        assertThat(store.countWithStatus(SOLD)).as("Sold pets after the deletion").isZero();
+        assertThat(store.delete(pet.getId())).as("Deletion of an unknown pet").isFalse();
+    }
+
+    @Test
+    @DisplayName("Concurrent status changes leave every pet indexed exactly once")
+    void checkConcurrentUpdatesKeepIndexConsistent() {
+        final var pets = IntStream.range(0, 1_000)
+                .mapToObj(index -> PetDataProvider.getValidPetData())
+                .toArray(Pet[]::new);
+        for (final var pet : pets) {
+            store.add(pet, json(pet));
+        }
+        IntStream.range(0, 20_000).parallel().forEach(iteration -> {
+            final var pet = withStatus(pets[iteration % pets.length], Status.values()[iteration % 3]);
+            store.replace(pet, json(pet));
+        });
+
+        final var indexed = store.countWithStatus(AVAILABLE) + store.countWithStatus(PENDING)
+                + store.countWithStatus(SOLD);
+        assertThat(indexed).as("Pets across all status indexes").isEqualTo(store.size());
+    }
+
+    private List<String> petsWithStatus(final Status status) {
+        final var found = new ArrayList<String>();
+        store.forEachJsonWithStatus(status, json -> found.add(new String(json, UTF_8)));
+        return found;
+    }
+
+    private static Pet withStatus(final Pet pet, final Status status) {
+        return new Pet(pet.getId(), pet.getCategory(), pet.getName(), pet.getPhotoUrls(), pet.getTags(), status);
+    }
+
+    private static byte[] json(final Pet pet) {
+        return (pet.getId() + ":" + pet.getStatus()).getBytes(UTF_8);
+    }
+}
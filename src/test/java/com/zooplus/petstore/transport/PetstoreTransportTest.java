@@ -0,0 +1,190 @@
+package com.zooplus.petstore.transport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zooplus.petstore.bindings.PetstoreInjector;
+import com.zooplus.petstore.configs.ResponseTimingInterceptor;
+import com.zooplus.petstore.data.PetDataProvider;
+import com.zooplus.petstore.metrics.PetOperation;
+import com.zooplus.petstore.metrics.PetstoreMetrics;
+import com.zooplus.petstore.model.Pet;
+import com.zooplus.petstore.model.PetUpdateStatus;
+import com.zooplus.petstore.request.EndpointTemplate;
+import com.zooplus.petstore.stub.PetstoreStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.zooplus.petstore.configs.PetstoreConfigs.PLATFORM_CONFIG;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpMethod.DELETE;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.MediaType.APPLICATION_FORM_URLENCODED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.MULTIPART_FORM_DATA;
+
+@DisplayName("Checks the transports under PetService against the petstore stub.")
+public class PetstoreTransportTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private static PetstoreStubServer stub;
+    private static EndpointTemplate findById;
+    private static EndpointTemplate findByStatus;
+    private static EndpointTemplate add;
+    private static EndpointTemplate updateWithForm;
+    private static EndpointTemplate uploadImage;
+    private static EndpointTemplate deleteById;
+
+    private final PetstoreMetrics metrics = new PetstoreMetrics();
+    private final HttpClientTransport httpClientTransport = new HttpClientTransport(HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .build(), OBJECT_MAPPER, Duration.ofSeconds(10), metrics, PLATFORM_CONFIG.petEndpoint());
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = PetstoreStubServer.start(0);
+        final var petUrl = stub.getBaseUrl() + PLATFORM_CONFIG.petEndpoint();
+        findById = EndpointTemplate.builder(GET, petUrl + "/{petId}").build();
+        findByStatus = EndpointTemplate.builder(GET, petUrl + "/findByStatus?status={status}").build();
+        add = EndpointTemplate.builder(POST, petUrl).accept(APPLICATION_JSON).contentType(APPLICATION_JSON).build();
+        updateWithForm = EndpointTemplate.builder(POST, petUrl + "/{petId}")
+                .accept(APPLICATION_JSON)
+                .contentType(APPLICATION_FORM_URLENCODED)
+                .build();
+        uploadImage = EndpointTemplate.builder(POST, petUrl + "/{petId}/uploadImage")
+                .accept(APPLICATION_JSON)
+                .contentType(MULTIPART_FORM_DATA)
+                .build();
+        deleteById = EndpointTemplate.builder(DELETE, petUrl + "/{petId}").accept(APPLICATION_JSON).build();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("The JDK HttpClient transport answers every pet endpoint exactly as the Spring transport does")
+    void checkTransportsAnswerAlike() throws JsonProcessingException {
+        final var pet = PetDataProvider.getValidPetData();
+        final var spring = new RestTemplateTransport(PetstoreInjector.get().getInstance(TestRestTemplate.class));
+        final var springAnswers = petLifecycle(spring, pet);
+        final var httpClientAnswers = petLifecycle(httpClientTransport, pet);
+
+        assertThat(httpClientAnswers).as("Statuses and bodies of the HttpClient transport")
+                .containsExactlyElementsOf(springAnswers);
+        assertThat(httpClientAnswers).as("Statuses of the pet lifecycle")
+                .extracting(answer -> answer.substring(0, 3))
+                .containsExactly("200", "200", "200", "200", "200", "200", "404", "200", "200");
+    }
+
+    @Test
+    @DisplayName("Responses carry their response time and every exchange is recorded per endpoint")
+    void checkResponsesAreTimedAndRecorded() {
+        final var response = httpClientTransport.exchange(findById.request(Integer.MAX_VALUE), Pet.class);
+
+        assertThat(response.getStatusCodeValue()).as("Status of a missing pet").isEqualTo(404);
+        assertThat(ResponseTimingInterceptor.responseTime(response.getHeaders())).as("Response time")
+                .hasValueSatisfying(time -> assertThat(time).isPositive());
+        assertThat(metrics.snapshot().getEndpoints().get(PetOperation.FIND_BY_ID).getStatusCounts())
+                .as("Find by ID responses per status")
+                .containsEntry(404, 1L);
+    }
+
+    @Test
+    @DisplayName("Asynchronous exchanges are sent concurrently over the shared client")
+    void checkAsyncExchanges() {
+        final var pets = new ArrayList<Pet>();
+        final var futures = new ArrayList<CompletableFuture<ResponseEntity<Pet>>>();
+        for (var i = 0; i < 50; i++) {
+            final var pet = PetDataProvider.getValidPetData();
+            pets.add(pet);
+            futures.add(httpClientTransport.exchangeAsync(add.requestWithBody(pet), Pet.class));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        assertThat(futures).as("Pets added asynchronously")
+                .extracting(future -> future.join().getBody())
+                .containsExactlyElementsOf(pets);
+        assertThat(metrics.snapshot().getEndpoints().get(PetOperation.ADD).getLatency().getCount())
+                .as("Add exchanges recorded")
+                .isEqualTo(50);
+        assertThat(httpClientTransport.getClient().version()).as("Preferred HTTP version")
+                .isEqualTo(HttpClient.Version.HTTP_2);
+        pets.forEach(pet -> httpClientTransport.exchange(deleteById.request(pet.getId()), PetUpdateStatus.class));
+    }
+
+    @Test
+    @DisplayName("I/O failures are thrown as ResourceAccessException, which ResilientCalls retries")
+    void checkIoFailures() throws IOException {
+        final int closedPort;
+        try (var socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            closedPort = socket.getLocalPort();
+        }
+        final var request = RequestEntity.get(URI.create("http://localhost:" + closedPort + "/v2/pet/1")).build();
+
+        assertThatThrownBy(() -> httpClientTransport.exchange(request, Pet.class)).as("Blocking exchange")
+                .isInstanceOf(ResourceAccessException.class)
+                .hasMessageContaining("I/O error on GET request");
+        assertThatThrownBy(() -> httpClientTransport.exchangeAsync(request, Pet.class).join())
+                .as("Asynchronous exchange")
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ResourceAccessException.class);
+        assertThat(metrics.snapshot().getEndpoints().get(PetOperation.FIND_BY_ID).getStatusCounts())
+                .as("Failed exchanges recorded")
+                .containsEntry(0, 2L);
+    }
+
+    /**
+     * Status and JSON body of each step: add, find, find by status, form update, image upload, delete, find
+     * the deleted pet, add pre-rendered JSON and delete again.
+     */
+    private static List<String> petLifecycle(final PetstoreTransport transport, final Pet pet)
+            throws JsonProcessingException {
+        final var form = new LinkedMultiValueMap<>();
+        form.add("name", "Rex");
+        form.add("status", "sold");
+        final var image = new LinkedMultiValueMap<>();
+        image.add("file", "rex.png");
+        final var answers = new ArrayList<String>();
+        answers.add(answer(transport.exchange(add.requestWithBody(pet), Pet.class)));
+        answers.add(answer(transport.exchange(findById.request(pet.getId()), Pet.class)));
+        answers.add(answer(transport.exchange(findByStatus.request(pet.getStatus().toString().toLowerCase()),
+                Pet[].class)));
+        answers.add(answer(transport.exchange(updateWithForm.requestWithBody(form, pet.getId()),
+                PetUpdateStatus.class)));
+        answers.add(answer(transport.exchange(uploadImage.requestWithBody(image, pet.getId()),
+                PetUpdateStatus.class)));
+        answers.add(answer(transport.exchange(deleteById.request(pet.getId()), PetUpdateStatus.class)));
+        answers.add(answer(transport.exchange(findById.request(pet.getId()), Pet.class)));
+        answers.add(answer(transport.exchange(add.requestWithBody(OBJECT_MAPPER.writeValueAsBytes(pet)),
+                Pet.class)));
+        answers.add(answer(transport.exchange(deleteById.request(pet.getId()), PetUpdateStatus.class)));
+        return answers;
+    }
+
+    private static String answer(final ResponseEntity<?> response) throws JsonProcessingException {
+        return response.getStatusCodeValue() + " " + OBJECT_MAPPER.writeValueAsString(response.getBody());
+    }
+}